@@ -0,0 +1,103 @@
+package com.sdc.main.config.properties;
+
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Broadcast configuration properties.
+ * @since 10.2026
+ */
+@Data
+@Validated
+@ConfigurationProperties("broadcast")
+public class BroadcastProperties {
+
+    /**
+     * Maximum number of messages sent concurrently to a platform without its own limit
+     */
+    @Min(1)
+    private int defaultPlatformConcurrency = 8;
+
+    /**
+     * Maximum number of messages sent concurrently to a platform
+     */
+    @NotNull
+    private Map<CommunicationPlatformType, Integer> platformConcurrency = new EnumMap<>(CommunicationPlatformType.class);
+
+    /**
+     * Maximum number of messages sent concurrently from a single account
+     */
+    @Min(1)
+    private int accountConcurrency = 4;
+
+    /**
+     * Maximum number of messages personalized concurrently
+     */
+    @Min(1)
+    private int personalizationConcurrency = 8;
+
+    /**
+     * Maximum time to personalize a single message
+     */
+    @NotNull
+    private Duration personalizationTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Maximum time to send a message to a single recipient
+     */
+    @NotNull
+    private Duration recipientTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Broadcast jobs
+     */
+    @NotNull
+    private Jobs jobs = new Jobs();
+
+    public int getPlatformConcurrency(final CommunicationPlatformType platform) {
+        return Math.max(1, platformConcurrency.getOrDefault(platform, defaultPlatformConcurrency));
+    }
+
+    @Data
+    @Validated
+    public static class Jobs {
+        /**
+         * Maximum number of jobs sent concurrently by this instance
+         */
+        @Min(1)
+        private int workers = 4;
+
+        /**
+         * Interval of claiming pending and abandoned jobs and renewing leases of running jobs
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Time a running job belongs to its worker without renewal, after it the job is resumed by another worker
+         */
+        @NotNull
+        private Duration lease = Duration.ofMinutes(1);
+
+        /**
+         * Lifetime of the token a job is sent with on behalf of its user
+         */
+        @NotNull
+        private Duration tokenTtl = Duration.ofHours(1);
+
+        /**
+         * Remaining lifetime of the token of a job at which a new one is generated,
+         * longer than the time to personalize and send a single message
+         */
+        @NotNull
+        private Duration tokenRenewBefore = Duration.ofMinutes(5);
+    }
+}
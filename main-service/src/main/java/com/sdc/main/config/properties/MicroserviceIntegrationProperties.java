@@ -111,6 +111,10 @@ public class MicroserviceIntegrationProperties {
         @NotBlank
         private String getDocumentUrl;
 
+        @URL
+        @NotBlank
+        private String getAvatarsUrl;
+
         @URL
         @NotBlank
         private String getNotificationsUrl;
@@ -131,6 +135,10 @@ public class MicroserviceIntegrationProperties {
         @NotBlank
         private String getChatsFolderUrl;
 
+        @URL
+        @NotBlank
+        private String getChatChangesUrl;
+
         @URL
         @NotBlank
         private String sendTextMessageUrl;
@@ -0,0 +1,43 @@
+package com.sdc.main.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Response cache configuration properties.
+ * @since 10.2026
+ */
+@Data
+@Validated
+@ConfigurationProperties("response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Maximum number of responses kept by every cache, least recently used responses are evicted first
+     */
+    @Min(1)
+    private long maximumSize = 10_000;
+
+    /**
+     * Time a response of a cache without its own ttl is served after it was fetched
+     */
+    @NotNull
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * Time a response is served after it was fetched by cache name
+     */
+    @NotNull
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    public Duration getTtl(final String cacheName) {
+        return ttl.getOrDefault(cacheName, defaultTtl);
+    }
+}
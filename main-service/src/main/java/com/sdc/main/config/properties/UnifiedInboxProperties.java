@@ -0,0 +1,37 @@
+package com.sdc.main.config.properties;
+
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Unified inbox configuration properties.
+ * @since 10.2026
+ */
+@Data
+@Validated
+@ConfigurationProperties("unified-inbox")
+public class UnifiedInboxProperties {
+
+    /**
+     * Maximum time to fetch a page of a platform without its own timeout
+     */
+    @NotNull
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to fetch a page of a platform, a platform that times out is left out of the page
+     */
+    @NotNull
+    private Map<CommunicationPlatformType, Duration> timeout = new EnumMap<>(CommunicationPlatformType.class);
+
+    public Duration getTimeout(final CommunicationPlatformType platform) {
+        return timeout.getOrDefault(platform, defaultTimeout);
+    }
+}
@@ -0,0 +1,38 @@
+package com.sdc.main.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Unread counters configuration properties.
+ * @since 10.2026
+ */
+@Data
+@Validated
+@ConfigurationProperties("unread-counters")
+public class UnreadCountersProperties {
+
+    /**
+     * Time the counters of a user are served from the cache,
+     * sends and reads through main-service invalidate them earlier
+     */
+    @NotNull
+    private Duration ttl = Duration.ofSeconds(15);
+
+    /**
+     * Maximum number of users whose counters are cached
+     */
+    @Min(1)
+    private long maximumSize = 10_000;
+
+    /**
+     * Maximum time to fetch the counters of a single source
+     */
+    @NotNull
+    private Duration sourceTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,39 @@
+package com.sdc.main.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * WebClient connection pool configuration properties.
+ * With virtual threads request handling is no longer limited by the servlet thread pool,
+ * so the connection pool becomes the limit of concurrent calls to the other services.
+ * @since 10.2026
+ */
+@Data
+@Validated
+@ConfigurationProperties("web-client")
+public class WebClientProperties {
+
+    /**
+     * Maximum number of connections per downstream host
+     */
+    @Min(1)
+    private int maxConnections = 500;
+
+    /**
+     * Maximum number of calls waiting for a free connection, further calls fail immediately
+     */
+    @Min(1)
+    private int pendingAcquireMaxCount = 1000;
+
+    /**
+     * Maximum time a call waits for a free connection
+     */
+    @NotNull
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+}
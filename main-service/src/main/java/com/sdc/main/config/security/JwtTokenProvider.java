@@ -0,0 +1,47 @@
+package com.sdc.main.config.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Jwt token provider for work done on behalf of a user outside of the user's request.
+ * @since 10.2026
+ */
+@Component
+public class JwtTokenProvider {
+
+    @Value("${security.jwt.secret}")
+    private String secret;
+
+    private SecretKey signingKey;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String generateAccessToken(final Long userId, final String username, final String role, final String fullName,
+                                      final Duration ttl) {
+        final Date now = new Date();
+        final Date expiry = new Date(now.getTime() + ttl.toMillis());
+
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .claim("username", username)
+                .claim("role", role)
+                .claim("fullName", fullName)
+                .setIssuedAt(now)
+                .setExpiration(expiry)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sdc.main.config.web;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Objects;
+
+/**
+ * Propagates the user token between the request thread and the Reactor context.
+ * Monos returned by controllers capture the token of the request into their context,
+ * so WebClient calls sent on event-loop threads are authorized without the servlet request.
+ * @since 10.2026
+ */
+public class JwtTokenAccessor implements ThreadLocalAccessor<String> {
+    private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
+
+    @Override
+    public Object key() {
+        return WebClientConfig.TOKEN_CONTEXT_KEY;
+    }
+
+    @Override
+    public String getValue() {
+        final String token = TOKEN.get();
+        if (Objects.nonNull(token)) {
+            return token;
+        }
+        // attributes restored on a streaming thread belong to a completed request and refuse attribute lookups,
+        // the token is read from the request itself as CurrentUser does
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? (String) attributes.getRequest().getAttribute(WebClientConfig.TOKEN_CONTEXT_KEY)
+                : null;
+    }
+
+    @Override
+    public void setValue(final String value) {
+        TOKEN.set(value);
+    }
+
+    @Override
+    public void setValue() {
+        TOKEN.remove();
+    }
+}
@@ -1,14 +1,21 @@
 package com.sdc.main.config.web;
 
+import com.sdc.main.config.properties.WebClientProperties;
 import com.sdc.main.config.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Optional;
 
 /**
  * WebClient configuration.
@@ -17,20 +24,43 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 @RequiredArgsConstructor
 public class WebClientConfig {
+    /**
+     * Reactor context key of the user token, requests sent outside of the request thread are authorized with it
+     */
+    public static final String TOKEN_CONTEXT_KEY = "RAW_JWT";
+
+    private static final String CONNECTION_POOL_NAME = "main-service";
+
     private final CurrentUser currentUser;
+    private final WebClientProperties properties;
 
     @Bean
     public WebClient webClient() {
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider())))
                 .filter(authorizationFilter())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
+    /**
+     * Connection pool shared by the clients of all services, its metrics are published as reactor.netty.connection.provider.*
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider() {
+        return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .metrics(true)
+                .build();
+    }
+
     private ExchangeFilterFunction authorizationFilter() {
-        return (request, next) -> {
+        return (request, next) -> Mono.deferContextual(context -> {
 
-            final String token = currentUser.getToken();
+            final String token = Optional.ofNullable(context.<String>getOrDefault(TOKEN_CONTEXT_KEY, null))
+                    .orElseGet(currentUser::getToken);
             if (token == null) {
                 return next.exchange(request);
             }
@@ -40,6 +70,6 @@ public class WebClientConfig {
                     .build();
 
             return next.exchange(newRequest);
-        };
+        });
     }
 }
@@ -29,6 +29,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -46,22 +48,20 @@ public class AccountController {
 
     @Operation(summary = "Get telegram account info")
     @GetMapping("/telegram/info")
-    public UserTdlibDto getTelegramAccountInfo(
+    public Mono<UserTdlibDto> getTelegramAccountInfo(
             @RequestParam
             final String accountId) {
         log.info("Received request GET /accounts/telegram/info with accountId:{}", accountId);
-        final UserTdlibDto result = accountService.getTelegramAccountInfo(accountId);
-        log.info("Produced response 200 for GET /accounts/telegram/info with body:{}", result);
-        return result;
+        return accountService.getTelegramAccountInfo(accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /accounts/telegram/info with body:{}", result));
     }
 
     @Operation(summary = "Get connected telegram accounts info")
     @GetMapping("/telegram/connected/info")
-    public List<TelegramAccountDto> getConnectedTelegramAccounts() {
+    public Mono<List<TelegramAccountDto>> getConnectedTelegramAccounts() {
         log.info("Received request GET /accounts/telegram/connected/info");
-        final List<TelegramAccountDto> result = accountService.getConnectedTelegramAccounts();
-        log.info("Produced response 200 for GET /accounts/telegram/connected/info with body:{}", result);
-        return result;
+        return accountService.getConnectedTelegramAccounts()
+                .doOnNext(result -> log.info("Produced response 200 for GET /accounts/telegram/connected/info with body:{}", result));
     }
 
     @Operation(summary = "Submit telegram phone number")
@@ -102,12 +102,22 @@ public class AccountController {
 
     @Operation(summary = "Get telegram account authorization state")
     @GetMapping("/telegram/auth/state")
-    public AuthorizationStateTdlib getTelegramAccountAuthState(
+    public Mono<AuthorizationStateTdlib> getTelegramAccountAuthState(
             @RequestParam
             final String accountId) {
         log.info("Received request GET /accounts/telegram/auth/state with accountId:{}", accountId);
-        final AuthorizationStateTdlib result = accountService.getTelegramAccountAuthState(accountId);
-        log.info("Produced response 200 for GET /accounts/telegram/auth/state with body:{}", result);
+        return accountService.getTelegramAccountAuthState(accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /accounts/telegram/auth/state with body:{}", result));
+    }
+
+    @Operation(summary = "Stream telegram account authorization state changes")
+    @GetMapping(value = "/telegram/auth/state/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public StreamingResponseBody streamTelegramAccountAuthState(
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /accounts/telegram/auth/state/stream with accountId:{}", accountId);
+        final StreamingResponseBody result = accountService.streamTelegramAccountAuthState(accountId);
+        log.info("Produced response 200 for GET /accounts/telegram/auth/state/stream");
         return result;
     }
 
@@ -144,20 +154,18 @@ public class AccountController {
 
     @Operation(summary = "Get connected gmail accounts")
     @GetMapping("/gmail/accounts")
-    public List<GmailAccountInfoDto> getConnectedGmailAccounts() {
+    public Mono<List<GmailAccountInfoDto>> getConnectedGmailAccounts() {
         log.info("Received request GET /accounts/gmail/accounts");
-        final List<GmailAccountInfoDto> result = accountService.getConnectedGmailAccounts();
-        log.info("Produced response 200 for GET /accounts/gmail/accounts with body:{}", result);
-        return result;
+        return accountService.getConnectedGmailAccounts()
+                .doOnNext(result -> log.info("Produced response 200 for GET /accounts/gmail/accounts with body:{}", result));
     }
 
     @Operation(summary = "Get connected discord bots")
     @GetMapping("/discord/bots")
-    public List<DiscordBotInfoDto> getConnectedDiscordBots() {
+    public Mono<List<DiscordBotInfoDto>> getConnectedDiscordBots() {
         log.info("Received request GET /accounts/discord/bots");
-        final List<DiscordBotInfoDto> result = accountService.getConnectedDiscordBots();
-        log.info("Produced response 200 for GET /accounts/discord/bots with body:{}", result);
-        return result;
+        return accountService.getConnectedDiscordBots()
+                .doOnNext(result -> log.info("Produced response 200 for GET /accounts/discord/bots with body:{}", result));
     }
 
     @Operation(summary = "Add discord bot")
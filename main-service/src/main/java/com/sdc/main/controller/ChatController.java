@@ -4,23 +4,34 @@ import com.sdc.main.domain.dto.discord.chat.DiscordPrivateChatDto;
 import com.sdc.main.domain.dto.discord.guild.GuildChannelDto;
 import com.sdc.main.domain.dto.discord.guild.GuildDto;
 import com.sdc.main.domain.dto.discord.guild.GuildUserDto;
+import com.sdc.main.domain.dto.inbox.ConversationsPageDto;
+import com.sdc.main.domain.dto.inbox.UnreadCountersDto;
+import com.sdc.main.domain.dto.telegram.TelegramChatChangesDto;
 import com.sdc.main.domain.dto.telegram.TelegramChatFolderDto;
 import com.sdc.main.domain.dto.telegram.TelegramNotificationDto;
+import com.sdc.main.domain.dto.telegram.TelegramUnifiedChatsDto;
 import com.sdc.main.domain.dto.telegram.chat.ChatTdlibDto;
 import com.sdc.main.service.ChatService;
+import com.sdc.main.service.UnifiedInboxService;
+import com.sdc.main.service.UnreadCountersService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+
 /**
  * Chat-management controller.
  * @since 12.2025
@@ -31,183 +42,235 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ChatController {
     private final ChatService chatService;
+    private final UnifiedInboxService unifiedInboxService;
+    private final UnreadCountersService unreadCountersService;
 
     @Operation(summary = "Get all chats in Telegram main chat list")
     @GetMapping("/telegram/main")
-    public List<ChatTdlibDto> findAllTelegramChatsMain(
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsMain(
             @RequestParam
             final int limit,
+            @RequestParam(required = false)
+            final Integer photoSize,
             @RequestParam
-            final String accountId) {
-        log.info("Received request GET /chats/telegram/main with limit:{}, accountId:{}", limit, accountId);
-        final List<ChatTdlibDto> result = chatService.findAllTelegramChatsMain(limit, accountId);
-        log.info("Produced response 200 for GET /chats/telegram/main with body:{}", result);
-        return result;
+            final String accountId,
+            @RequestHeader(value = IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
+        log.info("Received request GET /chats/telegram/main with limit:{}, photoSize:{}, accountId:{}", limit, photoSize, accountId);
+        return chatService.findAllTelegramChatsMain(limit, photoSize, accountId, ifNoneMatch)
+                .doOnNext(result -> log.info("Produced response {} for GET /chats/telegram/main with body:{}", result.getStatusCode().value(), result.getBody()));
     }
 
     @Operation(summary = "Get all chats in Telegram archive chat list")
     @GetMapping("/telegram/archive")
-    public List<ChatTdlibDto> findAllTelegramChatsArchive(
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsArchive(
             @RequestParam
             final int limit,
+            @RequestParam(required = false)
+            final Integer photoSize,
             @RequestParam
-            final String accountId) {
-        log.info("Received request GET /chats/telegram/archive with limit:{}, accountId:{}", limit, accountId);
-        final List<ChatTdlibDto> result = chatService.findAllTelegramChatsArchive(limit, accountId);
-        log.info("Produced response 200 for GET /chats/telegram/archive with body:{}", result);
-        return result;
+            final String accountId,
+            @RequestHeader(value = IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
+        log.info("Received request GET /chats/telegram/archive with limit:{}, photoSize:{}, accountId:{}", limit, photoSize, accountId);
+        return chatService.findAllTelegramChatsArchive(limit, photoSize, accountId, ifNoneMatch)
+                .doOnNext(result -> log.info("Produced response {} for GET /chats/telegram/archive with body:{}", result.getStatusCode().value(), result.getBody()));
     }
 
     @Operation(summary = "Get all Telegram chat folders")
     @GetMapping("/telegram/folders")
-    public List<TelegramChatFolderDto> findAllTelegramChatFolders(
+    public Mono<List<TelegramChatFolderDto>> findAllTelegramChatFolders(
             @RequestParam
             final String accountId) {
         log.info("Received request GET /chats/telegram/folders with accountId:{}", accountId);
-        final List<TelegramChatFolderDto> result = chatService.findAllTelegramChatFolders(accountId);
-        log.info("Produced response 200 for GET /chats/telegram/folders with body:{}", result);
-        return result;
+        return chatService.findAllTelegramChatFolders(accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/telegram/folders with body:{}", result));
     }
 
 
     @Operation(summary = "Get all chats in Telegram folder")
     @GetMapping("/telegram/folder")
-    public List<ChatTdlibDto> findAllTelegramChatsFolder(
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsFolder(
             @RequestParam
             final int limit,
             @RequestParam
             final int folderId,
+            @RequestParam(required = false)
+            final Integer photoSize,
+            @RequestParam
+            final String accountId,
+            @RequestHeader(value = IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
+        log.info("Received request GET /chats/telegram/folder with limit:{}, folderId:{}, photoSize:{}, accountId:{}", limit, folderId, photoSize, accountId);
+        return chatService.findAllTelegramChatsFolder(limit, folderId, photoSize, accountId, ifNoneMatch)
+                .doOnNext(result -> log.info("Produced response {} for GET /chats/telegram/folder with body:{}", result.getStatusCode().value(), result.getBody()));
+    }
+
+    @Operation(summary = "Get Telegram main chats of all accounts merged by last message date")
+    @GetMapping("/telegram/all-accounts")
+    public Mono<TelegramUnifiedChatsDto> findAllTelegramChatsUnified(
+            @RequestParam
+            final int limit,
+            @RequestParam(required = false)
+            final String cursor,
+            @RequestParam(required = false)
+            final Integer photoSize) {
+        log.info("Received request GET /chats/telegram/all-accounts with limit:{}, cursor:{}, photoSize:{}", limit, cursor, photoSize);
+        return chatService.findAllTelegramChatsUnified(limit, cursor, photoSize)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/telegram/all-accounts with body:{}", result));
+    }
+
+    @Operation(summary = "Get conversations of all platforms merged by last activity")
+    @GetMapping("/unified")
+    public Mono<ConversationsPageDto> findUnifiedConversations(
+            @RequestParam
+            final int limit,
+            @RequestParam(required = false)
+            final String cursor,
+            @RequestParam(required = false)
+            final Integer photoSize) {
+        log.info("Received request GET /chats/unified with limit:{}, cursor:{}, photoSize:{}", limit, cursor, photoSize);
+        return unifiedInboxService.findConversations(limit, cursor, photoSize)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/unified with body:{}", result));
+    }
+
+    @Operation(summary = "Get Telegram chats changed since sequence")
+    @GetMapping("/telegram/changes")
+    public Mono<TelegramChatChangesDto> getTelegramChatChanges(
+            @RequestParam
+            final long since,
+            @RequestParam(required = false)
+            final Integer photoSize,
             @RequestParam
             final String accountId) {
-        log.info("Received request GET /chats/telegram/folder with limit:{}, folderId:{}, accountId:{}", limit, folderId, accountId);
-        final List<ChatTdlibDto> result = chatService.findAllTelegramChatsFolder(limit, folderId, accountId);
-        log.info("Produced response 200 for GET /chats/telegram/folder with body:{}", result);
-        return result;
+        log.info("Received request GET /chats/telegram/changes with since:{}, photoSize:{}, accountId:{}", since, photoSize, accountId);
+        return chatService.getTelegramChatChanges(since, photoSize, accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/telegram/changes with body:{}", result));
     }
 
     @Operation(summary = "Get telegram user chatId")
     @GetMapping("/telegram/user/chat")
-    public Long getTelegramUserChatId(
+    public Mono<Long> getTelegramUserChatId(
             @RequestParam
             final String username,
             @RequestParam
             final String accountId) {
         log.info("Received request GET /chats/telegram/user/chat with username:{}, accountId:{}", username, accountId);
-        final Long result = chatService.getTelegramUserChatId(username, accountId);
-        log.info("Produced response 200 for GET /chats/telegram/user/chat with body:{}", result);
-        return result;
+        return chatService.getTelegramUserChatId(username, accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/telegram/user/chat with body:{}", result));
     }
 
     @Operation(summary = "Create telegram chat with user")
     @PostMapping("/telegram/create")
-    public Long createTelegramChat(
+    public Mono<Long> createTelegramChat(
             @RequestParam
             final Long userId,
             @RequestParam
             final String accountId) {
         log.info("Received request POST /chats/telegram/create with userId:{}, accountId:{}", userId, accountId);
-        final Long result = chatService.createTelegramChat(userId, accountId);
-        log.info("Produced response 200 for POST /chats/telegram/create with body:{}", result);
-        return result;
+        return chatService.createTelegramChat(userId, accountId)
+                .doOnNext(result -> log.info("Produced response 200 for POST /chats/telegram/create with body:{}", result));
     }
 
     @Operation(summary = "Find telegram chats notifications")
     @GetMapping("/telegram/notifications")
-    public List<TelegramNotificationDto> findTelegramChatNotifications(
+    public Mono<List<TelegramNotificationDto>> findTelegramChatNotifications(
             @RequestParam
             final String accountId) {
         log.info("Received request GET /chats/telegram/notifications with accountId:{}", accountId);
-        final List<TelegramNotificationDto> result = chatService.findTelegramChatNotifications(accountId);
-        log.info("Produced response 200 for GET /chats/telegram/notifications with body:{}", result);
-        return result;
+        return chatService.findTelegramChatNotifications(accountId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/telegram/notifications with body:{}", result));
+    }
+
+    @Operation(summary = "Get unread counters of all connected accounts")
+    @GetMapping("/unread")
+    public Mono<UnreadCountersDto> getUnreadCounters() {
+        log.info("Received request GET /chats/unread");
+        return unreadCountersService.getUnreadCounters()
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/unread with body:{}", result));
     }
 
     @Operation(summary = "Create empty telegram chat")
     @PostMapping("/telegram/empty/create")
-    public void createEmptyTelegramChat(
+    public Mono<Void> createEmptyTelegramChat(
             @RequestParam
             final Long chatId,
             @RequestParam
             final String accountId) {
         log.info("Received request POST /chats/telegram/empty/notifications with chatId:{}, accountId:{}", chatId, accountId);
-        chatService.createEmptyTelegramChat(chatId, accountId);
-        log.info("Produced response 200 for POST /chats/telegram/empty/notifications");
+        return chatService.createEmptyTelegramChat(chatId, accountId)
+                .doOnSuccess(result -> log.info("Produced response 200 for POST /chats/telegram/empty/notifications"));
     }
 
     @Operation(summary = "Delete empty telegram chat")
     @DeleteMapping("/telegram/empty/delete")
-    public void deleteEmptyTelegramChat(
+    public Mono<Void> deleteEmptyTelegramChat(
             @RequestParam
             final Long chatId,
             @RequestParam
             final String accountId) {
         log.info("Received request DELETE /chats/telegram/empty/delete with chatId:{}, accountId:{}", chatId, accountId);
-        chatService.deleteEmptyTelegramChat(chatId, accountId);
-        log.info("Produced response 200 for DELETE /chats/telegram/empty/delete");
+        return chatService.deleteEmptyTelegramChat(chatId, accountId)
+                .doOnSuccess(result -> log.info("Produced response 200 for DELETE /chats/telegram/empty/delete"));
     }
 
     @Operation(summary = "Get discord private chats list")
     @GetMapping("/discord/dm")
-    public List<DiscordPrivateChatDto> getDiscordPrivateChats(
+    public Mono<List<DiscordPrivateChatDto>> getDiscordPrivateChats(
             @RequestParam
             final Long botId) {
         log.info("Received request GET /chats/discord/dm with botId:{}", botId);
-        final List<DiscordPrivateChatDto> result = chatService.getDiscordPrivateChats(botId);
-        log.info("Produced response 200 for GET /chats/discord/dm with body:{}", result);
-        return result;
+        return chatService.getDiscordPrivateChats(botId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/dm with body:{}", result));
     }
 
     @Operation(summary = "Get discord guilds")
     @GetMapping("/discord/guilds")
-    public List<GuildDto> getDiscordGuilds(
+    public Mono<List<GuildDto>> getDiscordGuilds(
             @RequestParam
             final Long botId) {
         log.info("Received request GET /chats/discord/guilds with botId:{}", botId);
-        final List<GuildDto> result = chatService.getDiscordGuilds(botId);
-        log.info("Produced response 200 for GET /chats/discord/guilds with body:{}", result);
-        return result;
+        return chatService.getDiscordGuilds(botId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/guilds with body:{}", result));
     }
 
     @Operation(summary = "Get discord guild channels")
     @GetMapping("/discord/guild/channels")
-    public List<GuildChannelDto> getDiscordGuildChannels(
+    public Mono<List<GuildChannelDto>> getDiscordGuildChannels(
             @RequestParam
             final Long botId,
             @RequestParam
             final Long guildId) {
         log.info("Received request GET /chats/discord/guild/channels with botId:{}, guildId:{}", botId, guildId);
-        final List<GuildChannelDto> result = chatService.getDiscordGuildChannels(botId, guildId);
-        log.info("Produced response 200 for GET /chats/discord/guild/channels with body:{}", result);
-        return result;
+        return chatService.getDiscordGuildChannels(botId, guildId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/guild/channels with body:{}", result));
     }
 
     @Operation(summary = "Get available discord users")
     @GetMapping("/discord/users")
-    public List<GuildUserDto> getDiscordUsers(
+    public Mono<List<GuildUserDto>> getDiscordUsers(
             @RequestParam
             final Long botId) {
         log.info("Received request GET /chats/discord/users with botId:{}", botId);
-        final List<GuildUserDto> result = chatService.getDiscordUsers(botId);
-        log.info("Produced response 200 for GET /chats/discord/users with body:{}", result);
-        return result;
+        return chatService.getDiscordUsers(botId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/users with body:{}", result));
     }
 
     @Operation(summary = "Search discord private chats")
     @GetMapping("/discord/dm/search")
-    public List<DiscordPrivateChatDto> searchDiscordPrivateChats(
+    public Mono<List<DiscordPrivateChatDto>> searchDiscordPrivateChats(
             @RequestParam
             final Long botId,
             @RequestParam
             final String query) {
         log.info("Received request GET /chats/discord/dm/search with botId:{}, query:{}", botId, query);
-        final List<DiscordPrivateChatDto> result = chatService.searchDiscordPrivateChats(botId, query);
-        log.info("Produced response 200 for GET /chats/discord/dm/search with body:{}", result);
-        return result;
+        return chatService.searchDiscordPrivateChats(botId, query)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/dm/search with body:{}", result));
     }
 
     @Operation(summary = "Search discord guild channels")
     @GetMapping("/discord/channels/search")
-    public List<GuildChannelDto> searchDiscordGuildChannels(
+    public Mono<List<GuildChannelDto>> searchDiscordGuildChannels(
             @RequestParam
             final Long botId,
             @RequestParam
@@ -215,21 +278,19 @@ public class ChatController {
             @RequestParam
             final String query) {
         log.info("Received request GET /chats/discord/channels/search botId:{}, guildId:{}, query:{}", botId, guildId, query);
-        final List<GuildChannelDto> result = chatService.searchDiscordGuildChannels(botId, guildId, query);
-        log.info("Produced response 200 for GET /chats/discord/channels/search body:{}", result);
-        return result;
+        return chatService.searchDiscordGuildChannels(botId, guildId, query)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/channels/search body:{}", result));
     }
 
     @Operation(summary = "Get discord private chat")
     @GetMapping("/discord/dm/{channelId}")
-    public DiscordPrivateChatDto getDiscordPrivateChat(
+    public Mono<DiscordPrivateChatDto> getDiscordPrivateChat(
             @RequestParam
             final Long botId,
             @PathVariable
             final String channelId) {
         log.info("Received request GET /chats/discord/dm/{} with botId:{}", channelId, botId);
-        final DiscordPrivateChatDto result = chatService.getDiscordPrivateChat(botId, channelId);
-        log.info("Produced response 200 for GET /chats/discord/dm/{} with body:{}", channelId, result);
-        return result;
+        return chatService.getDiscordPrivateChat(botId, channelId)
+                .doOnNext(result -> log.info("Produced response 200 for GET /chats/discord/dm/{} with body:{}", channelId, result));
     }
 }
@@ -5,15 +5,20 @@ import com.sdc.main.service.FileService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
+
 /**
  * File-management controller.
  * @since 12.2025
@@ -27,118 +32,153 @@ public class FileController {
 
     @Operation(summary = "Get telegram image")
     @GetMapping(value ="/telegram/image", produces = MediaType.IMAGE_JPEG_VALUE)
-    public byte[] getTelegramImage(
+    public ResponseEntity<StreamingResponseBody> getTelegramImage(
             @RequestParam
             final String remoteId,
+            @RequestParam(required = false)
+            final Integer size,
             @RequestParam
-            final String accountId) {
-        log.info("Received request GET /files/telegram/image with remoteId:{}, accountId:{}", remoteId, accountId);
-        final byte[] result = fileService.getTelegramImage(remoteId, accountId);
-        log.info("Produced response 200 for GET /files/telegram/image");
+            final String accountId,
+            @RequestHeader
+            final HttpHeaders headers) {
+        log.info("Received request GET /files/telegram/image with remoteId:{}, size:{}, accountId:{}", remoteId, size, accountId);
+        final ResponseEntity<StreamingResponseBody> result = fileService.getTelegramImage(remoteId, size, accountId, headers);
+        log.info("Produced response {} for GET /files/telegram/image", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get telegram video")
     @GetMapping(value= "/telegram/video", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getTelegramVideo(
+    public ResponseEntity<StreamingResponseBody> getTelegramVideo(
             @RequestParam
             final String remoteId,
             @RequestParam
-            final String accountId) {
+            final String accountId,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request GET /files/telegram/video with remoteId:{}, accountId:{}", remoteId, accountId);
-        final StreamingResponseBody result = fileService.getTelegramVideo(remoteId, accountId);
-        log.info("Produced response 200 for GET /files/telegram/video");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getTelegramVideo(remoteId, accountId, headers);
+        log.info("Produced response {} for GET /files/telegram/video", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get telegram document")
     @GetMapping(value = "/telegram/document", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getTelegramDocument(
+    public ResponseEntity<StreamingResponseBody> getTelegramDocument(
             @RequestParam
             final String remoteId,
             @RequestParam
-            final String accountId) {
+            final String accountId,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request GET /files/telegram/document with remoteId:{}, accountId:{}", remoteId, accountId);
-        final StreamingResponseBody result = fileService.getTelegramDocument(remoteId, accountId);
-        log.info("Produced response 200 for GET /files/telegram/document");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getTelegramDocument(remoteId, accountId, headers);
+        log.info("Produced response {} for GET /files/telegram/document", result.getStatusCode().value());
+        return result;
+    }
+
+    @Operation(summary = "Get batch of telegram image thumbnails")
+    @PostMapping(value = "/telegram/avatars", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody getTelegramAvatars(
+            @RequestBody
+            final List<String> remoteIds,
+            @RequestParam(defaultValue = "64")
+            final int size,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /files/telegram/avatars with remoteIds:{}, size:{}, accountId:{}", remoteIds, size, accountId);
+        final StreamingResponseBody result = fileService.getTelegramAvatars(remoteIds, size, accountId);
+        log.info("Produced response 200 for POST /files/telegram/avatars");
         return result;
     }
 
     @Operation(summary = "Get gmail image")
     @GetMapping(value = "/gmail/image", produces = MediaType.IMAGE_JPEG_VALUE)
-    public StreamingResponseBody getGmailImage(
+    public ResponseEntity<StreamingResponseBody> getGmailImage(
             @RequestParam
             final Long accountId,
             @RequestParam
             final String messageId,
             @RequestParam
-            final String attachmentId) {
+            final String attachmentId,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request GET /files/gmail/image with accountId:{}, messageId:{}, attachmentId:{}", accountId, messageId, attachmentId);
-        final StreamingResponseBody result = fileService.getGmailImage(accountId, messageId, attachmentId);
-        log.info("Produced response 200 for GET /files/gmail/image");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getGmailImage(accountId, messageId, attachmentId, headers);
+        log.info("Produced response {} for GET /files/gmail/image", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get gmail video")
     @GetMapping(value = "/gmail/video", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getGmailVideo(
+    public ResponseEntity<StreamingResponseBody> getGmailVideo(
             @RequestParam
             final Long accountId,
             @RequestParam
             final String messageId,
             @RequestParam
-            final String attachmentId) {
+            final String attachmentId,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request GET /files/gmail/video with accountId:{}, messageId:{}, attachmentId:{}", accountId, messageId, attachmentId);
-        final StreamingResponseBody result = fileService.getGmailVideo(accountId, messageId, attachmentId);
-        log.info("Produced response 200 for GET /files/gmail/video");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getGmailVideo(accountId, messageId, attachmentId, headers);
+        log.info("Produced response {} for GET /files/gmail/video", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get gmail video")
     @GetMapping(value = "/gmail/document", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getGmailDocument(
+    public ResponseEntity<StreamingResponseBody> getGmailDocument(
             @RequestParam
             final Long accountId,
             @RequestParam
             final String messageId,
             @RequestParam
-            final String attachmentId) {
+            final String attachmentId,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request GET /files/gmail/document with accountId:{}, messageId:{}, attachmentId:{}", accountId, messageId, attachmentId);
-        final StreamingResponseBody result = fileService.getGmailDocument(accountId, messageId, attachmentId);
-        log.info("Produced response 200 for GET /files/gmail/document");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getGmailDocument(accountId, messageId, attachmentId, headers);
+        log.info("Produced response {} for GET /files/gmail/document", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get discord image")
     @PostMapping(value = "/discord/image", produces = MediaType.IMAGE_JPEG_VALUE)
-    public StreamingResponseBody getDiscordImage(
+    public ResponseEntity<StreamingResponseBody> getDiscordImage(
             @RequestBody
-            final GetFileRequestDto request) {
+            final GetFileRequestDto request,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request POST /files/discord/image with request:{}", request);
-        final StreamingResponseBody result = fileService.getDiscordImage(request);
-        log.info("Produced response 200 for POST /files/discord/image");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getDiscordImage(request, headers);
+        log.info("Produced response {} for POST /files/discord/image", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get discord video")
     @PostMapping(value = "/discord/video", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getDiscordVideo(
+    public ResponseEntity<StreamingResponseBody> getDiscordVideo(
             @RequestBody
-            final GetFileRequestDto request) {
+            final GetFileRequestDto request,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request POST /files/discord/video with request:{}", request);
-        final StreamingResponseBody result = fileService.getDiscordVideo(request);
-        log.info("Produced response 200 for POST /files/discord/video");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getDiscordVideo(request, headers);
+        log.info("Produced response {} for POST /files/discord/video", result.getStatusCode().value());
         return result;
     }
 
     @Operation(summary = "Get discord document")
     @PostMapping(value = "/discord/document", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public StreamingResponseBody getDiscordDocument(
+    public ResponseEntity<StreamingResponseBody> getDiscordDocument(
             @RequestBody
-            final GetFileRequestDto request) {
+            final GetFileRequestDto request,
+            @RequestHeader
+            final HttpHeaders headers) {
         log.info("Received request POST /files/discord/document with request:{}", request);
-        final StreamingResponseBody result = fileService.getDiscordDocument(request);
-        log.info("Produced response 200 for POST /files/discord/document");
+        final ResponseEntity<StreamingResponseBody> result = fileService.getDiscordDocument(request, headers);
+        log.info("Produced response {} for POST /files/discord/document", result.getStatusCode().value());
         return result;
     }
 }
@@ -1,29 +1,48 @@
 package com.sdc.main.controller;
 
+import com.sdc.main.domain.constants.BroadcastRecipientStatus;
+import com.sdc.main.domain.constants.telegram.TelegramUploadType;
+import com.sdc.main.domain.dto.broadcast.BroadcastJobDto;
+import com.sdc.main.domain.dto.broadcast.BroadcastJobRecipientDto;
+import com.sdc.main.domain.dto.broadcast.BroadcastResultDto;
 import com.sdc.main.domain.dto.discord.message.ChannelMessageDto;
 import com.sdc.main.domain.dto.discord.message.DiscordPrivateMessageDto;
 import com.sdc.main.domain.dto.gmail.GmailMessagesResponseDto;
 import com.sdc.main.domain.dto.request.BroadcastMessageRequestDto;
+import com.sdc.main.domain.dto.telegram.TelegramExportJobDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardRequestDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardResultDto;
+import com.sdc.main.domain.dto.telegram.TelegramUploadSessionDto;
 import com.sdc.main.domain.dto.telegram.message.MessageTdlibDto;
+import com.sdc.main.service.BroadcastJobService;
+import com.sdc.main.service.BroadcastService;
 import com.sdc.main.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.util.List;
 
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+
 /**
  * Message-management controller.
  * @since 11.2025
@@ -34,15 +53,64 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MessageController {
     private final MessageService messageService;
+    private final BroadcastService broadcastService;
+    private final BroadcastJobService broadcastJobService;
 
     @Operation(summary = "Broadcast messages")
     @PostMapping("/broadcast")
-    public void sendGroupMessages(
+    public BroadcastResultDto sendGroupMessages(
             @RequestBody
             final BroadcastMessageRequestDto request) {
         log.info("Received request POST /messages/broadcast with request:{}", request);
-        messageService.broadcastMessages(request);
+        final BroadcastResultDto result = broadcastService.broadcastMessages(request);
         log.info("Produced response 200 for POST /messages/broadcast");
+        return result;
+    }
+
+    @Operation(summary = "Submit broadcast job")
+    @PostMapping("/broadcast/jobs")
+    public BroadcastJobDto submitBroadcastJob(
+            @RequestBody
+            final BroadcastMessageRequestDto request) {
+        log.info("Received request POST /messages/broadcast/jobs with request:{}", request);
+        final BroadcastJobDto result = broadcastJobService.submit(request);
+        log.info("Produced response 200 for POST /messages/broadcast/jobs with body:{}", result);
+        return result;
+    }
+
+    @Operation(summary = "Get broadcast job")
+    @GetMapping("/broadcast/jobs/{jobId}")
+    public BroadcastJobDto getBroadcastJob(
+            @PathVariable
+            final Long jobId) {
+        log.info("Received request GET /messages/broadcast/jobs/{}", jobId);
+        final BroadcastJobDto result = broadcastJobService.getJob(jobId);
+        log.info("Produced response 200 for GET /messages/broadcast/jobs/{} with body:{}", jobId, result);
+        return result;
+    }
+
+    @Operation(summary = "Get broadcast job recipients")
+    @GetMapping("/broadcast/jobs/{jobId}/recipients")
+    public List<BroadcastJobRecipientDto> getBroadcastJobRecipients(
+            @PathVariable
+            final Long jobId,
+            @RequestParam(required = false)
+            final BroadcastRecipientStatus status) {
+        log.info("Received request GET /messages/broadcast/jobs/{}/recipients with status:{}", jobId, status);
+        final List<BroadcastJobRecipientDto> result = broadcastJobService.getRecipients(jobId, status);
+        log.info("Produced response 200 for GET /messages/broadcast/jobs/{}/recipients", jobId);
+        return result;
+    }
+
+    @Operation(summary = "Cancel broadcast job")
+    @DeleteMapping("/broadcast/jobs/{jobId}")
+    public BroadcastJobDto cancelBroadcastJob(
+            @PathVariable
+            final Long jobId) {
+        log.info("Received request DELETE /messages/broadcast/jobs/{}", jobId);
+        final BroadcastJobDto result = broadcastJobService.cancel(jobId);
+        log.info("Produced response 200 for DELETE /messages/broadcast/jobs/{} with body:{}", jobId, result);
+        return result;
     }
 
     @Operation(summary = "Send telegram message")
@@ -113,31 +181,177 @@ public class MessageController {
 
     @Operation(summary = "Get telegram message")
     @GetMapping("/telegram/{messageId}")
-    public MessageTdlibDto getTelegramMessage(
+    public Mono<ResponseEntity<MessageTdlibDto>> getTelegramMessage(
             @RequestParam
             final Long chatId,
             @PathVariable
             final Long messageId,
             @RequestParam
-            final String accountId) {
+            final String accountId,
+            @RequestHeader(value = IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
         log.info("Received request GET /messages/telegram/{} with chatId:{}, accountId:{}", messageId, chatId, accountId);
-        final MessageTdlibDto result = messageService.getTelegramMessage(chatId, messageId, accountId);
-        log.info("Produced response 200 for GET /messages/telegram/{} with body:{}", messageId, result);
-        return result;
+        return messageService.getTelegramMessage(chatId, messageId, accountId, ifNoneMatch)
+                .doOnNext(result -> log.info("Produced response {} for GET /messages/telegram/{} with body:{}", result.getStatusCode().value(), messageId, result.getBody()));
     }
 
     @Operation(summary = "Find all telegram chat messages")
     @GetMapping("/telegram/{chatId}/messages")
-    public List<MessageTdlibDto> findAllTelegramMessages(
+    public Mono<ResponseEntity<List<MessageTdlibDto>>> findAllTelegramMessages(
             @PathVariable
             final Long chatId,
             @RequestParam
             final int limit,
+            @RequestParam(required = false)
+            final Integer prefetch,
+            @RequestParam
+            final String accountId,
+            @RequestHeader(value = IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
+        log.info("Received request GET /messages/telegram/{}/messages with accountId:{}, limit:{}, prefetch:{}", chatId, accountId, limit, prefetch);
+        return messageService.findAllTelegramMessages(chatId, limit, prefetch, accountId, ifNoneMatch)
+                .doOnNext(result -> log.info("Produced response {} for GET /messages/telegram/{}/messages with body:{}", result.getStatusCode().value(), chatId, result.getBody()));
+    }
+
+    @Operation(summary = "Create resumable telegram upload session")
+    @PostMapping("/telegram/uploads")
+    public TelegramUploadSessionDto createTelegramUpload(
+            @RequestParam
+            final String fileName,
+            @RequestParam
+            final long totalSize,
+            @RequestParam
+            final TelegramUploadType type,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /messages/telegram/uploads with fileName:{}, totalSize:{}, type:{}, accountId:{}", fileName, totalSize, type, accountId);
+        final TelegramUploadSessionDto result = messageService.createTelegramUpload(fileName, totalSize, type, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/uploads with body:{}", result);
+        return result;
+    }
+
+    @Operation(summary = "Get resumable telegram upload session")
+    @GetMapping("/telegram/uploads/{uploadId}")
+    public TelegramUploadSessionDto getTelegramUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /messages/telegram/uploads/{} with accountId:{}", uploadId, accountId);
+        final TelegramUploadSessionDto result = messageService.getTelegramUpload(uploadId, accountId);
+        log.info("Produced response 200 for GET /messages/telegram/uploads/{} with body:{}", uploadId, result);
+        return result;
+    }
+
+    @Operation(summary = "Upload telegram media chunk at offset")
+    @PutMapping(value = "/telegram/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public TelegramUploadSessionDto writeTelegramUploadChunk(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final long offset,
+            @RequestParam
+            final String accountId,
+            final InputStream body) {
+        log.info("Received request PUT /messages/telegram/uploads/{} with offset:{}, accountId:{}", uploadId, offset, accountId);
+        final TelegramUploadSessionDto result = messageService.writeTelegramUploadChunk(uploadId, offset, body, accountId);
+        log.info("Produced response 200 for PUT /messages/telegram/uploads/{} with body:{}", uploadId, result);
+        return result;
+    }
+
+    @Operation(summary = "Complete telegram upload and send it to chat")
+    @PostMapping("/telegram/uploads/{uploadId}/complete")
+    public void completeTelegramUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final Long chatId,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /messages/telegram/uploads/{}/complete with chatId:{}, accountId:{}", uploadId, chatId, accountId);
+        messageService.completeTelegramUpload(uploadId, chatId, message, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/uploads/{}/complete", uploadId);
+    }
+
+    @Operation(summary = "Abort resumable telegram upload session")
+    @DeleteMapping("/telegram/uploads/{uploadId}")
+    public void abortTelegramUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request DELETE /messages/telegram/uploads/{} with accountId:{}", uploadId, accountId);
+        messageService.abortTelegramUpload(uploadId, accountId);
+        log.info("Produced response 200 for DELETE /messages/telegram/uploads/{}", uploadId);
+    }
+
+    @Operation(summary = "Start telegram chat history export job")
+    @PostMapping("/telegram/{chatId}/exports")
+    public TelegramExportJobDto startTelegramExport(
+            @PathVariable
+            final Long chatId,
+            @RequestParam(defaultValue = "false")
+            final boolean includeMedia,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /messages/telegram/{}/exports with includeMedia:{}, accountId:{}", chatId, includeMedia, accountId);
+        final TelegramExportJobDto result = messageService.startTelegramExport(chatId, includeMedia, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/{}/exports with body:{}", chatId, result);
+        return result;
+    }
+
+    @Operation(summary = "Get telegram chat history export job")
+    @GetMapping("/telegram/exports/{jobId}")
+    public TelegramExportJobDto getTelegramExport(
+            @PathVariable
+            final String jobId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /messages/telegram/exports/{} with accountId:{}", jobId, accountId);
+        final TelegramExportJobDto result = messageService.getTelegramExport(jobId, accountId);
+        log.info("Produced response 200 for GET /messages/telegram/exports/{} with body:{}", jobId, result);
+        return result;
+    }
+
+    @Operation(summary = "Download completed telegram chat history export")
+    @GetMapping(value = "/telegram/exports/{jobId}/file", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody getTelegramExportFile(
+            @PathVariable
+            final String jobId,
             @RequestParam
             final String accountId) {
-        log.info("Received request GET /messages/telegram/{}/messages with accountId:{}, limit:{}", chatId, accountId, limit);
-        final List<MessageTdlibDto> result = messageService.findAllTelegramMessages(chatId, limit, accountId);
-        log.info("Produced response 200 for GET /messages/telegram/{}/messages with body:{}", chatId, result);
+        log.info("Received request GET /messages/telegram/exports/{}/file with accountId:{}", jobId, accountId);
+        final StreamingResponseBody result = messageService.getTelegramExportFile(jobId, accountId);
+        log.info("Produced response 200 for GET /messages/telegram/exports/{}/file", jobId);
+        return result;
+    }
+
+    @Operation(summary = "Cancel telegram chat history export job")
+    @DeleteMapping("/telegram/exports/{jobId}")
+    public void cancelTelegramExport(
+            @PathVariable
+            final String jobId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request DELETE /messages/telegram/exports/{} with accountId:{}", jobId, accountId);
+        messageService.cancelTelegramExport(jobId, accountId);
+        log.info("Produced response 200 for DELETE /messages/telegram/exports/{}", jobId);
+    }
+
+    @Operation(summary = "Stream telegram chat history export")
+    @GetMapping(value = "/telegram/{chatId}/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody streamTelegramExport(
+            @PathVariable
+            final Long chatId,
+            @RequestParam(defaultValue = "false")
+            final boolean includeMedia,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /messages/telegram/{}/export with includeMedia:{}, accountId:{}", chatId, includeMedia, accountId);
+        final StreamingResponseBody result = messageService.streamTelegramExport(chatId, includeMedia, accountId);
+        log.info("Produced response 200 for GET /messages/telegram/{}/export", chatId);
         return result;
     }
 
@@ -157,6 +371,36 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/telegram/{}/send-image", chatId);
     }
 
+    @Operation(summary = "Send Telegram photos and videos as album")
+    @PostMapping(value = "/telegram/{chatId}/send-album", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void sendTelegramAlbum(
+            @PathVariable
+            final Long chatId,
+            @RequestPart
+            final List<MultipartFile> files,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /messages/telegram/{}/send-album with files:{}", chatId, files.size());
+        messageService.sendTelegramAlbumMessage(chatId, files, message, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/{}/send-album", chatId);
+    }
+
+    @Operation(summary = "Forward Telegram messages to many chats")
+    @PostMapping("/telegram/forward")
+    public List<TelegramForwardResultDto> forwardTelegramMessages(
+            @RequestBody
+            @Valid
+            final TelegramForwardRequestDto request,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /messages/telegram/forward with fromChatId:{}, targetChatIds:{}", request.getFromChatId(), request.getTargetChatIds());
+        final List<TelegramForwardResultDto> result = messageService.forwardTelegramMessages(request, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/forward");
+        return result;
+    }
+
     @Operation(summary = "Send Telegram video message")
     @PostMapping(value = "/telegram/{chatId}/send-video",  consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public void sendTelegramVideo(
@@ -173,6 +417,23 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/telegram/{}/send-video", chatId);
     }
 
+    @Operation(summary = "Send Telegram video message streamed from the request body")
+    @PostMapping(value = "/telegram/{chatId}/send-video", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void streamTelegramVideo(
+            @PathVariable
+            final Long chatId,
+            @RequestParam
+            final String fileName,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId,
+            final InputStream body) {
+        log.info("Received request POST /messages/telegram/{}/send-video with fileName:{}, accountId:{}", chatId, fileName, accountId);
+        messageService.streamTelegramVideoMessage(chatId, fileName, body, message, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/{}/send-video", chatId);
+    }
+
     @Operation(summary = "Send Telegram document message")
     @PostMapping(value = "/telegram/{chatId}/send-document", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public void sendTelegramDocument(
@@ -189,6 +450,23 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/telegram/{}/send-document", chatId);
     }
 
+    @Operation(summary = "Send Telegram document message streamed from the request body")
+    @PostMapping(value = "/telegram/{chatId}/send-document", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void streamTelegramDocument(
+            @PathVariable
+            final Long chatId,
+            @RequestParam
+            final String fileName,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId,
+            final InputStream body) {
+        log.info("Received request POST /messages/telegram/{}/send-document with fileName:{}, accountId:{}", chatId, fileName, accountId);
+        messageService.streamTelegramDocumentMessage(chatId, fileName, body, message, accountId);
+        log.info("Produced response 200 for POST /messages/telegram/{}/send-document", chatId);
+    }
+
     @Operation(summary = "Send gmail file message")
     @PostMapping(value = "/gmail/send-file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public void sendGmailFileMessage(
@@ -207,6 +485,25 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/gmail/send/file");
     }
 
+    @Operation(summary = "Send gmail file message streamed from the request body")
+    @PostMapping(value = "/gmail/send-file", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void streamGmailFileMessage(
+            @RequestParam
+            final Long accountId,
+            @RequestParam
+            final String to,
+            @RequestParam(required = false, defaultValue = "")
+            final String subject,
+            @RequestParam(required = false, defaultValue = "")
+            final String body,
+            @RequestParam
+            final String fileName,
+            final InputStream file) {
+        log.info("Received request POST /messages/gmail/send-file with accountId:{}, fileName:{}", accountId, fileName);
+        messageService.streamGmailFileMessage(accountId, to, subject, body, fileName, file);
+        log.info("Produced response 200 for POST /messages/gmail/send-file");
+    }
+
     @Operation(summary = "Get all gmail messages")
     @GetMapping("/gmail/p")
     public GmailMessagesResponseDto getGmailMessages(
@@ -293,6 +590,23 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/discord/dm/{}/send-file", userId);
     }
 
+    @Operation(summary = "Send Discord private file message streamed from the request body")
+    @PostMapping(value = "/discord/dm/{userId}/send-file", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void streamDiscordPrivateFileMessage(
+            @RequestParam
+            final Long botId,
+            @PathVariable
+            final String userId,
+            @RequestParam
+            final String fileName,
+            @RequestParam(required = false, defaultValue = "")
+            final String message,
+            final InputStream body) {
+        log.info("Received request POST /messages/discord/dm/{}/send-file with botId:{}, fileName:{}", userId, botId, fileName);
+        messageService.streamDiscordPrivateFileMessage(botId, userId, fileName, body, message);
+        log.info("Produced response 200 for POST /messages/discord/dm/{}/send-file", userId);
+    }
+
     @Operation(summary = "Send Discord guild channel file message")
     @PostMapping(value = "/discord/channel/{channelId}/send-file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public void sendDiscordChannelFileMessage(
@@ -309,6 +623,23 @@ public class MessageController {
         log.info("Produced response 200 for GET /messages/discord/channel/{}/send-file", channelId);
     }
 
+    @Operation(summary = "Send Discord guild channel file message streamed from the request body")
+    @PostMapping(value = "/discord/channel/{channelId}/send-file", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void streamDiscordChannelFileMessage(
+            @RequestParam
+            final Long botId,
+            @PathVariable
+            final String channelId,
+            @RequestParam
+            final String fileName,
+            @RequestParam(required = false, defaultValue = "")
+            final String message,
+            final InputStream body) {
+        log.info("Received request POST /messages/discord/channel/{}/send-file with botId:{}, fileName:{}", channelId, botId, fileName);
+        messageService.streamDiscordGuildFileMessage(botId, channelId, fileName, body, message);
+        log.info("Produced response 200 for POST /messages/discord/channel/{}/send-file", channelId);
+    }
+
     @Operation(summary = "Get Discord guild channel message history")
     @GetMapping("/discord/channel/{channelId}/history")
     public List<ChannelMessageDto> getDiscordGuildChannelMessageHistory(
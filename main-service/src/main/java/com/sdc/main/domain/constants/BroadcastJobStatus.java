@@ -0,0 +1,27 @@
+package com.sdc.main.domain.constants;
+
+/**
+ * Broadcast job status.
+ * @since 10.2026
+ */
+public enum BroadcastJobStatus {
+    /**
+     * Waiting for a worker
+     */
+    PENDING,
+
+    /**
+     * Sent by a worker
+     */
+    RUNNING,
+
+    /**
+     * Every recipient was processed
+     */
+    COMPLETED,
+
+    /**
+     * Canceled by the user, remaining recipients are not sent
+     */
+    CANCELED;
+}
@@ -0,0 +1,32 @@
+package com.sdc.main.domain.constants;
+
+/**
+ * Broadcast recipient status.
+ * @since 10.2026
+ */
+public enum BroadcastRecipientStatus {
+    /**
+     * Waiting to be sent
+     */
+    PENDING,
+
+    /**
+     * Being sent
+     */
+    SENDING,
+
+    /**
+     * Sent
+     */
+    SENT,
+
+    /**
+     * Failed, including sends interrupted by a restart whose delivery is unknown
+     */
+    FAILED,
+
+    /**
+     * Not sent because the job was canceled
+     */
+    CANCELED;
+}
@@ -0,0 +1,28 @@
+package com.sdc.main.domain.constants.telegram;
+
+public enum TelegramExportStatus {
+    /**
+     * Job waits for a free export thread.
+     */
+    PENDING,
+
+    /**
+     * Job is writing the export.
+     */
+    RUNNING,
+
+    /**
+     * Export is written and can be downloaded.
+     */
+    COMPLETED,
+
+    /**
+     * Export failed, the partial export is deleted.
+     */
+    FAILED,
+
+    /**
+     * Job was canceled, the partial export is deleted.
+     */
+    CANCELED
+}
@@ -0,0 +1,13 @@
+package com.sdc.main.domain.constants.telegram;
+
+public enum TelegramUploadType {
+    /**
+     * Video sent as a video message.
+     */
+    VIDEO,
+
+    /**
+     * File sent as a document message.
+     */
+    DOCUMENT
+}
@@ -0,0 +1,52 @@
+package com.sdc.main.domain.dto.broadcast;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sdc.main.domain.constants.BroadcastJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast job DTO.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast job DTO")
+public class BroadcastJobDto {
+    @Schema(description = "Job id")
+    private Long id;
+
+    @Schema(description = "Job status")
+    private BroadcastJobStatus status;
+
+    @Schema(description = "Personalize flag")
+    private Boolean personalize;
+
+    @Schema(description = "Number of recipients")
+    private Integer total;
+
+    @Schema(description = "Number of recipients waiting to be sent or being sent")
+    private Integer pending;
+
+    @Schema(description = "Number of messages sent")
+    private Integer sent;
+
+    @Schema(description = "Number of messages that failed")
+    private Integer failed;
+
+    @Schema(description = "Number of recipients not sent because the job was canceled")
+    private Integer canceled;
+
+    @Schema(description = "Job creation date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime createdDate;
+
+    @Schema(description = "Job completion date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime completedDate;
+}
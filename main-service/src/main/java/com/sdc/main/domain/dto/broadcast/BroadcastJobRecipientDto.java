@@ -0,0 +1,36 @@
+package com.sdc.main.domain.dto.broadcast;
+
+import com.sdc.main.domain.constants.BroadcastRecipientStatus;
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast job recipient DTO.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast job recipient DTO")
+public class BroadcastJobRecipientDto {
+    @Schema(description = "Position of the recipient in the broadcast request")
+    private Integer position;
+
+    @Schema(description = "Platform")
+    private CommunicationPlatformType platform;
+
+    @Schema(description = "Account id")
+    private String accountId;
+
+    @Schema(description = "Chat identifier")
+    private String chatIdentifier;
+
+    @Schema(description = "Recipient status")
+    private BroadcastRecipientStatus status;
+
+    @Schema(description = "Error description if the message was not sent")
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.sdc.main.domain.dto.broadcast;
+
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast recipient result DTO.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast recipient result DTO")
+public class BroadcastRecipientResultDto {
+    @Schema(description = "Platform")
+    private CommunicationPlatformType platform;
+
+    @Schema(description = "Account id")
+    private String accountId;
+
+    @Schema(description = "Chat identifier")
+    private String chatIdentifier;
+
+    @Schema(description = "Whether the message was sent")
+    private Boolean success;
+
+    @Schema(description = "Error description if the message was not sent")
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.sdc.main.domain.dto.broadcast;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Broadcast result DTO.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast result DTO")
+public class BroadcastResultDto {
+    @Schema(description = "Number of messages sent")
+    private Integer sent;
+
+    @Schema(description = "Number of messages that failed")
+    private Integer failed;
+
+    @Schema(description = "Results in the order of the receivers")
+    private List<BroadcastRecipientResultDto> results;
+}
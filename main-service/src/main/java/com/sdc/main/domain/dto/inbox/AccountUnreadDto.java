@@ -0,0 +1,29 @@
+package com.sdc.main.domain.dto.inbox;
+
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unread counters of a connected account.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Account unread counters DTO")
+public class AccountUnreadDto {
+    @Schema(description = "Platform")
+    private CommunicationPlatformType platform;
+
+    @Schema(description = "Telegram account id, Discord bot id or Gmail account id")
+    private String accountId;
+
+    @Schema(description = "Unread message count, estimated for Gmail, null if the platform doesn't report it")
+    private Long unreadMessages;
+
+    @Schema(description = "Number of chats with unread messages, null if the platform doesn't report it")
+    private Integer unreadChats;
+}
@@ -0,0 +1,43 @@
+package com.sdc.main.domain.dto.inbox;
+
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Conversation of any platform in the unified inbox.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unified inbox conversation DTO")
+public class ConversationDto {
+    @Schema(description = "Platform")
+    private CommunicationPlatformType platform;
+
+    @Schema(description = "Telegram account id, Discord bot id or Gmail account id")
+    private String accountId;
+
+    @Schema(description = "Telegram chat id, Discord channel id or Gmail thread id")
+    private String chatId;
+
+    @Schema(description = "Title")
+    private String title;
+
+    @Schema(description = "Avatar url")
+    private String avatarUrl;
+
+    @Schema(description = "Last message preview")
+    private String lastMessagePreview;
+
+    @Schema(description = "Last activity time")
+    private Instant lastActivity;
+
+    @Schema(description = "Unread count, null if the platform doesn't report it")
+    private Integer unreadCount;
+}
@@ -0,0 +1,27 @@
+package com.sdc.main.domain.dto.inbox;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Unified inbox page DTO.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unified inbox page DTO")
+public class ConversationsPageDto {
+    @Schema(description = "Conversations of all platforms ordered by last activity")
+    private List<ConversationDto> conversations;
+
+    @Schema(description = "Cursor of the next page, null if there are no more conversations")
+    private String nextCursor;
+
+    @Schema(description = "Sources that failed or timed out and are left out of the page, they are retried with the next page")
+    private List<String> failedSources;
+}
@@ -0,0 +1,31 @@
+package com.sdc.main.domain.dto.inbox;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Unread counters of all connected accounts.
+ * @since 10.2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unread counters DTO")
+public class UnreadCountersDto {
+    @Schema(description = "Counters of every connected account")
+    private List<AccountUnreadDto> accounts;
+
+    @Schema(description = "Total unread message count of the accounts that report it")
+    private Long totalUnreadMessages;
+
+    @Schema(description = "Sources that failed or timed out and are left out of the counters")
+    private List<String> failedSources;
+
+    @Schema(description = "Time the counters were fetched")
+    private Instant fetchedAt;
+}
@@ -0,0 +1,27 @@
+package com.sdc.main.domain.dto.telegram;
+
+import com.sdc.main.domain.dto.telegram.chat.ChatTdlibDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram chat changes DTO")
+public class TelegramChatChangesDto {
+    @Schema(description = "Sequence to request the next changes with")
+    private Long sequence;
+
+    @Schema(description = "Whether the changes are unknown and the chat lists must be fetched in full")
+    private Boolean resyncRequired;
+
+    @Schema(description = "Changed chats")
+    private List<ChatTdlibDto> changed;
+
+    @Schema(description = "Identifiers of chats removed from all chat lists")
+    private List<Long> removed;
+}
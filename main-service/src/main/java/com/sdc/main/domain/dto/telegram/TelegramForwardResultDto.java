@@ -0,0 +1,26 @@
+package com.sdc.main.domain.dto.telegram;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram forward result DTO")
+public class TelegramForwardResultDto {
+    @Schema(description = "Identifier of the target chat")
+    private Long targetChatId;
+
+    @Schema(description = "Whether all messages were forwarded to the target chat")
+    private Boolean success;
+
+    @Schema(description = "Identifiers of the forwarded messages in the target chat, temporary until they are sent")
+    private List<Long> forwardedMessageIds;
+
+    @Schema(description = "Error description if not all messages were forwarded")
+    private String error;
+}
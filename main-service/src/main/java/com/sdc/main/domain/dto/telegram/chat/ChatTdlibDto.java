@@ -3,6 +3,7 @@ package com.sdc.main.domain.dto.telegram.chat;
 import com.sdc.main.domain.dto.telegram.chat.list.ChatListTdlib;
 import com.sdc.main.domain.dto.telegram.chat.type.ChatTypeTdlib;
 import com.sdc.main.domain.dto.telegram.message.MessageTdlibDto;
+import com.sdc.main.domain.dto.telegram.message.content.MinithumbnailDto;
 import com.sdc.main.domain.dto.telegram.message.sending.MessageSenderTdlib;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
@@ -80,4 +81,10 @@ public class ChatTdlibDto {
 
     @Schema(description = "Ссылка на фото профиля")
     private String profilePhotoUrl;
+
+    @Schema(description = "Миниатюра фото профиля для мгновенного предпросмотра")
+    private MinithumbnailDto profilePhotoMinithumbnail;
+
+    @Schema(description = "Идентификатор аккаунта, заполняется в общем списке чатов всех аккаунтов")
+    private String accountId;
 }
@@ -0,0 +1,14 @@
+package com.sdc.main.domain.mapper;
+
+import com.sdc.main.domain.dto.broadcast.BroadcastJobRecipientDto;
+import com.sdc.main.domain.model.BroadcastRecipient;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for {@link BroadcastRecipient}.
+ * @since 10.2026
+ */
+@Mapper
+public interface BroadcastRecipientMapper {
+    BroadcastJobRecipientDto toDto(final BroadcastRecipient recipient);
+}
@@ -0,0 +1,103 @@
+package com.sdc.main.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sdc.main.domain.constants.BroadcastJobStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast job model.
+ * @since 10.2026
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "broadcast_jobs", schema = "main_service")
+public class BroadcastJob implements Persistable<Long> {
+    /**
+     * ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Id of the user who submitted the job.
+     */
+    private Long userId;
+
+    /**
+     * Username of the user, the job is sent on behalf of the user.
+     */
+    private String username;
+
+    /**
+     * Role of the user.
+     */
+    private String role;
+
+    /**
+     * Full name of the user.
+     */
+    private String fullName;
+
+    /**
+     * Personalize flag.
+     */
+    private Boolean personalize;
+
+    /**
+     * Job status.
+     */
+    @Enumerated(EnumType.STRING)
+    private BroadcastJobStatus status;
+
+    /**
+     * Number of recipients.
+     */
+    private Integer totalRecipients;
+
+    /**
+     * Time until which the running job belongs to its worker, an expired job is resumed by another worker.
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Job completion date.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime completedDate;
+
+    /**
+     * Job creation date.
+     */
+    @CreationTimestamp
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime createdDate;
+
+    /**
+     * Job last modified date.
+     */
+    @UpdateTimestamp
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime lastModifiedDate;
+
+    @Override
+    public boolean isNew() {
+        return id == null;
+    }
+}
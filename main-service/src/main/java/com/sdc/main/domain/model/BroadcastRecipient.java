@@ -0,0 +1,99 @@
+package com.sdc.main.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sdc.main.domain.constants.BroadcastRecipientStatus;
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast recipient model.
+ * @since 10.2026
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "broadcast_recipients", schema = "main_service")
+public class BroadcastRecipient implements Persistable<Long> {
+    /**
+     * ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Broadcast job id.
+     */
+    private Long jobId;
+
+    /**
+     * Position of the recipient in the broadcast request.
+     */
+    private Integer position;
+
+    /**
+     * Platform.
+     */
+    @Enumerated(EnumType.STRING)
+    private CommunicationPlatformType platform;
+
+    /**
+     * Account id.
+     */
+    private String accountId;
+
+    /**
+     * Chat identifier.
+     */
+    private String chatIdentifier;
+
+    /**
+     * Message request as JSON.
+     */
+    private String request;
+
+    /**
+     * Recipient status.
+     */
+    @Enumerated(EnumType.STRING)
+    private BroadcastRecipientStatus status;
+
+    /**
+     * Error description if the message was not sent.
+     */
+    private String error;
+
+    /**
+     * Recipient creation date.
+     */
+    @CreationTimestamp
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime createdDate;
+
+    /**
+     * Recipient last modified date.
+     */
+    @UpdateTimestamp
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime lastModifiedDate;
+
+    @Override
+    public boolean isNew() {
+        return id == null;
+    }
+}
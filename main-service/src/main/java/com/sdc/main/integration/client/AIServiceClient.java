@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
@@ -27,6 +28,10 @@ public class AIServiceClient {
     private final MicroserviceIntegrationProperties properties;
 
     public String customizeMessage(final String message, final CommunicationPlatformType platform, final String chatIdentifier) {
+        return customizeMessageAsync(message, platform, chatIdentifier).block();
+    }
+
+    public Mono<String> customizeMessageAsync(final String message, final CommunicationPlatformType platform, final String chatIdentifier) {
         return webClient.post()
                 .uri(fromHttpUrl(properties.getAiService().getFormatMessageUrl())
                         .queryParam(MESSAGE_PARAM, message)
@@ -34,8 +39,7 @@ public class AIServiceClient {
                         .queryParam(CHAT_ID_PARAM, chatIdentifier)
                         .build().toString())
                 .retrieve()
-                .bodyToMono(String.class)
-                .block();
+                .bodyToMono(String.class);
     }
 
     public ContactProfileDto addContactProfile(final ContactProfileCreateDto createDto) {
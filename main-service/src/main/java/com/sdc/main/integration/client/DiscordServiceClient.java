@@ -13,18 +13,18 @@ import com.sdc.main.domain.dto.discord.request.GetFileRequestDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
@@ -47,17 +47,17 @@ public class DiscordServiceClient {
     private static final String UPDATED_MESSAGE_PARAM = "updatedMessage";
 
     private final WebClient webClient;
+    private final MediaProxy mediaProxy;
     private final MicroserviceIntegrationProperties properties;
 
-    public List<DiscordBotInfoDto> getConnectedBots() {
+    public Mono<List<DiscordBotInfoDto>> getConnectedBotsAsync() {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getGetBotsUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<DiscordBotInfoDto>>() {
-                })
-                .block();
+                });
     }
 
     public DiscordBotInfoDto addBot(final AddBotRequestDto request) {
@@ -72,51 +72,47 @@ public class DiscordServiceClient {
                 .block();
     }
 
-    public List<DiscordPrivateChatDto> getPrivateChats(final Long botId) {
+    public Mono<List<DiscordPrivateChatDto>> getPrivateChatsAsync(final Long botId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + properties.getDiscordService().getGetPrivateChatsUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<DiscordPrivateChatDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<GuildDto> getGuilds(final Long botId) {
+    public Mono<List<GuildDto>> getGuildsAsync(final Long botId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + properties.getDiscordService().getGetGuildsUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<GuildDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<GuildChannelDto> getChannels(final Long botId, final Long guildId) {
+    public Mono<List<GuildChannelDto>> getChannelsAsync(final Long botId, final Long guildId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + "/chats/guilds/" + guildId + "/channels")
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<GuildChannelDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<GuildUserDto> getUsers(final Long botId) {
+    public Mono<List<GuildUserDto>> getUsersAsync(final Long botId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + properties.getDiscordService().getGetUsersUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<GuildUserDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<DiscordPrivateChatDto> searchChats(final Long botId, final String query) {
+    public Mono<List<DiscordPrivateChatDto>> searchChatsAsync(final Long botId, final String query) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + properties.getDiscordService().getSearchChatsUrl())
                         .queryParam(QUERY_PARAM, query)
@@ -124,11 +120,10 @@ public class DiscordServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<DiscordPrivateChatDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<GuildChannelDto> searchGuildChannels(final Long botId, final Long guildId, final String query) {
+    public Mono<List<GuildChannelDto>> searchGuildChannelsAsync(final Long botId, final Long guildId, final String query) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + "/chats/" + guildId + "/channels/search")
                         .queryParam(QUERY_PARAM, query)
@@ -136,145 +131,74 @@ public class DiscordServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<GuildChannelDto>>() {
-                })
-                .block();
+                });
     }
 
-    public DiscordPrivateChatDto getChat(final Long botId, final String channelId) {
+    public Mono<DiscordPrivateChatDto> getChatAsync(final Long botId, final String channelId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path(botId + "/" + channelId)
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<DiscordPrivateChatDto>() {
-                })
-                .block();
+                });
     }
 
-    public StreamingResponseBody getImage(final GetFileRequestDto request) {
-        return outputStream -> {
-            webClient.post()
-                    .uri(fromHttpUrl(properties.getDiscordService().getGetImageUrl())
-                            .build()
-                            .toString())
-                    .bodyValue(request)
-                    .accept(MediaType.IMAGE_JPEG)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming image", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> getImage(final GetFileRequestDto request, final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.post()
+                .uri(fromHttpUrl(properties.getDiscordService().getGetImageUrl())
+                        .build()
+                        .toString())
+                .bodyValue(request)
+                .accept(MediaType.IMAGE_JPEG), requestHeaders);
     }
 
-    public StreamingResponseBody getVideo(final GetFileRequestDto request) {
-        return outputStream -> {
-            webClient.post()
-                    .uri(fromHttpUrl(properties.getDiscordService().getGetVideoUrl())
-                            .build()
-                            .toString())
-                    .bodyValue(request)
-                    .accept(MediaType.APPLICATION_OCTET_STREAM)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming video", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> getVideo(final GetFileRequestDto request, final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.post()
+                .uri(fromHttpUrl(properties.getDiscordService().getGetVideoUrl())
+                        .build()
+                        .toString())
+                .bodyValue(request)
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
-    public StreamingResponseBody getDocument(final GetFileRequestDto request) {
-        return outputStream -> {
-            webClient.post()
-                    .uri(fromHttpUrl(properties.getDiscordService().getGetDocumentUrl())
-                            .build()
-                            .toString())
-                    .bodyValue(request)
-                    .accept(MediaType.APPLICATION_OCTET_STREAM)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming document", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> getDocument(final GetFileRequestDto request, final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.post()
+                .uri(fromHttpUrl(properties.getDiscordService().getGetDocumentUrl())
+                        .build()
+                        .toString())
+                .bodyValue(request)
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
     public void sendDirectMessage(final String chatId, final String messageText, final Long accountId) {
-        webClient.post()
+        sendDirectMessageAsync(chatId, messageText, accountId).block();
+    }
+
+    public Mono<Void> sendDirectMessageAsync(final String chatId, final String messageText, final Long accountId) {
+        return webClient.post()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path("messages/" + accountId + properties.getDiscordService().getSendDirectMessageUrl())
                         .queryParam(USER_ID_PARAM, chatId)
                         .queryParam(MESSAGE_PARAM, messageText)
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
     public void sendChannelMessage(final String chatId, final String messageText, final Long accountId) {
-        webClient.post()
+        sendChannelMessageAsync(chatId, messageText, accountId).block();
+    }
+
+    public Mono<Void> sendChannelMessageAsync(final String chatId, final String messageText, final Long accountId) {
+        return webClient.post()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path("messages/" + accountId + properties.getDiscordService().getSendChannelMessageUrl())
                         .queryParam(CHANNEL_ID_PARAM, chatId)
                         .queryParam(MESSAGE_PARAM, messageText)
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
     public void sendDmFileMessage(final Long botId, final String userId, final List<MultipartFile> files, final String message) {
@@ -316,6 +240,34 @@ public class DiscordServiceClient {
                 .block();
     }
 
+    public void sendStreamedDmFileMessage(final Long botId, final String userId, final String fileName, final InputStream body, final String message) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path("/messages/" + botId + properties.getDiscordService().getSendPrivateFileMessageUrl())
+                        .queryParam(USER_ID_PARAM, userId)
+                        .queryParam(MESSAGE_PARAM, message)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(MediaProxy.streamedFile("files", fileName, body)))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public void sendStreamedChannelFileMessage(final Long botId, final String channelId, final String fileName, final InputStream body, final String message) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path("/messages/" + botId + properties.getDiscordService().getSendChannelFileMessageUrl())
+                        .queryParam(CHANNEL_ID_PARAM, channelId)
+                        .queryParam(MESSAGE_PARAM, message)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(MediaProxy.streamedFile("files", fileName, body)))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
     public List<ChannelMessageDto> getGuildChannelHistory(final Long botId, final String channelId, final int limit) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getDiscordService().getBaseUrl()).path("/messages/" + botId + "/channels/" + channelId + "/history")
@@ -6,18 +6,18 @@ import com.sdc.main.domain.dto.gmail.GmailMessagesResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
@@ -42,10 +42,15 @@ public class GmailServiceClient {
 
 
     private final WebClient webClient;
+    private final MediaProxy mediaProxy;
     private final MicroserviceIntegrationProperties properties;
 
     public void sendTextMessage(final String chatId, final String messageText, final Long accountId, final String subject){
-        webClient.post()
+        sendTextMessageAsync(chatId, messageText, accountId, subject).block();
+    }
+
+    public Mono<Void> sendTextMessageAsync(final String chatId, final String messageText, final Long accountId, final String subject) {
+        return webClient.post()
                 .uri(fromHttpUrl(properties.getGmailService().getSendTextMessageUrl())
                         .queryParam(CHAT_ID_PARAM, chatId)
                         .queryParam(MESSAGE_TEXT_PARAM, messageText)
@@ -54,8 +59,7 @@ public class GmailServiceClient {
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
     public String getAuthUrl(final MultipartFile file) {
@@ -92,18 +96,38 @@ public class GmailServiceClient {
                 .block();
     }
 
-    public List<GmailAccountInfoDto> getMe() {
+    public void sendStreamedFile(final Long accountId, final String to, final String subject, final String body, final String fileName,
+                                 final InputStream file) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getGmailService().getSendFileUrl())
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .queryParam(CHAT_ID_PARAM, to)
+                        .queryParam(SUBJECT_PARAM, subject)
+                        .queryParam(MESSAGE_TEXT_PARAM, body)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(MediaProxy.streamedFile("file", fileName, file)))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public Mono<List<GmailAccountInfoDto>> getMeAsync() {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getGmailService().getGetMeUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<GmailAccountInfoDto>>() {
-                })
-                .block();
+                });
     }
 
     public GmailMessagesResponseDto getMessages(final Long accountId, final Integer maxResults, final String pageToken) {
+        return getMessagesAsync(accountId, maxResults, pageToken).block();
+    }
+
+    public Mono<GmailMessagesResponseDto> getMessagesAsync(final Long accountId, final Integer maxResults, final String pageToken) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/messages")
                         .queryParam(MAX_RESULTS_PARAM, maxResults)
@@ -112,11 +136,14 @@ public class GmailServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<GmailMessagesResponseDto>() {
-                })
-                .block();
+                });
     }
 
     public GmailMessagesResponseDto getUnreadMessage(final Long accountId, final Integer maxResults, final String pageToken) {
+        return getUnreadMessageAsync(accountId, maxResults, pageToken).block();
+    }
+
+    public Mono<GmailMessagesResponseDto> getUnreadMessageAsync(final Long accountId, final Integer maxResults, final String pageToken) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/unread")
                         .queryParam(MAX_RESULTS_PARAM, maxResults)
@@ -125,8 +152,7 @@ public class GmailServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<GmailMessagesResponseDto>() {
-                })
-                .block();
+                });
     }
 
     public void markAsRead(final Long accountId, String messageId) {
@@ -163,106 +189,34 @@ public class GmailServiceClient {
                 .block();
     }
 
-    public StreamingResponseBody downloadImage(final Long accountId, final String messageId, final String attachmentId) {
-        return outputStream -> {
-            webClient.get()
-                    .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/image")
-                            .queryParam(MESSAGE_ID_PARAM, messageId)
-                            .build()
-                            .toString())
-                    .accept(MediaType.IMAGE_JPEG)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming image", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> downloadImage(final Long accountId, final String messageId, final String attachmentId,
+                                                               final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
+                .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/image")
+                        .queryParam(MESSAGE_ID_PARAM, messageId)
+                        .build()
+                        .toString())
+                .accept(MediaType.IMAGE_JPEG), requestHeaders);
     }
 
-    public StreamingResponseBody downloadVideo(final Long accountId, final String messageId, final String attachmentId) {
-        return outputStream -> {
-            webClient.get()
-                    .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/video")
-                            .queryParam(MESSAGE_ID_PARAM, messageId)
-                            .build()
-                            .toString())
-                    .accept(MediaType.APPLICATION_OCTET_STREAM)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming video", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> downloadVideo(final Long accountId, final String messageId, final String attachmentId,
+                                                               final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
+                .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/video")
+                        .queryParam(MESSAGE_ID_PARAM, messageId)
+                        .build()
+                        .toString())
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
-    public StreamingResponseBody downloadDocument(final Long accountId, final String messageId, final String attachmentId) {
-        return outputStream -> {
-            webClient.get()
-                    .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/document")
-                            .queryParam(MESSAGE_ID_PARAM, messageId)
-                            .build()
-                            .toString())
-                    .accept(MediaType.APPLICATION_OCTET_STREAM)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming document", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> downloadDocument(final Long accountId, final String messageId, final String attachmentId,
+                                                                  final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
+                .uri(fromHttpUrl(properties.getGmailService().getReaderBaseUrl()).path(accountId + "/attachment/" + attachmentId + "/document")
+                        .queryParam(MESSAGE_ID_PARAM, messageId)
+                        .build()
+                        .toString())
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
 }
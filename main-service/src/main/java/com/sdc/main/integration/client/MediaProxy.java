@@ -0,0 +1,110 @@
+package com.sdc.main.integration.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Streaming proxy for media downloads and file uploads.
+ * The body of the downstream response is written to the servlet output stream buffer by buffer as it arrives,
+ * the next buffer is requested only after the previous one was written and released, and no byte array is
+ * allocated per buffer. Range, conditional and caching headers are forwarded in both directions, so clients
+ * can seek in videos and revalidate cached media. Uploads are read from the client request only as fast
+ * as the downstream service consumes them, so files are neither spooled to disk nor held in memory.
+ * @since 10.2026
+ */
+@Slf4j
+@Component
+public class MediaProxy {
+    public static final String PROXIED_BYTES_METRIC = "media.proxy.bytes";
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
+    private static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.RANGE, HttpHeaders.IF_RANGE,
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES);
+
+    private final Counter proxiedBytes;
+
+    public MediaProxy(final MeterRegistry meterRegistry) {
+        this.proxiedBytes = meterRegistry.counter(PROXIED_BYTES_METRIC);
+    }
+
+    /**
+     * Sends a download request and returns the downstream status and headers with the body streamed through
+     *
+     * @param request the download request
+     * @param requestHeaders the headers of the client request
+     * @return the downstream response
+     */
+    public ResponseEntity<StreamingResponseBody> proxy(final WebClient.RequestHeadersSpec<?> request, final HttpHeaders requestHeaders) {
+        final ResponseEntity<Flux<DataBuffer>> response = request
+                .headers(headers -> copy(requestHeaders, headers, REQUEST_HEADERS))
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), clientResponse -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .block();
+
+        final HttpHeaders headers = new HttpHeaders();
+        copy(response.getHeaders(), headers, RESPONSE_HEADERS);
+        final Flux<DataBuffer> body = Objects.requireNonNullElse(response.getBody(), Flux.<DataBuffer>empty())
+                .doOnNext(buffer -> proxiedBytes.increment(buffer.readableByteCount()));
+        return new ResponseEntity<>(outputStream -> DataBufferUtils.write(body, outputStream)
+                .map(DataBufferUtils::release)
+                .doOnError(e -> log.error("Error streaming media", e))
+                .then()
+                .block(), headers, response.getStatusCode());
+    }
+
+    /**
+     * Builds a multipart body with a single file part streamed from the body of the client request.
+     * The content type of the part is derived from the file name.
+     *
+     * @param partName the name of the part expected by the downstream service
+     * @param fileName the name of the file
+     * @param body the body of the client request
+     * @return the multipart body
+     */
+    public static MultiValueMap<String, HttpEntity<?>> streamedFile(final String partName, final String fileName, final InputStream body) {
+        final Flux<DataBuffer> content = DataBufferUtils.readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        final MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.asyncPart(partName, content, DataBuffer.class)
+                .filename(fileName)
+                .contentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        return builder.build();
+    }
+
+    private static void copy(final HttpHeaders from, final HttpHeaders to, final List<String> names) {
+        if (Objects.isNull(from)) {
+            return;
+        }
+        for (String name : names) {
+            final List<String> values = from.get(name);
+            if (Objects.nonNull(values)) {
+                to.put(name, values);
+            }
+        }
+    }
+}
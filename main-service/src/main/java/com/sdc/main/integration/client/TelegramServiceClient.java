@@ -1,10 +1,17 @@
 package com.sdc.main.integration.client;
 
 import com.sdc.main.config.properties.MicroserviceIntegrationProperties;
+import com.sdc.main.domain.constants.telegram.TelegramUploadType;
 import com.sdc.main.domain.dto.telegram.TelegramAccountDto;
+import com.sdc.main.domain.dto.telegram.TelegramChatChangesDto;
 import com.sdc.main.domain.dto.telegram.TelegramChatFolderDto;
 import com.sdc.main.domain.dto.telegram.TelegramCredentialsCreateDto;
+import com.sdc.main.domain.dto.telegram.TelegramExportJobDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardRequestDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardResultDto;
 import com.sdc.main.domain.dto.telegram.TelegramNotificationDto;
+import com.sdc.main.domain.dto.telegram.TelegramUnifiedChatsDto;
+import com.sdc.main.domain.dto.telegram.TelegramUploadSessionDto;
 import com.sdc.main.domain.dto.telegram.auth.AuthorizationStateTdlib;
 import com.sdc.main.domain.dto.telegram.chat.ChatTdlibDto;
 import com.sdc.main.domain.dto.telegram.message.MessageTdlibDto;
@@ -14,17 +21,25 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
@@ -49,37 +64,55 @@ public class TelegramServiceClient {
     private final static String PHONE_PARAM = "phone";
     private final static String CODE_PARAM = "code";
     private final static String FOLDER_ID_PARAM = "folderId";
+    private final static String SIZE_PARAM = "size";
+    private final static String PHOTO_SIZE_PARAM = "photoSize";
+    private final static String PREFETCH_PARAM = "prefetch";
+    private final static String SINCE_PARAM = "since";
+    private final static String INCLUDE_MEDIA_PARAM = "includeMedia";
+    private final static String FILE_NAME_PARAM = "fileName";
+    private final static String TOTAL_SIZE_PARAM = "totalSize";
+    private final static String TYPE_PARAM = "type";
+    private final static String OFFSET_PARAM = "offset";
+    private final static String CURSOR_PARAM = "cursor";
+    private final static int UPLOAD_BUFFER_SIZE = 64 * 1024;
 
     private final WebClient webClient;
+    private final MediaProxy mediaProxy;
     private final MicroserviceIntegrationProperties properties;
 
-    public List<ChatTdlibDto> findAllChatsMain(final int limit, final String accountId) {
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllChatsMainAsync(final int limit, final Integer photoSize, final String accountId,
+                                                                          final String ifNoneMatch) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetChatsMainUrl())
                         .queryParam(LIMIT_PARAM, limit)
+                        .queryParamIfPresent(PHOTO_SIZE_PARAM, Optional.ofNullable(photoSize))
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                         .toString())
+                .headers(headers -> Optional.ofNullable(ifNoneMatch).ifPresent(headers::setIfNoneMatch))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
+                .toEntity(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
                 })
-                .block();
+                .map(TelegramServiceClient::withValidators);
     }
 
-    public List<ChatTdlibDto> findAllChatsArchive(final int limit, final String accountId) {
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllChatsArchiveAsync(final int limit, final Integer photoSize, final String accountId,
+                                                                             final String ifNoneMatch) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetChatsArchiveUrl())
                         .queryParam(LIMIT_PARAM, limit)
+                        .queryParamIfPresent(PHOTO_SIZE_PARAM, Optional.ofNullable(photoSize))
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                         .toString())
+                .headers(headers -> Optional.ofNullable(ifNoneMatch).ifPresent(headers::setIfNoneMatch))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
+                .toEntity(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
                 })
-                .block();
+                .map(TelegramServiceClient::withValidators);
     }
 
-    public List<TelegramChatFolderDto> findAllChatFolders(final String accountId) {
+    public Mono<List<TelegramChatFolderDto>> findAllChatFoldersAsync(final String accountId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetChatFoldersUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
@@ -87,53 +120,83 @@ public class TelegramServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<TelegramChatFolderDto>>() {
-                })
-                .block();
+                });
     }
 
-    public List<ChatTdlibDto> findAllChatsFolder(final int limit, final int folderId, final String accountId) {
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllChatsFolderAsync(final int limit, final int folderId, final Integer photoSize,
+                                                                            final String accountId, final String ifNoneMatch) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetChatsFolderUrl())
                         .queryParam(LIMIT_PARAM, limit)
                         .queryParam(FOLDER_ID_PARAM, folderId)
+                        .queryParamIfPresent(PHOTO_SIZE_PARAM, Optional.ofNullable(photoSize))
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                         .toString())
+                .headers(headers -> Optional.ofNullable(ifNoneMatch).ifPresent(headers::setIfNoneMatch))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
+                .toEntity(new ParameterizedTypeReference<List<ChatTdlibDto>>() {
                 })
-                .block();
+                .map(TelegramServiceClient::withValidators);
+    }
+
+    public Mono<TelegramUnifiedChatsDto> findUnifiedChatsAsync(final int limit, final String cursor, final Integer photoSize) {
+        return webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/chats/all-accounts")
+                        .queryParam(LIMIT_PARAM, limit)
+                        .queryParamIfPresent(CURSOR_PARAM, Optional.ofNullable(cursor))
+                        .queryParamIfPresent(PHOTO_SIZE_PARAM, Optional.ofNullable(photoSize))
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramUnifiedChatsDto.class);
     }
 
-    public MessageTdlibDto getTelegramMessage(final Long chatId, final Long messageId, final String accountId) {
+    public Mono<TelegramChatChangesDto> getChatChangesAsync(final long since, final Integer photoSize, final String accountId) {
+        return webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getGetChatChangesUrl())
+                        .queryParam(SINCE_PARAM, since)
+                        .queryParamIfPresent(PHOTO_SIZE_PARAM, Optional.ofNullable(photoSize))
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramChatChangesDto.class);
+    }
+
+    public Mono<ResponseEntity<MessageTdlibDto>> getTelegramMessageAsync(final Long chatId, final Long messageId, final String accountId,
+                                                                         final String ifNoneMatch) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/" + chatId + "/message")
                         .queryParam(MESSAGE_ID_PARAM, messageId)
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                 .toString())
+                .headers(headers -> Optional.ofNullable(ifNoneMatch).ifPresent(headers::setIfNoneMatch))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<MessageTdlibDto>() {
+                .toEntity(new ParameterizedTypeReference<MessageTdlibDto>() {
                 })
-                .block();
+                .map(TelegramServiceClient::withValidators);
     }
 
-    public List<MessageTdlibDto> findAllMessages(final Long chatId, final int limit, final String accountId) {
+    public Mono<ResponseEntity<List<MessageTdlibDto>>> findAllMessagesAsync(final Long chatId, final int limit, final Integer prefetch,
+                                                                            final String accountId, final String ifNoneMatch) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/" + chatId + "/messages")
                         .queryParam(CHAT_ID_PARAM, chatId)
                         .queryParam(LIMIT_PARAM, limit)
+                        .queryParamIfPresent(PREFETCH_PARAM, Optional.ofNullable(prefetch))
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                         .toString())
                 .accept(APPLICATION_JSON)
+                .headers(headers -> Optional.ofNullable(ifNoneMatch).ifPresent(headers::setIfNoneMatch))
                 .retrieve()
-                .bodyToFlux(MessageTdlibDto.class)
-                .collectList()
-                .block();
+                .toEntityList(MessageTdlibDto.class)
+                .map(TelegramServiceClient::withValidators);
     }
 
-    public UserTdlibDto getAccountInfo(final String accountId) {
+    public Mono<UserTdlibDto> getAccountInfoAsync(final String accountId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetAccountInfoUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
@@ -141,23 +204,25 @@ public class TelegramServiceClient {
                 .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<UserTdlibDto>() {
-                })
-                .block();
+                });
     }
 
-    public List<TelegramAccountDto> getAllAccountsInfo() {
+    public Mono<List<TelegramAccountDto>> getAllAccountsInfoAsync() {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetAccountsInfoUrl())
                         .build()
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<TelegramAccountDto>>() {
-                })
-                .block();
+                });
     }
 
     public void sendTextMessage(final Long chatId, final String messageText, final String accountId){
-        webClient.post()
+        sendTextMessageAsync(chatId, messageText, accountId).block();
+    }
+
+    public Mono<Void> sendTextMessageAsync(final Long chatId, final String messageText, final String accountId) {
+        return webClient.post()
                 .uri(fromHttpUrl(properties.getTelegramService().getSendTextMessageUrl())
                         .queryParam(CHAT_ID_PARAM, chatId)
                         .queryParam(MESSAGE_TEXT_PARAM, messageText)
@@ -165,8 +230,7 @@ public class TelegramServiceClient {
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
     public void sendImageMessage(final Long chatId, final MultipartFile image, final String message, final String accountId) {
@@ -187,6 +251,39 @@ public class TelegramServiceClient {
                 .block();
     }
 
+    public void sendAlbumMessage(final Long chatId, final List<MultipartFile> files, final String message, final String accountId) {
+        final MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        for (MultipartFile file : files) {
+            builder.part("files", file.getResource());
+        }
+
+        webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/albums")
+                        .queryParam(CHAT_ID_PARAM, chatId)
+                        .queryParam(MESSAGE_PARAM, message)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(builder.build()))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public List<TelegramForwardResultDto> forwardMessages(final TelegramForwardRequestDto request, final String accountId) {
+        return webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/forwards")
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<TelegramForwardResultDto>>() {
+                })
+                .block();
+    }
+
     public void sendVideoMessage(final Long chatId, final MultipartFile video, final String message, final String accountId) {
         final MultipartBodyBuilder builder = new MultipartBodyBuilder();
         builder.part("video", video.getResource());
@@ -223,7 +320,37 @@ public class TelegramServiceClient {
                 .block();
     }
 
-    public Long getUserChatId(final String username, final String accountId) {
+    public void sendStreamedVideoMessage(final Long chatId, final String fileName, final InputStream body, final String message, final String accountId) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getSendVideoMessageUrl())
+                        .queryParam(CHAT_ID_PARAM, chatId)
+                        .queryParam(MESSAGE_PARAM, message)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(MediaProxy.streamedFile("video", fileName, body)))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public void sendStreamedDocumentMessage(final Long chatId, final String fileName, final InputStream body, final String message, final String accountId) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getSendDocumentMessageUrl())
+                        .queryParam(CHAT_ID_PARAM, chatId)
+                        .queryParam(MESSAGE_PARAM, message)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .contentType(MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(MediaProxy.streamedFile("document", fileName, body)))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public Mono<Long> getUserChatIdAsync(final String username, final String accountId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetChatIdUrl())
                         .queryParam(USERNAME_PARAM, username)
@@ -232,11 +359,10 @@ public class TelegramServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Long>() {
-                })
-                .block();
+                });
     }
 
-    public Long createChat(final Long userId, final String accountId) {
+    public Mono<Long> createChatAsync(final Long userId, final String accountId) {
         return webClient.post()
                 .uri(fromHttpUrl(properties.getTelegramService().getCreateChatUrl())
                         .path(String.valueOf(userId))
@@ -245,66 +371,52 @@ public class TelegramServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Long>() {
-                })
-                .block();
+                });
     }
 
-    public byte[] getTelegramImage(final String remoteId, final String accountId) {
-        return webClient.get()
+    public ResponseEntity<StreamingResponseBody> getTelegramImage(final String remoteId, final Integer size, final String accountId,
+                                                                  final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetImageUrl())
+                        .path(remoteId)
+                        .queryParamIfPresent(SIZE_PARAM, Optional.ofNullable(size))
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString()), requestHeaders);
+    }
+
+    public ResponseEntity<StreamingResponseBody> getTelegramVideo(final String remoteId, final String accountId,
+                                                                  final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getGetVideoUrl())
                         .path(remoteId)
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .build()
                         .toString())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<byte[]>() {
-                })
-                .block();
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
-    public StreamingResponseBody getTelegramVideo(final String remoteId, final String accountId) {
-        return outputStream -> {
-            webClient.get()
-                    .uri(fromHttpUrl(properties.getTelegramService().getGetVideoUrl())
-                            .path(remoteId)
-                            .queryParam(ACCOUNT_ID_PARAM, accountId)
-                            .build()
-                            .toString())
-                    .accept(MediaType.APPLICATION_OCTET_STREAM)
-                    .retrieve()
-                    .bodyToFlux(DataBuffer.class)
-                    .map(dataBuffer -> {
-                        try {
-                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(bytes);
-                            outputStream.write(bytes);
-                            return dataBuffer;
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        } finally {
-                            DataBufferUtils.release(dataBuffer);
-                        }
-                    })
-                    .doOnError(e -> {
-                        try {
-                            log.error("Error streaming video", e);
-                            outputStream.close();
-                        } catch (IOException ex) {
-                            log.error("Error closing stream", ex);
-                        }
-                    })
-                    .blockLast();
-        };
+    public ResponseEntity<StreamingResponseBody> getTelegramDocument(final String remoteId, final String accountId,
+                                                                     final HttpHeaders requestHeaders) {
+        return mediaProxy.proxy(webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getGetDocumentUrl())
+                        .path(remoteId)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .accept(MediaType.APPLICATION_OCTET_STREAM), requestHeaders);
     }
 
-    public StreamingResponseBody getTelegramDocument(final String remoteId, final String accountId){
+    public StreamingResponseBody getTelegramAvatars(final List<String> remoteIds, final int size, final String accountId) {
         return outputStream -> {
-            webClient.get()
-                    .uri(fromHttpUrl(properties.getTelegramService().getGetDocumentUrl())
-                            .path(remoteId)
+            webClient.post()
+                    .uri(fromHttpUrl(properties.getTelegramService().getGetAvatarsUrl())
+                            .queryParam(SIZE_PARAM, size)
                             .queryParam(ACCOUNT_ID_PARAM, accountId)
                             .build()
                             .toString())
+                    .contentType(APPLICATION_JSON)
+                    .bodyValue(remoteIds)
                     .accept(MediaType.APPLICATION_OCTET_STREAM)
                     .retrieve()
                     .bodyToFlux(DataBuffer.class)
@@ -313,6 +425,7 @@ public class TelegramServiceClient {
                             byte[] bytes = new byte[dataBuffer.readableByteCount()];
                             dataBuffer.read(bytes);
                             outputStream.write(bytes);
+                            outputStream.flush();
                             return dataBuffer;
                         } catch (IOException e) {
                             throw new UncheckedIOException(e);
@@ -322,7 +435,7 @@ public class TelegramServiceClient {
                     })
                     .doOnError(e -> {
                         try {
-                            log.error("Error streaming document", e);
+                            log.error("Error streaming avatars", e);
                             outputStream.close();
                         } catch (IOException ex) {
                             log.error("Error closing stream", ex);
@@ -332,7 +445,7 @@ public class TelegramServiceClient {
         };
     }
 
-    public List<TelegramNotificationDto> findChatsNotifications(final String accountId) {
+    public Mono<List<TelegramNotificationDto>> findChatsNotificationsAsync(final String accountId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetNotificationsUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
@@ -340,32 +453,29 @@ public class TelegramServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<TelegramNotificationDto>>() {
-                })
-                .block();
+                });
     }
 
-    public void createEmptyChat(final Long chatId, final String accountId) {
-        webClient.post()
+    public Mono<Void> createEmptyChatAsync(final Long chatId, final String accountId) {
+        return webClient.post()
                 .uri(fromHttpUrl(properties.getTelegramService().getCreateEmptyChatUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .queryParam(CHAT_ID_PARAM, chatId)
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
-    public void deleteEmptyChat(final Long chatId, final String accountId) {
-        webClient.delete()
+    public Mono<Void> deleteEmptyChatAsync(final Long chatId, final String accountId) {
+        return webClient.delete()
                 .uri(fromHttpUrl(properties.getTelegramService().getDeleteEmptyChatUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
                         .queryParam(CHAT_ID_PARAM, chatId)
                         .build()
                         .toString())
                 .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+                .bodyToMono(Void.class);
     }
 
     public void sendPhoneNumber(final String phone, final String accountId) {
@@ -404,7 +514,7 @@ public class TelegramServiceClient {
                 .block();
     }
 
-    public AuthorizationStateTdlib getAuthorizationState(final String accountId) {
+    public Mono<AuthorizationStateTdlib> getAuthorizationStateAsync(final String accountId) {
         return webClient.get()
                 .uri(fromHttpUrl(properties.getTelegramService().getGetAuthStateUrl())
                         .queryParam(ACCOUNT_ID_PARAM, accountId)
@@ -412,8 +522,33 @@ public class TelegramServiceClient {
                         .toString())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<AuthorizationStateTdlib>() {
+                });
+    }
+
+    public StreamingResponseBody streamAuthorizationState(final String accountId) {
+        final String uri = fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/auth/state/stream")
+                .queryParam(ACCOUNT_ID_PARAM, accountId)
+                .build()
+                .toString();
+        return withRequestContext(outputStream -> webClient.get()
+                .uri(uri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .doOnNext(dataBuffer -> {
+                    try {
+                        byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                        dataBuffer.read(bytes);
+                        outputStream.write(bytes);
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        DataBufferUtils.release(dataBuffer);
+                    }
                 })
-                .block();
+                .doOnError(e -> log.error("Error streaming authorization state of account {}", accountId, e))
+                .blockLast());
     }
 
     public void logout(final String accountId) {
@@ -437,4 +572,176 @@ public class TelegramServiceClient {
                 .bodyToMono(Void.class)
                 .block();
     }
+
+    public TelegramUploadSessionDto createUpload(final String fileName, final long totalSize, final TelegramUploadType type,
+                                                 final String accountId) {
+        return webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/uploads")
+                        .queryParam(FILE_NAME_PARAM, fileName)
+                        .queryParam(TOTAL_SIZE_PARAM, totalSize)
+                        .queryParam(TYPE_PARAM, type)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramUploadSessionDto.class)
+                .block();
+    }
+
+    public TelegramUploadSessionDto getUpload(final String uploadId, final String accountId) {
+        return webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/uploads/" + uploadId)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramUploadSessionDto.class)
+                .block();
+    }
+
+    public TelegramUploadSessionDto writeUploadChunk(final String uploadId, final long offset, final InputStream body,
+                                                     final String accountId) {
+        return webClient.put()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/uploads/" + uploadId)
+                        .queryParam(OFFSET_PARAM, offset)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(BodyInserters.fromDataBuffers(
+                        DataBufferUtils.readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_SIZE)))
+                .retrieve()
+                .bodyToMono(TelegramUploadSessionDto.class)
+                .block();
+    }
+
+    public void completeUpload(final String uploadId, final Long chatId, final String message, final String accountId) {
+        webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/uploads/" + uploadId + "/complete")
+                        .queryParam(CHAT_ID_PARAM, chatId)
+                        .queryParamIfPresent(MESSAGE_PARAM, Optional.ofNullable(message))
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public void abortUpload(final String uploadId, final String accountId) {
+        webClient.delete()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/uploads/" + uploadId)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public TelegramExportJobDto startExport(final Long chatId, final boolean includeMedia, final String accountId) {
+        return webClient.post()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/" + chatId + "/exports")
+                        .queryParam(INCLUDE_MEDIA_PARAM, includeMedia)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramExportJobDto.class)
+                .block();
+    }
+
+    public TelegramExportJobDto getExport(final String jobId, final String accountId) {
+        return webClient.get()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/exports/" + jobId)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(TelegramExportJobDto.class)
+                .block();
+    }
+
+    public void cancelExport(final String jobId, final String accountId) {
+        webClient.delete()
+                .uri(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/exports/" + jobId)
+                        .queryParam(ACCOUNT_ID_PARAM, accountId)
+                        .build()
+                        .toString())
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+    }
+
+    public StreamingResponseBody getExportFile(final String jobId, final String accountId) {
+        return streamExport(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/exports/" + jobId + "/file")
+                .queryParam(ACCOUNT_ID_PARAM, accountId)
+                .build()
+                .toString());
+    }
+
+    public StreamingResponseBody streamExport(final Long chatId, final boolean includeMedia, final String accountId) {
+        return streamExport(fromHttpUrl(properties.getTelegramService().getBaseUrl()).path("/" + chatId + "/export")
+                .queryParam(INCLUDE_MEDIA_PARAM, includeMedia)
+                .queryParam(ACCOUNT_ID_PARAM, accountId)
+                .build()
+                .toString());
+    }
+
+    private StreamingResponseBody streamExport(final String uri) {
+        return withRequestContext(outputStream -> {
+            webClient.get()
+                    .uri(uri)
+                    .accept(MediaType.APPLICATION_OCTET_STREAM)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .map(dataBuffer -> {
+                        try {
+                            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                            dataBuffer.read(bytes);
+                            outputStream.write(bytes);
+                            return dataBuffer;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            DataBufferUtils.release(dataBuffer);
+                        }
+                    })
+                    .doOnError(e -> {
+                        try {
+                            log.error("Error streaming export", e);
+                            outputStream.close();
+                        } catch (IOException ex) {
+                            log.error("Error closing stream", ex);
+                        }
+                    })
+                    .blockLast();
+        });
+    }
+
+    /**
+     * Streaming bodies are written on an async thread, the request context is restored there
+     * so the authorization filter can forward the token of the user.
+     */
+    private StreamingResponseBody withRequestContext(final StreamingResponseBody body) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return outputStream -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    /**
+     * Keeps only the status, body and validators of a telegram-service response
+     * so that conditional requests can be answered by the caller.
+     */
+    private static <T> ResponseEntity<T> withValidators(final ResponseEntity<T> response) {
+        final HttpHeaders headers = new HttpHeaders();
+        Optional.ofNullable(response.getHeaders().getETag()).ifPresent(headers::setETag);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
 }
@@ -0,0 +1,61 @@
+package com.sdc.main.repository;
+
+import com.sdc.main.domain.constants.BroadcastJobStatus;
+import com.sdc.main.domain.model.BroadcastJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for {@link BroadcastJob}
+ * @since 10.2026
+ */
+@Repository
+public interface BroadcastJobRepository extends JpaRepository<BroadcastJob, Long> {
+    Optional<BroadcastJob> findByIdAndUserId(final Long id, final Long userId);
+
+    /**
+     * Finds pending jobs and running jobs whose worker stopped renewing the lease
+     */
+    @Query("select j.id from BroadcastJob j where j.status = :pending or (j.status = :running and j.leaseExpiresAt < :now) order by j.id")
+    List<Long> findClaimableIds(@Param("pending") final BroadcastJobStatus pending, @Param("running") final BroadcastJobStatus running,
+                                @Param("now") final LocalDateTime now, final Pageable pageable);
+
+    /**
+     * Claims a claimable job for a worker, only one of concurrent claims succeeds
+     */
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.status = :running, j.leaseExpiresAt = :leaseExpiresAt, j.lastModifiedDate = :now " +
+            "where j.id = :id and (j.status = :pending or (j.status = :running and j.leaseExpiresAt < :now))")
+    int claim(@Param("id") final Long id, @Param("pending") final BroadcastJobStatus pending, @Param("running") final BroadcastJobStatus running,
+              @Param("now") final LocalDateTime now, @Param("leaseExpiresAt") final LocalDateTime leaseExpiresAt);
+
+    /**
+     * Extends the lease of running jobs, jobs that are no longer running are not renewed
+     */
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.leaseExpiresAt = :leaseExpiresAt where j.id in :ids and j.status = :running")
+    int renewLeases(@Param("ids") final Collection<Long> ids, @Param("running") final BroadcastJobStatus running,
+                    @Param("leaseExpiresAt") final LocalDateTime leaseExpiresAt);
+
+    @Query("select j.id from BroadcastJob j where j.id in :ids and j.status = :running")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") final Collection<Long> ids, @Param("running") final BroadcastJobStatus running);
+
+    @Transactional
+    @Modifying
+    @Query("update BroadcastJob j set j.status = :status, j.leaseExpiresAt = null, j.completedDate = :now, j.lastModifiedDate = :now " +
+            "where j.id = :id and j.status in :from")
+    int finish(@Param("id") final Long id, @Param("from") final Collection<BroadcastJobStatus> from,
+               @Param("status") final BroadcastJobStatus status, @Param("now") final LocalDateTime now);
+}
@@ -0,0 +1,50 @@
+package com.sdc.main.repository;
+
+import com.sdc.main.domain.constants.BroadcastRecipientStatus;
+import com.sdc.main.domain.model.BroadcastRecipient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link BroadcastRecipient}
+ * @since 10.2026
+ */
+@Repository
+public interface BroadcastRecipientRepository extends JpaRepository<BroadcastRecipient, Long> {
+    List<BroadcastRecipient> findAllByJobIdOrderByPosition(final Long jobId);
+
+    List<BroadcastRecipient> findAllByJobIdAndStatusOrderByPosition(final Long jobId, final BroadcastRecipientStatus status);
+
+    @Query("select r.status, count(r) from BroadcastRecipient r where r.jobId = :jobId group by r.status")
+    List<Object[]> countByStatus(@Param("jobId") final Long jobId);
+
+    /**
+     * Moves recipients of a job from one status to another
+     */
+    @Transactional
+    @Modifying
+    @Query("update BroadcastRecipient r set r.status = :status, r.error = :error, r.lastModifiedDate = :now " +
+            "where r.jobId = :jobId and r.status = :from")
+    int updateStatus(@Param("jobId") final Long jobId, @Param("from") final BroadcastRecipientStatus from,
+                     @Param("status") final BroadcastRecipientStatus status, @Param("error") final String error,
+                     @Param("now") final LocalDateTime now);
+
+    /**
+     * Moves a recipient to another status, returns 0 if the recipient is no longer in one of the expected statuses
+     */
+    @Transactional
+    @Modifying
+    @Query("update BroadcastRecipient r set r.status = :status, r.error = :error, r.lastModifiedDate = :now " +
+            "where r.id = :id and r.status in :from")
+    int transition(@Param("id") final Long id, @Param("from") final Collection<BroadcastRecipientStatus> from,
+                   @Param("status") final BroadcastRecipientStatus status, @Param("error") final String error,
+                   @Param("now") final LocalDateTime now);
+}
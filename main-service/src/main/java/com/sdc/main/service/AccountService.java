@@ -23,6 +23,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -40,13 +42,14 @@ public class AccountService {
     private final GmailServiceClient gmailClient;
     private final DiscordServiceClient discordClient;
     private final UserServiceClient userClient;
+    private final ResponseCache responseCache;
 
-    public UserTdlibDto getTelegramAccountInfo(final String accountId) {
-        return telegramClient.getAccountInfo(accountId);
+    public Mono<UserTdlibDto> getTelegramAccountInfo(final String accountId) {
+        return telegramClient.getAccountInfoAsync(accountId);
     }
 
-    public List<TelegramAccountDto> getConnectedTelegramAccounts(){
-        return telegramClient.getAllAccountsInfo();
+    public Mono<List<TelegramAccountDto>> getConnectedTelegramAccounts(){
+        return responseCache.get(ResponseCache.TELEGRAM_ACCOUNTS, telegramClient::getAllAccountsInfoAsync);
     }
 
     public void submitTelegramPhoneNumber(final String phone, final String accountId) {
@@ -55,38 +58,48 @@ public class AccountService {
 
     public void submitTelegramCode(final String code, final String accountId) {
         telegramClient.sendCode(code, accountId);
+        responseCache.invalidate(ResponseCache.TELEGRAM_ACCOUNTS);
     }
 
     public void submitTelegramPassword(final String password, final String accountId) {
         telegramClient.sendPassword(password, accountId);
+        responseCache.invalidate(ResponseCache.TELEGRAM_ACCOUNTS);
     }
 
-    public AuthorizationStateTdlib getTelegramAccountAuthState(final String accountId) {
-        return telegramClient.getAuthorizationState(accountId);
+    public StreamingResponseBody streamTelegramAccountAuthState(final String accountId) {
+        return telegramClient.streamAuthorizationState(accountId);
+    }
+
+    public Mono<AuthorizationStateTdlib> getTelegramAccountAuthState(final String accountId) {
+        return telegramClient.getAuthorizationStateAsync(accountId);
     }
 
     public void telegramAccountLogout(final String accountId) {
         telegramClient.logout(accountId);
+        responseCache.invalidate(ResponseCache.TELEGRAM_ACCOUNTS, ResponseCache.TELEGRAM_CHAT_FOLDERS);
     }
 
     public void addTelegramCredentials(final TelegramCredentialsCreateDto createDto) {
         telegramClient.addCredentials(createDto);
+        responseCache.invalidate(ResponseCache.TELEGRAM_ACCOUNTS);
     }
 
     public String getGmailAuthUrl(final MultipartFile file) {
         return gmailClient.getAuthUrl(file);
     }
 
-    public List<GmailAccountInfoDto> getConnectedGmailAccounts() {
-        return gmailClient.getMe();
+    public Mono<List<GmailAccountInfoDto>> getConnectedGmailAccounts() {
+        return responseCache.get(ResponseCache.GMAIL_ACCOUNTS, gmailClient::getMeAsync);
     }
 
-    public List<DiscordBotInfoDto> getConnectedDiscordBots() {
-        return discordClient.getConnectedBots();
+    public Mono<List<DiscordBotInfoDto>> getConnectedDiscordBots() {
+        return responseCache.get(ResponseCache.DISCORD_BOTS, discordClient::getConnectedBotsAsync);
     }
 
     public DiscordBotInfoDto addDiscordBot(final AddBotRequestDto request) {
-        return discordClient.addBot(request);
+        final DiscordBotInfoDto bot = discordClient.addBot(request);
+        responseCache.invalidate(ResponseCache.DISCORD_BOTS);
+        return bot;
     }
 
     public UserDto register(final UserCreateDto createDto) {
@@ -0,0 +1,292 @@
+package com.sdc.main.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdc.main.config.properties.BroadcastProperties;
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.config.security.JwtTokenProvider;
+import com.sdc.main.domain.constants.BroadcastJobStatus;
+import com.sdc.main.domain.constants.BroadcastRecipientStatus;
+import com.sdc.main.domain.dto.broadcast.BroadcastJobDto;
+import com.sdc.main.domain.dto.broadcast.BroadcastJobRecipientDto;
+import com.sdc.main.domain.dto.broadcast.BroadcastRecipientResultDto;
+import com.sdc.main.domain.dto.request.BroadcastMessageRequestDto;
+import com.sdc.main.domain.dto.request.MessageRequestDto;
+import com.sdc.main.domain.mapper.BroadcastRecipientMapper;
+import com.sdc.main.domain.model.BroadcastJob;
+import com.sdc.main.domain.model.BroadcastRecipient;
+import com.sdc.main.repository.BroadcastJobRepository;
+import com.sdc.main.repository.BroadcastRecipientRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Broadcast job service.
+ * Jobs and their recipients are persisted on submission and sent in the background by a pool of workers.
+ * A worker holds a lease on its job and renews it while sending, a job whose lease expired because its
+ * instance stopped is resumed by another worker from the recipients that were not sent yet.
+ * Every recipient is moved to SENDING right before its message is sent, so a message is sent at most once:
+ * recipients found SENDING on resume are marked failed, as their delivery is unknown.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastJobService {
+    private static final String INTERRUPTED_ERROR = "Delivery unknown, the job was interrupted while sending";
+
+    private final BroadcastJobRepository jobRepository;
+    private final BroadcastRecipientRepository recipientRepository;
+    private final BroadcastService broadcastService;
+    private final UnreadCountersService unreadCountersService;
+    private final BroadcastRecipientMapper recipientMapper;
+    private final BroadcastProperties properties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final CurrentUser currentUser;
+    private final Map<Long, Sinks.Empty<Void>> runningJobs = new ConcurrentHashMap<>();
+    private ExecutorService workerExecutor;
+
+    @PostConstruct
+    public void init() {
+        workerExecutor = Executors.newFixedThreadPool(properties.getJobs().getWorkers());
+    }
+
+    /**
+     * Stops the workers on application shutdown, their jobs are resumed once their leases expire
+     */
+    @PreDestroy
+    public void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @Transactional
+    public BroadcastJobDto submit(final BroadcastMessageRequestDto requestDto) {
+        final List<MessageRequestDto> receivers = requestDto.getReceivers();
+        if (Objects.isNull(receivers) || receivers.isEmpty()) {
+            throw new IllegalArgumentException("At least one receiver is required");
+        }
+
+        final BroadcastJob job = new BroadcastJob();
+        job.setUserId(currentUser.getId());
+        job.setUsername(currentUser.getUsername());
+        job.setRole(currentUser.getRole());
+        job.setFullName(currentUser.getFullName());
+        job.setPersonalize(Boolean.TRUE.equals(requestDto.getPersonalize()));
+        job.setStatus(BroadcastJobStatus.PENDING);
+        job.setTotalRecipients(receivers.size());
+        final BroadcastJob saved = jobRepository.save(job);
+
+        final List<BroadcastRecipient> recipients = new ArrayList<>();
+        for (int position = 0; position < receivers.size(); position++) {
+            final MessageRequestDto receiver = receivers.get(position);
+            final BroadcastRecipient recipient = new BroadcastRecipient();
+            recipient.setJobId(saved.getId());
+            recipient.setPosition(position);
+            recipient.setPlatform(receiver.getPlatform());
+            recipient.setAccountId(broadcastService.getAccountId(receiver));
+            recipient.setChatIdentifier(receiver.getChatIdentifier());
+            recipient.setRequest(writeRequest(receiver));
+            recipient.setStatus(BroadcastRecipientStatus.PENDING);
+            recipients.add(recipient);
+        }
+        recipientRepository.saveAll(recipients);
+        log.info("Submitted broadcast job {} with {} recipients", saved.getId(), receivers.size());
+        return toDto(saved);
+    }
+
+    public BroadcastJobDto getJob(final Long jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    public List<BroadcastJobRecipientDto> getRecipients(final Long jobId, final BroadcastRecipientStatus status) {
+        findJob(jobId);
+        final List<BroadcastRecipient> recipients = Objects.isNull(status)
+                ? recipientRepository.findAllByJobIdOrderByPosition(jobId)
+                : recipientRepository.findAllByJobIdAndStatusOrderByPosition(jobId, status);
+        return recipients.stream().map(recipientMapper::toDto).toList();
+    }
+
+    /**
+     * Cancels a pending or running job, messages being sent at the moment are still delivered
+     */
+    public BroadcastJobDto cancel(final Long jobId) {
+        findJob(jobId);
+        final LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.finish(jobId, List.of(BroadcastJobStatus.PENDING, BroadcastJobStatus.RUNNING), BroadcastJobStatus.CANCELED, now) == 1) {
+            final int canceled = recipientRepository.updateStatus(jobId, BroadcastRecipientStatus.PENDING, BroadcastRecipientStatus.CANCELED, null, now);
+            stop(jobId);
+            log.info("Canceled broadcast job {} with {} recipients not sent", jobId, canceled);
+        }
+        return getJob(jobId);
+    }
+
+    /**
+     * Renews the leases of the jobs of this instance, stops the ones canceled on other instances
+     * and claims pending and abandoned jobs up to the free workers
+     */
+    @Scheduled(fixedDelayString = "${broadcast.jobs.poll-interval}")
+    public void poll() {
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDateTime leaseExpiresAt = now.plus(properties.getJobs().getLease());
+        if (!runningJobs.isEmpty()) {
+            final Set<Long> jobIds = Set.copyOf(runningJobs.keySet());
+            jobRepository.renewLeases(jobIds, BroadcastJobStatus.RUNNING, leaseExpiresAt);
+            final List<Long> running = jobRepository.findIdsByIdInAndStatus(jobIds, BroadcastJobStatus.RUNNING);
+            jobIds.stream().filter(jobId -> !running.contains(jobId)).forEach(this::stop);
+        }
+
+        final int freeWorkers = properties.getJobs().getWorkers() - runningJobs.size();
+        if (freeWorkers <= 0) {
+            return;
+        }
+        for (Long jobId : jobRepository.findClaimableIds(BroadcastJobStatus.PENDING, BroadcastJobStatus.RUNNING, now, PageRequest.of(0, freeWorkers))) {
+            if (jobRepository.claim(jobId, BroadcastJobStatus.PENDING, BroadcastJobStatus.RUNNING, now, leaseExpiresAt) == 1) {
+                final Sinks.Empty<Void> stopped = Sinks.empty();
+                runningJobs.put(jobId, stopped);
+                workerExecutor.execute(() -> run(jobId, stopped));
+            }
+        }
+    }
+
+    /**
+     * Sends the recipients of a claimed job that were not sent yet and completes the job
+     */
+    private void run(final Long jobId, final Sinks.Empty<Void> stopped) {
+        try {
+            final BroadcastJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Broadcast job not found"));
+            final int interrupted = markInterrupted(jobId);
+            if (interrupted > 0) {
+                log.warn("Resuming broadcast job {}, {} recipients interrupted while sending were marked failed", jobId, interrupted);
+            }
+
+            final List<BroadcastRecipient> recipients = recipientRepository.findAllByJobIdAndStatusOrderByPosition(jobId, BroadcastRecipientStatus.PENDING);
+            final List<MessageRequestDto> receivers = recipients.stream().map(this::readRequest).toList();
+            broadcastService.broadcast(receivers, Boolean.TRUE.equals(job.getPersonalize()), new JobToken(job),
+                            index -> Mono.fromCallable(() -> recipientRepository.transition(recipients.get(index).getId(),
+                                            List.of(BroadcastRecipientStatus.PENDING), BroadcastRecipientStatus.SENDING, null, LocalDateTime.now()) == 1)
+                                    .subscribeOn(Schedulers.boundedElastic()))
+                    .takeUntilOther(stopped.asMono())
+                    .toIterable()
+                    .forEach(result -> saveResult(recipients.get(result.index()), result.result()));
+            unreadCountersService.invalidate(job.getUserId());
+
+            if (jobRepository.finish(jobId, List.of(BroadcastJobStatus.RUNNING), BroadcastJobStatus.COMPLETED, LocalDateTime.now()) == 1) {
+                log.info("Completed broadcast job {}", jobId);
+            } else {
+                markInterrupted(jobId);
+                log.info("Stopped broadcast job {}", jobId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to run broadcast job {}, it is resumed once its lease expires", jobId, e);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private void stop(final Long jobId) {
+        final Sinks.Empty<Void> stopped = runningJobs.get(jobId);
+        if (Objects.nonNull(stopped)) {
+            stopped.tryEmitEmpty();
+        }
+    }
+
+    private int markInterrupted(final Long jobId) {
+        return recipientRepository.updateStatus(jobId, BroadcastRecipientStatus.SENDING, BroadcastRecipientStatus.FAILED,
+                INTERRUPTED_ERROR, LocalDateTime.now());
+    }
+
+    /**
+     * Saves the result of a recipient, failed personalization fails a recipient that is still pending
+     */
+    private void saveResult(final BroadcastRecipient recipient, final BroadcastRecipientResultDto result) {
+        if (Boolean.TRUE.equals(result.getSuccess())) {
+            recipientRepository.transition(recipient.getId(), List.of(BroadcastRecipientStatus.SENDING),
+                    BroadcastRecipientStatus.SENT, null, LocalDateTime.now());
+        } else {
+            recipientRepository.transition(recipient.getId(), List.of(BroadcastRecipientStatus.PENDING, BroadcastRecipientStatus.SENDING),
+                    BroadcastRecipientStatus.FAILED, result.getError(), LocalDateTime.now());
+        }
+    }
+
+    private BroadcastJob findJob(final Long jobId) {
+        return jobRepository.findByIdAndUserId(jobId, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Broadcast job not found"));
+    }
+
+    private BroadcastJobDto toDto(final BroadcastJob job) {
+        final Map<BroadcastRecipientStatus, Integer> counts = new EnumMap<>(BroadcastRecipientStatus.class);
+        for (Object[] count : recipientRepository.countByStatus(job.getId())) {
+            counts.put((BroadcastRecipientStatus) count[0], ((Number) count[1]).intValue());
+        }
+        return new BroadcastJobDto(job.getId(), job.getStatus(), job.getPersonalize(), job.getTotalRecipients(),
+                counts.getOrDefault(BroadcastRecipientStatus.PENDING, 0) + counts.getOrDefault(BroadcastRecipientStatus.SENDING, 0),
+                counts.getOrDefault(BroadcastRecipientStatus.SENT, 0),
+                counts.getOrDefault(BroadcastRecipientStatus.FAILED, 0),
+                counts.getOrDefault(BroadcastRecipientStatus.CANCELED, 0),
+                job.getCreatedDate(), job.getCompletedDate());
+    }
+
+    private String writeRequest(final MessageRequestDto request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize broadcast receiver", e);
+        }
+    }
+
+    /**
+     * Token a job is sent with on behalf of its user, a new one is generated when the current one is about to expire
+     */
+    private final class JobToken implements Supplier<String> {
+        private final BroadcastJob job;
+        private String token;
+        private long renewAt;
+
+        private JobToken(final BroadcastJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public synchronized String get() {
+            final long now = System.nanoTime();
+            if (Objects.isNull(token) || now - renewAt >= 0) {
+                final BroadcastProperties.Jobs jobs = properties.getJobs();
+                token = jwtTokenProvider.generateAccessToken(job.getUserId(), job.getUsername(), job.getRole(),
+                        job.getFullName(), jobs.getTokenTtl());
+                renewAt = now + jobs.getTokenTtl().minus(jobs.getTokenRenewBefore()).toNanos();
+            }
+            return token;
+        }
+    }
+
+    private MessageRequestDto readRequest(final BroadcastRecipient recipient) {
+        try {
+            return objectMapper.readValue(recipient.getRequest(), MessageRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to deserialize broadcast receiver " + recipient.getId(), e);
+        }
+    }
+}
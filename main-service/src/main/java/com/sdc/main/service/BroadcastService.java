@@ -0,0 +1,241 @@
+package com.sdc.main.service;
+
+import com.sdc.main.config.properties.BroadcastProperties;
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.config.web.WebClientConfig;
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import com.sdc.main.domain.dto.broadcast.BroadcastRecipientResultDto;
+import com.sdc.main.domain.dto.broadcast.BroadcastResultDto;
+import com.sdc.main.domain.dto.request.BroadcastMessageRequestDto;
+import com.sdc.main.domain.dto.request.DiscordMessageRequestDto;
+import com.sdc.main.domain.dto.request.GmailMessageRequestDto;
+import com.sdc.main.domain.dto.request.MessageRequestDto;
+import com.sdc.main.domain.dto.request.TelegramMessageRequestDto;
+import com.sdc.main.domain.mapper.MessageRequestMapper;
+import com.sdc.main.integration.client.AIServiceClient;
+import com.sdc.main.integration.client.DiscordServiceClient;
+import com.sdc.main.integration.client.GmailServiceClient;
+import com.sdc.main.integration.client.TelegramServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Broadcast service.
+ * Receivers are grouped by platform and account and sent concurrently, every platform and account
+ * has its own concurrency limit, so a broadcast takes about as long as its slowest platform.
+ * Personalized messages are generated concurrently once per platform, chat and message,
+ * and every receiver is sent as soon as its message is ready.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastService {
+    public static final String BROADCAST_METRIC = "broadcast.duration";
+    public static final String PERSONALIZATION_METRIC = "broadcast.personalization";
+    public static final String SEND_METRIC = "broadcast.send";
+    private static final String PERSONALIZED_TAG = "personalized";
+    private static final String PLATFORM_TAG = "platform";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final TelegramServiceClient telegramClient;
+    private final AIServiceClient aiClient;
+    private final GmailServiceClient gmailClient;
+    private final DiscordServiceClient discordClient;
+    private final MessageRequestMapper messageRequestMapper;
+    private final BroadcastProperties properties;
+    private final CurrentUser currentUser;
+    private final UnreadCountersService unreadCountersService;
+    private final MeterRegistry meterRegistry;
+
+    public BroadcastResultDto broadcastMessages(final BroadcastMessageRequestDto requestDto) {
+        final boolean personalize = Boolean.TRUE.equals(requestDto.getPersonalize());
+        final long start = System.nanoTime();
+        final String token = currentUser.getToken();
+        final List<RecipientResult> results = broadcast(requestDto.getReceivers(), personalize, () -> token, index -> Mono.just(true))
+                .collectList()
+                .block();
+        unreadCountersService.invalidate();
+        final List<BroadcastRecipientResultDto> sorted = results.stream()
+                .sorted(Comparator.comparingInt(RecipientResult::index))
+                .map(RecipientResult::result)
+                .toList();
+        final int sent = (int) sorted.stream().filter(BroadcastRecipientResultDto::getSuccess).count();
+        final long elapsed = System.nanoTime() - start;
+        meterRegistry.timer(BROADCAST_METRIC, PERSONALIZED_TAG, String.valueOf(personalize)).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Broadcast {} of {} messages in {} ms", sent, sorted.size(), elapsed / 1_000_000);
+        return new BroadcastResultDto(sent, sorted.size() - sent, sorted);
+    }
+
+    /**
+     * Personalizes and sends the messages of every platform and account concurrently within their limits.
+     * Accounts of a platform share its limit, so at most limit / account limit accounts are sent at once.
+     * Personalization runs ahead of sending in the order of the receivers with its own limit.
+     *
+     * @param receivers the receivers
+     * @param personalize whether to personalize the messages
+     * @param token supplies the token to send the messages with on behalf of the user,
+     *              called when a message starts personalizing or sending
+     * @param beforeSend called with the index of a receiver right before its message is sent,
+     *                   the receiver is skipped without a result if it returns false
+     * @return the result of every receiver that was not skipped in the order of completion
+     */
+    public Flux<RecipientResult> broadcast(final List<MessageRequestDto> receivers, final boolean personalize, final Supplier<String> token,
+                                           final IntFunction<Mono<Boolean>> beforeSend) {
+        final Map<CommunicationPlatformType, Map<String, List<Recipient>>> groups = new LinkedHashMap<>();
+        final Map<PersonalizationKey, Sinks.One<String>> personalizedMessages = new LinkedHashMap<>();
+        for (int index = 0; index < receivers.size(); index++) {
+            final MessageRequestDto request = receivers.get(index);
+            final String accountId = getAccountId(request);
+            Sinks.One<String> personalizedMessage = null;
+            if (personalize) {
+                personalizedMessage = personalizedMessages.computeIfAbsent(
+                        new PersonalizationKey(request.getPlatform(), request.getChatIdentifier(), request.getMessage()), key -> Sinks.one());
+            }
+            groups.computeIfAbsent(request.getPlatform(), platform -> new LinkedHashMap<>())
+                    .computeIfAbsent(accountId, key -> new ArrayList<>())
+                    .add(new Recipient(index, request, accountId, personalizedMessage));
+        }
+
+        final Flux<RecipientResult> personalization = Flux.fromIterable(personalizedMessages.entrySet())
+                .flatMap(entry -> withToken(personalize(entry.getKey(), entry.getValue()), token), properties.getPersonalizationConcurrency())
+                .thenMany(Flux.empty());
+        final Flux<RecipientResult> sending = Flux.fromIterable(groups.entrySet())
+                .flatMap(platform -> {
+                    final int platformConcurrency = properties.getPlatformConcurrency(platform.getKey());
+                    final int accountConcurrency = Math.min(properties.getAccountConcurrency(), platformConcurrency);
+                    return Flux.fromIterable(platform.getValue().values())
+                            .flatMap(accountRecipients -> Flux.fromIterable(accountRecipients).flatMap(recipient -> withToken(send(recipient, beforeSend), token), accountConcurrency),
+                                    Math.max(1, platformConcurrency / accountConcurrency));
+                }, Math.max(1, groups.size()));
+
+        return Flux.merge(personalization, sending);
+    }
+
+    /**
+     * Authorizes the requests of a message with the token supplied when the message is subscribed
+     */
+    private static <T> Mono<T> withToken(final Mono<T> message, final Supplier<String> token) {
+        return message.contextWrite(context -> {
+            final String value = token.get();
+            return Objects.isNull(value) ? context : context.put(WebClientConfig.TOKEN_CONTEXT_KEY, value);
+        });
+    }
+
+    /**
+     * Generates a personalized message completing the receivers waiting for it, failures fail only those receivers.
+     */
+    private Mono<Void> personalize(final PersonalizationKey key, final Sinks.One<String> personalizedMessage) {
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            return aiClient.customizeMessageAsync(key.message(), key.platform(), key.chatIdentifier())
+                    .timeout(properties.getPersonalizationTimeout())
+                    .switchIfEmpty(Mono.error(new RuntimeException("AI service returned no message")))
+                    .doOnNext(message -> {
+                        record(sample, PERSONALIZATION_METRIC, key.platform(), true);
+                        personalizedMessage.tryEmitValue(message);
+                    })
+                    .onErrorResume(e -> {
+                        record(sample, PERSONALIZATION_METRIC, key.platform(), false);
+                        log.warn("Failed to personalize message for {} chat {}", key.platform(), key.chatIdentifier(), e);
+                        personalizedMessage.tryEmitError(new RuntimeException("Failed to personalize message: " + e.getMessage(), e));
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private Mono<RecipientResult> send(final Recipient recipient, final IntFunction<Mono<Boolean>> beforeSend) {
+        final MessageRequestDto request = recipient.request();
+        final Mono<MessageRequestDto> message = Objects.isNull(recipient.personalizedMessage())
+                ? Mono.just(request)
+                : recipient.personalizedMessage().asMono().map(personalized -> messageRequestMapper.fromDto(request, personalized));
+        return message
+                .flatMap(ready -> beforeSend.apply(recipient.index())
+                        .filter(Boolean::booleanValue)
+                        .flatMap(allowed -> Mono.defer(() -> {
+                            final Timer.Sample sample = Timer.start(meterRegistry);
+                            return sendMessage(ready)
+                                    .timeout(properties.getRecipientTimeout())
+                                    .doOnSuccess(result -> record(sample, SEND_METRIC, request.getPlatform(), true))
+                                    .doOnError(e -> record(sample, SEND_METRIC, request.getPlatform(), false))
+                                    .then(Mono.fromCallable(() -> toResult(recipient, null)));
+                        })))
+                .onErrorResume(e -> {
+                    log.warn("Failed to broadcast message to {} chat {}", request.getPlatform(), request.getChatIdentifier(), e);
+                    return Mono.just(toResult(recipient, e));
+                });
+    }
+
+    private void record(final Timer.Sample sample, final String metric, final CommunicationPlatformType platform, final boolean success) {
+        sample.stop(meterRegistry.timer(metric, PLATFORM_TAG, String.valueOf(platform), OUTCOME_TAG, success ? "success" : "error"));
+    }
+
+    private RecipientResult toResult(final Recipient recipient, final Throwable error) {
+        final MessageRequestDto request = recipient.request();
+        return new RecipientResult(recipient.index(), new BroadcastRecipientResultDto(request.getPlatform(), recipient.accountId(),
+                request.getChatIdentifier(), Objects.isNull(error), Objects.isNull(error) ? null : error.getMessage()));
+    }
+
+    private Mono<Void> sendMessage(final MessageRequestDto request) {
+        if (request instanceof TelegramMessageRequestDto telegramRequest) {
+            return telegramClient.sendTextMessageAsync(Long.valueOf(telegramRequest.getChatIdentifier()), telegramRequest.getMessage(), telegramRequest.getAccountId());
+        } else if (request instanceof GmailMessageRequestDto gmailRequest) {
+            return gmailClient.sendTextMessageAsync(gmailRequest.getChatIdentifier(), gmailRequest.getMessage(), gmailRequest.getAccountId(), gmailRequest.getSubject());
+        } else if (request instanceof DiscordMessageRequestDto discordRequest) {
+            switch (discordRequest.getMessageType()) {
+                case CHANNEL :
+                    return discordClient.sendChannelMessageAsync(discordRequest.getChatIdentifier(), discordRequest.getMessage(), discordRequest.getAccountId());
+
+                case PRIVATE:
+                    return discordClient.sendDirectMessageAsync(discordRequest.getChatIdentifier(), discordRequest.getMessage(), discordRequest.getAccountId());
+
+                default:
+                    return Mono.error(new RuntimeException("Unknown discord message type"));
+            }
+        }
+        return Mono.error(new RuntimeException("Unsupported platform: " + request.getPlatform()));
+    }
+
+    /**
+     * Returns the account a message request is sent from.
+     */
+    public String getAccountId(final MessageRequestDto request) {
+        if (request instanceof TelegramMessageRequestDto telegramRequest) {
+            return telegramRequest.getAccountId();
+        } else if (request instanceof GmailMessageRequestDto gmailRequest) {
+            return String.valueOf(gmailRequest.getAccountId());
+        } else if (request instanceof DiscordMessageRequestDto discordRequest) {
+            return String.valueOf(discordRequest.getAccountId());
+        }
+        return null;
+    }
+
+    private record Recipient(int index, MessageRequestDto request, String accountId, Sinks.One<String> personalizedMessage) {
+    }
+
+    private record PersonalizationKey(CommunicationPlatformType platform, String chatIdentifier, String message) {
+    }
+
+    /**
+     * Result of the receiver at the index in the list of receivers.
+     */
+    public record RecipientResult(int index, BroadcastRecipientResultDto result) {
+    }
+}
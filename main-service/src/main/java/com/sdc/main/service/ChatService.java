@@ -4,8 +4,10 @@ import com.sdc.main.domain.dto.discord.chat.DiscordPrivateChatDto;
 import com.sdc.main.domain.dto.discord.guild.GuildChannelDto;
 import com.sdc.main.domain.dto.discord.guild.GuildDto;
 import com.sdc.main.domain.dto.discord.guild.GuildUserDto;
+import com.sdc.main.domain.dto.telegram.TelegramChatChangesDto;
 import com.sdc.main.domain.dto.telegram.TelegramChatFolderDto;
 import com.sdc.main.domain.dto.telegram.TelegramNotificationDto;
+import com.sdc.main.domain.dto.telegram.TelegramUnifiedChatsDto;
 import com.sdc.main.domain.dto.telegram.chat.ChatTdlibDto;
 import com.sdc.main.integration.client.AIServiceClient;
 import com.sdc.main.integration.client.DiscordServiceClient;
@@ -13,7 +15,9 @@ import com.sdc.main.integration.client.GmailServiceClient;
 import com.sdc.main.integration.client.TelegramServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -29,68 +33,80 @@ public class ChatService {
     private final AIServiceClient aiClient;
     private final GmailServiceClient gmailClient;
     private final DiscordServiceClient discordClient;
+    private final ResponseCache responseCache;
 
-    public List<ChatTdlibDto> findAllTelegramChatsMain(final int limit, final String accountId) {
-        return telegramClient.findAllChatsMain(limit, accountId);
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsMain(final int limit, final Integer photoSize, final String accountId,
+                                                                             final String ifNoneMatch) {
+        return telegramClient.findAllChatsMainAsync(limit, photoSize, accountId, ifNoneMatch);
     }
 
-    public List<ChatTdlibDto> findAllTelegramChatsArchive(final int limit, final String accountId) {
-        return telegramClient.findAllChatsArchive(limit, accountId);
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsArchive(final int limit, final Integer photoSize, final String accountId,
+                                                                                final String ifNoneMatch) {
+        return telegramClient.findAllChatsArchiveAsync(limit, photoSize, accountId, ifNoneMatch);
     }
 
-    public List<TelegramChatFolderDto> findAllTelegramChatFolders( final String accountId) {
-        return telegramClient.findAllChatFolders(accountId);
+    public Mono<List<TelegramChatFolderDto>> findAllTelegramChatFolders( final String accountId) {
+        return responseCache.get(ResponseCache.TELEGRAM_CHAT_FOLDERS, () -> telegramClient.findAllChatFoldersAsync(accountId), accountId);
     }
 
-    public List<ChatTdlibDto> findAllTelegramChatsFolder(final int limit, final int folderId, final String accountId) {
-        return telegramClient.findAllChatsFolder(limit, folderId, accountId);
+    public Mono<ResponseEntity<List<ChatTdlibDto>>> findAllTelegramChatsFolder(final int limit, final int folderId, final Integer photoSize,
+                                                                               final String accountId, final String ifNoneMatch) {
+        return telegramClient.findAllChatsFolderAsync(limit, folderId, photoSize, accountId, ifNoneMatch);
     }
 
-    public Long getTelegramUserChatId(final String username, final String accountId) {
-        return telegramClient.getUserChatId(username, accountId);
+    public Mono<TelegramUnifiedChatsDto> findAllTelegramChatsUnified(final int limit, final String cursor, final Integer photoSize) {
+        return telegramClient.findUnifiedChatsAsync(limit, cursor, photoSize);
     }
 
-    public Long createTelegramChat(final Long userId, final String accountId) {
-        return telegramClient.createChat(userId, accountId);
+    public Mono<TelegramChatChangesDto> getTelegramChatChanges(final long since, final Integer photoSize, final String accountId) {
+        return telegramClient.getChatChangesAsync(since, photoSize, accountId);
     }
 
-    public List<TelegramNotificationDto> findTelegramChatNotifications(final String accountId) {
-        return telegramClient.findChatsNotifications(accountId);
+    public Mono<Long> getTelegramUserChatId(final String username, final String accountId) {
+        return telegramClient.getUserChatIdAsync(username, accountId);
     }
 
-    public void createEmptyTelegramChat(final Long chatId, final String accountId) {
-        telegramClient.createEmptyChat(chatId, accountId);
+    public Mono<Long> createTelegramChat(final Long userId, final String accountId) {
+        return telegramClient.createChatAsync(userId, accountId);
     }
 
-    public void deleteEmptyTelegramChat(final Long chatId, final String accountId) {
-        telegramClient.deleteEmptyChat(chatId, accountId);
+    public Mono<List<TelegramNotificationDto>> findTelegramChatNotifications(final String accountId) {
+        return telegramClient.findChatsNotificationsAsync(accountId);
     }
 
-    public List<DiscordPrivateChatDto> getDiscordPrivateChats(final Long botId) {
-        return discordClient.getPrivateChats(botId);
+    public Mono<Void> createEmptyTelegramChat(final Long chatId, final String accountId) {
+        return telegramClient.createEmptyChatAsync(chatId, accountId);
     }
 
-    public List<GuildDto> getDiscordGuilds(final Long botId) {
-        return discordClient.getGuilds(botId);
+    public Mono<Void> deleteEmptyTelegramChat(final Long chatId, final String accountId) {
+        return telegramClient.deleteEmptyChatAsync(chatId, accountId);
     }
 
-    public List<GuildChannelDto> getDiscordGuildChannels(final Long botId, final Long guildId) {
-        return discordClient.getChannels(botId, guildId);
+    public Mono<List<DiscordPrivateChatDto>> getDiscordPrivateChats(final Long botId) {
+        return discordClient.getPrivateChatsAsync(botId);
     }
 
-    public List<GuildUserDto> getDiscordUsers(final Long botId) {
-        return discordClient.getUsers(botId);
+    public Mono<List<GuildDto>> getDiscordGuilds(final Long botId) {
+        return responseCache.get(ResponseCache.DISCORD_GUILDS, () -> discordClient.getGuildsAsync(botId), botId);
     }
 
-    public List<DiscordPrivateChatDto> searchDiscordPrivateChats(final Long botId, final String query) {
-        return discordClient.searchChats(botId, query);
+    public Mono<List<GuildChannelDto>> getDiscordGuildChannels(final Long botId, final Long guildId) {
+        return responseCache.get(ResponseCache.DISCORD_GUILD_CHANNELS, () -> discordClient.getChannelsAsync(botId, guildId), botId, guildId);
     }
 
-    public List<GuildChannelDto> searchDiscordGuildChannels(final Long botId, final Long guildId, final String query) {
-        return discordClient.searchGuildChannels(botId, guildId, query);
+    public Mono<List<GuildUserDto>> getDiscordUsers(final Long botId) {
+        return discordClient.getUsersAsync(botId);
     }
 
-    public DiscordPrivateChatDto getDiscordPrivateChat(final Long botId, final String channelId) {
-        return discordClient.getChat(botId, channelId);
+    public Mono<List<DiscordPrivateChatDto>> searchDiscordPrivateChats(final Long botId, final String query) {
+        return discordClient.searchChatsAsync(botId, query);
+    }
+
+    public Mono<List<GuildChannelDto>> searchDiscordGuildChannels(final Long botId, final Long guildId, final String query) {
+        return discordClient.searchGuildChannelsAsync(botId, guildId, query);
+    }
+
+    public Mono<DiscordPrivateChatDto> getDiscordPrivateChat(final Long botId, final String channelId) {
+        return discordClient.getChatAsync(botId, channelId);
     }
  }
@@ -7,9 +7,13 @@ import com.sdc.main.integration.client.GmailServiceClient;
 import com.sdc.main.integration.client.TelegramServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
+
 /**
  * File-management service.
  * @since 12.2025
@@ -23,39 +27,52 @@ public class FileService {
     private final GmailServiceClient gmailClient;
     private final DiscordServiceClient discordClient;
 
-    public byte[] getTelegramImage(final String remoteId, final String accountId) {
-        return telegramClient.getTelegramImage(remoteId, accountId);
+    public ResponseEntity<StreamingResponseBody> getTelegramImage(final String remoteId, final Integer size, final String accountId,
+                                                                  final HttpHeaders requestHeaders) {
+        return telegramClient.getTelegramImage(remoteId, size, accountId, requestHeaders);
+    }
+
+    public ResponseEntity<StreamingResponseBody> getTelegramVideo(final String remoteId, final String accountId,
+                                                                  final HttpHeaders requestHeaders) {
+        return telegramClient.getTelegramVideo(remoteId, accountId, requestHeaders);
     }
 
-    public StreamingResponseBody getTelegramVideo(final String remoteId, final String accountId) {
-        return telegramClient.getTelegramVideo(remoteId, accountId);
+    public ResponseEntity<StreamingResponseBody> getTelegramDocument(final String remoteId, final String accountId,
+                                                                     final HttpHeaders requestHeaders) {
+        return telegramClient.getTelegramDocument(remoteId, accountId, requestHeaders);
     }
 
-    public StreamingResponseBody getTelegramDocument(final String remoteId, final String accountId) {
-        return telegramClient.getTelegramDocument(remoteId, accountId);
+    public StreamingResponseBody getTelegramAvatars(final List<String> remoteIds, final int size, final String accountId) {
+        return telegramClient.getTelegramAvatars(remoteIds, size, accountId);
     }
 
-    public StreamingResponseBody getGmailImage(final Long accountId, final String messageId, final String attachmentId) {
-        return gmailClient.downloadImage(accountId, messageId, attachmentId);
+    public ResponseEntity<StreamingResponseBody> getGmailImage(final Long accountId, final String messageId, final String attachmentId,
+                                                               final HttpHeaders requestHeaders) {
+        return gmailClient.downloadImage(accountId, messageId, attachmentId, requestHeaders);
     }
 
-    public StreamingResponseBody getGmailVideo(final Long accountId, final String messageId, final String attachmentId) {
-        return gmailClient.downloadVideo(accountId, messageId, attachmentId);
+    public ResponseEntity<StreamingResponseBody> getGmailVideo(final Long accountId, final String messageId, final String attachmentId,
+                                                               final HttpHeaders requestHeaders) {
+        return gmailClient.downloadVideo(accountId, messageId, attachmentId, requestHeaders);
     }
 
-    public StreamingResponseBody getGmailDocument(final Long accountId, final String messageId, final String attachmentId) {
-        return gmailClient.downloadDocument(accountId, messageId, attachmentId);
+    public ResponseEntity<StreamingResponseBody> getGmailDocument(final Long accountId, final String messageId, final String attachmentId,
+                                                                  final HttpHeaders requestHeaders) {
+        return gmailClient.downloadDocument(accountId, messageId, attachmentId, requestHeaders);
     }
 
-    public StreamingResponseBody getDiscordImage(final GetFileRequestDto request) {
-        return discordClient.getImage(request);
+    public ResponseEntity<StreamingResponseBody> getDiscordImage(final GetFileRequestDto request,
+                                                                 final HttpHeaders requestHeaders) {
+        return discordClient.getImage(request, requestHeaders);
     }
 
-    public StreamingResponseBody getDiscordVideo(final GetFileRequestDto request) {
-        return discordClient.getVideo(request);
+    public ResponseEntity<StreamingResponseBody> getDiscordVideo(final GetFileRequestDto request,
+                                                                 final HttpHeaders requestHeaders) {
+        return discordClient.getVideo(request, requestHeaders);
     }
 
-    public StreamingResponseBody getDiscordDocument(final GetFileRequestDto request) {
-        return discordClient.getDocument(request);
+    public ResponseEntity<StreamingResponseBody> getDiscordDocument(final GetFileRequestDto request,
+                                                                    final HttpHeaders requestHeaders) {
+        return discordClient.getDocument(request, requestHeaders);
     }
 }
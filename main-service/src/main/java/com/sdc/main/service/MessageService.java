@@ -1,27 +1,29 @@
 package com.sdc.main.service;
 
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.domain.constants.telegram.TelegramUploadType;
 import com.sdc.main.domain.dto.discord.message.ChannelMessageDto;
 import com.sdc.main.domain.dto.discord.message.DiscordPrivateMessageDto;
 import com.sdc.main.domain.dto.gmail.GmailMessagesResponseDto;
-import com.sdc.main.domain.dto.request.BroadcastMessageRequestDto;
-import com.sdc.main.domain.dto.request.DiscordMessageRequestDto;
-import com.sdc.main.domain.dto.request.GmailMessageRequestDto;
-import com.sdc.main.domain.dto.request.MessageRequestDto;
-import com.sdc.main.domain.dto.request.TelegramMessageRequestDto;
+import com.sdc.main.domain.dto.telegram.TelegramExportJobDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardRequestDto;
+import com.sdc.main.domain.dto.telegram.TelegramForwardResultDto;
+import com.sdc.main.domain.dto.telegram.TelegramUploadSessionDto;
 import com.sdc.main.domain.dto.telegram.message.MessageTdlibDto;
-import com.sdc.main.domain.mapper.MessageRequestMapper;
 import com.sdc.main.integration.client.AIServiceClient;
 import com.sdc.main.integration.client.DiscordServiceClient;
 import com.sdc.main.integration.client.GmailServiceClient;
 import com.sdc.main.integration.client.TelegramServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
 
 import static com.sdc.main.domain.constants.CommunicationPlatformType.DISCORD;
 import static com.sdc.main.domain.constants.CommunicationPlatformType.EMAIL;
@@ -39,14 +41,63 @@ public class MessageService {
     private final AIServiceClient aiClient;
     private final GmailServiceClient gmailClient;
     private final DiscordServiceClient discordClient;
-    private final MessageRequestMapper messageRequestMapper;
+    private final UnreadCountersService unreadCountersService;
+    private final CurrentUser currentUser;
 
-    public MessageTdlibDto getTelegramMessage(final Long chatId, final Long messageId, final String accountId) {
-        return telegramClient.getTelegramMessage(chatId, messageId, accountId);
+    public Mono<ResponseEntity<MessageTdlibDto>> getTelegramMessage(final Long chatId, final Long messageId, final String accountId,
+                                                                    final String ifNoneMatch) {
+        return telegramClient.getTelegramMessageAsync(chatId, messageId, accountId, ifNoneMatch);
     }
 
-    public List<MessageTdlibDto> findAllTelegramMessages(final Long chatId, final int limit, final String accountId) {
-        return telegramClient.findAllMessages(chatId, limit, accountId);
+    public Mono<ResponseEntity<List<MessageTdlibDto>>> findAllTelegramMessages(final Long chatId, final int limit, final Integer prefetch,
+                                                                               final String accountId, final String ifNoneMatch) {
+        final Long userId = currentUser.getId();
+        // history loads mark the fetched messages as read
+        return telegramClient.findAllMessagesAsync(chatId, limit, prefetch, accountId, ifNoneMatch)
+                .doOnSuccess(result -> unreadCountersService.invalidate(userId));
+    }
+
+    public TelegramUploadSessionDto createTelegramUpload(final String fileName, final long totalSize, final TelegramUploadType type,
+                                                         final String accountId) {
+        return telegramClient.createUpload(fileName, totalSize, type, accountId);
+    }
+
+    public TelegramUploadSessionDto getTelegramUpload(final String uploadId, final String accountId) {
+        return telegramClient.getUpload(uploadId, accountId);
+    }
+
+    public TelegramUploadSessionDto writeTelegramUploadChunk(final String uploadId, final long offset, final InputStream body,
+                                                             final String accountId) {
+        return telegramClient.writeUploadChunk(uploadId, offset, body, accountId);
+    }
+
+    public void completeTelegramUpload(final String uploadId, final Long chatId, final String message, final String accountId) {
+        telegramClient.completeUpload(uploadId, chatId, message, accountId);
+        unreadCountersService.invalidate();
+    }
+
+    public void abortTelegramUpload(final String uploadId, final String accountId) {
+        telegramClient.abortUpload(uploadId, accountId);
+    }
+
+    public TelegramExportJobDto startTelegramExport(final Long chatId, final boolean includeMedia, final String accountId) {
+        return telegramClient.startExport(chatId, includeMedia, accountId);
+    }
+
+    public TelegramExportJobDto getTelegramExport(final String jobId, final String accountId) {
+        return telegramClient.getExport(jobId, accountId);
+    }
+
+    public StreamingResponseBody getTelegramExportFile(final String jobId, final String accountId) {
+        return telegramClient.getExportFile(jobId, accountId);
+    }
+
+    public void cancelTelegramExport(final String jobId, final String accountId) {
+        telegramClient.cancelExport(jobId, accountId);
+    }
+
+    public StreamingResponseBody streamTelegramExport(final Long chatId, final boolean includeMedia, final String accountId) {
+        return telegramClient.streamExport(chatId, includeMedia, accountId);
     }
 
     public void sendTelegramMessage(final String originalMessage, final Long chatId, final String accountId,
@@ -56,6 +107,7 @@ public class MessageService {
             message = aiClient.customizeMessage(originalMessage, TELEGRAM, chatId.toString());
         }
         telegramClient.sendTextMessage(chatId, message, accountId);
+        unreadCountersService.invalidate();
     }
 
     public void sendGmailMessage(final String originalMessage, final String chatId, final Long accountId, final String subject,
@@ -65,6 +117,7 @@ public class MessageService {
             message = aiClient.customizeMessage(originalMessage, EMAIL, chatId);
         }
         gmailClient.sendTextMessage(chatId, message, accountId, subject);
+        unreadCountersService.invalidate();
     }
 
     public void sendDiscordChannelMessage(final String originalMessage, final String chatId, final Long accountId,
@@ -85,57 +138,50 @@ public class MessageService {
         discordClient.sendDirectMessage(chatId, message, accountId);
     }
 
-    public void broadcastMessages(final BroadcastMessageRequestDto requestDto) {
-        if (requestDto.getPersonalize()) {
-            final Map<String, String> processedMessages = getPersonalizedMessages(requestDto.getReceivers());
-            sendPersonalizedMessages(requestDto.getReceivers(), processedMessages);
-            return;
-        }
-        requestDto.getReceivers().forEach(this::sendMessage);
-    }
-
-    private void sendPersonalizedMessages(final List<MessageRequestDto> requestDtos, final Map<String, String> processedMessages) {
-        for (MessageRequestDto request : requestDtos) {
-            final MessageRequestDto personalizedRequest = messageRequestMapper.fromDto(request, processedMessages.get(request.getChatIdentifier()));
-            sendMessage(personalizedRequest);
-        }
+    public void sendTelegramImageMessage(final Long chatId, final MultipartFile image, final String message, final String accountId) {
+        telegramClient.sendImageMessage(chatId, image, message, accountId);
+        unreadCountersService.invalidate();
     }
 
-    private void sendMessage(final MessageRequestDto request) {
-        if (request instanceof TelegramMessageRequestDto telegramRequest) {
-            telegramClient.sendTextMessage(Long.valueOf(telegramRequest.getChatIdentifier()), telegramRequest.getMessage(), telegramRequest.getAccountId());
-        } else if (request instanceof GmailMessageRequestDto gmailRequest) {
-            gmailClient.sendTextMessage(gmailRequest.getChatIdentifier(), gmailRequest.getMessage(), gmailRequest.getAccountId(), gmailRequest.getSubject());
-        } else if (request instanceof DiscordMessageRequestDto discordRequest) {
-            switch (discordRequest.getMessageType()) {
-                case CHANNEL :
-                    discordClient.sendChannelMessage(discordRequest.getChatIdentifier(), discordRequest.getMessage(), discordRequest.getAccountId());
-                    break;
-
-                case PRIVATE:
-                    discordClient.sendDirectMessage(discordRequest.getChatIdentifier(), discordRequest.getMessage(), discordRequest.getAccountId());
-                    break;
-
-                default:
-                    throw new RuntimeException("Unknown discord message type");
-            }
-        }
+    public void sendTelegramAlbumMessage(final Long chatId, final List<MultipartFile> files, final String message, final String accountId) {
+        telegramClient.sendAlbumMessage(chatId, files, message, accountId);
+        unreadCountersService.invalidate();
     }
 
-    public void sendTelegramImageMessage(final Long chatId, final MultipartFile image, final String message, final String accountId) {
-        telegramClient.sendImageMessage(chatId, image, message, accountId);
+    public List<TelegramForwardResultDto> forwardTelegramMessages(final TelegramForwardRequestDto request, final String accountId) {
+        final List<TelegramForwardResultDto> results = telegramClient.forwardMessages(request, accountId);
+        unreadCountersService.invalidate();
+        return results;
     }
 
     public void sendTelegramVideoMessage(final Long chatId, final MultipartFile video, final String message, final String accountId) {
         telegramClient.sendVideoMessage(chatId, video, message, accountId);
+        unreadCountersService.invalidate();
     }
 
     public void sendTelegramDocumentMessage(final Long chatId, final MultipartFile document, final String message, final String accountId) {
         telegramClient.sendDocumentMessage(chatId, document, message, accountId);
+        unreadCountersService.invalidate();
+    }
+
+    public void streamTelegramVideoMessage(final Long chatId, final String fileName, final InputStream video, final String message, final String accountId) {
+        telegramClient.sendStreamedVideoMessage(chatId, fileName, video, message, accountId);
+        unreadCountersService.invalidate();
+    }
+
+    public void streamTelegramDocumentMessage(final Long chatId, final String fileName, final InputStream document, final String message, final String accountId) {
+        telegramClient.sendStreamedDocumentMessage(chatId, fileName, document, message, accountId);
+        unreadCountersService.invalidate();
     }
 
     public void sendGmailFileMessage(final Long accountId, final String to, final String subject, final String body, final MultipartFile file) {
         gmailClient.sendFile(accountId, to, subject, body, file);
+        unreadCountersService.invalidate();
+    }
+
+    public void streamGmailFileMessage(final Long accountId, final String to, final String subject, final String body, final String fileName, final InputStream file) {
+        gmailClient.sendStreamedFile(accountId, to, subject, body, fileName, file);
+        unreadCountersService.invalidate();
     }
 
     public GmailMessagesResponseDto getGmailMessages(final Long accountId, final Integer maxResults, final String pageToken) {
@@ -148,10 +194,12 @@ public class MessageService {
 
     public void markGmailMessageAsRead(final Long accountId, final String messageId) {
         gmailClient.markAsRead(accountId, messageId);
+        unreadCountersService.invalidate();
     }
 
     public void markGmailMessageAsUnread(final Long accountId, final String messageId) {
         gmailClient.markAsUnread(accountId, messageId);
+        unreadCountersService.invalidate();
     }
 
     public GmailMessagesResponseDto searchGmailMessages(final Long accountId, final String query, final Integer maxResults, final String pageToken) {
@@ -166,6 +214,14 @@ public class MessageService {
         discordClient.sendChannelFileMessage(botId, channelId, files, message);
     }
 
+    public void streamDiscordPrivateFileMessage(final Long botId, final String userId, final String fileName, final InputStream file, final String message) {
+        discordClient.sendStreamedDmFileMessage(botId, userId, fileName, file, message);
+    }
+
+    public void streamDiscordGuildFileMessage(final Long botId, final String channelId, final String fileName, final InputStream file, final String message) {
+        discordClient.sendStreamedChannelFileMessage(botId, channelId, fileName, file, message);
+    }
+
     public List<ChannelMessageDto> getDiscordGuildChannelMessageHistory(final Long botId, final String channelId, final int limit) {
         return discordClient.getGuildChannelHistory(botId, channelId, limit);
     }
@@ -197,13 +253,4 @@ public class MessageService {
     public void updateDiscordGuildChannelMessage(final Long botId, final String channelId, final String messageId, final String updatedMessage) {
         discordClient.updateGuildMessage(botId, channelId, messageId, updatedMessage);
     }
-
-    private Map<String, String> getPersonalizedMessages(final List<MessageRequestDto> request) {
-        final Map<String, String> processedMessages = new HashMap<>();
-        for (MessageRequestDto messageRequestDto : request) {
-            final String processedMessage = aiClient.customizeMessage(messageRequestDto.getMessage(), messageRequestDto.getPlatform(), messageRequestDto.getChatIdentifier());
-            processedMessages.put(messageRequestDto.getChatIdentifier(), processedMessage);
-        }
-        return processedMessages;
-    }
 }
@@ -0,0 +1,96 @@
+package com.sdc.main.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sdc.main.config.properties.ResponseCacheProperties;
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.config.web.WebClientConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of slow-changing responses of the other services.
+ * Responses are cached per user and key in size-bounded caches with their own ttl, concurrent requests
+ * of the same response share a single fetch, and the endpoints changing the cached data invalidate
+ * the responses of their user. Statistics of every cache are exported with its name as the cache tag.
+ * @since 10.2026
+ */
+@Component
+public class ResponseCache {
+    public static final String TELEGRAM_ACCOUNTS = "telegram-accounts";
+    public static final String TELEGRAM_CHAT_FOLDERS = "telegram-chat-folders";
+    public static final String GMAIL_ACCOUNTS = "gmail-accounts";
+    public static final String DISCORD_BOTS = "discord-bots";
+    public static final String DISCORD_GUILDS = "discord-guilds";
+    public static final String DISCORD_GUILD_CHANNELS = "discord-guild-channels";
+    private static final List<String> CACHE_NAMES = List.of(TELEGRAM_ACCOUNTS, TELEGRAM_CHAT_FOLDERS, GMAIL_ACCOUNTS,
+            DISCORD_BOTS, DISCORD_GUILDS, DISCORD_GUILD_CHANNELS);
+
+    private final CurrentUser currentUser;
+    private final Map<String, AsyncCache<Key, Object>> caches = new LinkedHashMap<>();
+
+    public ResponseCache(final ResponseCacheProperties properties, final CurrentUser currentUser, final MeterRegistry meterRegistry) {
+        this.currentUser = currentUser;
+        for (String name : CACHE_NAMES) {
+            final AsyncCache<Key, Object> cache = Caffeine.newBuilder()
+                    .expireAfterWrite(properties.getTtl(name))
+                    .maximumSize(properties.getMaximumSize())
+                    .recordStats()
+                    .buildAsync();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            caches.put(name, cache);
+        }
+    }
+
+    /**
+     * Returns the cached response of the current user or fetches it, failed and empty responses are not cached
+     *
+     * @param cacheName the cache name
+     * @param fetch fetches the response
+     * @param keys the arguments the response depends on besides the user
+     * @return the response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(final String cacheName, final Supplier<Mono<T>> fetch, final Object... keys) {
+        final AsyncCache<Key, Object> cache = getCache(cacheName);
+        final Key key = new Key(currentUser.getId(), Arrays.asList(keys));
+        final String token = currentUser.getToken();
+        // the fetch is shared by concurrent requests, so a cancelled request doesn't cancel it
+        return Mono.fromFuture(() -> (CompletableFuture<T>) (CompletableFuture<?>) cache.get(key, (cacheKey, executor) -> fetch.get()
+                .contextWrite(context -> Objects.isNull(token) ? context : context.put(WebClientConfig.TOKEN_CONTEXT_KEY, token))
+                .toFuture()), true);
+    }
+
+    /**
+     * Invalidates all responses of the current user in the caches
+     *
+     * @param cacheNames the cache names
+     */
+    public void invalidate(final String... cacheNames) {
+        final Long userId = currentUser.getId();
+        for (String cacheName : cacheNames) {
+            getCache(cacheName).asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    private AsyncCache<Key, Object> getCache(final String cacheName) {
+        final AsyncCache<Key, Object> cache = caches.get(cacheName);
+        if (Objects.isNull(cache)) {
+            throw new IllegalArgumentException("Unknown cache: " + cacheName);
+        }
+        return cache;
+    }
+
+    private record Key(Long userId, List<Object> keys) {
+    }
+}
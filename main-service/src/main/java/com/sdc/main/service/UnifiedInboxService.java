@@ -0,0 +1,400 @@
+package com.sdc.main.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdc.main.config.properties.UnifiedInboxProperties;
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import com.sdc.main.domain.dto.discord.bot.DiscordBotInfoDto;
+import com.sdc.main.domain.dto.discord.chat.DiscordPrivateChatDto;
+import com.sdc.main.domain.dto.gmail.GmailAccountInfoDto;
+import com.sdc.main.domain.dto.gmail.GmailMessageDto;
+import com.sdc.main.domain.dto.inbox.ConversationDto;
+import com.sdc.main.domain.dto.inbox.ConversationsPageDto;
+import com.sdc.main.domain.dto.telegram.chat.ChatTdlibDto;
+import com.sdc.main.domain.dto.telegram.message.MessageTdlibDto;
+import com.sdc.main.domain.dto.telegram.message.content.FormattedTextDto;
+import com.sdc.main.domain.dto.telegram.message.content.MessageDocumentDto;
+import com.sdc.main.domain.dto.telegram.message.content.MessagePhotoDto;
+import com.sdc.main.domain.dto.telegram.message.content.MessageTextDto;
+import com.sdc.main.domain.dto.telegram.message.content.MessageVideoDto;
+import com.sdc.main.integration.client.DiscordServiceClient;
+import com.sdc.main.integration.client.GmailServiceClient;
+import com.sdc.main.integration.client.TelegramServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Service for the unified inbox of all platforms of the current user.
+ * Telegram accounts, Discord bots and Gmail accounts are queried concurrently, every platform with its own timeout,
+ * and their conversations are merged by last activity, so a slow or failing source only leaves its own conversations
+ * out of the page and is retried with the next page.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnifiedInboxService {
+    public static final int MAX_LIMIT = 100;
+    private static final SourceCursor START = new SourceCursor(null, 0);
+    private static final int MAX_EMPTY_PAGES = 3;
+    private static final Comparator<ConversationDto> ORDER = Comparator
+            .comparing((ConversationDto conversation) -> Objects.requireNonNullElse(conversation.getLastActivity(), Instant.EPOCH)).reversed()
+            .thenComparing(ConversationDto::getPlatform)
+            .thenComparing(ConversationDto::getAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(ConversationDto::getChatId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TelegramServiceClient telegramClient;
+    private final GmailServiceClient gmailClient;
+    private final DiscordServiceClient discordClient;
+    private final ResponseCache responseCache;
+    private final UnifiedInboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Retrieves a page of the conversations of all platforms ordered by last activity.
+     * The first page queries all connected accounts, the cursor keeps the position of every source
+     * that has more conversations and later pages query only those sources.
+     *
+     * @param limit the maximum number of conversations to retrieve
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param photoSize the size of Telegram profile photos in pixels the client renders, null for the default size
+     * @return page of conversations
+     */
+    public Mono<ConversationsPageDto> findConversations(final int limit, final String cursor, final Integer photoSize) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return Mono.error(new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT));
+        }
+
+        final Flux<SourcePage> pages;
+        if (Objects.isNull(cursor) || cursor.isBlank()) {
+            pages = Flux.merge(
+                    fetch(new Source(CommunicationPlatformType.TELEGRAM, null), START, limit, photoSize),
+                    fetchAccounts(CommunicationPlatformType.DISCORD, limit, photoSize),
+                    fetchAccounts(CommunicationPlatformType.EMAIL, limit, photoSize));
+        } else {
+            final Map<String, SourceCursor> positions;
+            try {
+                positions = parseCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(e);
+            }
+            pages = Flux.fromIterable(positions.entrySet())
+                    .flatMap(position -> {
+                        final Source source = Source.parse(position.getKey());
+                        // a platform whose accounts couldn't be listed is listed again
+                        return source.isAllAccounts() && source.platform() != CommunicationPlatformType.TELEGRAM
+                                ? fetchAccounts(source.platform(), limit, photoSize)
+                                : fetch(source, position.getValue(), limit, photoSize);
+                    });
+        }
+        return pages.collectList().map(sourcePages -> merge(sourcePages, limit));
+    }
+
+    /**
+     * Fetches the first page of every account of a platform, a failure to list the accounts fails the whole platform
+     * keeping its start position, so the accounts are listed again with the next page
+     */
+    private Flux<SourcePage> fetchAccounts(final CommunicationPlatformType platform, final int limit, final Integer photoSize) {
+        final Mono<List<String>> accountIds = switch (platform) {
+            case DISCORD -> responseCache.get(ResponseCache.DISCORD_BOTS, discordClient::getConnectedBotsAsync)
+                    .map(bots -> bots.stream().map(DiscordBotInfoDto::getId).map(String::valueOf).toList());
+            case EMAIL -> responseCache.get(ResponseCache.GMAIL_ACCOUNTS, gmailClient::getMeAsync)
+                    .map(accounts -> accounts.stream().map(GmailAccountInfoDto::getAccountId).map(String::valueOf).toList());
+            default -> Mono.error(new IllegalArgumentException("Unsupported platform: " + platform));
+        };
+        return accountIds
+                .timeout(properties.getTimeout(platform))
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(accountId -> fetch(new Source(platform, accountId), START, limit, photoSize))
+                .onErrorResume(e -> {
+                    log.warn("Failed to list {} accounts for unified inbox", platform, e);
+                    return Flux.just(SourcePage.failed(new Source(platform, null), START));
+                });
+    }
+
+    /**
+     * Fetches the conversations of a source after its position, failures and timeouts keep the position
+     */
+    private Mono<SourcePage> fetch(final Source source, final SourceCursor position, final int limit, final Integer photoSize) {
+        return fetch(source, position, limit, photoSize, 1);
+    }
+
+    /**
+     * Fetches the conversations of a source following the cursor of empty pages up to MAX_EMPTY_PAGES pages
+     */
+    private Mono<SourcePage> fetch(final Source source, final SourceCursor position, final int limit, final Integer photoSize,
+                                   final int pageNumber) {
+        final Mono<SourcePage> page = switch (source.platform()) {
+            case TELEGRAM -> fetchTelegram(source, position, limit, photoSize);
+            case DISCORD -> fetchDiscord(source, position);
+            case EMAIL -> fetchGmail(source, position, limit);
+            default -> Mono.error(new IllegalArgumentException("Unsupported platform: " + source.platform()));
+        };
+        return page
+                .timeout(properties.getTimeout(source.platform()))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch {} conversations for unified inbox", source.name(), e);
+                    return Mono.just(SourcePage.failed(source, position));
+                })
+                .flatMap(sourcePage -> sourcePage.isEmptyWithMore() && pageNumber < MAX_EMPTY_PAGES
+                        ? fetch(source, new SourceCursor(sourcePage.nextCursor(), 0), limit, photoSize, pageNumber + 1)
+                        : Mono.just(sourcePage));
+    }
+
+    /**
+     * Telegram accounts are merged by telegram-service, its cursor points after the last chat of the returned page.
+     */
+    private Mono<SourcePage> fetchTelegram(final Source source, final SourceCursor position, final int limit, final Integer photoSize) {
+        return telegramClient.findUnifiedChatsAsync(Math.min(position.skip() + limit, MAX_LIMIT), position.cursor(), photoSize)
+                .map(page -> new SourcePage(source, position, toEntries(page.getChats().stream().map(this::toConversation).toList(), position.skip(), false),
+                        page.getNextCursor(), Objects.requireNonNullElse(page.getFailedAccountIds(), List.<String>of()).stream()
+                                .map(accountId -> new Source(CommunicationPlatformType.TELEGRAM, accountId).name())
+                                .toList(), true));
+    }
+
+    /**
+     * Discord private chats aren't paged, the position is the number of chats already returned.
+     */
+    private Mono<SourcePage> fetchDiscord(final Source source, final SourceCursor position) {
+        return discordClient.getPrivateChatsAsync(Long.valueOf(source.accountId()))
+                .map(chats -> new SourcePage(source, position, toEntries(chats.stream().map(this::toConversation).sorted(ORDER).toList(), position.skip(), false),
+                        null, List.of(), true));
+    }
+
+    /**
+     * Gmail lists messages, every thread is returned once with its latest message.
+     */
+    private Mono<SourcePage> fetchGmail(final Source source, final SourceCursor position, final int limit) {
+        final Long accountId = Long.valueOf(source.accountId());
+        return gmailClient.getMessagesAsync(accountId, position.skip() + limit, position.cursor())
+                .map(page -> new SourcePage(source, position, toEntries(Objects.requireNonNullElse(page.getMessages(), List.<GmailMessageDto>of()).stream()
+                        .map(message -> toConversation(message, accountId))
+                        .toList(), position.skip(), true), page.getNextPageToken(), List.of(), true));
+    }
+
+    /**
+     * Takes the conversations after the skipped ones, every entry keeps the number of conversations to skip after it
+     *
+     * @param conversations the conversations of the source from its cursor
+     * @param skip the number of conversations already returned
+     * @param distinctChats whether to return only the first conversation of every chat
+     * @return entries after the skipped conversations
+     */
+    private static List<Entry> toEntries(final List<ConversationDto> conversations, final int skip, final boolean distinctChats) {
+        final Set<String> chats = new HashSet<>();
+        final List<Integer> indexes = new ArrayList<>();
+        for (int index = 0; index < conversations.size(); index++) {
+            if ((!distinctChats || chats.add(conversations.get(index).getChatId())) && index >= skip) {
+                indexes.add(index);
+            }
+        }
+
+        final List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < indexes.size(); i++) {
+            final int nextSkip = i + 1 < indexes.size() ? indexes.get(i + 1) : conversations.size();
+            entries.add(new Entry(conversations.get(indexes.get(i)), nextSkip));
+        }
+        return entries;
+    }
+
+    /**
+     * Merges sorted conversations of the sources keeping the order.
+     * Merging stops when a source with more conversations than fetched runs out,
+     * as its next conversations may be more recent than the rest of the other sources.
+     * A source that is still empty after following its cursor stops merging before the first conversation.
+     *
+     * @param pages the fetched page of every source
+     * @param limit the maximum number of conversations to merge
+     * @return page of the merged conversations with the cursor after them
+     */
+    private ConversationsPageDto merge(final List<SourcePage> pages, final int limit) {
+        final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::conversation, ORDER));
+        final boolean sourceRunOut = pages.stream().anyMatch(SourcePage::isEmptyWithMore);
+        for (int page = 0; page < pages.size() && !sourceRunOut; page++) {
+            final List<Entry> entries = pages.get(page).entries();
+            if (!entries.isEmpty()) {
+                heads.add(new Head(entries.get(0).conversation(), page, 0));
+            }
+        }
+
+        final int[] consumed = new int[pages.size()];
+        final List<ConversationDto> conversations = new ArrayList<>();
+        while (conversations.size() < limit && !heads.isEmpty()) {
+            final Head head = heads.poll();
+            final SourcePage page = pages.get(head.page());
+            conversations.add(head.conversation());
+            consumed[head.page()] = head.index() + 1;
+            if (head.index() + 1 < page.entries().size()) {
+                heads.add(new Head(page.entries().get(head.index() + 1).conversation(), head.page(), head.index() + 1));
+            } else if (Objects.nonNull(page.nextCursor())) {
+                break;
+            }
+        }
+
+        final Map<String, SourceCursor> positions = new LinkedHashMap<>();
+        final List<String> failedSources = new ArrayList<>();
+        for (int page = 0; page < pages.size(); page++) {
+            final SourcePage sourcePage = pages.get(page);
+            failedSources.addAll(sourcePage.failedSources());
+            final SourceCursor position = nextPosition(sourcePage, consumed[page]);
+            if (Objects.nonNull(position)) {
+                positions.put(sourcePage.source().name(), position);
+            }
+        }
+        return new ConversationsPageDto(conversations, positions.isEmpty() ? null : formatCursor(positions), failedSources);
+    }
+
+    /**
+     * Returns the position of a source after the consumed entries, null if the source has no more conversations
+     */
+    private static SourceCursor nextPosition(final SourcePage page, final int consumed) {
+        if (!page.available()) {
+            return page.position();
+        }
+        if (consumed < page.entries().size()) {
+            return consumed == 0
+                    ? page.position()
+                    : new SourceCursor(page.position().cursor(), page.entries().get(consumed - 1).nextSkip());
+        }
+        return Objects.isNull(page.nextCursor()) ? null : new SourceCursor(page.nextCursor(), 0);
+    }
+
+    private ConversationDto toConversation(final ChatTdlibDto chat) {
+        final MessageTdlibDto lastMessage = chat.getLastMessage();
+        final Instant lastActivity = Objects.isNull(lastMessage) || Objects.isNull(lastMessage.getDate())
+                ? null
+                : Instant.ofEpochSecond(lastMessage.getDate());
+        return new ConversationDto(CommunicationPlatformType.TELEGRAM, chat.getAccountId(), String.valueOf(chat.getId()), chat.getTitle(),
+                chat.getProfilePhotoUrl(), getPreview(lastMessage), lastActivity, chat.getUnreadCount());
+    }
+
+    private ConversationDto toConversation(final DiscordPrivateChatDto chat) {
+        final Instant lastActivity = Objects.isNull(chat.getLastMessageTime()) ? null : chat.getLastMessageTime().toInstant(ZoneOffset.UTC);
+        return new ConversationDto(CommunicationPlatformType.DISCORD, String.valueOf(chat.getBotId()), chat.getChannelId(), chat.getUserName(),
+                chat.getUserAvatarUrl(), null, lastActivity, null);
+    }
+
+    private ConversationDto toConversation(final GmailMessageDto message, final Long accountId) {
+        final String title = Objects.isNull(message.getSubject()) || message.getSubject().isBlank() ? message.getFrom() : message.getSubject();
+        final Instant lastActivity = Objects.isNull(message.getInternalDate()) ? null : message.getInternalDate().toInstant();
+        return new ConversationDto(CommunicationPlatformType.EMAIL, String.valueOf(accountId), message.getThreadId(), title,
+                null, message.getSnippet(), lastActivity, message.isUnread() ? 1 : 0);
+    }
+
+    private static String getPreview(final MessageTdlibDto message) {
+        if (Objects.isNull(message)) {
+            return null;
+        }
+        FormattedTextDto text = null;
+        if (message.getContent() instanceof MessageTextDto content) {
+            text = content.getText();
+        } else if (message.getContent() instanceof MessagePhotoDto content) {
+            text = content.getCaption();
+        } else if (message.getContent() instanceof MessageVideoDto content) {
+            text = content.getCaption();
+        } else if (message.getContent() instanceof MessageDocumentDto content) {
+            text = content.getCaption();
+        }
+        return Objects.isNull(text) ? null : text.getText();
+    }
+
+    /**
+     * Parses the cursor of the unified inbox
+     *
+     * @param cursor the cursor
+     * @return the position of every source with more conversations by source name
+     */
+    private Map<String, SourceCursor> parseCursor(final String cursor) {
+        try {
+            final Map<String, SourceCursor> positions = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<LinkedHashMap<String, SourceCursor>>() {
+                    });
+            positions.keySet().forEach(Source::parse);
+            if (positions.containsValue(null)) {
+                throw new IllegalArgumentException("Missing source position");
+            }
+            return positions;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private String formatCursor(final Map<String, SourceCursor> positions) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(positions));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to write unified inbox cursor", e);
+        }
+    }
+
+    /**
+     * Source of conversations, an account of a platform or all accounts of the platform if the account is null.
+     */
+    private record Source(CommunicationPlatformType platform, String accountId) {
+        private static final String SEPARATOR = ":";
+
+        /**
+         * Parses a source name, the account ids of Discord and Gmail sources must be numeric
+         *
+         * @throws IllegalArgumentException if the name isn't a valid source name
+         */
+        static Source parse(final String name) {
+            final String[] parts = name.split(SEPARATOR, 2);
+            final Source source = new Source(CommunicationPlatformType.valueOf(parts[0]), parts.length > 1 ? parts[1] : null);
+            if (!source.isAllAccounts() && source.platform() != CommunicationPlatformType.TELEGRAM) {
+                Long.parseLong(source.accountId());
+            }
+            return source;
+        }
+
+        String name() {
+            return isAllAccounts() ? platform.name() : platform.name() + SEPARATOR + accountId;
+        }
+
+        boolean isAllAccounts() {
+            return Objects.isNull(accountId);
+        }
+    }
+
+    /**
+     * Position of a source, the downstream cursor of its page and the number of conversations of the page already returned.
+     */
+    private record SourceCursor(String cursor, int skip) {
+    }
+
+    private record Entry(ConversationDto conversation, int nextSkip) {
+    }
+
+    private record SourcePage(Source source, SourceCursor position, List<Entry> entries, String nextCursor, List<String> failedSources,
+                              boolean available) {
+
+        static SourcePage failed(final Source source, final SourceCursor position) {
+            return new SourcePage(source, position, List.of(), null, List.of(source.name()), false);
+        }
+
+        boolean isEmptyWithMore() {
+            return entries.isEmpty() && Objects.nonNull(nextCursor);
+        }
+    }
+
+    private record Head(ConversationDto conversation, int page, int index) {
+    }
+}
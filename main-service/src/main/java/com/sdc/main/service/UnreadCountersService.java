@@ -0,0 +1,166 @@
+package com.sdc.main.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sdc.main.config.properties.UnreadCountersProperties;
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.config.web.WebClientConfig;
+import com.sdc.main.domain.constants.CommunicationPlatformType;
+import com.sdc.main.domain.dto.discord.bot.DiscordBotInfoDto;
+import com.sdc.main.domain.dto.gmail.GmailAccountInfoDto;
+import com.sdc.main.domain.dto.inbox.AccountUnreadDto;
+import com.sdc.main.domain.dto.inbox.UnreadCountersDto;
+import com.sdc.main.domain.dto.telegram.TelegramAccountDto;
+import com.sdc.main.domain.dto.telegram.TelegramNotificationDto;
+import com.sdc.main.integration.client.DiscordServiceClient;
+import com.sdc.main.integration.client.GmailServiceClient;
+import com.sdc.main.integration.client.TelegramServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Service for the unread counters of all connected accounts of the current user.
+ * Counters of every account are fetched concurrently and cached per user for a short time, so badge polling
+ * is served from memory. Concurrent requests of a user share a single fetch, and sends and reads that pass
+ * through main-service invalidate the counters of their user.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+public class UnreadCountersService {
+    public static final String CACHE_NAME = "unread-counters";
+    private static final Comparator<AccountUnreadDto> ACCOUNT_ORDER = Comparator.comparing(AccountUnreadDto::getPlatform)
+            .thenComparing(AccountUnreadDto::getAccountId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TelegramServiceClient telegramClient;
+    private final GmailServiceClient gmailClient;
+    private final DiscordServiceClient discordClient;
+    private final UnreadCountersProperties properties;
+    private final CurrentUser currentUser;
+    private final ResponseCache responseCache;
+    private final AsyncCache<Long, UnreadCountersDto> cache;
+
+    public UnreadCountersService(final TelegramServiceClient telegramClient, final GmailServiceClient gmailClient,
+                                 final DiscordServiceClient discordClient, final UnreadCountersProperties properties,
+                                 final CurrentUser currentUser, final ResponseCache responseCache, final MeterRegistry meterRegistry) {
+        this.telegramClient = telegramClient;
+        this.gmailClient = gmailClient;
+        this.discordClient = discordClient;
+        this.properties = properties;
+        this.currentUser = currentUser;
+        this.responseCache = responseCache;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the unread counters of all connected accounts of the current user
+     *
+     * @return the cached counters or the counters fetched from all platforms
+     */
+    public Mono<UnreadCountersDto> getUnreadCounters() {
+        final Long userId = currentUser.getId();
+        final String token = currentUser.getToken();
+        // the fetch is shared by concurrent requests of the user, so a cancelled request doesn't cancel it
+        return Mono.fromFuture(() -> cache.get(userId, (key, executor) -> fetch()
+                .contextWrite(context -> Objects.isNull(token) ? context : context.put(WebClientConfig.TOKEN_CONTEXT_KEY, token))
+                .toFuture()), true);
+    }
+
+    /**
+     * Invalidates the cached counters of the current user
+     */
+    public void invalidate() {
+        invalidate(currentUser.getId());
+    }
+
+    /**
+     * Invalidates the cached counters of a user, a fetch in progress is not cached
+     *
+     * @param userId the user identifier
+     */
+    public void invalidate(final Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    private Mono<UnreadCountersDto> fetch() {
+        final Flux<SourceCounters> telegram = fetchAccounts(CommunicationPlatformType.TELEGRAM,
+                responseCache.get(ResponseCache.TELEGRAM_ACCOUNTS, telegramClient::getAllAccountsInfoAsync)
+                        .map(accounts -> accounts.stream().map(TelegramAccountDto::getAccountId).toList()),
+                accountId -> telegramClient.findChatsNotificationsAsync(accountId)
+                        .map(notifications -> new AccountUnreadDto(CommunicationPlatformType.TELEGRAM, accountId,
+                                notifications.stream().map(TelegramNotificationDto::getNotificationsCount).filter(Objects::nonNull).mapToLong(Integer::longValue).sum(),
+                                (int) notifications.stream().filter(notification -> Objects.nonNull(notification.getNotificationsCount())
+                                        && notification.getNotificationsCount() > 0).count())));
+        final Flux<SourceCounters> gmail = fetchAccounts(CommunicationPlatformType.EMAIL,
+                responseCache.get(ResponseCache.GMAIL_ACCOUNTS, gmailClient::getMeAsync)
+                        .map(accounts -> accounts.stream().map(GmailAccountInfoDto::getAccountId).map(String::valueOf).toList()),
+                accountId -> gmailClient.getUnreadMessageAsync(Long.valueOf(accountId), 1, null)
+                        .map(page -> new AccountUnreadDto(CommunicationPlatformType.EMAIL, accountId,
+                                Objects.requireNonNullElse(page.getResultSizeEstimate(), 0L), null)));
+        // discord-service doesn't track read state, the bots are listed without counters
+        final Flux<SourceCounters> discord = fetchAccounts(CommunicationPlatformType.DISCORD,
+                responseCache.get(ResponseCache.DISCORD_BOTS, discordClient::getConnectedBotsAsync)
+                        .map(bots -> bots.stream().map(DiscordBotInfoDto::getId).map(String::valueOf).toList()),
+                accountId -> Mono.just(new AccountUnreadDto(CommunicationPlatformType.DISCORD, accountId, null, null)));
+
+        return Flux.merge(telegram, gmail, discord)
+                .collectList()
+                .map(results -> {
+                    final List<AccountUnreadDto> accounts = results.stream()
+                            .map(SourceCounters::account)
+                            .filter(Objects::nonNull)
+                            .sorted(ACCOUNT_ORDER)
+                            .toList();
+                    final long total = accounts.stream()
+                            .map(AccountUnreadDto::getUnreadMessages)
+                            .filter(Objects::nonNull)
+                            .mapToLong(Long::longValue)
+                            .sum();
+                    final List<String> failedSources = results.stream()
+                            .map(SourceCounters::failedSource)
+                            .filter(Objects::nonNull)
+                            .sorted()
+                            .toList();
+                    return new UnreadCountersDto(accounts, total, failedSources, Instant.now());
+                });
+    }
+
+    /**
+     * Fetches the counters of every account of a platform, a failure to list the accounts fails the whole platform
+     */
+    private Flux<SourceCounters> fetchAccounts(final CommunicationPlatformType platform, final Mono<List<String>> accountIds,
+                                               final Function<String, Mono<AccountUnreadDto>> counters) {
+        return accountIds
+                .timeout(properties.getSourceTimeout())
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(accountId -> counters.apply(accountId)
+                        .timeout(properties.getSourceTimeout())
+                        .map(account -> new SourceCounters(account, null))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to fetch unread counters of {} account {}", platform, accountId, e);
+                            return Mono.just(new SourceCounters(null, platform.name() + ":" + accountId));
+                        }))
+                .onErrorResume(e -> {
+                    log.warn("Failed to list {} accounts for unread counters", platform, e);
+                    return Flux.just(new SourceCounters(null, platform.name()));
+                });
+    }
+
+    private record SourceCounters(AccountUnreadDto account, String failedSource) {
+    }
+}
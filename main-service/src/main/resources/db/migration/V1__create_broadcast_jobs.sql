@@ -0,0 +1,47 @@
+CREATE TABLE IF NOT EXISTS main_service.broadcast_jobs
+(
+    id                 BIGSERIAL PRIMARY KEY,
+    user_id            BIGINT    NOT NULL,
+    username           TEXT,
+    role               TEXT,
+    full_name          TEXT,
+    personalize        BOOLEAN   NOT NULL,
+    status             TEXT      NOT NULL,
+    total_recipients   INTEGER   NOT NULL,
+    lease_expires_at   TIMESTAMP,
+    completed_date     TIMESTAMP,
+    created_date       TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP NOT NULL
+);
+
+ALTER table main_service.broadcast_jobs
+    ADD CONSTRAINT fk_broadcast_job_user_id FOREIGN KEY (user_id)
+        REFERENCES user_service.users(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_broadcast_jobs_user_id
+    ON main_service.broadcast_jobs (user_id);
+
+CREATE INDEX idx_broadcast_jobs_status
+    ON main_service.broadcast_jobs (status, lease_expires_at);
+
+CREATE TABLE IF NOT EXISTS main_service.broadcast_recipients
+(
+    id                 BIGSERIAL PRIMARY KEY,
+    job_id             BIGINT    NOT NULL,
+    position           INTEGER   NOT NULL,
+    platform           TEXT      NOT NULL,
+    account_id         TEXT,
+    chat_identifier    TEXT,
+    request            TEXT      NOT NULL,
+    status             TEXT      NOT NULL,
+    error              TEXT,
+    created_date       TIMESTAMP NOT NULL,
+    last_modified_date TIMESTAMP NOT NULL
+);
+
+ALTER table main_service.broadcast_recipients
+    ADD CONSTRAINT fk_broadcast_recipient_job_id FOREIGN KEY (job_id)
+        REFERENCES main_service.broadcast_jobs(id) ON DELETE CASCADE;
+
+CREATE UNIQUE INDEX idx_broadcast_recipients_job_id_position
+    ON main_service.broadcast_recipients (job_id, position);
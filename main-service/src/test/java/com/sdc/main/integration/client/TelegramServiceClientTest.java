@@ -0,0 +1,88 @@
+package com.sdc.main.integration.client;
+
+import com.sdc.main.config.properties.MicroserviceIntegrationProperties;
+import com.sdc.main.config.properties.WebClientProperties;
+import com.sdc.main.config.security.CurrentUser;
+import com.sdc.main.config.web.WebClientConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TelegramServiceClientTest {
+    private static final String TOKEN = "token";
+    private static final String EXPORT = "exported messages";
+
+    private final AtomicReference<ClientRequest> sentRequest = new AtomicReference<>();
+    private TelegramServiceClient telegramServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        // same as spring.reactor.context-propagation: auto
+        Hooks.enableAutomaticContextPropagation();
+
+        final WebClient webClient = new WebClientConfig(new CurrentUser(), new WebClientProperties()).webClient()
+                .mutate()
+                .exchangeFunction(request -> {
+                    sentRequest.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EXPORT.getBytes(StandardCharsets.UTF_8))))
+                            .build());
+                })
+                .build();
+        final MicroserviceIntegrationProperties properties = new MicroserviceIntegrationProperties();
+        properties.setTelegramService(new MicroserviceIntegrationProperties.TelegramService());
+        properties.getTelegramService().setBaseUrl("http://telegram-service");
+        telegramServiceClient = new TelegramServiceClient(webClient, new MediaProxy(new SimpleMeterRegistry()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Hooks.disableAutomaticContextPropagation();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getExportFile_AfterRequestCompleted_ShouldStreamExportWithUserToken() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(WebClientConfig.TOKEN_CONTEXT_KEY, TOKEN);
+        final ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        final StreamingResponseBody body = telegramServiceClient.getExportFile("job", "account");
+        // the body is written on an async thread after the controller returned
+        attributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(outputStream);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }).join();
+
+        assertEquals(EXPORT, outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals("Bearer " + TOKEN, sentRequest.get().headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+}
@@ -5,6 +5,7 @@ import com.sdc.telegram.domain.model.TelegramCredentials;
 import com.sdc.telegram.repository.TelegramCredentialsRepository;
 import com.sdc.telegram.utils.CryptoUtils;
 import com.sdc.telegram.utils.ResultHandlerImpl;
+import com.sdc.telegram.utils.TdlibMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
@@ -27,13 +28,16 @@ public class TelegramClientManager  {
     private final ResultHandlerImpl resultHandler;
     private final TelegramCredentialsRepository credentialsRepository;
     private final CryptoUtils cryptoUtils;
+    private final TdlibMetrics tdlibMetrics;
 
     public TelegramClientManager(TelegramConfigurationProperties configuration, ResultHandlerImpl resultHandler,
-                                 TelegramCredentialsRepository credentialsRepository, CryptoUtils cryptoUtils) throws Exception {
+                                 TelegramCredentialsRepository credentialsRepository, CryptoUtils cryptoUtils,
+                                 TdlibMetrics tdlibMetrics) throws Exception {
         this.configuration = configuration;
         this.resultHandler = resultHandler;
         this.credentialsRepository = credentialsRepository;
         this.cryptoUtils = cryptoUtils;
+        this.tdlibMetrics = tdlibMetrics;
         preloadLibraries();
         initializeClients();
     }
@@ -65,7 +69,7 @@ public class TelegramClientManager  {
         }
 
         for (TelegramCredentials telegramCredential : telegramCredentials) {
-            Client client = Client.create(resultHandler, null, null);
+            Client client = Client.create(resultHandler.forAccount(telegramCredential.getAccountId()), null, null);
             resultHandler.setClient(client);
             clients.put(telegramCredential.getAccountId(), client);
             clientToAccountMap.put(client, telegramCredential.getAccountId());
@@ -100,7 +104,7 @@ public class TelegramClientManager  {
         parameters.useSecretChats = configuration.getUseSecretChats();
         parameters.databaseDirectory = configuration.getDatabaseDirectory() + credentials.getAccountId();
 
-        client.send(parameters, result -> {
+        tdlibMetrics.send(client, credentials.getAccountId(), parameters, result -> {
             if (result instanceof TdApi.Ok) {
                 log.info("Client initialized for account:{} ", credentials.getAccountId());
             } else {
@@ -108,7 +112,7 @@ public class TelegramClientManager  {
             }
         });
 
-        client.send(new TdApi.GetAuthorizationState(), resultHandler);
+        tdlibMetrics.send(client, credentials.getAccountId(), new TdApi.GetAuthorizationState(), resultHandler);
     }
 
     public Client getClient(String accountId) {
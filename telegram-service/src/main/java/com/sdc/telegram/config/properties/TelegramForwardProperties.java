@@ -0,0 +1,29 @@
+package com.sdc.telegram.config.properties;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Message forwarding configuration properties.
+ * @since 10.2026
+ */
+@Data
+@Valid
+@ConfigurationProperties(prefix = "forward")
+public class TelegramForwardProperties {
+    /**
+     * Longest flood wait to retry a target after, a target asked to wait longer fails as rate limited
+     */
+    @NotNull
+    private Duration maxFloodWait = Duration.ofSeconds(60);
+
+    /**
+     * Maximum time to forward the messages to all targets, targets not forwarded in time fail
+     */
+    @NotNull
+    private Duration timeout = Duration.ofMinutes(5);
+}
@@ -5,11 +5,13 @@ import com.sdc.telegram.service.TelegramAuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.concurrent.ExecutionException;
 
@@ -69,6 +71,15 @@ public class TelegramAuthController {
         return result;
     }
 
+    @Operation(summary = "Stream account authorization state changes")
+    @GetMapping(value = "/state/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuthorizationState(@RequestParam final String accountId) {
+        log.info("Received request GET /auth/state/stream request with accountId:{}", accountId);
+        final SseEmitter result = telegramAuthService.streamAuthorizationState(accountId);
+        log.info("Produced response 200 for GET /auth/state/stream request");
+        return result;
+    }
+
     @Operation(description = "Logout")
     @PostMapping("/logout")
     public void logout(@RequestParam final String accountId) {
@@ -1,14 +1,33 @@
 package com.sdc.telegram.controller;
 
+import com.sdc.telegram.domain.constants.TelegramContentType;
+import com.sdc.telegram.domain.constants.TelegramUploadType;
 import com.sdc.telegram.domain.dto.TelegramAccountDto;
+import com.sdc.telegram.domain.dto.TelegramChatChangesDto;
+import com.sdc.telegram.domain.dto.TelegramExportJobDto;
+import com.sdc.telegram.domain.dto.TelegramForwardRequestDto;
+import com.sdc.telegram.domain.dto.TelegramForwardResultDto;
+import com.sdc.telegram.domain.dto.TelegramMessageSearchFilterDto;
+import com.sdc.telegram.domain.dto.TelegramMessagesPageDto;
 import com.sdc.telegram.domain.dto.TelegramNotificationDto;
+import com.sdc.telegram.domain.dto.TelegramUnifiedChatsDto;
+import com.sdc.telegram.domain.dto.TelegramUploadSessionDto;
 import com.sdc.telegram.domain.dto.tdlib.TelegramChatFolderDto;
 import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
 import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
 import com.sdc.telegram.domain.dto.tdlib.user.UserTdlibDto;
+import com.sdc.telegram.service.TelegramChatSyncService;
+import com.sdc.telegram.service.TelegramExportService;
 import com.sdc.telegram.service.TelegramFileService;
+import com.sdc.telegram.service.TelegramForwardService;
+import com.sdc.telegram.service.TelegramPrefetchService;
+import com.sdc.telegram.service.TelegramSearchService;
 import com.sdc.telegram.service.TelegramService;
+import com.sdc.telegram.service.TelegramUnifiedChatService;
+import com.sdc.telegram.service.TelegramUploadService;
+import com.sdc.telegram.utils.TelegramETags;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.drinkless.tdlib.TdApi;
@@ -17,15 +36,20 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -39,20 +63,50 @@ import java.util.concurrent.ExecutionException;
 public class TelegramController {
     private final TelegramService service;
     private final TelegramFileService fileService;
+    private final TelegramSearchService searchService;
+    private final TelegramPrefetchService prefetchService;
+    private final TelegramChatSyncService chatSyncService;
+    private final TelegramETags eTags;
+    private final TelegramExportService exportService;
+    private final TelegramUploadService uploadService;
+    private final TelegramUnifiedChatService unifiedChatService;
+    private final TelegramForwardService forwardService;
 
     @Operation(summary = "Get Main chat list chats")
     @GetMapping("/main")
     public List<ChatTdlibDto> findAllChatsMain(
             @RequestParam
             final int limit,
-            @RequestParam
-            final String accountId) throws ExecutionException, InterruptedException {
-        log.info("Received request GET /telegram/main request with limit:{}, accountId:{}", limit, accountId);
-        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListMain(), accountId);
+            @RequestParam(required = false)
+            final Integer photoSize,
+            @RequestParam
+            final String accountId,
+            final WebRequest request) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/main request with limit:{}, photoSize:{}, accountId:{}", limit, photoSize, accountId);
+        if (request.checkNotModified(eTags.forAccount(accountId, "main", limit, photoSize))) {
+            log.info("Produced response 304 for GET /telegram/main request");
+            return null;
+        }
+        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListMain(), photoSize, accountId);
         log.info("Produced response 200 for GET /telegram/main request with body: {}", chats);
         return chats;
     }
 
+    @Operation(summary = "Get main chat list chats of all accounts merged by last message date")
+    @GetMapping("/chats/all-accounts")
+    public TelegramUnifiedChatsDto findUnifiedChats(
+            @RequestParam
+            final int limit,
+            @RequestParam(required = false)
+            final String cursor,
+            @RequestParam(required = false)
+            final Integer photoSize) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/chats/all-accounts request with limit:{}, cursor:{}, photoSize:{}", limit, cursor, photoSize);
+        final TelegramUnifiedChatsDto result = unifiedChatService.findUnifiedChats(limit, cursor, photoSize);
+        log.info("Produced response 200 for GET /telegram/chats/all-accounts request with body: {}", result);
+        return result;
+    }
+
     @Operation(summary = "Get all chat folders")
     @GetMapping("/chats/folders")
     public List<TelegramChatFolderDto> findAllChatsFolders(
@@ -71,10 +125,17 @@ public class TelegramController {
             final int limit,
             @RequestParam
             final int folderId,
-            @RequestParam
-            final String accountId) throws ExecutionException, InterruptedException {
-        log.info("Received request GET /telegram/folder request with limit:{}, folderId:{}, accountId:{}", limit, folderId, accountId);
-        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListFolder(folderId), accountId);
+            @RequestParam(required = false)
+            final Integer photoSize,
+            @RequestParam
+            final String accountId,
+            final WebRequest request) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/folder request with limit:{}, folderId:{}, photoSize:{}, accountId:{}", limit, folderId, photoSize, accountId);
+        if (request.checkNotModified(eTags.forAccount(accountId, "folder", limit, folderId, photoSize))) {
+            log.info("Produced response 304 for GET /telegram/folder request");
+            return null;
+        }
+        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListFolder(folderId), photoSize, accountId);
         log.info("Produced response 200 for GET /telegram/folder request with body: {}", chats);
         return chats;
     }
@@ -83,14 +144,36 @@ public class TelegramController {
     public List<ChatTdlibDto> findAllChatsArchive(
             @RequestParam
             final int limit,
-            @RequestParam
-            final String accountId) throws ExecutionException, InterruptedException {
-        log.info("Received request GET /telegram/archive request with limit: {}, accountId:{}", limit, accountId);
-        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListArchive(), accountId);
+            @RequestParam(required = false)
+            final Integer photoSize,
+            @RequestParam
+            final String accountId,
+            final WebRequest request) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/archive request with limit: {}, photoSize:{}, accountId:{}", limit, photoSize, accountId);
+        if (request.checkNotModified(eTags.forAccount(accountId, "archive", limit, photoSize))) {
+            log.info("Produced response 304 for GET /telegram/archive request");
+            return null;
+        }
+        final List<ChatTdlibDto> chats = service.findAllChats(limit, new TdApi.ChatListArchive(), photoSize, accountId);
         log.info("Produced response 200 for GET /telegram/archive request with body: {}", chats);
         return chats;
     }
 
+    @Operation(summary = "Get chats changed since sequence")
+    @GetMapping("/chats/changes")
+    public TelegramChatChangesDto getChatChanges(
+            @RequestParam
+            final long since,
+            @RequestParam(required = false)
+            final Integer photoSize,
+            @RequestParam
+            final String accountId) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/chats/changes with since:{}, photoSize:{}, accountId:{}", since, photoSize, accountId);
+        final TelegramChatChangesDto changes = chatSyncService.getChatChanges(since, photoSize, accountId);
+        log.info("Produced response 200 for GET /telegram/chats/changes request with body: {}", changes);
+        return changes;
+    }
+
     @Operation(summary = "Find all messages in chat")
     @GetMapping("/{chatId}/messages")
     public List<MessageTdlibDto> findAllMessages(
@@ -98,10 +181,20 @@ public class TelegramController {
             final Long chatId,
             @RequestParam
             final int limit,
-            @RequestParam
-            final String accountId) throws ExecutionException, InterruptedException {
-        log.info("Received request GET /telegram/{id}/messages with id:{}, limit:{}, accountId:{}", chatId, limit, accountId);
+            @RequestParam(required = false)
+            final Integer prefetch,
+            @RequestParam
+            final String accountId,
+            final WebRequest request) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/{id}/messages with id:{}, limit:{}, prefetch:{}, accountId:{}", chatId, limit, prefetch, accountId);
+        if (request.checkNotModified(eTags.forChat(accountId, chatId, "messages", limit))) {
+            log.info("Produced response 304 for GET /telegram/{id}/messages request");
+            return null;
+        }
         final List<MessageTdlibDto> messages = service.findAllMessages(chatId, limit, accountId);
+        if (Objects.nonNull(prefetch)) {
+            prefetchService.prefetch(messages, prefetch, accountId);
+        }
         log.info("Produced response 200 for GET /telegram/{id}/messages request with body: {}", messages);
         return messages;
     }
@@ -114,13 +207,74 @@ public class TelegramController {
             @RequestParam
             final Long messageId,
             @RequestParam
-            final String accountId) throws ExecutionException, InterruptedException {
+            final String accountId,
+            final WebRequest request) throws ExecutionException, InterruptedException {
         log.info("Received request GET /telegram/{id}/message with id:{}, messageId:{}, accountId:{}", chatId, messageId, accountId);
+        if (request.checkNotModified(eTags.forChat(accountId, chatId, "message", messageId))) {
+            log.info("Produced response 304 for GET /telegram/{id}/message request");
+            return null;
+        }
         final MessageTdlibDto message = service.getTelegramMessage(messageId, chatId, accountId);
         log.info("Produced response 200 for GET /telegram/{id}/message request with body: {}", message);
         return message;
     }
 
+    @Operation(summary = "Search messages in chat")
+    @GetMapping("/{chatId}/messages/search")
+    public TelegramMessagesPageDto searchChatMessages(
+            @PathVariable
+            final Long chatId,
+            @RequestParam(required = false)
+            final String query,
+            @RequestParam(required = false)
+            final Long senderUserId,
+            @RequestParam(required = false)
+            final Integer minDate,
+            @RequestParam(required = false)
+            final Integer maxDate,
+            @RequestParam(required = false)
+            final TelegramContentType contentType,
+            @RequestParam(required = false)
+            final String cursor,
+            @RequestParam
+            final int limit,
+            @RequestParam
+            final String accountId) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/{id}/messages/search with id:{}, query:{}, senderUserId:{}, minDate:{}, maxDate:{}, contentType:{}, cursor:{}, limit:{}, accountId:{}",
+                chatId, query, senderUserId, minDate, maxDate, contentType, cursor, limit, accountId);
+        final TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto(query, senderUserId, minDate, maxDate, contentType);
+        final TelegramMessagesPageDto page = searchService.searchChatMessages(chatId, filter, cursor, limit, accountId);
+        log.info("Produced response 200 for GET /telegram/{id}/messages/search request with body: {}", page);
+        return page;
+    }
+
+    @Operation(summary = "Search messages across all chats")
+    @GetMapping("/messages/search")
+    public TelegramMessagesPageDto searchMessages(
+            @RequestParam(required = false)
+            final String query,
+            @RequestParam(required = false)
+            final Long senderUserId,
+            @RequestParam(required = false)
+            final Integer minDate,
+            @RequestParam(required = false)
+            final Integer maxDate,
+            @RequestParam(required = false)
+            final TelegramContentType contentType,
+            @RequestParam(required = false)
+            final String cursor,
+            @RequestParam
+            final int limit,
+            @RequestParam
+            final String accountId) throws ExecutionException, InterruptedException {
+        log.info("Received request GET /telegram/messages/search with query:{}, senderUserId:{}, minDate:{}, maxDate:{}, contentType:{}, cursor:{}, limit:{}, accountId:{}",
+                query, senderUserId, minDate, maxDate, contentType, cursor, limit, accountId);
+        final TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto(query, senderUserId, minDate, maxDate, contentType);
+        final TelegramMessagesPageDto page = searchService.searchMessages(filter, cursor, limit, accountId);
+        log.info("Produced response 200 for GET /telegram/messages/search request with body: {}", page);
+        return page;
+    }
+
     @Operation(summary = "Get connected account info")
     @GetMapping("/account")
     public UserTdlibDto getAccountInfo(@RequestParam final String accountId) throws ExecutionException, InterruptedException {
@@ -169,6 +323,37 @@ public class TelegramController {
         log.info("Produced response 200 for POST /telegram/image request");
     }
 
+    @Operation(summary = "Send photos and videos as album message")
+    @PostMapping("/albums")
+    public void sendAlbumMessage(
+            @RequestParam
+            final Long chatId,
+            @RequestPart
+            final List<MultipartFile> files,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST /telegram/albums request with chatId:{}, files:{}, message:{}, accountId:{}", chatId, files.size(), message, accountId);
+        service.sendAlbumMessage(chatId, files, message, accountId);
+        log.info("Produced response 200 for POST /telegram/albums request");
+    }
+
+    @Operation(summary = "Forward messages to many chats")
+    @PostMapping("/forwards")
+    public List<TelegramForwardResultDto> forwardMessages(
+            @RequestBody
+            @Valid
+            final TelegramForwardRequestDto request,
+            @RequestParam
+            final String accountId) throws ExecutionException, InterruptedException {
+        log.info("Received request POST /telegram/forwards with fromChatId:{}, messageIds:{}, targetChatIds:{}, accountId:{}",
+                request.getFromChatId(), request.getMessageIds(), request.getTargetChatIds(), accountId);
+        final List<TelegramForwardResultDto> result = forwardService.forwardMessages(request, accountId);
+        log.info("Produced response 200 for POST /telegram/forwards request");
+        return result;
+    }
+
     @Operation(summary = "Change profile photo")
     @PostMapping("/profile/images")
     public void setProfileImage(
@@ -245,14 +430,36 @@ public class TelegramController {
     public byte[] getTelegramImage(
             @PathVariable
             final String remoteId,
-            @RequestParam
-            final String accountId) throws IOException, ExecutionException, InterruptedException {
-        log.info("Received request GET telegram/file/{} with accountId:{}", remoteId, accountId);
-        final byte[] result = fileService.getTelegramImage(remoteId, accountId);
+            @RequestParam(required = false)
+            final Integer size,
+            @RequestParam
+            final String accountId,
+            final WebRequest request) throws IOException, ExecutionException, InterruptedException {
+        log.info("Received request GET telegram/file/{} with size:{}, accountId:{}", remoteId, size, accountId);
+        if (request.checkNotModified(eTags.forFile(remoteId, size))) {
+            log.info("Produced response 304 for GET telegram/file/{} request", remoteId);
+            return null;
+        }
+        final byte[] result = fileService.getTelegramImage(remoteId, size, accountId);
         log.info("Produced response 200 for GET telegram/file/{} request", remoteId);
         return result;
     }
 
+    @Operation(description = "Get batch of image thumbnails as length-prefixed bundle")
+    @PostMapping(value = "/files/avatars", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody getTelegramAvatars(
+            @RequestBody
+            final List<String> remoteIds,
+            @RequestParam(defaultValue = "64")
+            final int size,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request POST telegram/files/avatars with remoteIds:{}, size:{}, accountId:{}", remoteIds, size, accountId);
+        final StreamingResponseBody result = fileService.getTelegramAvatars(remoteIds, size, accountId);
+        log.info("Produced response 200 for POST telegram/files/avatars request");
+        return result;
+    }
+
     @Operation(description = "Get video")
     @GetMapping(value = "/video/{remoteId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     public StreamingResponseBody getTelegramVideo(
@@ -306,6 +513,148 @@ public class TelegramController {
         return result;
     }
 
+    @Operation(summary = "Create resumable upload session")
+    @PostMapping("/uploads")
+    public TelegramUploadSessionDto createUpload(
+            @RequestParam
+            final String fileName,
+            @RequestParam
+            final long totalSize,
+            @RequestParam
+            final TelegramUploadType type,
+            @RequestParam
+            final String accountId) throws IOException {
+        log.info("Received request POST /telegram/uploads request with fileName:{}, totalSize:{}, type:{}, accountId:{}", fileName, totalSize, type, accountId);
+        final TelegramUploadSessionDto result = uploadService.createUpload(fileName, totalSize, type, accountId);
+        log.info("Produced response 200 for POST /telegram/uploads request with body:{}", result);
+        return result;
+    }
+
+    @Operation(summary = "Get resumable upload session")
+    @GetMapping("/uploads/{uploadId}")
+    public TelegramUploadSessionDto getUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /telegram/uploads/{} request with accountId:{}", uploadId, accountId);
+        final TelegramUploadSessionDto result = uploadService.getUpload(uploadId, accountId);
+        log.info("Produced response 200 for GET /telegram/uploads/{} request with body:{}", uploadId, result);
+        return result;
+    }
+
+    @Operation(summary = "Upload chunk at offset")
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public TelegramUploadSessionDto writeUploadChunk(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final long offset,
+            @RequestParam
+            final String accountId,
+            final InputStream body) throws IOException {
+        log.info("Received request PUT /telegram/uploads/{} request with offset:{}, accountId:{}", uploadId, offset, accountId);
+        final TelegramUploadSessionDto result = uploadService.writeChunk(uploadId, offset, body, accountId);
+        log.info("Produced response 200 for PUT /telegram/uploads/{} request with body:{}", uploadId, result);
+        return result;
+    }
+
+    @Operation(summary = "Complete upload and send it to chat")
+    @PostMapping("/uploads/{uploadId}/complete")
+    public void completeUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final Long chatId,
+            @RequestParam(required = false)
+            final String message,
+            @RequestParam
+            final String accountId) throws IOException {
+        log.info("Received request POST /telegram/uploads/{}/complete request with chatId:{}, accountId:{}", uploadId, chatId, accountId);
+        uploadService.completeUpload(uploadId, chatId, message, accountId);
+        log.info("Produced response 200 for POST /telegram/uploads/{}/complete request", uploadId);
+    }
+
+    @Operation(summary = "Abort resumable upload session")
+    @DeleteMapping("/uploads/{uploadId}")
+    public void abortUpload(
+            @PathVariable
+            final String uploadId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request DELETE /telegram/uploads/{} request with accountId:{}", uploadId, accountId);
+        uploadService.abortUpload(uploadId, accountId);
+        log.info("Produced response 200 for DELETE /telegram/uploads/{} request", uploadId);
+    }
+
+    @Operation(summary = "Start chat history export job")
+    @PostMapping("/{chatId}/exports")
+    public TelegramExportJobDto startExport(
+            @PathVariable
+            final Long chatId,
+            @RequestParam(defaultValue = "false")
+            final boolean includeMedia,
+            @RequestParam
+            final String accountId) throws IOException {
+        log.info("Received request POST /telegram/{}/exports request with includeMedia:{}, accountId:{}", chatId, includeMedia, accountId);
+        final TelegramExportJobDto result = exportService.startExport(chatId, includeMedia, accountId);
+        log.info("Produced response 200 for POST /telegram/{}/exports request with body:{}", chatId, result);
+        return result;
+    }
+
+    @Operation(summary = "Get chat history export job")
+    @GetMapping("/exports/{jobId}")
+    public TelegramExportJobDto getExport(
+            @PathVariable
+            final String jobId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /telegram/exports/{} request with accountId:{}", jobId, accountId);
+        final TelegramExportJobDto result = exportService.getExport(jobId, accountId);
+        log.info("Produced response 200 for GET /telegram/exports/{} request with body:{}", jobId, result);
+        return result;
+    }
+
+    @Operation(summary = "Download completed chat history export")
+    @GetMapping(value = "/exports/{jobId}/file", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody getExportFile(
+            @PathVariable
+            final String jobId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /telegram/exports/{}/file request with accountId:{}", jobId, accountId);
+        final StreamingResponseBody result = exportService.getExportFile(jobId, accountId);
+        log.info("Produced response 200 for GET /telegram/exports/{}/file request", jobId);
+        return result;
+    }
+
+    @Operation(summary = "Cancel chat history export job")
+    @DeleteMapping("/exports/{jobId}")
+    public void cancelExport(
+            @PathVariable
+            final String jobId,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request DELETE /telegram/exports/{} request with accountId:{}", jobId, accountId);
+        exportService.cancelExport(jobId, accountId);
+        log.info("Produced response 200 for DELETE /telegram/exports/{} request", jobId);
+    }
+
+    @Operation(summary = "Stream chat history export")
+    @GetMapping(value = "/{chatId}/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public StreamingResponseBody streamExport(
+            @PathVariable
+            final Long chatId,
+            @RequestParam(defaultValue = "false")
+            final boolean includeMedia,
+            @RequestParam
+            final String accountId) {
+        log.info("Received request GET /telegram/{}/export request with includeMedia:{}, accountId:{}", chatId, includeMedia, accountId);
+        final StreamingResponseBody result = exportService.streamExport(chatId, includeMedia, accountId);
+        log.info("Produced response 200 for GET /telegram/{}/export request", chatId);
+        return result;
+    }
+
     @Operation(summary = "Get chats notifications")
     @GetMapping("/notifications")
     public List<TelegramNotificationDto> findChatsNotifications(@RequestParam final String accountId) throws ExecutionException, InterruptedException {
@@ -0,0 +1,42 @@
+package com.sdc.telegram.domain.constants;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Priority classes of TDLib file downloads, declared from the most to the least urgent.
+ * @since 10.2026
+ */
+@Getter
+@AllArgsConstructor
+public enum DownloadPriority {
+    /**
+     * Media the user opened and is waiting for.
+     */
+    INTERACTIVE(32, 4),
+
+    /**
+     * Documents requested by the user.
+     */
+    DOCUMENT(16, 2),
+
+    /**
+     * Avatars rendered in chat lists.
+     */
+    AVATAR(8, 4),
+
+    /**
+     * Speculative downloads nobody is waiting for yet.
+     */
+    PREFETCH(1, 1);
+
+    /**
+     * TDLib download priority from 1 to 32.
+     */
+    private final int tdlibPriority;
+
+    /**
+     * Maximum number of concurrent downloads of the class per account.
+     */
+    private final int maxConcurrentDownloads;
+}
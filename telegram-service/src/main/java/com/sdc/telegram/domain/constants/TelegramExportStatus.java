@@ -0,0 +1,32 @@
+package com.sdc.telegram.domain.constants;
+
+/**
+ * States of a chat history export job.
+ * @since 10.2026
+ */
+public enum TelegramExportStatus {
+    /**
+     * Job waits for a free export thread.
+     */
+    PENDING,
+
+    /**
+     * Job is writing the export.
+     */
+    RUNNING,
+
+    /**
+     * Export is written and can be downloaded.
+     */
+    COMPLETED,
+
+    /**
+     * Export failed, the partial export is deleted.
+     */
+    FAILED,
+
+    /**
+     * Job was canceled, the partial export is deleted.
+     */
+    CANCELED
+}
@@ -0,0 +1,17 @@
+package com.sdc.telegram.domain.constants;
+
+/**
+ * Types of media uploaded in resumable upload sessions.
+ * @since 10.2026
+ */
+public enum TelegramUploadType {
+    /**
+     * Video sent as a video message.
+     */
+    VIDEO,
+
+    /**
+     * File sent as a document message.
+     */
+    DOCUMENT
+}
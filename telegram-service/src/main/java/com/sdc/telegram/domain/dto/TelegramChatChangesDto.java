@@ -0,0 +1,31 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing Telegram chats changed since a sequence of the account change feed
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram chat changes DTO")
+public class TelegramChatChangesDto {
+    @Schema(description = "Sequence to request the next changes with")
+    private Long sequence;
+
+    @Schema(description = "Whether the changes are unknown and the chat lists must be fetched in full")
+    private Boolean resyncRequired;
+
+    @Schema(description = "Changed chats")
+    private List<ChatTdlibDto> changed;
+
+    @Schema(description = "Identifiers of chats removed from all chat lists")
+    private List<Long> removed;
+}
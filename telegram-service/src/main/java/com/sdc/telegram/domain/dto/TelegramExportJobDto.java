@@ -0,0 +1,44 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.constants.TelegramExportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the progress of a Telegram chat history export job
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram export job DTO")
+public class TelegramExportJobDto {
+    @Schema(description = "Job identifier")
+    private String jobId;
+
+    @Schema(description = "Exported chat identifier")
+    private Long chatId;
+
+    @Schema(description = "Job status")
+    private TelegramExportStatus status;
+
+    @Schema(description = "Whether media files are exported in a ZIP archive together with messages")
+    private Boolean includeMedia;
+
+    @Schema(description = "Number of exported messages")
+    private Long exportedMessages;
+
+    @Schema(description = "Number of exported media files")
+    private Long exportedFiles;
+
+    @Schema(description = "Number of compressed bytes written")
+    private Long writtenBytes;
+
+    @Schema(description = "Average number of exported messages per second")
+    private Double messagesPerSecond;
+
+    @Schema(description = "Error message of a failed job")
+    private String error;
+}
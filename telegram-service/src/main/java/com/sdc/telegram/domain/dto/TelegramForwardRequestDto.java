@@ -0,0 +1,38 @@
+package com.sdc.telegram.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for forwarding existing Telegram messages to many chats
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram forward request DTO")
+public class TelegramForwardRequestDto {
+    @NotNull(message = "From Chat Id must not be null")
+    @Schema(description = "Identifier of the chat the messages are forwarded from")
+    private Long fromChatId;
+
+    @NotEmpty(message = "Message Ids must not be empty")
+    @Schema(description = "Identifiers of the forwarded messages in the order they are sent")
+    private List<Long> messageIds;
+
+    @NotEmpty(message = "Target Chat Ids must not be empty")
+    @Schema(description = "Identifiers of the chats the messages are forwarded to")
+    private List<Long> targetChatIds;
+
+    @Schema(description = "Send copies of the messages without the forward header")
+    private boolean sendCopy;
+
+    @Schema(description = "Remove media captions of the copies")
+    private boolean removeCaption;
+}
@@ -0,0 +1,30 @@
+package com.sdc.telegram.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing the result of forwarding messages to a single target chat
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram forward result DTO")
+public class TelegramForwardResultDto {
+    @Schema(description = "Identifier of the target chat")
+    private Long targetChatId;
+
+    @Schema(description = "Whether all messages were forwarded to the target chat")
+    private Boolean success;
+
+    @Schema(description = "Identifiers of the forwarded messages in the target chat, temporary until they are sent")
+    private List<Long> forwardedMessageIds;
+
+    @Schema(description = "Error description if not all messages were forwarded")
+    private String error;
+}
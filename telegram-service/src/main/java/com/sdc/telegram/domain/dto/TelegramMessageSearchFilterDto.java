@@ -0,0 +1,32 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.constants.TelegramContentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO with filters applied to Telegram message search
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram message search filter DTO")
+public class TelegramMessageSearchFilterDto {
+    @Schema(description = "Search query")
+    private String query;
+
+    @Schema(description = "Sender user id")
+    private Long senderUserId;
+
+    @Schema(description = "Minimum message date, unix time")
+    private Integer minDate;
+
+    @Schema(description = "Maximum message date, unix time")
+    private Integer maxDate;
+
+    @Schema(description = "Message content type")
+    private TelegramContentType contentType;
+}
@@ -0,0 +1,28 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing a page of Telegram messages with a cursor to the next page
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram messages page DTO")
+public class TelegramMessagesPageDto {
+    @Schema(description = "Messages")
+    private List<MessageTdlibDto> messages;
+
+    @Schema(description = "Approximate total count of messages found by Telegram, counted before the filters Telegram can't apply itself, so it may overstate the returned matches")
+    private Integer totalCount;
+
+    @Schema(description = "Cursor of the next page, null if there are no more results")
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing a page of the chats of all Telegram accounts of the user merged by last message date
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram unified chats page DTO")
+public class TelegramUnifiedChatsDto {
+    @Schema(description = "Chats tagged with their account identifiers")
+    private List<ChatTdlibDto> chats;
+
+    @Schema(description = "Cursor of the next page, null if there are no more chats")
+    private String nextCursor;
+
+    @Schema(description = "Identifiers of accounts whose chats couldn't be fetched")
+    private List<String> failedAccountIds;
+}
@@ -0,0 +1,38 @@
+package com.sdc.telegram.domain.dto;
+
+import com.sdc.telegram.domain.constants.TelegramUploadType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the state of a resumable Telegram media upload
+ * @since 10.2026
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Telegram upload session DTO")
+public class TelegramUploadSessionDto {
+    @Schema(description = "Upload session identifier")
+    private String uploadId;
+
+    @Schema(description = "Name of the uploaded file")
+    private String fileName;
+
+    @Schema(description = "Type of the uploaded media")
+    private TelegramUploadType type;
+
+    @Schema(description = "Total size of the file in bytes")
+    private Long totalSize;
+
+    @Schema(description = "Number of received bytes")
+    private Long receivedBytes;
+
+    @Schema(description = "Offset of the first byte that was not received yet, uploads resume from it")
+    private Long nextOffset;
+
+    @Schema(description = "Whether all bytes were received and the upload can be completed")
+    private Boolean complete;
+}
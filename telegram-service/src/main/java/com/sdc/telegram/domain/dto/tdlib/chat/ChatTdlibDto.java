@@ -3,6 +3,7 @@ package com.sdc.telegram.domain.dto.tdlib.chat;
 import com.sdc.telegram.domain.dto.tdlib.chat.list.ChatListTdlib;
 import com.sdc.telegram.domain.dto.tdlib.chat.type.ChatTypeTdlib;
 import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.domain.dto.tdlib.message.content.MinithumbnailDto;
 import com.sdc.telegram.domain.dto.tdlib.message.sending.MessageSenderTdlib;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
@@ -80,4 +81,10 @@ public class ChatTdlibDto {
 
     @Schema(description = "Ссылка на фото профиля")
     private String profilePhotoUrl;
+
+    @Schema(description = "Миниатюра фото профиля для мгновенного предпросмотра")
+    private MinithumbnailDto profilePhotoMinithumbnail;
+
+    @Schema(description = "Идентификатор аккаунта, заполняется в общем списке чатов всех аккаунтов")
+    private String accountId;
 }
@@ -2,6 +2,7 @@ package com.sdc.telegram.domain.mapper.chat;
 
 import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
 import com.sdc.telegram.domain.mapper.message.MessageTdlibMapper;
+import com.sdc.telegram.domain.mapper.message.content.MinithumbnailMapper;
 import com.sdc.telegram.domain.mapper.message.sending.MessageSenderTdlibMapper;
 import org.drinkless.tdlib.TdApi;
 import org.mapstruct.Mapper;
@@ -11,10 +12,12 @@ import java.util.List;
 
 @Mapper(uses = {ChatListTdlibMapper.class, MessageTdlibMapper.class, MessageSenderTdlibMapper.class,
         ChatPositionMapper.class, ChatPermissionsMapper.class, ChatNotificationSettingsMapper.class,
-        ChatJoinRequestsInfoMapper.class, ChatTypeTdlibMapper.class})
+        ChatJoinRequestsInfoMapper.class, ChatTypeTdlibMapper.class, MinithumbnailMapper.class})
 public abstract class ChatTdlibMapper {
 
     @Mapping(target = "profilePhotoUrl", ignore = true)
+    @Mapping(target = "accountId", ignore = true)
+    @Mapping(target = "profilePhotoMinithumbnail", source = "photo.minithumbnail")
     public abstract ChatTdlibDto toDto(final TdApi.Chat source);
 
 
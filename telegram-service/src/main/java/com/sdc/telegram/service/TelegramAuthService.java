@@ -3,15 +3,27 @@ package com.sdc.telegram.service;
 import com.sdc.telegram.config.TelegramClientManager;
 import com.sdc.telegram.domain.dto.tdlib.auth.AuthorizationStateTdlib;
 import com.sdc.telegram.domain.mapper.auth.AuthorizationStateTdlibMapper;
+import com.sdc.telegram.utils.AuthorizationStateTracker;
+import com.sdc.telegram.utils.TdlibMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Service for handling Telegram authentication operations
@@ -21,8 +33,23 @@ import java.util.concurrent.ExecutionException;
 @Service
 @RequiredArgsConstructor
 public class TelegramAuthService {
+    public static final String AUTHORIZATION_STATE_EVENT = "authorization-state";
+    private static final Duration AUTHORIZATION_STREAM_TIMEOUT = Duration.ofMinutes(10);
+    private static final int STATE_EVENT_THREADS = 4;
+
     private final TelegramClientManager clientManager;
     private final AuthorizationStateTdlibMapper authorizationStateTdlibMapper;
+    private final TdlibMetrics tdlibMetrics;
+    private final AuthorizationStateTracker stateTracker;
+    private final ExecutorService stateEventExecutor = Executors.newFixedThreadPool(STATE_EVENT_THREADS);
+
+    /**
+     * Stops the authorization state event executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        stateEventExecutor.shutdownNow();
+    }
 
     /**
      * Sends a phone number to Telegram for authentication
@@ -36,16 +63,13 @@ public class TelegramAuthService {
         if (Objects.isNull(client)) {
             throw new IllegalArgumentException("Invalid accountId: " + accountId);
         }
-        TdApi.GetAuthorizationState getAuthorizationState = new TdApi.GetAuthorizationState();
-
-        client.send(getAuthorizationState, result -> {
-            if (result instanceof TdApi.AuthorizationStateWaitPhoneNumber) {
-                client.send(new TdApi.SetAuthenticationPhoneNumber(phone, null), null);
-                log.info("Sent phone number:{} for account:{}", phone, accountId);
-            } else if (result instanceof TdApi.Error) {
-                throw new RuntimeException("Error sending phone: " + result);
-            }
-        });
+        final TdApi.AuthorizationState state = fetchAuthorizationState(client, accountId).join();
+        if (state instanceof TdApi.AuthorizationStateWaitPhoneNumber) {
+            tdlibMetrics.send(client, accountId, new TdApi.SetAuthenticationPhoneNumber(phone, null), null);
+            log.info("Sent phone number:{} for account:{}", phone, accountId);
+        } else {
+            log.warn("Account:{} is not waiting for a phone number", accountId);
+        }
     }
 
     /**
@@ -56,16 +80,13 @@ public class TelegramAuthService {
      */
     public void sendAuthCode(final String code, final String accountId) {
         Client client = clientManager.getClient(accountId);
-        TdApi.GetAuthorizationState getAuthorizationState = new TdApi.GetAuthorizationState();
-
-        client.send(getAuthorizationState, result -> {
-            if (result instanceof TdApi.AuthorizationStateWaitCode) {
-                client.send(new TdApi.CheckAuthenticationCode(code), null);
-                log.info("Auth successful for account:{}", accountId);
-            } else if (result instanceof TdApi.Error) {
-                throw new RuntimeException("Error sending code: "  + result);
-            }
-        });
+        final TdApi.AuthorizationState state = fetchAuthorizationState(client, accountId).join();
+        if (state instanceof TdApi.AuthorizationStateWaitCode) {
+            tdlibMetrics.send(client, accountId, new TdApi.CheckAuthenticationCode(code), null);
+            log.info("Auth successful for account:{}", accountId);
+        } else {
+            log.warn("Account:{} is not waiting for an authentication code", accountId);
+        }
     }
 
     /**
@@ -76,16 +97,13 @@ public class TelegramAuthService {
      */
     public void sendPassword(final String password, final String accountId) {
         Client client = clientManager.getClient(accountId);
-        TdApi.GetAuthorizationState getAuthorizationState = new TdApi.GetAuthorizationState();
-
-        client.send(getAuthorizationState, result -> {
-            if (result instanceof TdApi.AuthorizationStateWaitPassword) {
-                client.send(new TdApi.CheckAuthenticationPassword(password), null);
-                log.info("Auth successful for account:{}", accountId);
-            } else if (result instanceof TdApi.Error) {
-                throw new RuntimeException("Error sending password: "  + result);
-            }
-        });
+        final TdApi.AuthorizationState state = fetchAuthorizationState(client, accountId).join();
+        if (state instanceof TdApi.AuthorizationStateWaitPassword) {
+            tdlibMetrics.send(client, accountId, new TdApi.CheckAuthenticationPassword(password), null);
+            log.info("Auth successful for account:{}", accountId);
+        } else {
+            log.warn("Account:{} is not waiting for a password", accountId);
+        }
     }
 
     /**
@@ -99,7 +117,7 @@ public class TelegramAuthService {
         if (Objects.isNull(client)) {
             throw new IllegalArgumentException("Invalid accountId: " + accountId);
         }
-        client.send(new TdApi.LogOut(), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.LogOut(), result -> {
             if (result instanceof TdApi.Ok) {
                 log.info("Logged out account: {}", accountId);
             }
@@ -111,6 +129,7 @@ public class TelegramAuthService {
 
     /**
      * Retrieves the current authorization state for the specified account
+     * The state is served from memory once an authorization state update of the account was received.
      *
      * @param accountId the account identifier
      * @return the authorization state
@@ -119,17 +138,123 @@ public class TelegramAuthService {
      */
     public AuthorizationStateTdlib getAuthorizationState(final String accountId) throws ExecutionException, InterruptedException {
         final Client client = clientManager.getClient(accountId);
-        TdApi.GetAuthorizationState getAuthorizationState = new TdApi.GetAuthorizationState();
-        final CompletableFuture<TdApi.AuthorizationState> stateFuture = new CompletableFuture<>();
-        client.send(getAuthorizationState, result -> {
-            if (result instanceof TdApi.Error) {
-                throw new RuntimeException("Error getting authorization state for accountId:" + accountId + ", error:" + result);
+        if (Objects.isNull(client)) {
+            throw new IllegalArgumentException("Invalid accountId: " + accountId);
+        }
+        return authorizationStateTdlibMapper.toDto(fetchAuthorizationState(client, accountId).get());
+    }
+
+    /**
+     * Streams authorization states of the specified account as server-sent events
+     * The current state is sent first, then every change. The stream completes once the account is authorized or closed.
+     * Events of a stream are sent one at a time in order, while a slow client doesn't hold up the other streams.
+     *
+     * @param accountId the account identifier
+     * @return the event emitter
+     * @throws IllegalArgumentException if accountId is invalid
+     */
+    public SseEmitter streamAuthorizationState(final String accountId) {
+        final Client client = clientManager.getClient(accountId);
+        if (Objects.isNull(client)) {
+            throw new IllegalArgumentException("Invalid accountId: " + accountId);
+        }
+        final SseEmitter emitter = new SseEmitter(AUTHORIZATION_STREAM_TIMEOUT.toMillis());
+        final Executor emitterExecutor = new SerialExecutor(stateEventExecutor);
+        final Consumer<TdApi.AuthorizationState> subscriber =
+                state -> emitterExecutor.execute(() -> sendState(emitter, accountId, state));
+        stateTracker.subscribe(accountId, subscriber);
+        emitter.onCompletion(() -> stateTracker.unsubscribe(accountId, subscriber));
+        emitter.onError(error -> stateTracker.unsubscribe(accountId, subscriber));
+
+        fetchAuthorizationState(client, accountId).whenComplete((state, error) -> emitterExecutor.execute(() -> {
+            if (Objects.nonNull(error)) {
+                emitter.completeWithError(error);
+            } else {
+                // a change received since the state was requested is newer, and it is sent again by the subscriber
+                sendState(emitter, accountId, Objects.requireNonNullElse(stateTracker.getState(accountId), state));
             }
-            else if (result instanceof TdApi.AuthorizationState state){
+        }));
+        return emitter;
+    }
+
+    /**
+     * Returns the authorization state of the account from memory or requests it from TDLib
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @return a CompletableFuture containing the authorization state
+     */
+    private CompletableFuture<TdApi.AuthorizationState> fetchAuthorizationState(final Client client, final String accountId) {
+        final TdApi.AuthorizationState knownState = stateTracker.getState(accountId);
+        if (Objects.nonNull(knownState)) {
+            return CompletableFuture.completedFuture(knownState);
+        }
+        final CompletableFuture<TdApi.AuthorizationState> stateFuture = new CompletableFuture<>();
+        tdlibMetrics.send(client, accountId, new TdApi.GetAuthorizationState(), result -> {
+            if (result instanceof TdApi.AuthorizationState state) {
                 stateFuture.complete(state);
+            } else if (result instanceof TdApi.Error error) {
+                stateFuture.completeExceptionally(new RuntimeException("Error getting authorization state for accountId:" + accountId
+                        + ", error:" + error.code + " " + error.message));
+            } else {
+                stateFuture.completeExceptionally(new RuntimeException("Unexpected authorization state response for accountId:" + accountId));
             }
         });
+        return stateFuture;
+    }
 
-        return authorizationStateTdlibMapper.toDto(stateFuture.get());
+    /**
+     * Sends an authorization state event completing the stream on a final state
+     *
+     * @param emitter the event emitter
+     * @param accountId the account identifier
+     * @param state the authorization state
+     */
+    private void sendState(final SseEmitter emitter, final String accountId, final TdApi.AuthorizationState state) {
+        final AuthorizationStateTdlib dto = authorizationStateTdlibMapper.toDto(state);
+        try {
+            if (Objects.nonNull(dto)) {
+                emitter.send(SseEmitter.event().name(AUTHORIZATION_STATE_EVENT).data(dto));
+            }
+            if (state instanceof TdApi.AuthorizationStateReady || state instanceof TdApi.AuthorizationStateClosed) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Authorization state stream of account {} is closed", accountId);
+        }
+    }
+
+    /**
+     * Executor running its tasks one at a time in submission order on a shared executor
+     */
+    private static final class SerialExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Executor executor;
+        private Runnable active;
+
+        private SerialExecutor(final Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(final Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (Objects.isNull(active)) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (Objects.nonNull(active)) {
+                executor.execute(active);
+            }
+        }
     }
 }
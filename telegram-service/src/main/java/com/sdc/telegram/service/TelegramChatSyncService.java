@@ -0,0 +1,54 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.dto.TelegramChatChangesDto;
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import com.sdc.telegram.utils.ChatChangeTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Service for incremental synchronization of Telegram chat lists
+ * @since 10.2026
+ */
+@Service
+@RequiredArgsConstructor
+public class TelegramChatSyncService {
+    private final ChatChangeTracker changeTracker;
+    private final TelegramService telegramService;
+
+    /**
+     * Retrieves the chats changed or removed after the given sequence
+     * Clients start with any sequence, e.g. 0, load the chat lists in full when a resync is required,
+     * and pass the returned sequence to the next call. Chats that can't be fetched anymore are reported as removed.
+     *
+     * @param since the sequence returned by the previous call
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @param accountId the account identifier
+     * @return the chat changes
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public TelegramChatChangesDto getChatChanges(final long since, final Integer photoSize, final String accountId) throws ExecutionException, InterruptedException {
+        final ChatChangeTracker.ChatChanges changes = changeTracker.getChanges(accountId, since);
+        if (changes.resyncRequired()) {
+            return new TelegramChatChangesDto(changes.sequence(), true, List.of(), List.of());
+        }
+
+        final List<ChatTdlibDto> changed = changes.changedChatIds().isEmpty()
+                ? List.of()
+                : telegramService.findChatsByIds(changes.changedChatIds(), photoSize, accountId);
+        final Set<Long> fetchedChatIds = changed.stream().map(ChatTdlibDto::getId).collect(Collectors.toSet());
+        final List<Long> removed = new ArrayList<>(changes.removedChatIds());
+        changes.changedChatIds().stream()
+                .filter(chatId -> !fetchedChatIds.contains(chatId))
+                .forEach(removed::add);
+
+        return new TelegramChatChangesDto(changes.sequence(), false, changed, removed);
+    }
+}
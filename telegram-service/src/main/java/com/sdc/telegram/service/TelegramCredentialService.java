@@ -39,7 +39,7 @@ public class TelegramCredentialService {
         credentials.setApiId(cryptoUtils.encrypt(createDto.getApiId()));
         credentials.setApiHash(cryptoUtils.encrypt(createDto.getApiHash()));
 
-        Client client = Client.create(resultHandler, null, null);
+        Client client = Client.create(resultHandler.forAccount(createDto.getAccountId()), null, null);
         clientManager.initializeClient(client, credentials);
         clientManager.putClient(client, createDto.getAccountId());
         clientManager.putAccountId(createDto.getAccountId(), client);
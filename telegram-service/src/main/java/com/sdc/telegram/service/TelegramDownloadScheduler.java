@@ -0,0 +1,188 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-account scheduler of TDLib file downloads
+ * Every priority class has its own concurrency cap per account, so background downloads can't occupy the slots
+ * of interactive ones, and TDLib receives the priority of the class to order the downloads it runs itself.
+ * Concurrent requests of the same file share one download, which is canceled once every waiting request is abandoned.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramDownloadScheduler {
+    public static final String WAIT_METRIC = "telegram.downloads.wait";
+    public static final String ABANDONED_METRIC = "telegram.downloads.abandoned";
+    private static final String PRIORITY_TAG = "priority";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final TdlibMetrics tdlibMetrics;
+    private final MeterRegistry meterRegistry;
+    private final Map<List<Object>, Semaphore> slots = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Download> downloads = new ConcurrentHashMap<>();
+
+    /**
+     * Downloads a file waiting for a free slot of the priority class first
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param file the Telegram file to download
+     * @param priority the priority class of the download
+     * @param timeout the maximum time to wait for a slot and the download together
+     * @return the downloaded file
+     * @throws ExecutionException if the download failed
+     * @throws InterruptedException if the current thread was interrupted, the download is abandoned
+     * @throws TimeoutException if the file was not downloaded in time, the download is abandoned
+     */
+    public TdApi.File download(final Client client, final String accountId, final TdApi.File file, final DownloadPriority priority,
+                               final Duration timeout) throws ExecutionException, InterruptedException, TimeoutException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final Semaphore slot = slots.computeIfAbsent(List.of(accountId, priority),
+                key -> new Semaphore(priority.getMaxConcurrentDownloads(), true));
+
+        final long waitStart = System.nanoTime();
+        if (!slot.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            countAbandoned(priority, "timeout");
+            throw new TimeoutException("No free " + priority + " download slot for file " + file.id);
+        }
+        meterRegistry.timer(WAIT_METRIC, PRIORITY_TAG, priority.name()).record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+
+        try {
+            final List<Object> key = List.of(accountId, file.id);
+            final Download download = join(client, accountId, key, file.id, priority);
+            try {
+                return download.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                abandon(client, accountId, key, file.id, download, priority);
+                throw e;
+            } finally {
+                leave(download);
+            }
+        } finally {
+            slot.release();
+        }
+    }
+
+    /**
+     * Joins a running download of the file or starts a new one
+     * A running download requested with a higher priority class is promoted in TDLib
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param key the download key
+     * @param fileId the file identifier
+     * @param priority the priority class of the request
+     * @return the joined download
+     */
+    private Download join(final Client client, final String accountId, final List<Object> key, final int fileId, final DownloadPriority priority) {
+        while (true) {
+            final Download created = new Download(priority);
+            final Download download = downloads.putIfAbsent(key, created);
+            if (download == null) {
+                tdlibMetrics.send(client, accountId, new TdApi.DownloadFile(fileId, priority.getTdlibPriority(), 0, 0, true), result -> {
+                    if (result instanceof TdApi.File downloaded && downloaded.local.isDownloadingCompleted) {
+                        created.future.complete(downloaded);
+                    } else {
+                        created.future.completeExceptionally(new RuntimeException("Failed to download file " + fileId + ": " + result));
+                    }
+                    downloads.remove(key, created);
+                });
+                return created;
+            }
+
+            synchronized (download) {
+                if (download.canceled) {
+                    continue;
+                }
+                download.waiters++;
+                if (priority.compareTo(download.priority) < 0) {
+                    download.priority = priority;
+                    tdlibMetrics.send(client, accountId, new TdApi.DownloadFile(fileId, priority.getTdlibPriority(), 0, 0, false), null);
+                }
+            }
+            return download;
+        }
+    }
+
+    /**
+     * Cancels the download in TDLib if no other request is waiting for it
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param key the download key
+     * @param fileId the file identifier
+     * @param download the abandoned download
+     * @param priority the priority class of the abandoned request
+     */
+    private void abandon(final Client client, final String accountId, final List<Object> key, final int fileId,
+                         final Download download, final DownloadPriority priority) {
+        synchronized (download) {
+            if (download.waiters > 1 || download.future.isDone()) {
+                return;
+            }
+            download.canceled = true;
+        }
+        downloads.remove(key, download);
+        countAbandoned(priority, "canceled");
+        tdlibMetrics.send(client, accountId, new TdApi.CancelDownloadFile(fileId, false), result -> {
+            if (result instanceof TdApi.Error) {
+                log.warn("Failed to cancel download of file {} for account {}: {}", fileId, accountId, result);
+            }
+        });
+        log.info("Canceled abandoned download of file {} for account {}", fileId, accountId);
+    }
+
+    /**
+     * Counts an abandoned request by its outcome, timeout if it got no slot in time or canceled if its download was canceled
+     *
+     * @param priority the priority class of the request
+     * @param outcome the outcome of the request
+     */
+    private void countAbandoned(final DownloadPriority priority, final String outcome) {
+        meterRegistry.counter(ABANDONED_METRIC, PRIORITY_TAG, priority.name(), OUTCOME_TAG, outcome).increment();
+    }
+
+    /**
+     * Removes a waiting request from the download
+     *
+     * @param download the download
+     */
+    private void leave(final Download download) {
+        synchronized (download) {
+            download.waiters--;
+        }
+    }
+
+    /**
+     * Download of a single file shared by all requests waiting for it
+     */
+    private static final class Download {
+        private final CompletableFuture<TdApi.File> future = new CompletableFuture<>();
+        private DownloadPriority priority;
+        private int waiters = 1;
+        private boolean canceled;
+
+        private Download(final DownloadPriority priority) {
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.sdc.telegram.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.domain.constants.TelegramExportStatus;
+import com.sdc.telegram.domain.dto.TelegramExportJobDto;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.sdc.telegram.domain.constants.PhotoFileType.PHOTO;
+
+/**
+ * Service exporting chat history to gzip-compressed JSONL
+ * History is paged through TDLib and every page is mapped and written before the next one is fetched,
+ * so memory use doesn't depend on the size of the chat. Exports with media are ZIP archives of media files
+ * followed by the compressed messages, which are spooled to a temporary file meanwhile.
+ * Media files are deleted once written to the archive, and export jobs write to a spool file that can be
+ * downloaded until the retention time passes, expired jobs are purged periodically.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramExportService {
+    public static final String MESSAGES_ENTRY = "messages.jsonl.gz";
+    public static final String MEDIA_DIRECTORY = "media/";
+    public static final String MESSAGES_METRIC = "telegram.exports.messages";
+    public static final String BYTES_METRIC = "telegram.exports.bytes";
+    public static final String DURATION_METRIC = "telegram.exports.duration";
+    private static final int EXPORT_PAGE_SIZE = 100;
+    private static final int EXPORT_THREADS = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Duration EXPORT_RETENTION = Duration.ofHours(1);
+    private static final long PURGE_INTERVAL_MINUTES = 5;
+    private static final Duration MEDIA_DOWNLOAD_TIMEOUT = Duration.ofMinutes(5);
+    private static final String STATUS_TAG = "status";
+
+    private final TelegramClientManager clientManager;
+    private final TelegramService telegramService;
+    private final TelegramFileService fileService;
+    private final TdlibMetrics tdlibMetrics;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService exportExecutor = Executors.newFixedThreadPool(EXPORT_THREADS);
+
+    /**
+     * Stops running export jobs on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts a background export of the chat history to a spool file
+     *
+     * @param chatId the chat identifier
+     * @param includeMedia whether media files are exported in a ZIP archive together with messages
+     * @param accountId the account identifier
+     * @return the started job
+     * @throws IOException if the spool file can't be created
+     */
+    public TelegramExportJobDto startExport(final Long chatId, final boolean includeMedia, final String accountId) throws IOException {
+        purgeExpiredJobs();
+        final Client client = clientManager.getClient(accountId);
+        final Path spool = Files.createTempFile("telegram-export-", includeMedia ? ".zip" : ".jsonl.gz");
+        final ExportJob job = new ExportJob(UUID.randomUUID().toString(), accountId, chatId, includeMedia, spool);
+        jobs.put(job.id, job);
+        job.future = exportExecutor.submit(() -> runJob(client, job));
+        log.info("Started export job {} of chat {} for account {}", job.id, chatId, accountId);
+        return toDto(job);
+    }
+
+    /**
+     * Returns the progress of an export job
+     *
+     * @param jobId the job identifier
+     * @param accountId the account identifier
+     * @return the job
+     */
+    public TelegramExportJobDto getExport(final String jobId, final String accountId) {
+        return toDto(getJob(jobId, accountId));
+    }
+
+    /**
+     * Streams the spool file of a completed export job
+     *
+     * @param jobId the job identifier
+     * @param accountId the account identifier
+     * @return StreamingResponseBody for the export
+     */
+    public StreamingResponseBody getExportFile(final String jobId, final String accountId) {
+        final ExportJob job = getJob(jobId, accountId);
+        if (job.status != TelegramExportStatus.COMPLETED) {
+            throw new RuntimeException("Export job " + jobId + " is not completed: " + job.status);
+        }
+        return outputStream -> Files.copy(job.spool, outputStream);
+    }
+
+    /**
+     * Cancels an export job and deletes its spool file
+     *
+     * @param jobId the job identifier
+     * @param accountId the account identifier
+     */
+    public void cancelExport(final String jobId, final String accountId) {
+        final ExportJob job = getJob(jobId, accountId);
+        job.canceled = true;
+        jobs.remove(jobId);
+        if (Objects.nonNull(job.future)) {
+            job.future.cancel(true);
+        }
+        if (job.status != TelegramExportStatus.RUNNING) {
+            deleteSpool(job);
+        }
+        log.info("Canceled export job {} of chat {} for account {}", jobId, job.chatId, accountId);
+    }
+
+    /**
+     * Streams an export of the chat history directly to the response
+     *
+     * @param chatId the chat identifier
+     * @param includeMedia whether media files are exported in a ZIP archive together with messages
+     * @param accountId the account identifier
+     * @return StreamingResponseBody for the export
+     */
+    public StreamingResponseBody streamExport(final Long chatId, final boolean includeMedia, final String accountId) {
+        final Client client = clientManager.getClient(accountId);
+        return outputStream -> {
+            final ExportJob job = new ExportJob(UUID.randomUUID().toString(), accountId, chatId, includeMedia, null);
+            job.status = TelegramExportStatus.RUNNING;
+            try {
+                writeExport(client, job, outputStream);
+                job.status = TelegramExportStatus.COMPLETED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.status = TelegramExportStatus.CANCELED;
+                throw new IOException("Export of chat " + chatId + " was interrupted", e);
+            } catch (ExecutionException | RuntimeException e) {
+                job.status = TelegramExportStatus.FAILED;
+                throw new IOException("Failed to export chat " + chatId, e);
+            } finally {
+                recordJob(job);
+            }
+        };
+    }
+
+    /**
+     * Writes the export of a job to its spool file
+     *
+     * @param client the Telegram client
+     * @param job the export job
+     */
+    private void runJob(final Client client, final ExportJob job) {
+        job.status = TelegramExportStatus.RUNNING;
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(job.spool), BUFFER_SIZE)) {
+                writeExport(client, job, outputStream);
+            }
+            job.status = TelegramExportStatus.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.status = TelegramExportStatus.CANCELED;
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            job.status = job.canceled ? TelegramExportStatus.CANCELED : TelegramExportStatus.FAILED;
+            job.error = e.getMessage();
+            if (!job.canceled) {
+                log.error("Export job {} of chat {} failed", job.id, job.chatId, e);
+            }
+        } finally {
+            recordJob(job);
+            if (job.status != TelegramExportStatus.COMPLETED || job.canceled) {
+                deleteSpool(job);
+            }
+        }
+    }
+
+    /**
+     * Writes gzip-compressed JSONL of the chat history, or a ZIP archive of media and the compressed JSONL
+     *
+     * @param client the Telegram client
+     * @param job the export job
+     * @param outputStream the stream to write the export to, left open
+     * @throws IOException if an I/O error occurs
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private void writeExport(final Client client, final ExportJob job, final OutputStream outputStream)
+            throws IOException, ExecutionException, InterruptedException {
+        job.startedAt = System.nanoTime();
+        final OutputStream counted = new CountingOutputStream(outputStream, job.writtenBytes);
+        if (!job.includeMedia) {
+            final GZIPOutputStream gzip = new GZIPOutputStream(counted, BUFFER_SIZE);
+            writeMessages(client, job, gzip, null);
+            gzip.finish();
+            counted.flush();
+            return;
+        }
+
+        final Path messagesSpool = Files.createTempFile("telegram-export-messages-", ".jsonl.gz");
+        try {
+            final ZipOutputStream zip = new ZipOutputStream(counted);
+            zip.setLevel(Deflater.NO_COMPRESSION);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(messagesSpool), BUFFER_SIZE), BUFFER_SIZE)) {
+                writeMessages(client, job, gzip, zip);
+            }
+            zip.putNextEntry(new ZipEntry(MESSAGES_ENTRY));
+            Files.copy(messagesSpool, zip);
+            zip.closeEntry();
+            zip.finish();
+            counted.flush();
+        } finally {
+            Files.deleteIfExists(messagesSpool);
+        }
+    }
+
+    /**
+     * Pages through the chat history writing every message as a JSON line
+     *
+     * @param client the Telegram client
+     * @param job the export job
+     * @param jsonl the stream to write JSON lines to
+     * @param media the archive to write media files to, null to skip media
+     * @throws IOException if an I/O error occurs
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private void writeMessages(final Client client, final ExportJob job, final OutputStream jsonl, final ZipOutputStream media)
+            throws IOException, ExecutionException, InterruptedException {
+        long fromMessageId = 0;
+        while (true) {
+            if (job.canceled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Export job " + job.id + " was canceled");
+            }
+            final List<TdApi.Message> batch = telegramService.fetchMessageBatch(job.chatId, fromMessageId, EXPORT_PAGE_SIZE, client);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (TdApi.Message message : batch) {
+                final MessageTdlibDto dto = telegramService.toMessageDto(message);
+                jsonl.write(objectMapper.writeValueAsBytes(dto));
+                jsonl.write('\n');
+                if (Objects.nonNull(media)) {
+                    writeMedia(client, job, dto, media);
+                }
+            }
+            job.exportedMessages.addAndGet(batch.size());
+            meterRegistry.counter(MESSAGES_METRIC).increment(batch.size());
+            fromMessageId = batch.get(batch.size() - 1).id;
+        }
+    }
+
+    /**
+     * Writes the media file of a message to the archive, media that can't be downloaded is skipped
+     *
+     * @param client the Telegram client
+     * @param job the export job
+     * @param message the exported message
+     * @param zip the archive
+     * @throws IOException if writing to the archive failed
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private void writeMedia(final Client client, final ExportJob job, final MessageTdlibDto message, final ZipOutputStream zip)
+            throws IOException, InterruptedException {
+        final TdApi.GetRemoteFile request;
+        if (Objects.nonNull(message.getPhotoRemoteId())) {
+            request = new TdApi.GetRemoteFile(message.getPhotoRemoteId().substring(PHOTO.getTitle().length()), new TdApi.FileTypePhoto());
+        } else if (Objects.nonNull(message.getVideoRemoteId())) {
+            request = new TdApi.GetRemoteFile(message.getVideoRemoteId(), new TdApi.FileTypeVideo());
+        } else if (Objects.nonNull(message.getDocumentRemoteId())) {
+            request = new TdApi.GetRemoteFile(message.getDocumentRemoteId(), new TdApi.FileTypeDocument());
+        } else {
+            return;
+        }
+
+        final Path path;
+        try {
+            final CompletableFuture<TdApi.File> future = new CompletableFuture<>();
+            tdlibMetrics.send(client, job.accountId, request, result -> {
+                if (result instanceof TdApi.File) {
+                    future.complete((TdApi.File) result);
+                } else {
+                    future.completeExceptionally(new RuntimeException("Failed to fetch file for export: " + result));
+                }
+            });
+            path = fileService.getFilePath(future.get(), client, DownloadPriority.DOCUMENT, MEDIA_DOWNLOAD_TIMEOUT);
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            log.warn("Skipped media of message {} in export job {}", message.getId(), job.id, e);
+            return;
+        }
+
+        try {
+            zip.putNextEntry(new ZipEntry(MEDIA_DIRECTORY + message.getId() + "-" + path.getFileName()));
+            Files.copy(path, zip);
+            zip.closeEntry();
+        } finally {
+            fileService.releaseFile(path);
+        }
+        job.exportedFiles.incrementAndGet();
+    }
+
+    private ExportJob getJob(final String jobId, final String accountId) {
+        final ExportJob job = jobs.get(jobId);
+        if (Objects.isNull(job) || !job.accountId.equals(accountId)) {
+            throw new RuntimeException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Removes finished jobs whose retention time passed and deletes their spool files
+     */
+    @Scheduled(fixedDelay = PURGE_INTERVAL_MINUTES, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpiredJobs() {
+        final long now = System.nanoTime();
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == 0 || now - job.finishedAt < EXPORT_RETENTION.toNanos()) {
+                return false;
+            }
+            deleteSpool(job);
+            return true;
+        });
+    }
+
+    private void deleteSpool(final ExportJob job) {
+        try {
+            Files.deleteIfExists(job.spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete spool file {} of export job {}", job.spool, job.id, e);
+        }
+    }
+
+    /**
+     * Records metrics of a finished export
+     *
+     * @param job the export job
+     */
+    private void recordJob(final ExportJob job) {
+        job.finishedAt = System.nanoTime();
+        if (job.startedAt != 0) {
+            meterRegistry.timer(DURATION_METRIC, STATUS_TAG, job.status.name())
+                    .record(Duration.ofNanos(job.finishedAt - job.startedAt));
+        }
+        meterRegistry.counter(BYTES_METRIC).increment(job.writtenBytes.get());
+        log.info("Export job {} of chat {} finished with status {}: {} messages, {} files, {} bytes",
+                job.id, job.chatId, job.status, job.exportedMessages.get(), job.exportedFiles.get(), job.writtenBytes.get());
+    }
+
+    private TelegramExportJobDto toDto(final ExportJob job) {
+        final long startedAt = job.startedAt;
+        final long finishedAt = job.finishedAt;
+        Double messagesPerSecond = null;
+        if (startedAt != 0) {
+            final long elapsed = (finishedAt != 0 ? finishedAt : System.nanoTime()) - startedAt;
+            messagesPerSecond = elapsed > 0 ? job.exportedMessages.get() * 1e9 / elapsed : 0.0;
+        }
+        return new TelegramExportJobDto(job.id, job.chatId, job.status, job.includeMedia, job.exportedMessages.get(),
+                job.exportedFiles.get(), job.writtenBytes.get(), messagesPerSecond, job.error);
+    }
+
+    /**
+     * Chat history export job
+     */
+    private static final class ExportJob {
+        private final String id;
+        private final String accountId;
+        private final Long chatId;
+        private final boolean includeMedia;
+        private final Path spool;
+        private final AtomicLong exportedMessages = new AtomicLong();
+        private final AtomicLong exportedFiles = new AtomicLong();
+        private final AtomicLong writtenBytes = new AtomicLong();
+        private volatile TelegramExportStatus status = TelegramExportStatus.PENDING;
+        private volatile boolean canceled;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile String error;
+        private volatile Future<?> future;
+
+        private ExportJob(final String id, final String accountId, final Long chatId, final boolean includeMedia, final Path spool) {
+            this.id = id;
+            this.accountId = accountId;
+            this.chatId = chatId;
+            this.includeMedia = includeMedia;
+            this.spool = spool;
+        }
+    }
+
+    /**
+     * Stream counting the bytes written through it
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private final AtomicLong count;
+
+        private CountingOutputStream(final OutputStream outputStream, final AtomicLong count) {
+            super(outputStream);
+            this.count = count;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count.addAndGet(len);
+        }
+    }
+}
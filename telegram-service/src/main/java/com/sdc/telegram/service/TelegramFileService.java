@@ -1,6 +1,10 @@
 package com.sdc.telegram.service;
 
 import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.utils.TdlibMetrics;
+import com.sdc.telegram.utils.ThumbnailCache;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.drinkless.tdlib.Client;
@@ -8,6 +12,13 @@ import org.drinkless.tdlib.TdApi;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -15,8 +26,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
 import static com.sdc.telegram.domain.constants.PhotoFileType.PHOTO;
 import static com.sdc.telegram.domain.constants.PhotoFileType.PROFILE;
@@ -29,7 +55,30 @@ import static com.sdc.telegram.domain.constants.PhotoFileType.PROFILE;
 @RequiredArgsConstructor
 @Slf4j
 public class TelegramFileService {
+    public static final int MAX_AVATAR_BATCH_SIZE = 100;
+    private static final int AVATAR_DOWNLOAD_THREADS = 8;
+    private static final int MAX_AVATARS_IN_FLIGHT = 4;
+    private static final int MISSING_AVATAR_LENGTH = -1;
+    private static final String THUMBNAIL_FORMAT = "jpg";
+    private static final Duration IMAGE_DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration VIDEO_DOWNLOAD_TIMEOUT = Duration.ofSeconds(100);
+    private static final Duration DOCUMENT_DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
+
     private final TelegramClientManager clientManager;
+    private final TdlibMetrics tdlibMetrics;
+    private final ThumbnailCache thumbnailCache;
+    private final TelegramDownloadScheduler downloadScheduler;
+    private final TelegramPrefetchService prefetchService;
+    private final ExecutorService avatarExecutor = Executors.newFixedThreadPool(AVATAR_DOWNLOAD_THREADS);
+    private final Map<Path, Integer> fileHolders = new ConcurrentHashMap<>();
+
+    /**
+     * Stops the avatar download executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        avatarExecutor.shutdownNow();
+    }
 
     /**
      * Retrieves an image from Telegram chats
@@ -43,11 +92,26 @@ public class TelegramFileService {
      * @throws IOException if an I/O error occurs
      */
     public byte[] getTelegramImage(final String remoteId, final String accountId) throws ExecutionException, InterruptedException, IOException {
+        return getTelegramImage(remoteId, getImagePriority(remoteId), accountId);
+    }
+
+    /**
+     * Retrieves an image from Telegram chats downloading it with the given priority class
+     *
+     * @param remoteId the Telegram image identifier
+     * @param priority the download priority class
+     * @param accountId the Telegram account identifier
+     * @return byte array of the image
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     * @throws IOException if an I/O error occurs
+     */
+    private byte[] getTelegramImage(final String remoteId, final DownloadPriority priority, final String accountId) throws ExecutionException, InterruptedException, IOException {
         final Client client = clientManager.getClient(accountId);
         CompletableFuture<TdApi.File> future = new CompletableFuture<>();
         final TdApi.FileType fileType;
         final String remote;
-        if (remoteId.contains(PHOTO.getTitle())){
+        if (remoteId.startsWith(PHOTO.getTitle())){
             fileType = new TdApi.FileTypePhoto();
             remote = remoteId.substring(PHOTO.getTitle().length());
         } else {
@@ -55,7 +119,7 @@ public class TelegramFileService {
             remote = remoteId.substring(PROFILE.getTitle().length());
         }
 
-        client.send(new TdApi.GetRemoteFile(remote, fileType), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetRemoteFile(remote, fileType), result -> {
             if (result instanceof TdApi.File) {
                 future.complete((TdApi.File) result);
             } else if (result instanceof TdApi.Error) {
@@ -65,68 +129,261 @@ public class TelegramFileService {
             }
         });
 
-        final Path path = getFilePath(future.get(), client, 10, 300);
-        final byte[] imageBytes = Files.readAllBytes(path);
+        final Path path = getFilePath(future.get(), client, priority, IMAGE_DOWNLOAD_TIMEOUT);
+        try {
+            return Files.readAllBytes(path);
+        } finally {
+            releaseFile(path);
+        }
+    }
+
+    /**
+     * Retrieves an image from Telegram chats downscaled to the requested size
+     * Sizes are rounded up to the nearest cached bucket, variants are generated on demand and cached per account.
+     * The original image is returned when no size is requested or it exceeds the largest bucket.
+     *
+     * @param remoteId the Telegram image identifier
+     * @param size the maximum width and height in pixels, may be null
+     * @param accountId the Telegram account identifier
+     * @return byte array of the image
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     * @throws IOException if an I/O error occurs
+     */
+    public byte[] getTelegramImage(final String remoteId, final Integer size, final String accountId) throws ExecutionException, InterruptedException, IOException {
+        return getTelegramImage(remoteId, size, getImagePriority(remoteId), accountId);
+    }
+
+    /**
+     * Retrieves an image downscaled to the requested size downloading the original with the given priority class
+     *
+     * @param remoteId the Telegram image identifier
+     * @param size the maximum width and height in pixels, may be null
+     * @param priority the download priority class
+     * @param accountId the Telegram account identifier
+     * @return byte array of the image
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     * @throws IOException if an I/O error occurs
+     */
+    private byte[] getTelegramImage(final String remoteId, final Integer size, final DownloadPriority priority,
+                                     final String accountId) throws ExecutionException, InterruptedException, IOException {
+        if (Objects.isNull(size)) {
+            return getTelegramImage(remoteId, priority, accountId);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Image size must be positive");
+        }
+
+        final Integer bucket = ThumbnailCache.toBucket(size);
+        if (Objects.isNull(bucket)) {
+            return getTelegramImage(remoteId, priority, accountId);
+        }
+
+        final byte[] cached = thumbnailCache.get(accountId, remoteId, bucket);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        final byte[] thumbnail = resizeToThumbnail(getTelegramImage(remoteId, priority, accountId), bucket);
+        thumbnailCache.put(accountId, remoteId, bucket, thumbnail);
+        return thumbnail;
+    }
+
+    /**
+     * Retrieves a batch of profile and chat images as thumbnails in a single response
+     * Thumbnails are taken from the same cache of downscaled variants as single images.
+     * Downloads run concurrently, at most a few per request so that a batch can't occupy all download threads,
+     * and every image is written as soon as it is ready, so the order of entries follows download completion
+     * rather than the order of requested identifiers. Downloads left when the response ends are canceled.
+     * Each entry is encoded as the remote identifier (modified UTF-8 with a 2-byte length prefix),
+     * followed by a 4-byte image length and the image bytes; length -1 marks an image that could not be fetched.
+     *
+     * @param remoteIds the Telegram image identifiers
+     * @param size the maximum thumbnail width and height in pixels
+     * @param accountId the Telegram account identifier
+     * @return StreamingResponseBody with the length-prefixed thumbnails bundle
+     */
+    public StreamingResponseBody getTelegramAvatars(final List<String> remoteIds, final int size, final String accountId) {
+        final Set<String> uniqueRemoteIds = new LinkedHashSet<>(remoteIds);
+        if (uniqueRemoteIds.size() > MAX_AVATAR_BATCH_SIZE) {
+            throw new IllegalArgumentException("Too many images requested, max batch size is " + MAX_AVATAR_BATCH_SIZE);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Image size must be positive");
+        }
+
+        final CompletionService<Thumbnail> downloads = new ExecutorCompletionService<>(avatarExecutor);
+        final List<Future<Thumbnail>> futures = new ArrayList<>();
+        final Iterator<String> pending = uniqueRemoteIds.iterator();
+        while (futures.size() < MAX_AVATARS_IN_FLIGHT && pending.hasNext()) {
+            futures.add(submitThumbnail(downloads, pending.next(), size, accountId));
+        }
+
+        return outputStream -> {
+            try {
+                final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                for (int i = 0; i < uniqueRemoteIds.size(); i++) {
+                    final Thumbnail avatar;
+                    try {
+                        avatar = downloads.take().get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for avatars", e);
+                    } catch (ExecutionException e) {
+                        throw new IOException("Failed to fetch avatar", e);
+                    }
+                    if (pending.hasNext()) {
+                        futures.add(submitThumbnail(downloads, pending.next(), size, accountId));
+                    }
+                    dataOutputStream.writeUTF(avatar.remoteId());
+                    if (avatar.bytes() == null) {
+                        dataOutputStream.writeInt(MISSING_AVATAR_LENGTH);
+                    } else {
+                        dataOutputStream.writeInt(avatar.bytes().length);
+                        dataOutputStream.write(avatar.bytes());
+                    }
+                    dataOutputStream.flush();
+                }
+            } finally {
+                futures.forEach(future -> future.cancel(true));
+            }
+        };
+    }
+
+    /**
+     * Starts the download of a thumbnail of the batch
+     *
+     * @param downloads the downloads of the batch
+     * @param remoteId the Telegram image identifier
+     * @param size the maximum thumbnail width and height in pixels
+     * @param accountId the Telegram account identifier
+     * @return the future of the download
+     */
+    private Future<Thumbnail> submitThumbnail(final CompletionService<Thumbnail> downloads, final String remoteId, final int size,
+                                              final String accountId) {
+        return downloads.submit(() -> new Thumbnail(remoteId, downloadThumbnail(remoteId, size, accountId)));
+    }
 
+    /**
+     * Downloads an image downscaled to a thumbnail
+     *
+     * @param remoteId the Telegram image identifier
+     * @param size the maximum thumbnail width and height in pixels
+     * @param accountId the Telegram account identifier
+     * @return thumbnail bytes or null if the image could not be fetched
+     */
+    private byte[] downloadThumbnail(final String remoteId, final int size, final String accountId) {
         try {
-            Files.deleteIfExists(path);
-        } catch (IOException e) {
-            log.warn("Failed to delete temp file: {}", path, e);
+            return getTelegramImage(remoteId, size, DownloadPriority.AVATAR, accountId);
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            log.warn("Failed to fetch avatar:{} for account:{}", remoteId, accountId, e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
+    }
 
-        return imageBytes;
+    /**
+     * Resolves the download priority class of an image, profile photos are rendered as avatars
+     *
+     * @param remoteId the Telegram image identifier
+     * @return the download priority class
+     */
+    private DownloadPriority getImagePriority(final String remoteId) {
+        return remoteId.startsWith(PHOTO.getTitle()) ? DownloadPriority.INTERACTIVE : DownloadPriority.AVATAR;
+    }
+
+    /**
+     * Downscales an image so that neither side exceeds the given size
+     * Images that are already small enough or can't be decoded are returned as is
+     *
+     * @param imageBytes the original image bytes
+     * @param size the maximum width and height in pixels
+     * @return thumbnail bytes
+     * @throws IOException if an I/O error occurs
+     */
+    private byte[] resizeToThumbnail(final byte[] imageBytes, final int size) throws IOException {
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        if (image == null || (image.getWidth() <= size && image.getHeight() <= size)) {
+            return imageBytes;
+        }
+
+        final double scale = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+        final int width = Math.max(1, (int) (image.getWidth() * scale));
+        final int height = Math.max(1, (int) (image.getHeight() * scale));
+
+        final BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = thumbnail.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, THUMBNAIL_FORMAT, outputStream);
+        return outputStream.toByteArray();
     }
 
     /**
      * Gets the file path by downloading the file if necessary and waiting for download completion
+     * Downloads are scheduled by priority class, a download abandoned after the timeout is canceled in TDLib.
+     * Requests sharing a download share its local file, so every returned path must be handed back
+     * to {@link #releaseFile(Path)} once read and the file is deleted when its last holder releases it.
      *
      * @param file the Telegram file object
      * @param client the Telegram client
-     * @param retries the number of retry attempts
-     * @param delayMs the delay in milliseconds between retries
+     * @param priority the download priority class
+     * @param timeout the maximum time to wait for the download
      * @return the path to the downloaded file
      * @throws IOException if an I/O error occurs
      * @throws ExecutionException if the computation threw an exception
      * @throws InterruptedException if the current thread was interrupted
      * @throws FileNotFoundException if file is not downloaded after waiting
      */
-    public Path getFilePath(TdApi.File file, final Client client, int retries, int delayMs) throws IOException, ExecutionException, InterruptedException {
-        if (file.local.path == null || file.local.path.isEmpty() || !Files.exists(Path.of(file.local.path))) {
-            CompletableFuture<TdApi.File> downloadFuture = new CompletableFuture<>();
-
-            client.send(new TdApi.DownloadFile(file.id, 1, 0, 0, false), downloadResult -> {
-                if (downloadResult instanceof TdApi.File) {
-                    downloadFuture.complete((TdApi.File) downloadResult);
-                } else {
-                    downloadFuture.completeExceptionally(new RuntimeException("Failed to download file"));
-                }
-            });
-
-            file = downloadFuture.get();
+    public Path getFilePath(TdApi.File file, final Client client, final DownloadPriority priority, final Duration timeout) throws IOException, ExecutionException, InterruptedException {
+        final String accountId = clientManager.getAccountIdForClient(client);
+        prefetchService.recordAccess(accountId, file);
+        if (!file.local.isDownloadingCompleted || file.local.path == null || file.local.path.isEmpty()
+                || !Files.exists(Path.of(file.local.path))) {
+            try {
+                file = downloadScheduler.download(client, accountId, file, priority, timeout);
+            } catch (TimeoutException e) {
+                throw new FileNotFoundException("File still not downloaded after waiting");
+            }
         }
 
-        while ((!file.local.isDownloadingCompleted || file.local.path == null || file.local.path.isEmpty())
-                && retries-- > 0) {
-
-            Thread.sleep(delayMs);
-
-            CompletableFuture<TdApi.File> checkFuture = new CompletableFuture<>();
-            client.send(new TdApi.GetFile(file.id), result -> {
-                if (result instanceof TdApi.File) {
-                    checkFuture.complete((TdApi.File) result);
-                } else {
-                    checkFuture.completeExceptionally(new RuntimeException("Polling failed"));
-                }
-            });
-
-            file = checkFuture.get();
+        if (file.local.path == null || file.local.path.isEmpty()) {
+            throw new FileNotFoundException("File still not downloaded after waiting");
         }
 
-        if (file.local.path == null || !Files.exists(Path.of(file.local.path))) {
+        final Path path = Path.of(file.local.path);
+        fileHolders.merge(path, 1, Integer::sum);
+        if (!Files.exists(path)) {
+            releaseFile(path);
             throw new FileNotFoundException("File still not downloaded after waiting");
         }
+        return path;
+    }
 
-        return Path.of(file.local.path);
+    /**
+     * Releases a file obtained from {@link #getFilePath}, the file is deleted once no other request holds it
+     *
+     * @param path the path to the downloaded file
+     */
+    public void releaseFile(final Path path) {
+        fileHolders.compute(path, (key, holders) -> {
+            if (holders != null && holders > 1) {
+                return holders - 1;
+            }
+            try {
+                Files.deleteIfExists(key);
+                log.info("Temporary file {} deleted after download.", key);
+            } catch (IOException e) {
+                log.warn("Failed to delete temp file: {}", key, e);
+            }
+            return null;
+        });
     }
 
     /**
@@ -143,7 +400,7 @@ public class TelegramFileService {
     public StreamingResponseBody getTelegramVideo(final String remoteId, final String accountId) throws ExecutionException, InterruptedException, IOException {
         final Client client = clientManager.getClient(accountId);
         CompletableFuture<TdApi.File> future = new CompletableFuture<>();
-        client.send(new TdApi.GetRemoteFile(remoteId, new TdApi.FileTypeVideo()), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetRemoteFile(remoteId, new TdApi.FileTypeVideo()), result -> {
             if (result instanceof TdApi.File) {
                 future.complete((TdApi.File) result);
             } else if (result instanceof TdApi.Error) {
@@ -153,12 +410,7 @@ public class TelegramFileService {
             }
         });
 
-        final Path path = getFilePath(future.get(), client, 200, 500);
-
-        if (!Files.exists(path)) {
-            throw new FileNotFoundException("File still not downloaded after waiting");
-        }
-
+        final Path path = getFilePath(future.get(), client, DownloadPriority.INTERACTIVE, VIDEO_DOWNLOAD_TIMEOUT);
         final File file = path.toFile();
 
         return outputStream -> {
@@ -166,8 +418,7 @@ public class TelegramFileService {
                 inputStream.transferTo(outputStream);
                 outputStream.flush();
             } finally {
-                Files.deleteIfExists(path);
-                log.info("Temporary file {} deleted after download.", path);
+                releaseFile(path);
             }
         };
 
@@ -187,7 +438,7 @@ public class TelegramFileService {
     public StreamingResponseBody getTelegramDocument(final String remoteId, final String accountId) throws ExecutionException, InterruptedException, IOException {
         final Client client = clientManager.getClient(accountId);
         CompletableFuture<TdApi.File> future = new CompletableFuture<>();
-        client.send(new TdApi.GetRemoteFile(remoteId, new TdApi.FileTypeDocument()), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetRemoteFile(remoteId, new TdApi.FileTypeDocument()), result -> {
             if (result instanceof TdApi.File) {
                 future.complete((TdApi.File) result);
             } else if (result instanceof TdApi.Error) {
@@ -197,12 +448,7 @@ public class TelegramFileService {
             }
         });
 
-        final Path path = getFilePath(future.get(), client, 10, 300);
-
-        if (!Files.exists(path)) {
-            throw new FileNotFoundException("File still not downloaded after waiting");
-        }
-
+        final Path path = getFilePath(future.get(), client, DownloadPriority.DOCUMENT, DOCUMENT_DOWNLOAD_TIMEOUT);
         final File file = path.toFile();
 
         return outputStream -> {
@@ -210,10 +456,17 @@ public class TelegramFileService {
                 inputStream.transferTo(outputStream);
                 outputStream.flush();
             } finally {
-                Files.deleteIfExists(path);
-                log.info("Temporary file {} deleted after download.", path);
+                releaseFile(path);
             }
         };
     }
 
+    /**
+     * Downloaded thumbnail of a requested image
+     *
+     * @param remoteId the Telegram image identifier
+     * @param bytes the thumbnail bytes, null if the image could not be fetched
+     */
+    private record Thumbnail(String remoteId, byte[] bytes) {
+    }
 }
@@ -0,0 +1,212 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.config.properties.TelegramForwardProperties;
+import com.sdc.telegram.domain.dto.TelegramForwardRequestDto;
+import com.sdc.telegram.domain.dto.TelegramForwardResultDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service forwarding existing Telegram messages to many chats
+ * Messages are forwarded server-side with ForwardMessages, so media is never downloaded or uploaded again.
+ * Requests of an account are spaced by a minimal interval, and a target answered with a flood wait
+ * is retried after the time Telegram asked for, pushing back the other pending targets of the account too.
+ * A flood wait longer than the configured maximum fails the target as rate limited, and targets not forwarded
+ * within the configured timeout fail without being sent.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramForwardService {
+    public static final int MAX_FORWARD_MESSAGES = 100;
+    public static final int MAX_FORWARD_TARGETS = 200;
+    private static final Duration SEND_INTERVAL = Duration.ofMillis(50);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int FLOOD_WAIT_CODE = 429;
+    private static final Pattern RETRY_AFTER = Pattern.compile("retry after (\\d+)");
+
+    private final TelegramClientManager clientManager;
+    private final TdlibMetrics tdlibMetrics;
+    private final TelegramForwardProperties properties;
+    private final Map<String, Long> nextSendTimes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sendExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Stops the send executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Forwards messages of a chat to every target chat
+     *
+     * @param request the messages and the target chats
+     * @param accountId the account identifier
+     * @return the result of every target chat in the order of the request
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public List<TelegramForwardResultDto> forwardMessages(final TelegramForwardRequestDto request, final String accountId) throws ExecutionException, InterruptedException {
+        final Client client = clientManager.getClient(accountId);
+        if (Objects.isNull(client)) {
+            throw new IllegalArgumentException("Invalid accountId: " + accountId);
+        }
+        if (request.getMessageIds().size() > MAX_FORWARD_MESSAGES) {
+            throw new IllegalArgumentException("At most " + MAX_FORWARD_MESSAGES + " messages can be forwarded at once");
+        }
+        final List<Long> targetChatIds = new ArrayList<>(new LinkedHashSet<>(request.getTargetChatIds()));
+        if (targetChatIds.size() > MAX_FORWARD_TARGETS) {
+            throw new IllegalArgumentException("At most " + MAX_FORWARD_TARGETS + " target chats are allowed");
+        }
+
+        final List<CompletableFuture<TelegramForwardResultDto>> results = new ArrayList<>();
+        for (Long targetChatId : targetChatIds) {
+            final CompletableFuture<TelegramForwardResultDto> result = new CompletableFuture<>();
+            schedule(client, accountId, toForwardMessages(request, targetChatId), 1, 0, result);
+            results.add(result);
+        }
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out forwarding messages of chat {} for account {}", request.getFromChatId(), accountId);
+            for (int i = 0; i < targetChatIds.size(); i++) {
+                results.get(i).complete(new TelegramForwardResultDto(targetChatIds.get(i), false, List.of(), "Timed out"));
+            }
+        }
+
+        final List<TelegramForwardResultDto> forwarded = results.stream().map(CompletableFuture::join).toList();
+        log.info("Forwarded {} messages of chat {} to {} of {} chats for account {}", request.getMessageIds().size(),
+                request.getFromChatId(), forwarded.stream().filter(TelegramForwardResultDto::getSuccess).count(),
+                forwarded.size(), accountId);
+        return forwarded;
+    }
+
+    /**
+     * Schedules a forward request in the next free send slot of the account
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param forward the forward request of a target chat
+     * @param attempt the number of the attempt
+     * @param notBefore the earliest time to send the request at, in nanoseconds of System.nanoTime
+     * @param result the future to complete with the result of the target chat
+     */
+    private void schedule(final Client client, final String accountId, final TdApi.ForwardMessages forward, final int attempt,
+                          final long notBefore, final CompletableFuture<TelegramForwardResultDto> result) {
+        final long now = System.nanoTime();
+        final long sendTime = nextSendTimes.compute(accountId, (key, next) ->
+                Math.max(Math.max(now, notBefore), Objects.isNull(next) ? now : next) + SEND_INTERVAL.toNanos()) - SEND_INTERVAL.toNanos();
+        sendExecutor.schedule(() -> send(client, accountId, forward, attempt, result), sendTime - now, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sends a forward request retrying it after a flood wait, a target that already failed is not sent
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param forward the forward request of a target chat
+     * @param attempt the number of the attempt
+     * @param result the future to complete with the result of the target chat
+     */
+    private void send(final Client client, final String accountId, final TdApi.ForwardMessages forward, final int attempt,
+                      final CompletableFuture<TelegramForwardResultDto> result) {
+        if (result.isDone()) {
+            return;
+        }
+        tdlibMetrics.send(client, accountId, forward, response -> {
+            if (response instanceof TdApi.Messages messages) {
+                result.complete(toResult(forward, messages));
+                return;
+            }
+            if (!(response instanceof TdApi.Error error)) {
+                log.error("Unexpected response forwarding messages to chat {} for account {}: {}", forward.chatId, accountId, response);
+                result.complete(new TelegramForwardResultDto(forward.chatId, false, List.of(), "Unexpected response"));
+                return;
+            }
+            final Duration retryAfter = getRetryAfter(error);
+            if (Objects.nonNull(retryAfter) && retryAfter.compareTo(properties.getMaxFloodWait()) > 0) {
+                log.error("Flood wait of {}s forwarding messages to chat {} for account {} exceeds the maximum", retryAfter.toSeconds(), forward.chatId, accountId);
+                result.complete(new TelegramForwardResultDto(forward.chatId, false, List.of(), "Rate limited, retry after " + retryAfter.toSeconds() + "s"));
+                return;
+            }
+            if (Objects.nonNull(retryAfter) && attempt < MAX_ATTEMPTS) {
+                log.warn("Flood wait of {}s forwarding messages to chat {} for account {}", retryAfter.toSeconds(), forward.chatId, accountId);
+                final long notBefore = System.nanoTime() + retryAfter.toNanos();
+                nextSendTimes.merge(accountId, notBefore, Math::max);
+                schedule(client, accountId, forward, attempt + 1, notBefore, result);
+                return;
+            }
+            log.error("Failed to forward messages to chat {} for account {}: {} {}", forward.chatId, accountId, error.code, error.message);
+            result.complete(new TelegramForwardResultDto(forward.chatId, false, List.of(), error.message));
+        });
+    }
+
+    private TdApi.ForwardMessages toForwardMessages(final TelegramForwardRequestDto request, final Long targetChatId) {
+        final TdApi.ForwardMessages forward = new TdApi.ForwardMessages();
+        forward.chatId = targetChatId;
+        forward.fromChatId = request.getFromChatId();
+        forward.messageIds = request.getMessageIds().stream().mapToLong(Long::longValue).toArray();
+        forward.options = new TdApi.MessageSendOptions();
+        forward.sendCopy = request.isSendCopy();
+        forward.removeCaption = request.isRemoveCaption();
+        return forward;
+    }
+
+    /**
+     * Maps forwarded messages to the result of the target chat
+     * Messages that can't be forwarded are returned by TDLib as null.
+     *
+     * @param forward the forward request of the target chat
+     * @param messages the forwarded messages
+     * @return the result of the target chat
+     */
+    private TelegramForwardResultDto toResult(final TdApi.ForwardMessages forward, final TdApi.Messages messages) {
+        final List<Long> forwardedMessageIds = Arrays.stream(messages.messages)
+                .filter(Objects::nonNull)
+                .map(message -> message.id)
+                .toList();
+        final boolean success = forwardedMessageIds.size() == forward.messageIds.length;
+        return new TelegramForwardResultDto(forward.chatId, success, forwardedMessageIds,
+                success ? null : (forward.messageIds.length - forwardedMessageIds.size()) + " messages can't be forwarded");
+    }
+
+    /**
+     * Returns the time to wait before retrying a request answered with a flood wait
+     *
+     * @param error the TDLib error
+     * @return the time to wait or null if the error is not a flood wait
+     */
+    private Duration getRetryAfter(final TdApi.Error error) {
+        if (error.code != FLOOD_WAIT_CODE) {
+            return null;
+        }
+        final Matcher matcher = RETRY_AFTER.matcher(Objects.requireNonNullElse(error.message, ""));
+        return matcher.find() ? Duration.ofSeconds(Long.parseLong(matcher.group(1))) : SEND_INTERVAL;
+    }
+}
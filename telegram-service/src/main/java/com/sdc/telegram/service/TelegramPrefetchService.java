@@ -0,0 +1,279 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.sdc.telegram.domain.constants.PhotoFileType.PHOTO;
+
+/**
+ * Service warming TDLib file cache with media of recently fetched messages
+ * Media is downloaded in the background with the lowest download priority, so prefetch never competes with
+ * files the user is waiting for. Every account has a budget of prefetched bytes that were not requested yet,
+ * files that are not requested within the retention time are released from the budget.
+ * Prefetches run on a bounded queue that discards new files when full, and a file already queued for the account
+ * is not queued again.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramPrefetchService {
+    public static final int MAX_PREFETCH_ITEMS = 20;
+    public static final String FILES_METRIC = "telegram.prefetch.files";
+    public static final String BYTES_METRIC = "telegram.prefetch.bytes";
+    private static final long MAX_PREFETCHED_BYTES_PER_ACCOUNT = 100L * 1024 * 1024;
+    private static final Duration PREFETCH_RETENTION = Duration.ofMinutes(10);
+    private static final Duration PREFETCH_TIMEOUT = Duration.ofMinutes(2);
+    private static final int PREFETCH_THREADS = 2;
+    private static final int MAX_QUEUED_PREFETCHES = 100;
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final TelegramClientManager clientManager;
+    private final TdlibMetrics tdlibMetrics;
+    private final TelegramDownloadScheduler downloadScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<Integer, Prefetched>> prefetchedFiles = new ConcurrentHashMap<>();
+    private final Set<List<String>> queuedFiles = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor prefetchExecutor = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_PREFETCHES), (task, executor) -> discard((PrefetchTask) task));
+
+    /**
+     * Stops the prefetch executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts background downloads of media of the most recent messages
+     *
+     * @param messages the fetched messages ordered from the most recent
+     * @param count the number of most recent media items to prefetch
+     * @param accountId the account identifier
+     */
+    public void prefetch(final List<MessageTdlibDto> messages, final int count, final String accountId) {
+        if (count <= 0) {
+            return;
+        }
+        final Client client = clientManager.getClient(accountId);
+        final List<TdApi.GetRemoteFile> requests = new ArrayList<>();
+        for (MessageTdlibDto message : messages) {
+            if (requests.size() >= Math.min(count, MAX_PREFETCH_ITEMS)) {
+                break;
+            }
+            if (Objects.nonNull(message.getPhotoRemoteId())) {
+                requests.add(new TdApi.GetRemoteFile(message.getPhotoRemoteId().substring(PHOTO.getTitle().length()), new TdApi.FileTypePhoto()));
+            } else if (Objects.nonNull(message.getVideoRemoteId())) {
+                requests.add(new TdApi.GetRemoteFile(message.getVideoRemoteId(), new TdApi.FileTypeVideo()));
+            } else if (Objects.nonNull(message.getDocumentRemoteId())) {
+                requests.add(new TdApi.GetRemoteFile(message.getDocumentRemoteId(), new TdApi.FileTypeDocument()));
+            }
+        }
+        for (TdApi.GetRemoteFile request : requests) {
+            final List<String> key = List.of(accountId, request.remoteFileId);
+            if (!queuedFiles.add(key)) {
+                countFile("duplicate");
+                continue;
+            }
+            prefetchExecutor.execute(new PrefetchTask(key, () -> {
+                try {
+                    prefetchFile(client, request, accountId);
+                } finally {
+                    queuedFiles.remove(key);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Discards a prefetch that doesn't fit into the full queue, like {@link ThreadPoolExecutor.DiscardPolicy}
+     *
+     * @param task the discarded prefetch
+     */
+    private void discard(final PrefetchTask task) {
+        queuedFiles.remove(task.key());
+        countFile("discarded");
+    }
+
+    /**
+     * Records a request of a file so that prefetch hits can be measured
+     * A requested file is released from the prefetch budget of the account.
+     *
+     * @param accountId the account identifier
+     * @param file the requested Telegram file
+     */
+    public void recordAccess(final String accountId, final TdApi.File file) {
+        if (Objects.isNull(accountId)) {
+            return;
+        }
+        final Map<Integer, Prefetched> files = prefetchedFiles.get(accountId);
+        if (Objects.isNull(files)) {
+            return;
+        }
+        final Prefetched prefetched;
+        synchronized (files) {
+            prefetched = files.remove(file.id);
+        }
+        if (Objects.nonNull(prefetched)) {
+            countFile(prefetched.downloaded() ? "hit" : "pending");
+        }
+    }
+
+    /**
+     * Downloads a single file if it is not cached yet and fits into the budget of the account
+     *
+     * @param client the Telegram client
+     * @param request the remote file request
+     * @param accountId the account identifier
+     */
+    private void prefetchFile(final Client client, final TdApi.GetRemoteFile request, final String accountId) {
+        Integer reservedFileId = null;
+        try {
+            final CompletableFuture<TdApi.File> future = new CompletableFuture<>();
+            tdlibMetrics.send(client, accountId, request, result -> {
+                if (result instanceof TdApi.File) {
+                    future.complete((TdApi.File) result);
+                } else {
+                    future.completeExceptionally(new RuntimeException("Failed to fetch file for prefetch: " + result));
+                }
+            });
+            final TdApi.File file = future.get();
+            if (file.local.isDownloadingCompleted) {
+                countFile("cached");
+                return;
+            }
+            if (!reserve(accountId, file)) {
+                countFile("skipped");
+                return;
+            }
+            reservedFileId = file.id;
+
+            downloadScheduler.download(client, accountId, file, DownloadPriority.PREFETCH, PREFETCH_TIMEOUT);
+            markDownloaded(accountId, file.id);
+            meterRegistry.counter(BYTES_METRIC).increment(Math.max(file.size, file.expectedSize));
+            countFile("prefetched");
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("Failed to prefetch file {} for account {}", request.remoteFileId, accountId, e);
+            if (Objects.nonNull(reservedFileId)) {
+                release(accountId, reservedFileId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reserves the size of a file in the prefetch budget of the account
+     *
+     * @param accountId the account identifier
+     * @param file the Telegram file
+     * @return true if the file fits into the budget
+     */
+    private boolean reserve(final String accountId, final TdApi.File file) {
+        final long size = Math.max(file.size, file.expectedSize);
+        final long now = System.nanoTime();
+        final Map<Integer, Prefetched> files = prefetchedFiles.computeIfAbsent(accountId, key -> new LinkedHashMap<>());
+        synchronized (files) {
+            long reservedBytes = 0;
+            final Iterator<Prefetched> iterator = files.values().iterator();
+            while (iterator.hasNext()) {
+                final Prefetched prefetched = iterator.next();
+                if (prefetched.expiresAt() - now < 0) {
+                    iterator.remove();
+                    countFile("expired");
+                } else {
+                    reservedBytes += prefetched.bytes();
+                }
+            }
+            if (files.containsKey(file.id) || reservedBytes + size > MAX_PREFETCHED_BYTES_PER_ACCOUNT) {
+                return false;
+            }
+            files.put(file.id, new Prefetched(size, now + PREFETCH_RETENTION.toNanos(), false));
+            return true;
+        }
+    }
+
+    /**
+     * Marks a reserved file as downloaded
+     *
+     * @param accountId the account identifier
+     * @param fileId the file identifier
+     */
+    private void markDownloaded(final String accountId, final int fileId) {
+        final Map<Integer, Prefetched> files = prefetchedFiles.get(accountId);
+        synchronized (files) {
+            files.computeIfPresent(fileId, (key, prefetched) -> new Prefetched(prefetched.bytes(), prefetched.expiresAt(), true));
+        }
+    }
+
+    /**
+     * Releases the reservation of a file that failed to download
+     *
+     * @param accountId the account identifier
+     * @param fileId the file identifier
+     */
+    private void release(final String accountId, final int fileId) {
+        final Map<Integer, Prefetched> files = prefetchedFiles.get(accountId);
+        synchronized (files) {
+            files.remove(fileId);
+        }
+    }
+
+    /**
+     * Counts a prefetched file by its outcome
+     *
+     * @param outcome the outcome of the prefetch
+     */
+    private void countFile(final String outcome) {
+        meterRegistry.counter(FILES_METRIC, OUTCOME_TAG, outcome).increment();
+    }
+
+    /**
+     * Queued prefetch of a single file
+     *
+     * @param key the account and remote file identifiers
+     * @param download the prefetch of the file
+     */
+    private record PrefetchTask(List<String> key, Runnable download) implements Runnable {
+        @Override
+        public void run() {
+            download.run();
+        }
+    }
+
+    /**
+     * Prefetched file reserved in the budget of an account
+     *
+     * @param bytes the reserved size in bytes
+     * @param expiresAt the System.nanoTime() after which the file is released from the budget
+     * @param downloaded whether the download completed
+     */
+    private record Prefetched(long bytes, long expiresAt, boolean downloaded) {
+    }
+}
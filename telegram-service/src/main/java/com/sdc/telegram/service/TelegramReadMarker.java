@@ -0,0 +1,208 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.utils.TdlibMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service marking fetched messages as read
+ * Only incoming messages newer than the last read message of the chat and the messages already submitted
+ * are viewed. Messages of rapid successive history loads of a chat are coalesced into a single submission,
+ * which is sent as ViewMessages requests of a bounded size in ascending order, one after another.
+ * Messages count as read once TDLib confirmed their request, a failed request is submitted again with the next load.
+ * Submitted messages of a chat are forgotten one minute after its last submission or response,
+ * after that only the last read message reported by TDLib filters the fetched messages of the chat.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramReadMarker {
+    public static final int MAX_VIEW_BATCH = 100;
+    private static final Duration COALESCE_DELAY = Duration.ofMillis(300);
+    private static final Duration SUBMITTED_RETENTION = Duration.ofMinutes(1);
+
+    private final TdlibMetrics tdlibMetrics;
+    private final Map<List<Object>, PendingRead> pendingReads = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Submitted> submitted = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    @PostConstruct
+    public void init() {
+        flushExecutor.scheduleWithFixedDelay(this::purgeSubmitted, SUBMITTED_RETENTION.toMillis(),
+                SUBMITTED_RETENTION.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the flush executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    /**
+     * Schedules fetched messages of a chat to be marked as read
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     * @param messages the fetched messages
+     */
+    public void markRead(final Client client, final String accountId, final long chatId, final List<TdApi.Message> messages) {
+        final long[] messageIds = messages.stream()
+                .filter(message -> !message.isOutgoing)
+                .mapToLong(message -> message.id)
+                .toArray();
+        if (messageIds.length == 0) {
+            return;
+        }
+        tdlibMetrics.send(client, accountId, new TdApi.GetChat(chatId), result -> {
+            if (result instanceof TdApi.Chat chat) {
+                enqueue(client, accountId, chatId, chat.lastReadInboxMessageId, messageIds);
+            } else {
+                log.error("Failed to get chat {} to mark messages as viewed:{}", chatId, result);
+            }
+        });
+    }
+
+    /**
+     * Adds unread messages to the pending submission of the chat, scheduling it if there is none
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     * @param lastReadInboxMessageId the identifier of the last read incoming message of the chat
+     * @param messageIds the identifiers of fetched incoming messages
+     */
+    private void enqueue(final Client client, final String accountId, final long chatId, final long lastReadInboxMessageId,
+                         final long[] messageIds) {
+        final List<Object> key = List.of(accountId, chatId);
+        pendingReads.compute(key, (chat, pending) -> {
+            final Submitted chatSubmitted = submitted.get(key);
+            final long readUpTo = Math.max(lastReadInboxMessageId, Objects.isNull(chatSubmitted) ? 0 : chatSubmitted.upTo());
+            final PendingRead read = Objects.isNull(pending) ? new PendingRead(client) : pending;
+            for (long messageId : messageIds) {
+                if (messageId > readUpTo) {
+                    read.messageIds.add(messageId);
+                }
+            }
+            if (read.messageIds.isEmpty()) {
+                return null;
+            }
+            if (Objects.isNull(pending)) {
+                flushExecutor.schedule(() -> flush(accountId, chatId), COALESCE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return read;
+        });
+    }
+
+    /**
+     * Sends the pending submission of the chat as ViewMessages requests
+     * Submitted messages are not submitted again by other loads until the requests are answered.
+     *
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     */
+    private void flush(final String accountId, final long chatId) {
+        final List<Object> key = List.of(accountId, chatId);
+        final AtomicReference<PendingRead> flushed = new AtomicReference<>();
+        pendingReads.computeIfPresent(key, (chat, read) -> {
+            final long last = read.messageIds.last();
+            submitted.merge(key, new Submitted(0, last, System.nanoTime()),
+                    (previous, current) -> new Submitted(previous.confirmedUpTo(), Math.max(previous.pendingUpTo(), last), current.updatedAt()));
+            flushed.set(read);
+            return null;
+        });
+        final PendingRead read = flushed.get();
+        if (Objects.isNull(read)) {
+            return;
+        }
+        sendBatch(read.client, accountId, chatId, new ArrayList<>(read.messageIds), 0);
+    }
+
+    /**
+     * Sends a ViewMessages request of the messages starting at the given index, the next batch is sent once it succeeds
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     * @param messageIds the ascending identifiers of the submitted messages
+     * @param from the index of the first message of the batch
+     */
+    private void sendBatch(final Client client, final String accountId, final long chatId, final List<Long> messageIds, final int from) {
+        final List<Object> key = List.of(accountId, chatId);
+        final int to = Math.min(from + MAX_VIEW_BATCH, messageIds.size());
+        final TdApi.ViewMessages viewMessages = new TdApi.ViewMessages();
+        viewMessages.chatId = chatId;
+        viewMessages.messageIds = messageIds.subList(from, to).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        viewMessages.forceRead = true;
+
+        tdlibMetrics.send(client, accountId, viewMessages, response -> {
+            if (response instanceof TdApi.Ok) {
+                log.info("{} messages of chat {} marked as viewed.", viewMessages.messageIds.length, chatId);
+                submitted.computeIfPresent(key, (chat, chatSubmitted) -> new Submitted(
+                        Math.max(chatSubmitted.confirmedUpTo(), messageIds.get(to - 1)), chatSubmitted.pendingUpTo(), System.nanoTime()));
+                if (to < messageIds.size()) {
+                    sendBatch(client, accountId, chatId, messageIds, to);
+                }
+            } else {
+                log.error("Failed to mark messages as viewed:{}", response);
+                submitted.computeIfPresent(key, (chat, chatSubmitted) -> new Submitted(
+                        chatSubmitted.confirmedUpTo(), chatSubmitted.confirmedUpTo(), System.nanoTime()));
+            }
+        });
+    }
+
+    /**
+     * Forgets submissions not updated within the retention time, TDLib reports their messages as read by then
+     */
+    private void purgeSubmitted() {
+        final long now = System.nanoTime();
+        submitted.values().removeIf(chatSubmitted -> now - chatSubmitted.updatedAt() > SUBMITTED_RETENTION.toNanos());
+    }
+
+    /**
+     * Messages of a chat submitted to be marked as read
+     *
+     * @param confirmedUpTo the identifier of the last message whose request succeeded
+     * @param pendingUpTo the identifier of the last submitted message
+     * @param updatedAt the System.nanoTime() of the last submission or response
+     */
+    private record Submitted(long confirmedUpTo, long pendingUpTo, long updatedAt) {
+        private long upTo() {
+            return Math.max(confirmedUpTo, pendingUpTo);
+        }
+    }
+
+    /**
+     * Messages of a chat waiting to be marked as read
+     */
+    private static final class PendingRead {
+        private final Client client;
+        private final TreeSet<Long> messageIds = new TreeSet<>();
+
+        private PendingRead(final Client client) {
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.TelegramContentType;
+import com.sdc.telegram.domain.dto.TelegramMessageSearchFilterDto;
+import com.sdc.telegram.domain.dto.TelegramMessagesPageDto;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Service for server-side search of Telegram messages with cursor pagination
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramSearchService {
+    private static final String SEARCH_LATENCY_METRIC = "telegram.search.latency";
+    private static final String SEARCH_RESULTS_METRIC = "telegram.search.results";
+    private static final String SCOPE_TAG = "scope";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String CHAT_SCOPE = "chat";
+    private static final String GLOBAL_SCOPE = "global";
+
+    private final TelegramClientManager clientManager;
+    private final TelegramService telegramService;
+    private final TdlibMetrics tdlibMetrics;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Searches messages in a single chat
+     * The cursor is the identifier of the message to continue from, the date range is applied by seeking
+     * to the maximum date and stopping at the minimum date
+     *
+     * @param chatId the chat identifier
+     * @param filter the search filter
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param limit the maximum number of messages to fetch per page
+     * @param accountId the account identifier
+     * @return page of found messages
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public TelegramMessagesPageDto searchChatMessages(final Long chatId, final TelegramMessageSearchFilterDto filter, final String cursor,
+                                                      final int limit, final String accountId) throws ExecutionException, InterruptedException {
+        final Client client = clientManager.getClient(accountId);
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        TelegramMessagesPageDto page = null;
+        try {
+            page = doSearchChatMessages(chatId, filter, cursor, limit, client, accountId);
+            return page;
+        } finally {
+            recordSearch(sample, CHAT_SCOPE, page);
+        }
+    }
+
+    private TelegramMessagesPageDto doSearchChatMessages(final Long chatId, final TelegramMessageSearchFilterDto filter, final String cursor,
+                                                         final int limit, final Client client, final String accountId)
+            throws ExecutionException, InterruptedException {
+        long fromMessageId = parseMessageCursor(cursor);
+        if (fromMessageId == 0 && Objects.nonNull(filter.getMaxDate())) {
+            fromMessageId = findMessageIdByDate(chatId, filter.getMaxDate(), client, accountId);
+        }
+
+        final TdApi.SearchChatMessages request = new TdApi.SearchChatMessages();
+        request.chatId = chatId;
+        request.query = Objects.requireNonNullElse(filter.getQuery(), "");
+        request.senderId = Objects.nonNull(filter.getSenderUserId()) ? new TdApi.MessageSenderUser(filter.getSenderUserId()) : null;
+        request.fromMessageId = fromMessageId;
+        request.offset = 0;
+        request.limit = limit;
+        request.filter = toSearchMessagesFilter(filter.getContentType());
+
+        final CompletableFuture<TdApi.FoundChatMessages> future = new CompletableFuture<>();
+        tdlibMetrics.send(client, accountId, request, result -> {
+            if (result instanceof TdApi.FoundChatMessages found) {
+                future.complete(found);
+            } else {
+                future.completeExceptionally(new RuntimeException("Failed to search messages in chat " + chatId + ": " + result));
+            }
+        });
+
+        final TdApi.FoundChatMessages found = future.get();
+        final List<TdApi.Message> messages = Arrays.asList(found.messages);
+        final boolean reachedMinDate = Objects.nonNull(filter.getMinDate()) && !messages.isEmpty()
+                && messages.get(messages.size() - 1).date < filter.getMinDate();
+        final String nextCursor = found.nextFromMessageId == 0 || reachedMinDate ? null : String.valueOf(found.nextFromMessageId);
+
+        return new TelegramMessagesPageDto(toDtos(messages, filter), found.totalCount, nextCursor);
+    }
+
+    /**
+     * Searches messages across all chats of the main chat list
+     * The cursor is the offset returned by TDLib with the previous page
+     *
+     * @param filter the search filter
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param limit the maximum number of messages to fetch per page
+     * @param accountId the account identifier
+     * @return page of found messages
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public TelegramMessagesPageDto searchMessages(final TelegramMessageSearchFilterDto filter, final String cursor, final int limit,
+                                                  final String accountId) throws ExecutionException, InterruptedException {
+        final Client client = clientManager.getClient(accountId);
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        TelegramMessagesPageDto page = null;
+        try {
+            page = doSearchMessages(filter, cursor, limit, client, accountId);
+            return page;
+        } finally {
+            recordSearch(sample, GLOBAL_SCOPE, page);
+        }
+    }
+
+    private TelegramMessagesPageDto doSearchMessages(final TelegramMessageSearchFilterDto filter, final String cursor, final int limit,
+                                                     final Client client, final String accountId) throws ExecutionException, InterruptedException {
+        final TdApi.SearchMessages request = new TdApi.SearchMessages();
+        request.chatList = new TdApi.ChatListMain();
+        request.query = Objects.requireNonNullElse(filter.getQuery(), "");
+        request.offset = Objects.requireNonNullElse(cursor, "");
+        request.limit = limit;
+        request.filter = toSearchMessagesFilter(filter.getContentType());
+        request.minDate = Objects.requireNonNullElse(filter.getMinDate(), 0);
+        request.maxDate = Objects.requireNonNullElse(filter.getMaxDate(), 0);
+
+        final CompletableFuture<TdApi.FoundMessages> future = new CompletableFuture<>();
+        tdlibMetrics.send(client, accountId, request, result -> {
+            if (result instanceof TdApi.FoundMessages found) {
+                future.complete(found);
+            } else {
+                future.completeExceptionally(new RuntimeException("Failed to search messages: " + result));
+            }
+        });
+
+        final TdApi.FoundMessages found = future.get();
+        final String nextCursor = Objects.isNull(found.nextOffset) || found.nextOffset.isEmpty() ? null : found.nextOffset;
+
+        return new TelegramMessagesPageDto(toDtos(Arrays.asList(found.messages), filter), found.totalCount, nextCursor);
+    }
+
+    /**
+     * Finds the identifier of the last message sent before the given date
+     *
+     * @param chatId the chat identifier
+     * @param date the unix time
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @return the message identifier or 0 if there is no such message
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private long findMessageIdByDate(final Long chatId, final int date, final Client client, final String accountId) throws ExecutionException, InterruptedException {
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        tdlibMetrics.send(client, accountId, new TdApi.GetChatMessageByDate(chatId, date), result -> {
+            if (result instanceof TdApi.Message message) {
+                future.complete(message.id);
+            } else {
+                future.complete(0L);
+            }
+        });
+        return future.get();
+    }
+
+    /**
+     * Maps found messages to DTOs applying the filters TDLib can't apply itself
+     *
+     * @param messages the found messages
+     * @param filter the search filter
+     * @return list of message DTOs
+     */
+    private List<MessageTdlibDto> toDtos(final List<TdApi.Message> messages, final TelegramMessageSearchFilterDto filter) {
+        return messages.stream()
+                .filter(message -> Objects.isNull(filter.getMinDate()) || message.date >= filter.getMinDate())
+                .filter(message -> Objects.isNull(filter.getMaxDate()) || message.date <= filter.getMaxDate())
+                .filter(message -> Objects.isNull(filter.getSenderUserId())
+                        || (message.senderId instanceof TdApi.MessageSenderUser sender && sender.userId == filter.getSenderUserId()))
+                .filter(message -> filter.getContentType() != TelegramContentType.TEXT || message.content instanceof TdApi.MessageText)
+                .map(telegramService::toMessageDto)
+                .toList();
+    }
+
+    /**
+     * Converts content type to TDLib search filter
+     *
+     * @param contentType the content type, may be null
+     * @return the search filter
+     */
+    private TdApi.SearchMessagesFilter toSearchMessagesFilter(final TelegramContentType contentType) {
+        if (Objects.isNull(contentType)) {
+            return new TdApi.SearchMessagesFilterEmpty();
+        }
+        return switch (contentType) {
+            case IMAGE -> new TdApi.SearchMessagesFilterPhoto();
+            case VIDEO -> new TdApi.SearchMessagesFilterVideo();
+            case DOCUMENT -> new TdApi.SearchMessagesFilterDocument();
+            case TEXT -> new TdApi.SearchMessagesFilterEmpty();
+        };
+    }
+
+    /**
+     * Parses message identifier cursor
+     *
+     * @param cursor the cursor, may be null
+     * @return the message identifier or 0 for the first page
+     */
+    private long parseMessageCursor(final String cursor) {
+        if (Objects.isNull(cursor) || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Records search latency by outcome and the number of returned results of a successful search
+     *
+     * @param sample the started timer sample
+     * @param scope the search scope
+     * @param page the returned page, null if the search failed
+     */
+    private void recordSearch(final Timer.Sample sample, final String scope, final TelegramMessagesPageDto page) {
+        sample.stop(meterRegistry.timer(SEARCH_LATENCY_METRIC, SCOPE_TAG, scope, OUTCOME_TAG, Objects.isNull(page) ? "error" : "success"));
+        if (Objects.isNull(page)) {
+            return;
+        }
+        meterRegistry.counter(SEARCH_RESULTS_METRIC, SCOPE_TAG, scope).increment(page.getMessages().size());
+        log.info("Search in scope:{} returned {} messages", scope, page.getMessages().size());
+    }
+}
@@ -17,6 +17,8 @@ import com.sdc.telegram.domain.mapper.message.MessageTdlibMapper;
 import com.sdc.telegram.domain.mapper.user.UserTdlibMapper;
 import com.sdc.telegram.domain.model.TelegramCredentials;
 import com.sdc.telegram.repository.TelegramCredentialsRepository;
+import com.sdc.telegram.utils.TdlibMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.drinkless.tdlib.Client;
@@ -33,11 +35,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static com.sdc.telegram.domain.constants.PhotoFileType.PHOTO;
@@ -52,6 +60,10 @@ import static com.sdc.telegram.domain.constants.PhotoFileType.PROFILE;
 @RequiredArgsConstructor
 public class TelegramService {
     private static final Long TELEGRAM_SERVICE_CHAT_ID = 777000L;
+    private static final int SMALL_PROFILE_PHOTO_SIZE = 160;
+    public static final int MAX_ALBUM_SIZE = 10;
+    private static final int ALBUM_UPLOAD_PRIORITY = 16;
+    private static final int ALBUM_PREPROCESSING_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
     private final TelegramClientManager clientManager;
 
     private final ChatTdlibMapper chatMapper;
@@ -60,6 +72,17 @@ public class TelegramService {
 
     private final CurrentUser currentUser;
     private final TelegramCredentialsRepository credentialsRepository;
+    private final TdlibMetrics tdlibMetrics;
+    private final TelegramReadMarker readMarker;
+    private final ExecutorService albumExecutor = Executors.newFixedThreadPool(ALBUM_PREPROCESSING_THREADS);
+
+    /**
+     * Stops the album preprocessing executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        albumExecutor.shutdownNow();
+    }
 
     /**
      * Retrieves all chats for the specified account with their profile photos
@@ -72,15 +95,42 @@ public class TelegramService {
      * @throws InterruptedException if the current thread was interrupted
      */
     public List<ChatTdlibDto> findAllChats(final int limit, final TdApi.ChatList chatList, final String accountId) throws ExecutionException, InterruptedException {
+        return findAllChats(limit, chatList, null, accountId);
+    }
+
+    /**
+     * Retrieves all chats for the specified account with profile photos of the smallest size adequate for the requested one
+     *
+     * @param limit the maximum number of chats to retrieve
+     * @param chatList the type of chat list to retrieve
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @param accountId the account identifier
+     * @return list of chat DTOs with profile photos
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public List<ChatTdlibDto> findAllChats(final int limit, final TdApi.ChatList chatList, final Integer photoSize,
+                                           final String accountId) throws ExecutionException, InterruptedException {
+        return toChatDtos(fetchChatsAsync(limit, chatList, accountId).get(), photoSize, accountId);
+    }
+
+    /**
+     * Fetches chats of a chat list without waiting for the result
+     *
+     * @param limit the maximum number of chats to retrieve
+     * @param chatList the type of chat list to retrieve
+     * @param accountId the account identifier
+     * @return a CompletableFuture containing the chats in the order of the chat list
+     */
+    public CompletableFuture<List<TdApi.Chat>> fetchChatsAsync(final int limit, final TdApi.ChatList chatList, final String accountId) {
         final Client client = clientManager.getClient(accountId);
-        final List<TdApi.Chat> chats = new ArrayList<>();
-        final CompletableFuture<Void> allChatsFuture = new CompletableFuture<>();
+        final CompletableFuture<List<TdApi.Chat>> chatsFuture = new CompletableFuture<>();
 
         final TdApi.GetChats getChats = new TdApi.GetChats();
         getChats.limit = limit;
         getChats.chatList = chatList;
 
-        client.send(getChats, result -> {
+        tdlibMetrics.send(client, accountId, getChats, result -> {
             if (result instanceof TdApi.Chats) {
                 final TdApi.Chats chatIds = (TdApi.Chats) result;
 
@@ -90,29 +140,65 @@ public class TelegramService {
                 }
 
                 CompletableFuture.allOf(chatFutures.toArray(new CompletableFuture[0]))
-                        .thenAccept(v -> {
-                            for (CompletableFuture<TdApi.Chat> future : chatFutures) {
-                                try {
-                                    chats.add(future.get());
-                                } catch (InterruptedException | ExecutionException e) {
-                                    throw new RuntimeException("Error fetching chat details", e);
-                                }
-                            }
-                            allChatsFuture.complete(null);
-                        })
+                        .thenAccept(v -> chatsFuture.complete(chatFutures.stream().map(CompletableFuture::join).toList()))
                         .exceptionally(ex -> {
-                            allChatsFuture.completeExceptionally(ex);
+                            chatsFuture.completeExceptionally(ex);
                             return null;
                         });
             } else {
-                allChatsFuture.completeExceptionally(
+                chatsFuture.completeExceptionally(
                         new RuntimeException("Error fetching chat IDs: " + result));
             }
         });
 
-        allChatsFuture.get();
+        return chatsFuture;
+    }
+
+    /**
+     * Maps chats to DTOs with profile photos of the smallest size adequate for the requested one
+     *
+     * @param chats the chats to map
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @param accountId the account identifier
+     * @return list of chat DTOs with profile photos
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public List<ChatTdlibDto> toChatDtos(final List<TdApi.Chat> chats, final Integer photoSize,
+                                         final String accountId) throws ExecutionException, InterruptedException {
+        final List<ChatTdlibDto> chatTdlibDtos = chatMapper.toDto(chats);
+        getProfilePhotos(chatTdlibDtos, photoSize, accountId);
+        return chatTdlibDtos;
+    }
+
+    /**
+     * Retrieves chats by their identifiers with profile photos of the smallest size adequate for the requested one
+     * Chats that can't be fetched are left out of the result.
+     *
+     * @param chatIds the chat identifiers
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @param accountId the account identifier
+     * @return list of chat DTOs with profile photos
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public List<ChatTdlibDto> findChatsByIds(final List<Long> chatIds, final Integer photoSize, final String accountId) throws ExecutionException, InterruptedException {
+        final Client client = clientManager.getClient(accountId);
+        final List<CompletableFuture<TdApi.Chat>> chatFutures = chatIds.stream()
+                .map(chatId -> fetchChatDetailsAsync(chatId, client))
+                .toList();
+
+        final List<TdApi.Chat> chats = new ArrayList<>();
+        for (CompletableFuture<TdApi.Chat> future : chatFutures) {
+            try {
+                chats.add(future.get());
+            } catch (ExecutionException e) {
+                log.warn("Failed to fetch changed chat for account:{}", accountId, e);
+            }
+        }
+
         final List<ChatTdlibDto> chatTdlibDtos = chatMapper.toDto(chats);
-        getProfilePhotos(chatTdlibDtos, accountId);
+        getProfilePhotos(chatTdlibDtos, photoSize, accountId);
         return chatTdlibDtos;
     }
 
@@ -130,7 +216,7 @@ public class TelegramService {
 
         CompletableFuture<List<TdApi.ChatList>> folderIdsFuture = new CompletableFuture<>();
 
-        client.send(new TdApi.GetChatListsToAddChat(TELEGRAM_SERVICE_CHAT_ID), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetChatListsToAddChat(TELEGRAM_SERVICE_CHAT_ID), result -> {
             if (result instanceof TdApi.ChatLists lists) {
                 folderIdsFuture.complete(Arrays.asList(lists.chatLists));
             } else {
@@ -152,7 +238,7 @@ public class TelegramService {
         final List<TelegramChatFolderDto> chatFolders = new ArrayList<>();
         for (Integer chatFolderId : chatFolderIds) {
             CompletableFuture<TdApi.ChatFolder> folderInfoFuture = new CompletableFuture<>();
-            client.send(new TdApi.GetChatFolder(chatFolderId), result -> {
+            tdlibMetrics.send(client, accountId, new TdApi.GetChatFolder(chatFolderId), result -> {
                 if (result instanceof TdApi.ChatFolder folder) {
                     folderInfoFuture.complete(folder);
                 } else {
@@ -180,7 +266,7 @@ public class TelegramService {
         final CompletableFuture<Long> future = new CompletableFuture<>();
         final TdApi.SearchPublicChat search = new TdApi.SearchPublicChat(username);
 
-        client.send(search, result -> {
+        tdlibMetrics.send(client, accountId, search, result -> {
             if (result instanceof TdApi.Chat) {
                 future.complete(((TdApi.Chat) result).id);
             } else {
@@ -208,7 +294,7 @@ public class TelegramService {
 
         final TdApi.GetMessage getMessage = new TdApi.GetMessage(chatId, messageId);
         final CompletableFuture<TdApi.Message> messageFuture = new CompletableFuture<>();
-        client.send(getMessage, result -> {
+        tdlibMetrics.send(client, accountId, getMessage, result -> {
             if (result instanceof TdApi.Message) {
                 messageFuture.complete((TdApi.Message) result);
             } else if (result instanceof TdApi.Error){
@@ -216,7 +302,16 @@ public class TelegramService {
             }
         });
 
-        final TdApi.Message message = messageFuture.get();
+        return toMessageDto(messageFuture.get());
+    }
+
+    /**
+     * Maps a TDLib message to DTO and sets media remote IDs if applicable
+     *
+     * @param message the TDLib message
+     * @return the message DTO with media remote IDs
+     */
+    public MessageTdlibDto toMessageDto(final TdApi.Message message) {
         final MessageTdlibDto result = messageMapper.toDto(message);
         if (message.content instanceof TdApi.MessagePhoto){
             TdApi.PhotoSize bestSize = getPhotoSize(((TdApi.MessagePhoto) message.content).photo.sizes);
@@ -255,7 +350,7 @@ public class TelegramService {
         final CompletableFuture<Long> future = new CompletableFuture<>();
         final TdApi.CreatePrivateChat createChat = new TdApi.CreatePrivateChat(userId, false);
 
-        client.send(createChat, result -> {
+        tdlibMetrics.send(client, accountId, createChat, result -> {
             if (result instanceof TdApi.Chat) {
                 final TdApi.Chat chat = (TdApi.Chat) result;
                 future.complete(chat.id);
@@ -289,7 +384,7 @@ public class TelegramService {
                 true
         );
 
-        client.send(sendMessage, result -> {
+        tdlibMetrics.send(client, accountId, sendMessage, result -> {
             if (result instanceof TdApi.Message) {
                 log.info("Message sent successfully:{}", ((TdApi.Message) result).id);
             } else {
@@ -327,30 +422,8 @@ public class TelegramService {
         final List<MessageTdlibDto> dtos = new ArrayList<>();
 
         if (!allMessages.isEmpty()){
-            readFetchedMessages(allMessages, chatId, client);
-            allMessages.forEach(message -> {
-                final MessageTdlibDto dto = messageMapper.toDto(message);
-                if (message.content instanceof TdApi.MessagePhoto){
-                    TdApi.PhotoSize bestSize = getPhotoSize(((TdApi.MessagePhoto) message.content).photo.sizes);
-                    String remoteFileId = bestSize.photo.remote.id;
-                    if (remoteFileId != null && !remoteFileId.isEmpty()) {
-                        dto.setPhotoRemoteId(PHOTO.getTitle() + remoteFileId);
-                    }
-                } else if (message.content instanceof TdApi.MessageVideo) {
-                    TdApi.Video video = ((TdApi.MessageVideo) message.content).video;
-                    String remoteFileId = video.video.remote.id;
-                    if (remoteFileId != null && !remoteFileId.isEmpty()){
-                        dto.setVideoRemoteId(remoteFileId);
-                    }
-                } else if (message.content instanceof TdApi.MessageDocument) {
-                    TdApi.Document document = ((TdApi.MessageDocument) message.content).document;
-                    String remoteFileId = document.document.remote.id;
-                    if (remoteFileId != null && !remoteFileId.isEmpty()){
-                        dto.setDocumentRemoteId(remoteFileId);
-                    }
-                }
-                dtos.add(dto);
-            });
+            readMarker.markRead(client, accountId, chatId, allMessages);
+            allMessages.forEach(message -> dtos.add(toMessageDto(message)));
             setReadStatusOutbox(dtos, chatId, client);
         }
 
@@ -367,6 +440,7 @@ public class TelegramService {
      * @throws InterruptedException if the current thread was interrupted
      */
     private void setReadStatusOutbox(final List<MessageTdlibDto> dtos, final Long chatId, final Client client) throws ExecutionException, InterruptedException {
+        final String accountId = clientManager.getAccountIdForClient(client);
         final TdApi.Chat chat = fetchChatDetailsAsync(chatId, client).get();
 
         if (Objects.isNull(chat.lastMessage) || chat.lastReadOutboxMessageId == 0){
@@ -377,7 +451,7 @@ public class TelegramService {
         CompletableFuture<TdApi.Message> messageFuture = new CompletableFuture<>();
         final TdApi.GetMessage getMessage = new TdApi.GetMessage(chatId, chat.lastReadOutboxMessageId);
 
-        client.send(getMessage, result -> {
+        tdlibMetrics.send(client, accountId, getMessage, result -> {
             if (result instanceof TdApi.Message) {
                 messageFuture.complete((TdApi.Message) result);
             } else {
@@ -396,11 +470,12 @@ public class TelegramService {
      * Fetches and sets profile photo URLs for all chats in the list
      *
      * @param chats the list of chat DTOs to update
+     * @param photoSize the requested photo size in pixels, null for the default size
      * @param accountId the account identifier
      * @throws ExecutionException if the computation threw an exception
      * @throws InterruptedException if the current thread was interrupted
      */
-    private void getProfilePhotos(final List<ChatTdlibDto> chats, final String accountId) throws ExecutionException, InterruptedException {
+    private void getProfilePhotos(final List<ChatTdlibDto> chats, final Integer photoSize, final String accountId) throws ExecutionException, InterruptedException {
         final Client client = clientManager.getClient(accountId);
         for (ChatTdlibDto chat : chats) {
             final ChatTypeTdlib type = chat.getType();
@@ -408,7 +483,7 @@ public class TelegramService {
                 final Long userId = ((ChatTypePrivateDto) type).getUserId();
                 TdApi.GetUser request = new TdApi.GetUser(userId);
                 CompletableFuture<TdApi.User> future = new CompletableFuture<>();
-                client.send(request, object -> {
+                tdlibMetrics.send(client, accountId, request, object -> {
                     if (object instanceof TdApi.User) {
                         future.complete((TdApi.User) object);
                     } else {
@@ -419,13 +494,15 @@ public class TelegramService {
                 });
                 final TdApi.User user = future.get();
                 if (Objects.nonNull(user.profilePhoto) && Objects.nonNull(user.profilePhoto.big)){
-                    chat.setProfilePhotoUrl(PROFILE.getTitle() + user.profilePhoto.big.remote.id);
+                    final TdApi.File photo = Objects.nonNull(photoSize) && photoSize <= SMALL_PROFILE_PHOTO_SIZE
+                            && Objects.nonNull(user.profilePhoto.small) ? user.profilePhoto.small : user.profilePhoto.big;
+                    chat.setProfilePhotoUrl(PROFILE.getTitle() + photo.remote.id);
                 }
             } else if (type instanceof ChatTypeBasicGroupDto) {
                 final Long groupId = ((ChatTypeBasicGroupDto) type).getBasicGroupId();
                 TdApi.GetBasicGroup request = new TdApi.GetBasicGroup(groupId);
                 CompletableFuture<TdApi.BasicGroup> future = new CompletableFuture<>();
-                client.send(request, object -> {
+                tdlibMetrics.send(client, accountId, request, object -> {
                     if (object instanceof TdApi.BasicGroup) {
                         future.complete((TdApi.BasicGroup) object);
                     }  else {
@@ -438,7 +515,7 @@ public class TelegramService {
 
                 CompletableFuture<TdApi.BasicGroupFullInfo> infoFuture = new CompletableFuture<>();
                 final TdApi.GetBasicGroupFullInfo fullInfoRequest = new TdApi.GetBasicGroupFullInfo(groupId);
-                client.send(fullInfoRequest, object -> {
+                tdlibMetrics.send(client, accountId, fullInfoRequest, object -> {
                     if (object instanceof TdApi.BasicGroupFullInfo) {
                         infoFuture.complete((TdApi.BasicGroupFullInfo) object);
                     } else {
@@ -449,13 +526,13 @@ public class TelegramService {
                 });
                 final TdApi.BasicGroupFullInfo info = infoFuture.get();
                 if (Objects.nonNull(info.photo)){
-                    chat.setProfilePhotoUrl(PHOTO.getTitle() + getPhotoSize(info.photo.sizes).photo.remote.id);
+                    chat.setProfilePhotoUrl(PHOTO.getTitle() + getPhotoSize(info.photo.sizes, photoSize).photo.remote.id);
                 }
             } else if (type instanceof ChatTypeSupergroupDto) {
                 final Long supergroupId = ((ChatTypeSupergroupDto) type).getSupergroupId();
                 TdApi.GetSupergroup request = new TdApi.GetSupergroup(supergroupId);
                 CompletableFuture<TdApi.Supergroup> future = new CompletableFuture<>();
-                client.send(request, object -> {
+                tdlibMetrics.send(client, accountId, request, object -> {
                     if (object instanceof TdApi.Supergroup) {
                         future.complete((TdApi.Supergroup) object);
                     } else {
@@ -468,7 +545,7 @@ public class TelegramService {
 
                 CompletableFuture<TdApi.SupergroupFullInfo> infoFuture = new CompletableFuture<>();
                 final TdApi.GetSupergroupFullInfo fullInfoRequest = new TdApi.GetSupergroupFullInfo(supergroupId);
-                client.send(fullInfoRequest, object -> {
+                tdlibMetrics.send(client, accountId, fullInfoRequest, object -> {
                     if (object instanceof TdApi.SupergroupFullInfo) {
                         infoFuture.complete((TdApi.SupergroupFullInfo) object);
                     } else {
@@ -480,7 +557,7 @@ public class TelegramService {
                 final TdApi.SupergroupFullInfo info = infoFuture.get();
 
                 if (Objects.nonNull(info.photo)){
-                    chat.setProfilePhotoUrl(PHOTO.getTitle() + getPhotoSize(info.photo.sizes).photo.remote.id);
+                    chat.setProfilePhotoUrl(PHOTO.getTitle() + getPhotoSize(info.photo.sizes, photoSize).photo.remote.id);
                 }
             }
         }
@@ -507,7 +584,7 @@ public class TelegramService {
         setProfilePhoto.photo = new TdApi.InputChatPhotoStatic();
         ((TdApi.InputChatPhotoStatic) setProfilePhoto.photo).photo = inputFile;
 
-        client.send(setProfilePhoto, result -> {
+        tdlibMetrics.send(client, accountId, setProfilePhoto, result -> {
             if (result instanceof TdApi.Error) {
                 log.error("Failed to set profile photo:{} ", ((TdApi.Error) result).message);
             } else {
@@ -554,7 +631,7 @@ public class TelegramService {
         sendMessage.inputMessageContent = new TdApi.InputMessagePhoto(new TdApi.InputFileLocal(tempFile.getAbsolutePath()), null, null,
                 image.getWidth(), image.getHeight(), new TdApi.FormattedText(message, null), false, null, false);
 
-        client.send(sendMessage, result -> {
+        tdlibMetrics.send(client, accountId, sendMessage, result -> {
             if (result instanceof TdApi.Message) {
                 log.info("Image message sent successfully:{}", ((TdApi.Message) result).id);
             } else {
@@ -569,6 +646,123 @@ public class TelegramService {
         });
     }
 
+    /**
+     * Sends photos and videos to a specified chat as one album with optional caption
+     * Files are preprocessed in parallel and each one starts uploading as soon as it is ready,
+     * so the album is sent with a single request once all uploads are started.
+     *
+     * @param chatId the chat identifier
+     * @param files the photo and video files to send
+     * @param message the caption text for the album
+     * @param accountId the account identifier
+     */
+    public void sendAlbumMessage(final Long chatId, final List<MultipartFile> files, final String message, final String accountId) {
+        if (files.size() < 2 || files.size() > MAX_ALBUM_SIZE) {
+            throw new RuntimeException("Album must contain from 2 to " + MAX_ALBUM_SIZE + " files");
+        }
+        final Client client = clientManager.getClient(accountId);
+
+        final List<CompletableFuture<AlbumItem>> uploads = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> prepareAlbumItem(file), albumExecutor)
+                        .thenCompose(item -> uploadAlbumItem(client, accountId, item)))
+                .toList();
+        final List<AlbumItem> items;
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+            items = uploads.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            uploads.forEach(upload -> upload.thenAccept(item -> cancelAlbumItem(client, accountId, item)));
+            throw new RuntimeException("Failed to prepare album", e.getCause());
+        }
+
+        final TdApi.InputMessageContent[] contents = new TdApi.InputMessageContent[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            final AlbumItem item = items.get(i);
+            final TdApi.FormattedText caption = i == 0 ? new TdApi.FormattedText(message, null) : null;
+            final TdApi.InputFile inputFile = new TdApi.InputFileId(item.fileId);
+            contents[i] = item.video
+                    ? new TdApi.InputMessageVideo(inputFile, null, null, 0, 0, 0, false, caption, false, null, false)
+                    : new TdApi.InputMessagePhoto(inputFile, null, null, item.width, item.height, caption, false, null, false);
+        }
+
+        final TdApi.SendMessageAlbum sendAlbum = new TdApi.SendMessageAlbum();
+        sendAlbum.chatId = chatId;
+        sendAlbum.inputMessageContents = contents;
+
+        tdlibMetrics.send(client, accountId, sendAlbum, result -> {
+            if (result instanceof TdApi.Messages) {
+                log.info("Album of {} messages sent successfully to chat {}", ((TdApi.Messages) result).totalCount, chatId);
+                final Map<Integer, File> tempFiles = new HashMap<>();
+                items.forEach(item -> tempFiles.put(item.fileId, item.file));
+                pollUntilUploaded(client, tempFiles);
+            } else {
+                log.error("Failed to send album:{}", result);
+                items.forEach(item -> cancelAlbumItem(client, accountId, item));
+            }
+        });
+    }
+
+    /**
+     * Copies an album file to a temporary file, resizing photos that are too large
+     *
+     * @param file the photo or video file
+     * @return the album item with the temporary file
+     */
+    private AlbumItem prepareAlbumItem(final MultipartFile file) {
+        try {
+            if (Objects.nonNull(file.getContentType()) && file.getContentType().startsWith("video/")) {
+                final File tempFile = File.createTempFile("upload-", ".mp4");
+                file.transferTo(tempFile);
+                return new AlbumItem(tempFile, true, 0, 0);
+            }
+
+            final File tempFile = convertMultipartFileToFile(file);
+            final BufferedImage image = ImageIO.read(tempFile);
+            if (Objects.isNull(image)) {
+                tempFile.delete();
+                throw new RuntimeException("Album file is neither a photo nor a video: " + file.getOriginalFilename());
+            }
+            final BufferedImage resizedImage = resizeIfTooLarge(image);
+            if (resizedImage != image) {
+                ImageIO.write(resizedImage, getImageFormat(file.getOriginalFilename()), tempFile);
+            }
+            return new AlbumItem(tempFile, false, resizedImage.getWidth(), resizedImage.getHeight());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to process album file", e);
+        }
+    }
+
+    /**
+     * Starts uploading an album file before the album is sent
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param item the album item to upload
+     * @return a CompletableFuture containing the album item with its file identifier
+     */
+    private CompletableFuture<AlbumItem> uploadAlbumItem(final Client client, final String accountId, final AlbumItem item) {
+        final CompletableFuture<AlbumItem> future = new CompletableFuture<>();
+        final TdApi.PreliminaryUploadFile upload = new TdApi.PreliminaryUploadFile();
+        upload.file = new TdApi.InputFileLocal(item.file.getAbsolutePath());
+        upload.fileType = item.video ? new TdApi.FileTypeVideo() : new TdApi.FileTypePhoto();
+        upload.priority = ALBUM_UPLOAD_PRIORITY;
+
+        tdlibMetrics.send(client, accountId, upload, result -> {
+            if (result instanceof TdApi.File) {
+                item.fileId = ((TdApi.File) result).id;
+                future.complete(item);
+            } else {
+                item.file.delete();
+                future.completeExceptionally(new RuntimeException("Failed to upload album file: " + result));
+            }
+        });
+        return future;
+    }
+
+    private void cancelAlbumItem(final Client client, final String accountId, final AlbumItem item) {
+        tdlibMetrics.send(client, accountId, new TdApi.CancelPreliminaryUploadFile(item.fileId), result -> item.file.delete());
+    }
+
     /**
      * Sends a video message to a specified chat with optional caption
      *
@@ -578,9 +772,6 @@ public class TelegramService {
      * @param accountId the account identifier
      */
     public void sendVideoMessage(final Long chatId, final MultipartFile file, final String message, final String accountId) {
-        final Client client = clientManager.getClient(accountId);
-
-        final TdApi.SendMessage sendMessage = new TdApi.SendMessage();
         File tempFile;
         try {
             tempFile = File.createTempFile("upload-", ".mp4");
@@ -588,17 +779,31 @@ public class TelegramService {
         }  catch (IOException e) {
             throw new RuntimeException("Failed to process video", e);
         }
+        sendVideoFile(chatId, tempFile, message, accountId);
+    }
+
+    /**
+     * Sends a video message from a local temporary file, which is deleted once uploaded
+     *
+     * @param chatId the chat identifier
+     * @param tempFile the temporary video file to send
+     * @param message the caption text for the video
+     * @param accountId the account identifier
+     */
+    public void sendVideoFile(final Long chatId, final File tempFile, final String message, final String accountId) {
+        final Client client = clientManager.getClient(accountId);
 
+        final TdApi.SendMessage sendMessage = new TdApi.SendMessage();
         TdApi.InputFileLocal inputFile = new TdApi.InputFileLocal(tempFile.getAbsolutePath());
         sendMessage.chatId = chatId;
         sendMessage.inputMessageContent = new TdApi.InputMessageVideo(inputFile, null, null, 0, 0, 0, false, new TdApi.FormattedText(message, null), false, null, false);
 
-        client.send(sendMessage, result -> {
+        tdlibMetrics.send(client, accountId, sendMessage, result -> {
             if (result instanceof TdApi.Message) {
                 log.info("Video message sent successfully:{}", ((TdApi.Message) result).id);
                 if (((TdApi.Message) result).content  instanceof TdApi.MessageVideo videoContent) {
                     int fileId = videoContent.video.video.id;
-                    pollUntilUploaded(client, fileId, tempFile);
+                    pollUntilUploaded(client, Map.of(fileId, tempFile));
                 } else {
                     log.warn("Content was not a video");
                 }
@@ -611,44 +816,53 @@ public class TelegramService {
     }
 
     /**
-     * Polls the upload status of a file and deletes temporary file when completed
+     * Polls the upload status of files and deletes their temporary files when completed
      *
      * @param client the Telegram client
-     * @param fileId the file identifier
-     * @param tempFile the temporary file to delete after upload
+     * @param tempFiles the temporary files to delete after upload by file identifier
      */
-    private void pollUntilUploaded(final Client client, final int fileId, File tempFile) {
-        Executors.newSingleThreadExecutor().submit(() -> {
+    private void pollUntilUploaded(final Client client, final Map<Integer, File> tempFiles) {
+        final String accountId = clientManager.getAccountIdForClient(client);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> {
             try {
                 int maxTries = 60;
                 int delayMs = 1000;
+                final Map<Integer, File> pending = new HashMap<>(tempFiles);
+
+                for (int i = 0; i < maxTries && !pending.isEmpty(); i++) {
+                    final Iterator<Map.Entry<Integer, File>> iterator = pending.entrySet().iterator();
+                    while (iterator.hasNext()) {
+                        final Map.Entry<Integer, File> entry = iterator.next();
+                        TdApi.GetFile getFile = new TdApi.GetFile(entry.getKey());
+                        CountDownLatch latch = new CountDownLatch(1);
+                        final TdApi.File[] fileRef = new TdApi.File[1];
+
+                        tdlibMetrics.send(client, accountId, getFile, response -> {
+                            if (response instanceof TdApi.File) {
+                                fileRef[0] = (TdApi.File) response;
+                            }
+                            latch.countDown();
+                        });
 
-                for (int i = 0; i < maxTries; i++) {
-                    TdApi.GetFile getFile = new TdApi.GetFile(fileId);
-                    CountDownLatch latch = new CountDownLatch(1);
-                    final TdApi.File[] fileRef = new TdApi.File[1];
+                        latch.await();
 
-                    client.send(getFile, response -> {
-                        if (response instanceof TdApi.File) {
-                            fileRef[0] = (TdApi.File) response;
+                        if (fileRef[0] != null && fileRef[0].remote != null && fileRef[0].remote.isUploadingCompleted) {
+                            boolean deleted = entry.getValue().delete();
+                            log.info("Temp file {} deleted after upload completion: {}", entry.getValue().getName(), deleted);
+                            iterator.remove();
                         }
-                        latch.countDown();
-                    });
-
-                    latch.await();
-
-                    if (fileRef[0] != null && fileRef[0].remote != null && fileRef[0].remote.isUploadingCompleted) {
-                        boolean deleted = tempFile.delete();
-                        log.info("Temp file {} deleted after upload completion: {}", tempFile.getName(), deleted);
-                        break;
                     }
 
-                    Thread.sleep(delayMs);
+                    if (!pending.isEmpty()) {
+                        Thread.sleep(delayMs);
+                    }
                 }
             } catch (Exception e) {
                 log.error("Error while checking file upload status", e);
             }
         });
+        executor.shutdown();
     }
 
     /**
@@ -706,9 +920,6 @@ public class TelegramService {
      * @param accountId the account identifier
      */
     public void sendDocumentMessage(final Long chatId, final MultipartFile file, final String message, final String accountId) {
-        final Client client = clientManager.getClient(accountId);
-
-        TdApi.SendMessage sendMessage = new TdApi.SendMessage();
         File tempFile;
         try {
             String fileName = Objects.nonNull(file.getOriginalFilename()) ? file.getOriginalFilename() : "document";
@@ -717,14 +928,29 @@ public class TelegramService {
         } catch (IOException e){
             throw new RuntimeException("Failed to process document", e);
         }
+        sendDocumentFile(chatId, tempFile, message, accountId);
+    }
 
+    /**
+     * Sends a document message from a local temporary file, which is deleted once sent
+     * The name of the file is used as the name of the document
+     *
+     * @param chatId the chat identifier
+     * @param tempFile the temporary document file to send
+     * @param message the caption text for the document
+     * @param accountId the account identifier
+     */
+    public void sendDocumentFile(final Long chatId, final File tempFile, final String message, final String accountId) {
+        final Client client = clientManager.getClient(accountId);
+
+        TdApi.SendMessage sendMessage = new TdApi.SendMessage();
         TdApi.InputFile inputFile = new TdApi.InputFileLocal(tempFile.getAbsolutePath());
         TdApi.FormattedText caption = new TdApi.FormattedText(message, null);
 
         sendMessage.chatId = chatId;
         sendMessage.inputMessageContent = new TdApi.InputMessageDocument(inputFile, null, false, caption);
 
-        client.send(sendMessage, result -> {
+        tdlibMetrics.send(client, accountId, sendMessage, result -> {
             if (result instanceof TdApi.Message) {
                 log.info("Message sent successfully:{}", ((TdApi.Message) result).id);
             } else {
@@ -757,7 +983,7 @@ public class TelegramService {
         getChats.limit = 1000;
         getChats.chatList = new TdApi.ChatListMain();
 
-        client.send(getChats, result -> {
+        tdlibMetrics.send(client, accountId, getChats, result -> {
             if (result instanceof TdApi.Chats) {
                 final TdApi.Chats chatIds = (TdApi.Chats) result;
 
@@ -805,7 +1031,7 @@ public class TelegramService {
         final Client client = clientManager.getClient(accountId);
         CompletableFuture<TdApi.User> future = new CompletableFuture<>();
 
-        client.send(new TdApi.GetMe(), response -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetMe(), response -> {
             if (response instanceof TdApi.User) {
                 future.complete((TdApi.User) response);
             } else {
@@ -853,7 +1079,7 @@ public class TelegramService {
         if (client == null) return false;
 
         CompletableFuture<TdApi.AuthorizationState> future = new CompletableFuture<>();
-        client.send(new TdApi.GetAuthorizationState(), response -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetAuthorizationState(), response -> {
             if (response instanceof TdApi.AuthorizationState) {
                 future.complete((TdApi.AuthorizationState) response);
             } else {
@@ -880,11 +1106,12 @@ public class TelegramService {
      * @throws ExecutionException if the computation threw an exception
      * @throws InterruptedException if the current thread was interrupted
      */
-    private List<TdApi.Message> fetchMessageBatch(final Long chatId, final Long fromMessageId, final int limit, final Client client) throws ExecutionException, InterruptedException {
+    public List<TdApi.Message> fetchMessageBatch(final Long chatId, final Long fromMessageId, final int limit, final Client client) throws ExecutionException, InterruptedException {
+        final String accountId = clientManager.getAccountIdForClient(client);
         final CompletableFuture<List<TdApi.Message>> future = new CompletableFuture<>();
         final TdApi.GetChatHistory getChatHistory = createGetChatHistoryRequest(chatId, fromMessageId, limit);
 
-        client.send(getChatHistory, result -> {
+        tdlibMetrics.send(client, accountId, getChatHistory, result -> {
             if (result instanceof TdApi.Messages) {
                 TdApi.Messages messages = (TdApi.Messages) result;
                 future.complete(Arrays.asList(messages.messages));
@@ -930,32 +1157,6 @@ public class TelegramService {
         return tempFile;
     }
 
-    /**
-     * Marks fetched messages as viewed in the chat
-     *
-     * @param messages the list of messages to mark as viewed
-     * @param chatId the chat identifier
-     * @param client the Telegram client
-     */
-    private void readFetchedMessages(final List<TdApi.Message> messages, final Long chatId, final Client client) {
-        List<Long> messageIdsToView = messages.stream()
-                .filter(msg -> !msg.isOutgoing)
-                .map(msg -> msg.id)
-                .toList();
-        TdApi.ViewMessages viewMessages = new TdApi.ViewMessages();
-        viewMessages.chatId = chatId;
-        viewMessages.messageIds = messageIdsToView.stream().mapToLong(Long::longValue).toArray();
-        viewMessages.forceRead = true;
-
-        client.send(viewMessages, response -> {
-            if (response instanceof TdApi.Ok) {
-                log.info("Messages marked as viewed.");
-            } else {
-                log.error("Failed to mark messages as viewed:{}", response);
-            }
-        });
-    }
-
     /**
      * Retrieves user information by user ID
      *
@@ -970,7 +1171,7 @@ public class TelegramService {
 
         TdApi.GetUser request = new TdApi.GetUser(userId);
         CompletableFuture<TdApi.User> future = new CompletableFuture<>();
-        client.send(request, object -> {
+        tdlibMetrics.send(client, accountId, request, object -> {
             if (object instanceof TdApi.User) {
                 future.complete((TdApi.User) object);
             } else {
@@ -1003,6 +1204,26 @@ public class TelegramService {
         return bestSize;
     }
 
+    /**
+     * Selects the smallest photo size that is not smaller than the requested one
+     * Falls back to the largest available size when none is big enough
+     *
+     * @param photoSizes array of available photo sizes
+     * @param requestedSize the requested size in pixels, null for the default medium or big size
+     * @return the selected photo size
+     */
+    private TdApi.PhotoSize getPhotoSize(final TdApi.PhotoSize[] photoSizes, final Integer requestedSize) {
+        if (Objects.isNull(requestedSize)) {
+            return getPhotoSize(photoSizes);
+        }
+        return Arrays.stream(photoSizes)
+                .filter(size -> Math.max(size.width, size.height) >= requestedSize)
+                .min(Comparator.comparingInt(size -> Math.max(size.width, size.height)))
+                .orElseGet(() -> Arrays.stream(photoSizes)
+                        .max(Comparator.comparingInt(size -> Math.max(size.width, size.height)))
+                        .orElseThrow(() -> new RuntimeException("Can't process photo sizes, no photo sizes found.")));
+    }
+
     /**
      * Fetches chat details asynchronously
      *
@@ -1011,9 +1232,10 @@ public class TelegramService {
      * @return a CompletableFuture containing the chat details
      */
     private CompletableFuture<TdApi.Chat> fetchChatDetailsAsync(final Long chatId, final Client client) {
+        final String accountId = clientManager.getAccountIdForClient(client);
         final CompletableFuture<TdApi.Chat> future = new CompletableFuture<>();
 
-        client.send(new TdApi.GetChat(chatId), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetChat(chatId), result -> {
             if (result instanceof TdApi.Chat) {
                 future.complete((TdApi.Chat) result);
             } else {
@@ -1033,12 +1255,13 @@ public class TelegramService {
      * @throws InterruptedException if the current thread was interrupted
      */
     private void reloadClientCache(final Client client) throws ExecutionException, InterruptedException {
+        final String accountId = clientManager.getAccountIdForClient(client);
         CompletableFuture<TdApi.Chats> chatsFuture = new CompletableFuture<>();
-        client.send(new TdApi.GetChats(new TdApi.ChatListMain(), 10), result -> {
+        tdlibMetrics.send(client, accountId, new TdApi.GetChats(new TdApi.ChatListMain(), 10), result -> {
             if (result instanceof TdApi.Chats chats) {
                 chatsFuture.complete(chats);
             } else {
-                throw new RuntimeException("Failed to reload clients cache for accountId: " + clientManager.getAccountIdForClient(client));
+                throw new RuntimeException("Failed to reload clients cache for accountId: " + accountId);
             }
         });
         final TdApi.Chats chats = chatsFuture.get();
@@ -1058,7 +1281,7 @@ public class TelegramService {
                 0L
         );
 
-        client.send(new TdApi.SetChatDraftMessage(chatId, 0L, draft), ignore -> {
+        tdlibMetrics.send(client, accountId, new TdApi.SetChatDraftMessage(chatId, 0L, draft), ignore -> {
         });
 
     }
@@ -1072,8 +1295,26 @@ public class TelegramService {
     public void deleteEmptyChat(final Long chatId, final String accountId) {
         final Client client = clientManager.getClient(accountId);
         TdApi.SetChatDraftMessage deleteDraft = new TdApi.SetChatDraftMessage(chatId, 0L, null);
-        client.send(deleteDraft, result -> {
+        tdlibMetrics.send(client, accountId, deleteDraft, result -> {
         });
 
     }
+
+    /**
+     * Photo or video of an album with its temporary file
+     */
+    private static final class AlbumItem {
+        private final File file;
+        private final boolean video;
+        private final int width;
+        private final int height;
+        private volatile int fileId;
+
+        private AlbumItem(final File file, final boolean video, final int width, final int height) {
+            this.file = file;
+            this.video = video;
+            this.width = width;
+            this.height = height;
+        }
+    }
 }
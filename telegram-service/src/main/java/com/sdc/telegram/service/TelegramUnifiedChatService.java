@@ -0,0 +1,267 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.config.security.CurrentUser;
+import com.sdc.telegram.domain.dto.TelegramUnifiedChatsDto;
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import com.sdc.telegram.domain.model.TelegramCredentials;
+import com.sdc.telegram.repository.TelegramCredentialsRepository;
+import com.sdc.telegram.utils.TdlibMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for the chat list of all Telegram accounts of the current user
+ * Accounts are queried concurrently and their chat lists are merged by last message date,
+ * so the unified list costs about as much as the slowest account.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramUnifiedChatService {
+    public static final int MAX_UNIFIED_LIMIT = 100;
+    private static final int MAX_ACCOUNT_DEPTH = 1000;
+    private static final int PHOTO_THREADS = 4;
+    private static final Duration ACCOUNT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Comparator<ChatKey> KEY_ORDER = Comparator.comparingInt(ChatKey::date).reversed()
+            .thenComparing(Comparator.comparingLong(ChatKey::chatId).reversed())
+            .thenComparing(ChatKey::accountId);
+
+    private final TelegramClientManager clientManager;
+    private final TelegramService telegramService;
+    private final TelegramCredentialsRepository credentialsRepository;
+    private final CurrentUser currentUser;
+    private final TdlibMetrics tdlibMetrics;
+    private final ExecutorService photoExecutor = Executors.newFixedThreadPool(PHOTO_THREADS);
+
+    /**
+     * Stops the profile photo executor on application shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        photoExecutor.shutdownNow();
+    }
+
+    /**
+     * Retrieves a page of the main chat lists of all authorized accounts of the current user
+     * Chats are ordered by last message date, the cursor is the position of the last returned chat,
+     * accounts that fail or time out are reported and left out of the page.
+     *
+     * @param limit the maximum number of chats to retrieve
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @return page of chats tagged with their account identifiers
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    public TelegramUnifiedChatsDto findUnifiedChats(final int limit, final String cursor, final Integer photoSize) throws ExecutionException, InterruptedException {
+        if (limit <= 0 || limit > MAX_UNIFIED_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_UNIFIED_LIMIT);
+        }
+        final Cursor after = parseCursor(cursor);
+        final int served = Objects.isNull(after) ? 0 : after.served();
+        // an account can't have served more chats than all accounts together, so its next page is within this depth
+        final int depth = Math.min(served + limit + 1, MAX_ACCOUNT_DEPTH);
+
+        final Map<String, CompletableFuture<List<AccountChat>>> fetches = new LinkedHashMap<>();
+        for (TelegramCredentials account : credentialsRepository.findAllByUserId(currentUser.getId())) {
+            fetches.put(account.getAccountId(), fetchAccountChats(account.getAccountId(), depth, after));
+        }
+        CompletableFuture.allOf(fetches.values().toArray(new CompletableFuture[0])).exceptionally(ex -> null).get();
+
+        final List<String> failedAccountIds = new ArrayList<>();
+        final List<List<AccountChat>> accountChats = new ArrayList<>();
+        fetches.forEach((accountId, fetch) -> {
+            try {
+                accountChats.add(fetch.join());
+            } catch (CompletionException e) {
+                log.warn("Failed to fetch chats of account {} for unified chat list", accountId, e.getCause());
+                failedAccountIds.add(accountId);
+            }
+        });
+
+        final List<AccountChat> merged = merge(accountChats, limit + 1);
+        final List<AccountChat> page = merged.subList(0, Math.min(limit, merged.size()));
+        final String nextCursor = merged.size() > limit
+                ? formatCursor(new Cursor(served + page.size(), page.get(page.size() - 1).key()))
+                : null;
+        return new TelegramUnifiedChatsDto(toChatDtos(page, photoSize, failedAccountIds), nextCursor, failedAccountIds);
+    }
+
+    /**
+     * Fetches the chats of an account after the cursor sorted by last message date
+     * Accounts without a client or authorization have no chats.
+     *
+     * @param accountId the account identifier
+     * @param depth the number of chats to fetch from the top of the chat list
+     * @param after the cursor to return chats after, null for the first page
+     * @return a CompletableFuture containing the sorted chats
+     */
+    private CompletableFuture<List<AccountChat>> fetchAccountChats(final String accountId, final int depth, final Cursor after) {
+        final Client client = clientManager.getClient(accountId);
+        if (Objects.isNull(client)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        final CompletableFuture<TdApi.AuthorizationState> authorizationState = new CompletableFuture<>();
+        tdlibMetrics.send(client, accountId, new TdApi.GetAuthorizationState(), result -> {
+            if (result instanceof TdApi.AuthorizationState) {
+                authorizationState.complete((TdApi.AuthorizationState) result);
+            } else {
+                authorizationState.completeExceptionally(new RuntimeException("Failed to get authorization state: " + result));
+            }
+        });
+
+        return authorizationState
+                .thenCompose(state -> state instanceof TdApi.AuthorizationStateReady
+                        ? telegramService.fetchChatsAsync(depth, new TdApi.ChatListMain(), accountId)
+                        : CompletableFuture.completedFuture(List.<TdApi.Chat>of()))
+                .thenApply(chats -> chats.stream()
+                        .map(chat -> new AccountChat(toKey(chat, accountId), chat))
+                        .filter(chat -> Objects.isNull(after) || KEY_ORDER.compare(chat.key(), after.key()) > 0)
+                        .sorted(Comparator.comparing(AccountChat::key, KEY_ORDER))
+                        .toList())
+                .orTimeout(ACCOUNT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Merges sorted chat lists of accounts keeping the order
+     *
+     * @param accountChats the sorted chats of every account
+     * @param limit the maximum number of chats to merge
+     * @return the merged chats
+     */
+    private List<AccountChat> merge(final List<List<AccountChat>> accountChats, final int limit) {
+        final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head head) -> head.chat().key(), KEY_ORDER));
+        for (List<AccountChat> chats : accountChats) {
+            final Iterator<AccountChat> iterator = chats.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        final List<AccountChat> merged = new ArrayList<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            final Head head = heads.poll();
+            merged.add(head.chat());
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Maps chats of the page to DTOs loading profile photos of every account concurrently
+     * Chats of an account whose DTOs fail are left out of the page and the account is reported as failed.
+     *
+     * @param page the merged chats
+     * @param photoSize the size of profile photos in pixels the client renders, null for the default size
+     * @param failedAccountIds the failed accounts of the page, accounts failing here are added to it
+     * @return chat DTOs in the order of the page tagged with their account identifiers
+     * @throws ExecutionException if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private List<ChatTdlibDto> toChatDtos(final List<AccountChat> page, final Integer photoSize,
+                                          final List<String> failedAccountIds) throws ExecutionException, InterruptedException {
+        final Map<String, List<TdApi.Chat>> chatsByAccount = new LinkedHashMap<>();
+        page.forEach(chat -> chatsByAccount.computeIfAbsent(chat.key().accountId(), accountId -> new ArrayList<>()).add(chat.chat()));
+
+        final Map<String, CompletableFuture<Iterator<ChatTdlibDto>>> dtosByAccount = new LinkedHashMap<>();
+        chatsByAccount.forEach((accountId, chats) -> dtosByAccount.put(accountId, CompletableFuture.supplyAsync(() -> {
+            try {
+                final List<ChatTdlibDto> dtos = telegramService.toChatDtos(chats, photoSize, accountId);
+                dtos.forEach(dto -> dto.setAccountId(accountId));
+                return dtos.iterator();
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, photoExecutor)));
+        CompletableFuture.allOf(dtosByAccount.values().toArray(new CompletableFuture[0])).exceptionally(ex -> null).get();
+
+        final Map<String, Iterator<ChatTdlibDto>> mappedByAccount = new LinkedHashMap<>();
+        dtosByAccount.forEach((accountId, mapping) -> {
+            try {
+                mappedByAccount.put(accountId, mapping.join());
+            } catch (CompletionException e) {
+                log.warn("Failed to map chats of account {} for unified chat list", accountId, e.getCause());
+                failedAccountIds.add(accountId);
+            }
+        });
+
+        final List<ChatTdlibDto> dtos = new ArrayList<>();
+        for (AccountChat chat : page) {
+            final Iterator<ChatTdlibDto> accountDtos = mappedByAccount.get(chat.key().accountId());
+            if (Objects.nonNull(accountDtos)) {
+                dtos.add(accountDtos.next());
+            }
+        }
+        return dtos;
+    }
+
+    private ChatKey toKey(final TdApi.Chat chat, final String accountId) {
+        final int date = Objects.isNull(chat.lastMessage) ? 0 : chat.lastMessage.date;
+        return new ChatKey(date, chat.id, accountId);
+    }
+
+    /**
+     * Parses the cursor of the unified chat list
+     *
+     * @param cursor the cursor, may be null
+     * @return the cursor or null for the first page
+     */
+    private Cursor parseCursor(final String cursor) {
+        if (Objects.isNull(cursor) || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            return new Cursor(Integer.parseInt(parts[0]), new ChatKey(Integer.parseInt(parts[1]), Long.parseLong(parts[2]), parts[3]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private String formatCursor(final Cursor cursor) {
+        final String value = cursor.served() + ":" + cursor.key().date() + ":" + cursor.key().chatId() + ":" + cursor.key().accountId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record ChatKey(int date, long chatId, String accountId) {
+    }
+
+    private record AccountChat(ChatKey key, TdApi.Chat chat) {
+    }
+
+    private record Head(AccountChat chat, Iterator<AccountChat> rest) {
+    }
+
+    private record Cursor(int served, ChatKey key) {
+    }
+}
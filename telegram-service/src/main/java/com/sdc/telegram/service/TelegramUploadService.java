@@ -0,0 +1,297 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.constants.TelegramUploadType;
+import com.sdc.telegram.domain.dto.TelegramUploadSessionDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service for resumable chunked uploads of Telegram videos and documents
+ * Every chunk is written at its offset with positional writes, so chunks can be retried or sent in parallel,
+ * and the received byte ranges tell the client where to resume after a failure.
+ * A completed session is sent as a local file without copying it again.
+ * @since 10.2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelegramUploadService {
+    public static final long MAX_UPLOAD_SIZE = 2048L * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final Duration SESSION_RETENTION = Duration.ofHours(24);
+    private static final Duration DIRECTORY_GRACE = Duration.ofMinutes(1);
+    private static final Path UPLOAD_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "telegram-uploads");
+
+    private final TelegramService telegramService;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an upload session
+     *
+     * @param fileName the name of the uploaded file
+     * @param totalSize the total size of the file in bytes
+     * @param type the type of the uploaded media
+     * @param accountId the account identifier
+     * @return the created session
+     * @throws IOException if the session file can't be created
+     */
+    public TelegramUploadSessionDto createUpload(final String fileName, final long totalSize, final TelegramUploadType type,
+                                                 final String accountId) throws IOException {
+        if (totalSize <= 0 || totalSize > MAX_UPLOAD_SIZE) {
+            throw new RuntimeException("Upload size must be between 1 and " + MAX_UPLOAD_SIZE + " bytes");
+        }
+        purgeExpiredUploads();
+        final String uploadId = UUID.randomUUID().toString();
+        final Path file = Files.createDirectories(UPLOAD_DIRECTORY.resolve(uploadId)).resolve(toFileName(fileName, type));
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        final UploadSession session = new UploadSession(uploadId, accountId, type, totalSize, file, channel);
+        sessions.put(uploadId, session);
+        log.info("Created upload {} of {} bytes for account {}", uploadId, totalSize, accountId);
+        return toDto(session);
+    }
+
+    /**
+     * Returns the state of an upload session
+     *
+     * @param uploadId the upload session identifier
+     * @param accountId the account identifier
+     * @return the session
+     */
+    public TelegramUploadSessionDto getUpload(final String uploadId, final String accountId) {
+        return toDto(getSession(uploadId, accountId));
+    }
+
+    /**
+     * Writes a chunk of the file at the given offset
+     * The chunk is the whole body, bytes received before a broken connection are kept.
+     *
+     * @param uploadId the upload session identifier
+     * @param offset the offset of the first byte of the chunk
+     * @param body the chunk content
+     * @param accountId the account identifier
+     * @return the session after the chunk is written
+     * @throws IOException if an I/O error occurs
+     */
+    public TelegramUploadSessionDto writeChunk(final String uploadId, final long offset, final InputStream body,
+                                               final String accountId) throws IOException {
+        final UploadSession session = getSession(uploadId, accountId);
+        if (offset < 0 || offset >= session.totalSize) {
+            throw new RuntimeException("Offset " + offset + " is outside of upload " + uploadId);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        long position = offset;
+        try {
+            final ReadableByteChannel source = Channels.newChannel(body);
+            while (position < session.totalSize) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), session.totalSize - position));
+                if (source.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += session.channel.write(buffer, position);
+                }
+            }
+            if (position == session.totalSize && body.read() >= 0) {
+                throw new RuntimeException("Chunk exceeds the size of upload " + uploadId);
+            }
+        } finally {
+            session.addRange(offset, position);
+        }
+        return toDto(session);
+    }
+
+    /**
+     * Completes an upload session sending the file to the chat
+     *
+     * @param uploadId the upload session identifier
+     * @param chatId the chat identifier
+     * @param message the caption text
+     * @param accountId the account identifier
+     * @throws IOException if the session file can't be closed
+     */
+    public void completeUpload(final String uploadId, final Long chatId, final String message, final String accountId) throws IOException {
+        final UploadSession session = getSession(uploadId, accountId);
+        final long nextOffset = session.getNextOffset();
+        if (nextOffset != session.totalSize) {
+            throw new RuntimeException("Upload " + uploadId + " is missing bytes from offset " + nextOffset);
+        }
+        if (!sessions.remove(uploadId, session)) {
+            throw new RuntimeException("Upload session not found: " + uploadId);
+        }
+        session.channel.close();
+
+        switch (session.type) {
+            case VIDEO -> telegramService.sendVideoFile(chatId, session.file.toFile(), message, accountId);
+            case DOCUMENT -> telegramService.sendDocumentFile(chatId, session.file.toFile(), message, accountId);
+        }
+        log.info("Completed upload {} of {} bytes to chat {} for account {}", uploadId, session.totalSize, chatId, accountId);
+    }
+
+    /**
+     * Aborts an upload session deleting received bytes
+     *
+     * @param uploadId the upload session identifier
+     * @param accountId the account identifier
+     */
+    public void abortUpload(final String uploadId, final String accountId) {
+        final UploadSession session = getSession(uploadId, accountId);
+        if (sessions.remove(uploadId, session)) {
+            deleteSession(session);
+            log.info("Aborted upload {} for account {}", uploadId, accountId);
+        }
+    }
+
+    private UploadSession getSession(final String uploadId, final String accountId) {
+        final UploadSession session = sessions.get(uploadId);
+        if (Objects.isNull(session) || !session.accountId.equals(accountId)) {
+            throw new RuntimeException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * Deletes sessions inactive for longer than the retention time and directories of sent files
+     *
+     * @throws IOException if the upload directory can't be listed
+     */
+    private void purgeExpiredUploads() throws IOException {
+        final long now = System.nanoTime();
+        sessions.values().removeIf(session -> {
+            if (now - session.lastActivity < SESSION_RETENTION.toNanos()) {
+                return false;
+            }
+            deleteSession(session);
+            log.info("Expired upload {} for account {}", session.id, session.accountId);
+            return true;
+        });
+        if (!Files.isDirectory(UPLOAD_DIRECTORY)) {
+            return;
+        }
+        try (Stream<Path> directories = Files.list(UPLOAD_DIRECTORY)) {
+            directories.filter(directory -> !sessions.containsKey(directory.getFileName().toString()))
+                    .forEach(directory -> {
+                        try {
+                            if (Files.getLastModifiedTime(directory).toMillis() < System.currentTimeMillis() - DIRECTORY_GRACE.toMillis()) {
+                                Files.deleteIfExists(directory);
+                            }
+                        } catch (IOException e) {
+                            log.debug("Upload directory {} is still in use", directory);
+                        }
+                    });
+        }
+    }
+
+    private void deleteSession(final UploadSession session) {
+        try {
+            session.channel.close();
+            Files.deleteIfExists(session.file);
+            Files.deleteIfExists(session.file.getParent());
+        } catch (IOException e) {
+            log.warn("Failed to delete upload {}", session.id, e);
+        }
+    }
+
+    /**
+     * Creates a file name that can't leave the session directory
+     *
+     * @param fileName the name of the uploaded file
+     * @param type the type of the uploaded media
+     * @return the safe file name
+     */
+    private String toFileName(final String fileName, final TelegramUploadType type) {
+        final String name = Objects.isNull(fileName) ? "" : fileName.replaceAll("[\\\\/:*?\"<>|\\x00-\\x1F]", "_").trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            return type.name().toLowerCase();
+        }
+        return name;
+    }
+
+    private TelegramUploadSessionDto toDto(final UploadSession session) {
+        synchronized (session) {
+            final long nextOffset = session.getNextOffset();
+            return new TelegramUploadSessionDto(session.id, session.file.getFileName().toString(), session.type, session.totalSize,
+                    session.getReceivedBytes(), nextOffset, nextOffset == session.totalSize);
+        }
+    }
+
+    /**
+     * Upload session with the byte ranges of the file received so far
+     */
+    private static final class UploadSession {
+        private final String id;
+        private final String accountId;
+        private final TelegramUploadType type;
+        private final long totalSize;
+        private final Path file;
+        private final FileChannel channel;
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private volatile long lastActivity = System.nanoTime();
+
+        private UploadSession(final String id, final String accountId, final TelegramUploadType type, final long totalSize,
+                              final Path file, final FileChannel channel) {
+            this.id = id;
+            this.accountId = accountId;
+            this.type = type;
+            this.totalSize = totalSize;
+            this.file = file;
+            this.channel = channel;
+        }
+
+        /**
+         * Merges a received byte range into the ranges of the session
+         *
+         * @param start the first received byte
+         * @param end the byte after the last received one
+         */
+        private synchronized void addRange(final long start, final long end) {
+            lastActivity = System.nanoTime();
+            if (end <= start) {
+                return;
+            }
+            long mergedStart = start;
+            long mergedEnd = end;
+            final Map.Entry<Long, Long> previous = ranges.floorEntry(start);
+            if (Objects.nonNull(previous) && previous.getValue() >= start) {
+                mergedStart = previous.getKey();
+                mergedEnd = Math.max(mergedEnd, previous.getValue());
+                ranges.remove(previous.getKey());
+            }
+            Map.Entry<Long, Long> next = ranges.ceilingEntry(mergedStart);
+            while (Objects.nonNull(next) && next.getKey() <= mergedEnd) {
+                mergedEnd = Math.max(mergedEnd, next.getValue());
+                ranges.remove(next.getKey());
+                next = ranges.ceilingEntry(mergedStart);
+            }
+            ranges.put(mergedStart, mergedEnd);
+        }
+
+        private synchronized long getNextOffset() {
+            final Map.Entry<Long, Long> first = ranges.firstEntry();
+            return Objects.nonNull(first) && first.getKey() == 0 ? first.getValue() : 0;
+        }
+
+        private synchronized long getReceivedBytes() {
+            return ranges.entrySet().stream().mapToLong(range -> range.getValue() - range.getKey()).sum();
+        }
+    }
+}
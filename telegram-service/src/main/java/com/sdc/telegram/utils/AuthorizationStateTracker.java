@@ -0,0 +1,69 @@
+package com.sdc.telegram.utils;
+
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Latest authorization state per account built from TDLib updates
+ * Subscribers are notified of every state change, so login flows don't have to poll TDLib.
+ * @since 10.2026
+ */
+@Component
+public class AuthorizationStateTracker implements TelegramUpdateListener {
+    private final Map<String, TdApi.AuthorizationState> states = new ConcurrentHashMap<>();
+    private final Map<String, Set<Consumer<TdApi.AuthorizationState>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void onUpdate(final String accountId, final TdApi.Object update) {
+        if (!(update instanceof TdApi.UpdateAuthorizationState stateUpdate)) {
+            return;
+        }
+        states.put(accountId, stateUpdate.authorizationState);
+        subscribers.getOrDefault(accountId, Set.of()).forEach(subscriber -> subscriber.accept(stateUpdate.authorizationState));
+    }
+
+    /**
+     * Returns the latest authorization state of the account
+     *
+     * @param accountId the account identifier
+     * @return the authorization state or null if no state update was received yet
+     */
+    public TdApi.AuthorizationState getState(final String accountId) {
+        return states.get(accountId);
+    }
+
+    /**
+     * Subscribes to authorization state changes of the account
+     * Subscribers are called on the TDLib update thread so they must not block.
+     *
+     * @param accountId the account identifier
+     * @param subscriber the subscriber to call with every new state
+     */
+    public void subscribe(final String accountId, final Consumer<TdApi.AuthorizationState> subscriber) {
+        subscribers.compute(accountId, (key, accountSubscribers) -> {
+            final Set<Consumer<TdApi.AuthorizationState>> result = Objects.isNull(accountSubscribers)
+                    ? ConcurrentHashMap.newKeySet() : accountSubscribers;
+            result.add(subscriber);
+            return result;
+        });
+    }
+
+    /**
+     * Removes a subscriber of authorization state changes of the account
+     *
+     * @param accountId the account identifier
+     * @param subscriber the subscriber to remove
+     */
+    public void unsubscribe(final String accountId, final Consumer<TdApi.AuthorizationState> subscriber) {
+        subscribers.computeIfPresent(accountId, (key, accountSubscribers) -> {
+            accountSubscribers.remove(subscriber);
+            return accountSubscribers.isEmpty() ? null : accountSubscribers;
+        });
+    }
+}
@@ -0,0 +1,272 @@
+package com.sdc.telegram.utils;
+
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned feed of chat changes per account built from TDLib updates
+ * Every chat-affecting update bumps the sequence of the account and stores it as the version of the chat,
+ * so the chats changed after any given sequence can be found without asking TDLib.
+ * Message updates and updates of users and groups shown in chat lists bump the sequence as well, which makes
+ * the sequence a version of everything the account displays and the chat version a version of its history.
+ * Sequences of an account start from the current time in microseconds, which keeps sequences issued
+ * before a restart below the sequences issued after it.
+ * @since 10.2026
+ */
+@Component
+public class ChatChangeTracker implements TelegramUpdateListener {
+    public static final int MAX_CHANGED_CHATS = 200;
+
+    private final Map<String, AccountChanges> accounts = new ConcurrentHashMap<>();
+
+    @Override
+    public void onUpdate(final String accountId, final TdApi.Object update) {
+        final Long chatId = getChatId(update);
+        if (Objects.isNull(chatId)) {
+            onContentUpdate(accountId, update);
+            return;
+        }
+        final AccountChanges changes = getAccountChanges(accountId);
+        synchronized (changes) {
+            final TdApi.ChatPosition[] positions = getPositions(update);
+            if (Objects.nonNull(positions)) {
+                final Set<String> chatLists = new HashSet<>();
+                Arrays.stream(positions)
+                        .filter(position -> position.order != 0)
+                        .forEach(position -> chatLists.add(getChatListKey(position.list)));
+                changes.chatLists.put(chatId, chatLists);
+            } else if (update instanceof TdApi.UpdateChatPosition positionUpdate) {
+                final Set<String> chatLists = changes.chatLists.computeIfAbsent(chatId, key -> new HashSet<>());
+                if (positionUpdate.position.order == 0) {
+                    chatLists.remove(getChatListKey(positionUpdate.position.list));
+                } else {
+                    chatLists.add(getChatListKey(positionUpdate.position.list));
+                }
+            }
+            changes.chatSequences.put(chatId, ++changes.sequence);
+        }
+    }
+
+    /**
+     * Bumps the versions of the account and the chat for updates that don't change chat list entries
+     *
+     * @param accountId the account identifier
+     * @param update the TDLib update
+     */
+    private void onContentUpdate(final String accountId, final TdApi.Object update) {
+        final Long messageChatId = getMessageChatId(update);
+        if (Objects.isNull(messageChatId) && !(update instanceof TdApi.UpdateUser)
+                && !(update instanceof TdApi.UpdateBasicGroup) && !(update instanceof TdApi.UpdateSupergroup)) {
+            return;
+        }
+        final AccountChanges changes = getAccountChanges(accountId);
+        synchronized (changes) {
+            changes.sequence++;
+            if (Objects.nonNull(messageChatId)) {
+                changes.messageSequences.put(messageChatId, changes.sequence);
+            }
+        }
+    }
+
+    /**
+     * Returns the current sequence of the account
+     *
+     * @param accountId the account identifier
+     * @return the current sequence
+     */
+    public long getSequence(final String accountId) {
+        final AccountChanges changes = getAccountChanges(accountId);
+        synchronized (changes) {
+            return changes.sequence;
+        }
+    }
+
+    /**
+     * Returns the version of a chat and its message history
+     *
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     * @return the sequence of the last change of the chat, or of the start of the feed if it didn't change
+     */
+    public long getChatVersion(final String accountId, final long chatId) {
+        final AccountChanges changes = getAccountChanges(accountId);
+        synchronized (changes) {
+            return Math.max(changes.chatSequences.getOrDefault(chatId, changes.baseSequence),
+                    changes.messageSequences.getOrDefault(chatId, changes.baseSequence));
+        }
+    }
+
+    /**
+     * Returns the chats changed after the given sequence
+     * A resync is required when the sequence was issued before the feed of the account started,
+     * is ahead of the feed or too many chats changed since then.
+     *
+     * @param accountId the account identifier
+     * @param since the sequence returned by the previous call
+     * @return the chat changes
+     */
+    public ChatChanges getChanges(final String accountId, final long since) {
+        final AccountChanges changes = getAccountChanges(accountId);
+        synchronized (changes) {
+            if (since < changes.baseSequence || since > changes.sequence) {
+                return ChatChanges.resync(changes.sequence);
+            }
+            final List<Long> changedChatIds = new ArrayList<>();
+            final List<Long> removedChatIds = new ArrayList<>();
+            for (Map.Entry<Long, Long> chat : changes.chatSequences.entrySet()) {
+                if (chat.getValue() <= since) {
+                    continue;
+                }
+                final Set<String> chatLists = changes.chatLists.get(chat.getKey());
+                if (Objects.nonNull(chatLists) && chatLists.isEmpty()) {
+                    removedChatIds.add(chat.getKey());
+                } else {
+                    changedChatIds.add(chat.getKey());
+                }
+            }
+            if (changedChatIds.size() + removedChatIds.size() > MAX_CHANGED_CHATS) {
+                return ChatChanges.resync(changes.sequence);
+            }
+            return new ChatChanges(changes.sequence, false, changedChatIds, removedChatIds);
+        }
+    }
+
+    private AccountChanges getAccountChanges(final String accountId) {
+        return accounts.computeIfAbsent(accountId, key -> new AccountChanges(System.currentTimeMillis() * 1000));
+    }
+
+    /**
+     * Extracts the identifier of the chat affected by a chat list update
+     *
+     * @param update the TDLib update
+     * @return the chat identifier or null if the update doesn't affect chat lists
+     */
+    private Long getChatId(final TdApi.Object update) {
+        if (update instanceof TdApi.UpdateNewChat newChat) {
+            return newChat.chat.id;
+        } else if (update instanceof TdApi.UpdateChatTitle chatTitle) {
+            return chatTitle.chatId;
+        } else if (update instanceof TdApi.UpdateChatPhoto chatPhoto) {
+            return chatPhoto.chatId;
+        } else if (update instanceof TdApi.UpdateChatPermissions chatPermissions) {
+            return chatPermissions.chatId;
+        } else if (update instanceof TdApi.UpdateChatLastMessage lastMessage) {
+            return lastMessage.chatId;
+        } else if (update instanceof TdApi.UpdateChatPosition chatPosition) {
+            return chatPosition.chatId;
+        } else if (update instanceof TdApi.UpdateChatReadInbox readInbox) {
+            return readInbox.chatId;
+        } else if (update instanceof TdApi.UpdateChatReadOutbox readOutbox) {
+            return readOutbox.chatId;
+        } else if (update instanceof TdApi.UpdateChatUnreadMentionCount mentionCount) {
+            return mentionCount.chatId;
+        } else if (update instanceof TdApi.UpdateChatUnreadReactionCount reactionCount) {
+            return reactionCount.chatId;
+        } else if (update instanceof TdApi.UpdateChatNotificationSettings notificationSettings) {
+            return notificationSettings.chatId;
+        } else if (update instanceof TdApi.UpdateChatIsMarkedAsUnread markedAsUnread) {
+            return markedAsUnread.chatId;
+        } else if (update instanceof TdApi.UpdateChatDraftMessage draftMessage) {
+            return draftMessage.chatId;
+        } else if (update instanceof TdApi.UpdateChatMessageAutoDeleteTime autoDeleteTime) {
+            return autoDeleteTime.chatId;
+        } else if (update instanceof TdApi.UpdateChatPendingJoinRequests joinRequests) {
+            return joinRequests.chatId;
+        } else if (update instanceof TdApi.UpdateChatReplyMarkup replyMarkup) {
+            return replyMarkup.chatId;
+        } else if (update instanceof TdApi.UpdateChatDefaultDisableNotification disableNotification) {
+            return disableNotification.chatId;
+        } else if (update instanceof TdApi.UpdateChatHasScheduledMessages scheduledMessages) {
+            return scheduledMessages.chatId;
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the identifier of the chat whose message history is changed by an update
+     *
+     * @param update the TDLib update
+     * @return the chat identifier or null if the update doesn't change message history
+     */
+    private Long getMessageChatId(final TdApi.Object update) {
+        if (update instanceof TdApi.UpdateNewMessage newMessage) {
+            return newMessage.message.chatId;
+        } else if (update instanceof TdApi.UpdateMessageSendSucceeded sendSucceeded) {
+            return sendSucceeded.message.chatId;
+        } else if (update instanceof TdApi.UpdateMessageContent messageContent) {
+            return messageContent.chatId;
+        } else if (update instanceof TdApi.UpdateMessageEdited messageEdited) {
+            return messageEdited.chatId;
+        } else if (update instanceof TdApi.UpdateMessageInteractionInfo interactionInfo) {
+            return interactionInfo.chatId;
+        } else if (update instanceof TdApi.UpdateDeleteMessages deleteMessages) {
+            return deleteMessages.chatId;
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the full set of chat positions carried by an update
+     *
+     * @param update the TDLib update
+     * @return the chat positions or null if the update doesn't replace them
+     */
+    private TdApi.ChatPosition[] getPositions(final TdApi.Object update) {
+        if (update instanceof TdApi.UpdateNewChat newChat) {
+            return newChat.chat.positions;
+        } else if (update instanceof TdApi.UpdateChatLastMessage lastMessage) {
+            return lastMessage.positions;
+        } else if (update instanceof TdApi.UpdateChatDraftMessage draftMessage) {
+            return draftMessage.positions;
+        }
+        return null;
+    }
+
+    private String getChatListKey(final TdApi.ChatList chatList) {
+        if (chatList instanceof TdApi.ChatListFolder folder) {
+            return "folder" + folder.chatFolderId;
+        }
+        return chatList.getClass().getSimpleName();
+    }
+
+    /**
+     * Chats changed after a sequence
+     *
+     * @param sequence the current sequence to pass to the next call
+     * @param resyncRequired whether the changes are unknown and the chat lists must be fetched in full
+     * @param changedChatIds the identifiers of changed chats
+     * @param removedChatIds the identifiers of chats removed from all chat lists
+     */
+    public record ChatChanges(long sequence, boolean resyncRequired, List<Long> changedChatIds, List<Long> removedChatIds) {
+
+        private static ChatChanges resync(final long sequence) {
+            return new ChatChanges(sequence, true, List.of(), List.of());
+        }
+    }
+
+    /**
+     * Chat changes of a single account
+     */
+    private static final class AccountChanges {
+        private final long baseSequence;
+        private long sequence;
+        private final Map<Long, Long> chatSequences = new HashMap<>();
+        private final Map<Long, Long> messageSequences = new HashMap<>();
+        private final Map<Long, Set<String>> chatLists = new HashMap<>();
+
+        private AccountChanges(final long baseSequence) {
+            this.baseSequence = baseSequence;
+            this.sequence = baseSequence;
+        }
+    }
+}
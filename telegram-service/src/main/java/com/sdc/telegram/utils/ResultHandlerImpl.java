@@ -8,6 +8,8 @@ import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Implementation of TDLib result handler for processing Telegram client updates
  * @since 12.2025
@@ -19,22 +21,56 @@ import org.springframework.stereotype.Component;
 public class ResultHandlerImpl implements Client.ResultHandler {
     private TelegramClientManager clientManager;
     private Client client;
+    private final TdlibMetrics tdlibMetrics;
+    private final List<TelegramUpdateListener> updateListeners;
 
     @Override
     public void onResult(TdApi.Object update) {
+        tdlibMetrics.recordUpdate(update);
         if (update instanceof TdApi.UpdateAuthorizationState authStateUpdate) {
             String accountId = clientManager.getAccountIdForClient(client);
-            TdApi.AuthorizationState state = authStateUpdate.authorizationState;
+            logAuthorizationState(accountId, authStateUpdate.authorizationState);
+        }
+    }
 
-            if (state instanceof TdApi.AuthorizationStateWaitPhoneNumber) {
-                log.info("Account {}: Waiting for phone number", accountId);
-            } else if (state instanceof TdApi.AuthorizationStateWaitCode) {
-                log.info("Account {}: Waiting for authentication code", accountId);
-            } else if (state instanceof TdApi.AuthorizationStateWaitPassword) {
-                log.info("Account {}: Waiting for 2FA password", accountId);
-            } else if (state instanceof TdApi.AuthorizationStateReady) {
-                log.info("Account {}: Auth successful", accountId);
+    /**
+     * Creates an update handler for a client of the account
+     * Updates are passed to all update listeners along with the account identifier.
+     *
+     * @param accountId the account identifier
+     * @return the update handler of the account
+     */
+    public Client.ResultHandler forAccount(final String accountId) {
+        return update -> {
+            tdlibMetrics.recordUpdate(update);
+            if (update instanceof TdApi.UpdateAuthorizationState authStateUpdate) {
+                logAuthorizationState(accountId, authStateUpdate.authorizationState);
             }
+            for (TelegramUpdateListener listener : updateListeners) {
+                try {
+                    listener.onUpdate(accountId, update);
+                } catch (RuntimeException e) {
+                    log.error("Update listener {} failed for account {}", listener.getClass().getSimpleName(), accountId, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Logs the authorization state of the account
+     *
+     * @param accountId the account identifier
+     * @param state the authorization state
+     */
+    private void logAuthorizationState(final String accountId, final TdApi.AuthorizationState state) {
+        if (state instanceof TdApi.AuthorizationStateWaitPhoneNumber) {
+            log.info("Account {}: Waiting for phone number", accountId);
+        } else if (state instanceof TdApi.AuthorizationStateWaitCode) {
+            log.info("Account {}: Waiting for authentication code", accountId);
+        } else if (state instanceof TdApi.AuthorizationStateWaitPassword) {
+            log.info("Account {}: Waiting for 2FA password", accountId);
+        } else if (state instanceof TdApi.AuthorizationStateReady) {
+            log.info("Account {}: Auth successful", accountId);
         }
     }
 }
@@ -0,0 +1,94 @@
+package com.sdc.telegram.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation of TDLib requests and updates
+ * @since 10.2026
+ */
+@Component
+@RequiredArgsConstructor
+public class TdlibMetrics {
+    public static final String REQUESTS_METRIC = "telegram.tdlib.requests";
+    public static final String IN_FLIGHT_METRIC = "telegram.tdlib.requests.in.flight";
+    public static final String ERRORS_METRIC = "telegram.tdlib.errors";
+    public static final String UPDATES_METRIC = "telegram.tdlib.updates";
+
+    private static final String REQUEST_TAG = "request";
+    private static final String ACCOUNT_TAG = "account";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String CODE_TAG = "code";
+    private static final String TYPE_TAG = "type";
+    private static final String UNKNOWN_ACCOUNT = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<List<String>, AtomicInteger> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Sends a TDLib request through the client recording its latency, in-flight count and errors
+     *
+     * @param client the Telegram client
+     * @param accountId the account identifier
+     * @param function the TDLib request
+     * @param handler the result handler, may be null
+     */
+    public void send(final Client client, final String accountId, final TdApi.Function<?> function, final Client.ResultHandler handler) {
+        client.send(function, timed(function, accountId, handler));
+    }
+
+    /**
+     * Wraps a result handler so that the request it answers is measured
+     *
+     * @param function the TDLib request
+     * @param accountId the account identifier
+     * @param handler the result handler, may be null
+     * @return the instrumented result handler
+     */
+    public Client.ResultHandler timed(final TdApi.Function<?> function, final String accountId, final Client.ResultHandler handler) {
+        final String request = function.getClass().getSimpleName();
+        final String account = Objects.requireNonNullElse(accountId, UNKNOWN_ACCOUNT);
+        final AtomicInteger inFlight = inFlightRequests.computeIfAbsent(List.of(request, account),
+                key -> meterRegistry.gauge(IN_FLIGHT_METRIC, Tags.of(REQUEST_TAG, request, ACCOUNT_TAG, account), new AtomicInteger()));
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+
+        return result -> {
+            inFlight.decrementAndGet();
+            final boolean failed = result instanceof TdApi.Error;
+            sample.stop(Timer.builder(REQUESTS_METRIC)
+                    .tags(REQUEST_TAG, request, ACCOUNT_TAG, account, OUTCOME_TAG, failed ? "error" : "success")
+                    .register(meterRegistry));
+            if (failed) {
+                Counter.builder(ERRORS_METRIC)
+                        .tags(REQUEST_TAG, request, ACCOUNT_TAG, account, CODE_TAG, String.valueOf(((TdApi.Error) result).code))
+                        .register(meterRegistry)
+                        .increment();
+            }
+            if (Objects.nonNull(handler)) {
+                handler.onResult(result);
+            }
+        };
+    }
+
+    /**
+     * Counts an update received by the TDLib update handler
+     *
+     * @param update the received update
+     */
+    public void recordUpdate(final TdApi.Object update) {
+        meterRegistry.counter(UPDATES_METRIC, TYPE_TAG, update.getClass().getSimpleName()).increment();
+    }
+}
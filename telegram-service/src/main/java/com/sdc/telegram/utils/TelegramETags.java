@@ -0,0 +1,72 @@
+package com.sdc.telegram.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Generator of strong ETags for Telegram read endpoints
+ * ETags are derived from version counters of {@link ChatChangeTracker} and the request parameters,
+ * so a conditional request can be answered without calling TDLib.
+ * The parameters are hashed with a truncated SHA-256, long enough that changed content never shares a tag.
+ * @since 10.2026
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramETags {
+    private static final int DIGEST_BYTES = 16;
+
+    private final ChatChangeTracker changeTracker;
+
+    /**
+     * Creates an ETag of a representation depending on all chats of the account
+     *
+     * @param accountId the account identifier
+     * @param parameters the parameters the representation depends on
+     * @return the ETag
+     */
+    public String forAccount(final String accountId, final Object... parameters) {
+        return toETag(changeTracker.getSequence(accountId), accountId, parameters);
+    }
+
+    /**
+     * Creates an ETag of a representation depending on a single chat and its message history
+     *
+     * @param accountId the account identifier
+     * @param chatId the chat identifier
+     * @param parameters the parameters the representation depends on
+     * @return the ETag
+     */
+    public String forChat(final String accountId, final long chatId, final Object... parameters) {
+        return toETag(changeTracker.getChatVersion(accountId, chatId), accountId, chatId, parameters);
+    }
+
+    /**
+     * Creates an ETag of a Telegram file, which never changes for the same remote identifier
+     *
+     * @param remoteId the Telegram file identifier
+     * @param parameters the parameters the representation depends on
+     * @return the ETag
+     */
+    public String forFile(final String remoteId, final Object... parameters) {
+        return toETag(0, remoteId, parameters);
+    }
+
+    private String toETag(final long version, final Object... key) {
+        final byte[] digest = sha256().digest(Arrays.deepToString(key).getBytes(StandardCharsets.UTF_8));
+        return "\"" + Long.toString(version, Character.MAX_RADIX) + "-" + HexFormat.of().formatHex(digest, 0, DIGEST_BYTES) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sdc.telegram.utils;
+
+import org.drinkless.tdlib.TdApi;
+
+/**
+ * Listener of TDLib updates received by clients of a known account
+ * @since 10.2026
+ */
+public interface TelegramUpdateListener {
+
+    /**
+     * Handles an update, called on the TDLib update thread so implementations must not block
+     *
+     * @param accountId the account identifier of the client which received the update
+     * @param update the received update
+     */
+    void onUpdate(String accountId, TdApi.Object update);
+}
@@ -0,0 +1,114 @@
+package com.sdc.telegram.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * In-memory LRU cache of downscaled image variants bounded by the total size of cached bytes.
+ * Every account also has its own byte budget, so a single account can't evict the variants of all others.
+ * Requested sizes are rounded up to a fixed set of buckets so that close sizes share one variant.
+ * @since 10.2026
+ */
+@Component
+public class ThumbnailCache {
+    public static final String CACHE_METRIC = "telegram.thumbnails.cache";
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_CACHED_BYTES_PER_ACCOUNT = 16L * 1024 * 1024;
+    private static final int[] SIZE_BUCKETS = {32, 64, 128, 256, 512, 1024};
+
+    private final Map<List<Object>, byte[]> variants = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Object, Long> cachedBytesByAccount = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private long cachedBytes;
+
+    public ThumbnailCache(final MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter(CACHE_METRIC, "result", "hit");
+        this.misses = meterRegistry.counter(CACHE_METRIC, "result", "miss");
+    }
+
+    /**
+     * Rounds the requested size up to the nearest bucket
+     *
+     * @param size the requested maximum width and height in pixels
+     * @return the bucket size or null if the size exceeds the largest bucket and the original image should be used
+     */
+    public static Integer toBucket(final int size) {
+        for (int bucket : SIZE_BUCKETS) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a cached variant
+     *
+     * @param accountId the Telegram account identifier
+     * @param remoteId the Telegram image identifier
+     * @param bucket the bucket size
+     * @return cached variant bytes or null if there is no cached variant
+     */
+    public synchronized byte[] get(final String accountId, final String remoteId, final int bucket) {
+        final byte[] variant = variants.get(List.of(accountId, remoteId, bucket));
+        (variant == null ? misses : hits).increment();
+        return variant;
+    }
+
+    /**
+     * Caches a variant evicting the least recently used ones of the account when its byte budget is exceeded,
+     * then the least recently used ones of all accounts when the total byte budget is exceeded
+     *
+     * @param accountId the Telegram account identifier
+     * @param remoteId the Telegram image identifier
+     * @param bucket the bucket size
+     * @param variant the variant bytes
+     */
+    public synchronized void put(final String accountId, final String remoteId, final int bucket, final byte[] variant) {
+        if (variant.length > MAX_CACHED_BYTES_PER_ACCOUNT) {
+            return;
+        }
+        final byte[] previous = variants.put(List.of(accountId, remoteId, bucket), variant);
+        addBytes(accountId, variant.length - (previous == null ? 0 : previous.length));
+
+        evictEldest(key -> key.get(0).equals(accountId), () -> cachedBytesByAccount.getOrDefault(accountId, 0L) > MAX_CACHED_BYTES_PER_ACCOUNT);
+        evictEldest(key -> true, () -> cachedBytes > MAX_CACHED_BYTES);
+    }
+
+    /**
+     * Evicts the least recently used matching variants while the budget is exceeded
+     *
+     * @param matches whether a variant of the key may be evicted
+     * @param overBudget whether the budget is exceeded
+     */
+    private void evictEldest(final Predicate<List<Object>> matches, final BooleanSupplier overBudget) {
+        final Iterator<Map.Entry<List<Object>, byte[]>> eldest = variants.entrySet().iterator();
+        while (overBudget.getAsBoolean() && eldest.hasNext()) {
+            final Map.Entry<List<Object>, byte[]> entry = eldest.next();
+            if (matches.test(entry.getKey())) {
+                addBytes(entry.getKey().get(0), -entry.getValue().length);
+                eldest.remove();
+            }
+        }
+    }
+
+    private void addBytes(final Object accountId, final long bytes) {
+        cachedBytes += bytes;
+        final long accountBytes = cachedBytesByAccount.getOrDefault(accountId, 0L) + bytes;
+        if (accountBytes == 0) {
+            cachedBytesByAccount.remove(accountId);
+        } else {
+            cachedBytesByAccount.put(accountId, accountBytes);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -175,6 +176,17 @@ class TelegramAuthControllerTest {
         verify(telegramAuthService).getAuthorizationState(ACCOUNT_ID);
     }
     
+    @Test
+    void streamAuthorizationState_WithValidAccountId_ShouldStartEventStream() throws Exception {
+        when(telegramAuthService.streamAuthorizationState(ACCOUNT_ID)).thenReturn(new SseEmitter());
+        
+        mockMvc.perform(get("/telegram/auth/state/stream")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(request().asyncStarted());
+        
+        verify(telegramAuthService).streamAuthorizationState(ACCOUNT_ID);
+    }
+    
     @Test
     void getAuthorizationState_WithMissingAccountId_ShouldReturn400() throws Exception {
         mockMvc.perform(get("/telegram/auth/state"))
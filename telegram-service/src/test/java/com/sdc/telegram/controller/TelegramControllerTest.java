@@ -1,29 +1,52 @@
 package com.sdc.telegram.controller;
 
+import com.sdc.telegram.domain.constants.TelegramContentType;
+import com.sdc.telegram.domain.constants.TelegramExportStatus;
 import com.sdc.telegram.domain.dto.TelegramAccountDto;
+import com.sdc.telegram.domain.dto.TelegramChatChangesDto;
+import com.sdc.telegram.domain.dto.TelegramExportJobDto;
+import com.sdc.telegram.domain.dto.TelegramForwardRequestDto;
+import com.sdc.telegram.domain.dto.TelegramForwardResultDto;
+import com.sdc.telegram.domain.dto.TelegramMessageSearchFilterDto;
+import com.sdc.telegram.domain.dto.TelegramMessagesPageDto;
 import com.sdc.telegram.domain.dto.TelegramNotificationDto;
+import com.sdc.telegram.domain.dto.TelegramUnifiedChatsDto;
+import com.sdc.telegram.domain.dto.TelegramUploadSessionDto;
 import com.sdc.telegram.domain.dto.tdlib.TelegramChatFolderDto;
 import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
 import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
 import com.sdc.telegram.domain.dto.tdlib.user.UserTdlibDto;
+import com.sdc.telegram.service.TelegramChatSyncService;
+import com.sdc.telegram.service.TelegramExportService;
 import com.sdc.telegram.service.TelegramFileService;
+import com.sdc.telegram.service.TelegramForwardService;
+import com.sdc.telegram.service.TelegramPrefetchService;
+import com.sdc.telegram.service.TelegramSearchService;
 import com.sdc.telegram.service.TelegramService;
+import com.sdc.telegram.service.TelegramUnifiedChatService;
+import com.sdc.telegram.service.TelegramUploadService;
+import com.sdc.telegram.utils.ChatChangeTracker;
+import com.sdc.telegram.utils.TelegramETags;
 import org.drinkless.tdlib.TdApi;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +64,32 @@ class TelegramControllerTest {
     @Mock
     private TelegramFileService telegramFileService;
     
+    @Mock
+    private TelegramSearchService telegramSearchService;
+    
+    @Mock
+    private TelegramPrefetchService telegramPrefetchService;
+    
+    @Mock
+    private TelegramChatSyncService telegramChatSyncService;
+    
+    @Mock
+    private TelegramExportService telegramExportService;
+    
+    @Mock
+    private TelegramUploadService telegramUploadService;
+
+    @Mock
+    private TelegramUnifiedChatService telegramUnifiedChatService;
+
+    @Mock
+    private TelegramForwardService telegramForwardService;
+    
+    private final ChatChangeTracker chatChangeTracker = new ChatChangeTracker();
+    
+    @Spy
+    private TelegramETags telegramETags = new TelegramETags(chatChangeTracker);
+    
     @InjectMocks
     private TelegramController telegramController;
     
@@ -59,7 +108,7 @@ class TelegramControllerTest {
     @Test
     void findAllChats_WithValidParams_ShouldReturnChats() throws Exception {
         List<ChatTdlibDto> chats = Arrays.asList(new ChatTdlibDto(), new ChatTdlibDto());
-        when(telegramService.findAllChats(anyInt(), any(), anyString())).thenReturn(chats);
+        when(telegramService.findAllChats(anyInt(), any(), any(), anyString())).thenReturn(chats);
         
         mockMvc.perform(get("/telegram/main")
                 .param("limit", "10")
@@ -68,12 +117,29 @@ class TelegramControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
         
-        verify(telegramService).findAllChats(eq(10), any(TdApi.ChatListMain.class), eq(ACCOUNT_ID));
+        verify(telegramService).findAllChats(eq(10), any(TdApi.ChatListMain.class), isNull(), eq(ACCOUNT_ID));
     }
     
+    @Test
+    void findUnifiedChats_WithCursor_ShouldReturnPage() throws Exception {
+        ChatTdlibDto chat = new ChatTdlibDto();
+        chat.setAccountId(ACCOUNT_ID);
+        when(telegramUnifiedChatService.findUnifiedChats(anyInt(), any(), any()))
+            .thenReturn(new TelegramUnifiedChatsDto(List.of(chat), "next", List.of()));
+
+        mockMvc.perform(get("/telegram/chats/all-accounts")
+                .param("limit", "20")
+                .param("cursor", "previous"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chats[0].accountId").value(ACCOUNT_ID))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(telegramUnifiedChatService).findUnifiedChats(20, "previous", null);
+    }
+
     @Test
     void findAllChats_WithArchiveChatListType_ShouldUseArchiveList() throws Exception {
-        when(telegramService.findAllChats(anyInt(), any(), anyString()))
+        when(telegramService.findAllChats(anyInt(), any(), any(), anyString()))
             .thenReturn(Collections.emptyList());
         
         mockMvc.perform(get("/telegram/archive")
@@ -81,12 +147,26 @@ class TelegramControllerTest {
                 .param("accountId", ACCOUNT_ID))
                 .andExpect(status().isOk());
         
-        verify(telegramService).findAllChats(eq(10), any(TdApi.ChatListArchive.class), eq(ACCOUNT_ID));
+        verify(telegramService).findAllChats(eq(10), any(TdApi.ChatListArchive.class), isNull(), eq(ACCOUNT_ID));
+    }
+    
+    @Test
+    void findAllChats_WithPhotoSize_ShouldPassPhotoSize() throws Exception {
+        when(telegramService.findAllChats(anyInt(), any(), any(), anyString()))
+            .thenReturn(Collections.emptyList());
+        
+        mockMvc.perform(get("/telegram/main")
+                .param("limit", "10")
+                .param("photoSize", "32")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk());
+        
+        verify(telegramService).findAllChats(eq(10), any(TdApi.ChatListMain.class), eq(32), eq(ACCOUNT_ID));
     }
     
     @Test
     void findAllChats_WithServiceException_ShouldThrowException() throws Exception {
-        when(telegramService.findAllChats(anyInt(), any(), anyString()))
+        when(telegramService.findAllChats(anyInt(), any(), any(), anyString()))
             .thenThrow(new RuntimeException("Service error"));
         
         assertThrows(Exception.class, () ->
@@ -167,6 +247,61 @@ class TelegramControllerTest {
         verify(telegramService).getTelegramMessage(MESSAGE_ID, CHAT_ID, ACCOUNT_ID);
     }
     
+    @Test
+    void findAllChats_WithMatchingETag_ShouldReturnNotModifiedWithoutFetchingChats() throws Exception {
+        when(telegramService.findAllChats(anyInt(), any(), any(), anyString())).thenReturn(List.of(new ChatTdlibDto()));
+        
+        String eTag = mockMvc.perform(get("/telegram/main")
+                .param("limit", "10")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/telegram/main")
+                .param("limit", "10")
+                .param("accountId", ACCOUNT_ID)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        
+        verify(telegramService, times(1)).findAllChats(anyInt(), any(), any(), anyString());
+    }
+    
+    @Test
+    void findAllMessages_AfterChatUpdate_ShouldNotMatchPreviousETag() throws Exception {
+        when(telegramService.findAllMessages(anyLong(), anyInt(), anyString())).thenReturn(List.of(new MessageTdlibDto()));
+        
+        String eTag = mockMvc.perform(get("/telegram/{chatId}/messages", CHAT_ID)
+                .param("limit", "50")
+                .param("accountId", ACCOUNT_ID))
+                .andReturn().getResponse().getHeader("ETag");
+        chatChangeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateDeleteMessages(CHAT_ID, new long[]{MESSAGE_ID}, true, false));
+        
+        mockMvc.perform(get("/telegram/{chatId}/messages", CHAT_ID)
+                .param("limit", "50")
+                .param("accountId", ACCOUNT_ID)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+        
+        verify(telegramService, times(2)).findAllMessages(CHAT_ID, 50, ACCOUNT_ID);
+    }
+    
+    @Test
+    void getChatChanges_WithSequence_ShouldReturnChanges() throws Exception {
+        TelegramChatChangesDto changes = new TelegramChatChangesDto(42L, false, List.of(new ChatTdlibDto()), List.of(CHAT_ID));
+        when(telegramChatSyncService.getChatChanges(anyLong(), any(), anyString())).thenReturn(changes);
+        
+        mockMvc.perform(get("/telegram/chats/changes")
+                .param("since", "40")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequence").value(42))
+                .andExpect(jsonPath("$.changed.length()").value(1))
+                .andExpect(jsonPath("$.removed[0]").value(CHAT_ID));
+        
+        verify(telegramChatSyncService).getChatChanges(40L, null, ACCOUNT_ID);
+    }
+    
     @Test
     void getAllMessages_WithValidChatId_ShouldReturnMessages() throws Exception {
         List<MessageTdlibDto> messages = Arrays.asList(new MessageTdlibDto(), new MessageTdlibDto());
@@ -181,8 +316,64 @@ class TelegramControllerTest {
                 .andExpect(jsonPath("$.length()").value(2));
         
         verify(telegramService).findAllMessages(CHAT_ID, 50, ACCOUNT_ID);
+        verifyNoInteractions(telegramPrefetchService);
     }
-    
+
+    @Test
+    void getAllMessages_WithPrefetch_ShouldStartPrefetch() throws Exception {
+        List<MessageTdlibDto> messages = Arrays.asList(new MessageTdlibDto(), new MessageTdlibDto());
+        when(telegramService.findAllMessages(anyLong(), anyInt(), anyString()))
+            .thenReturn(messages);
+        
+        mockMvc.perform(get("/telegram/{chatId}/messages", CHAT_ID)
+                .param("limit", "50")
+                .param("prefetch", "5")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        
+        verify(telegramPrefetchService).prefetch(messages, 5, ACCOUNT_ID);
+    }
+
+    @Test
+    void searchChatMessages_WithFilters_ShouldReturnPage() throws Exception {
+        TelegramMessagesPageDto page = new TelegramMessagesPageDto(List.of(new MessageTdlibDto()), 10, "555");
+        when(telegramSearchService.searchChatMessages(anyLong(), any(), any(), anyInt(), anyString()))
+            .thenReturn(page);
+
+        mockMvc.perform(get("/telegram/{chatId}/messages/search", CHAT_ID)
+                .param("query", "hello")
+                .param("senderUserId", USER_ID.toString())
+                .param("contentType", "IMAGE")
+                .param("limit", "20")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages.length()").value(1))
+                .andExpect(jsonPath("$.totalCount").value(10))
+                .andExpect(jsonPath("$.nextCursor").value("555"));
+
+        verify(telegramSearchService).searchChatMessages(eq(CHAT_ID),
+                eq(new TelegramMessageSearchFilterDto("hello", USER_ID, null, null, TelegramContentType.IMAGE)),
+                isNull(), eq(20), eq(ACCOUNT_ID));
+    }
+
+    @Test
+    void searchMessages_WithCursor_ShouldPassCursorToService() throws Exception {
+        when(telegramSearchService.searchMessages(any(), anyString(), anyInt(), anyString()))
+            .thenReturn(new TelegramMessagesPageDto(Collections.emptyList(), 0, null));
+
+        mockMvc.perform(get("/telegram/messages/search")
+                .param("query", "hello")
+                .param("cursor", "next")
+                .param("limit", "20")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages").isEmpty());
+
+        verify(telegramSearchService).searchMessages(
+                new TelegramMessageSearchFilterDto("hello", null, null, null, null), "next", 20, ACCOUNT_ID);
+    }
+
     @Test
     void getAccountInfo_WithValidAccountId_ShouldReturnUserInfo() throws Exception {
         UserTdlibDto user = new UserTdlibDto();
@@ -229,7 +420,7 @@ class TelegramControllerTest {
     @Test
     void getTelegramImage_WithValidRemoteId_ShouldReturnImage() throws Exception {
         byte[] imageData = "image data".getBytes();
-        when(telegramFileService.getTelegramImage(anyString(), anyString()))
+        when(telegramFileService.getTelegramImage(anyString(), any(), anyString()))
             .thenReturn(imageData);
         
         mockMvc.perform(get("/telegram/file/{remoteId}", REMOTE_ID)
@@ -238,7 +429,82 @@ class TelegramControllerTest {
                 .andExpect(content().contentType(MediaType.IMAGE_JPEG))
                 .andExpect(content().bytes(imageData));
         
-        verify(telegramFileService).getTelegramImage(REMOTE_ID, ACCOUNT_ID);
+        verify(telegramFileService).getTelegramImage(REMOTE_ID, null, ACCOUNT_ID);
+    }
+
+    @Test
+    void getTelegramImage_WithSize_ShouldPassSize() throws Exception {
+        byte[] imageData = "thumbnail data".getBytes();
+        when(telegramFileService.getTelegramImage(anyString(), any(), anyString()))
+            .thenReturn(imageData);
+        
+        mockMvc.perform(get("/telegram/file/{remoteId}", REMOTE_ID)
+                .param("size", "64")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(imageData));
+        
+        verify(telegramFileService).getTelegramImage(REMOTE_ID, 64, ACCOUNT_ID);
+    }
+    
+    @Test
+    void getTelegramAvatars_WithRemoteIds_ShouldReturnBundle() throws Exception {
+        byte[] bundle = "bundle".getBytes();
+        when(telegramFileService.getTelegramAvatars(anyList(), anyInt(), anyString()))
+            .thenReturn(outputStream -> outputStream.write(bundle));
+
+        MvcResult result = mockMvc.perform(post("/telegram/files/avatars")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"PHOTO_1\", \"PROFILE_2\"]")
+                .param("size", "32")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bundle));
+
+        verify(telegramFileService).getTelegramAvatars(List.of("PHOTO_1", "PROFILE_2"), 32, ACCOUNT_ID);
+    }
+    
+    @Test
+    void startExport_WithValidParams_ShouldReturnJob() throws Exception {
+        TelegramExportJobDto job = new TelegramExportJobDto();
+        job.setJobId("job1");
+        job.setStatus(TelegramExportStatus.PENDING);
+        when(telegramExportService.startExport(anyLong(), anyBoolean(), anyString())).thenReturn(job);
+
+        mockMvc.perform(post("/telegram/" + CHAT_ID + "/exports")
+                .param("includeMedia", "true")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobId").value("job1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(telegramExportService).startExport(CHAT_ID, true, ACCOUNT_ID);
+    }
+    
+    @Test
+    void writeUploadChunk_WithBody_ShouldPassStreamAndOffset() throws Exception {
+        TelegramUploadSessionDto session = new TelegramUploadSessionDto();
+        session.setUploadId("upload1");
+        session.setNextOffset(4L);
+        when(telegramUploadService.writeChunk(anyString(), anyLong(), any(), anyString())).thenAnswer(invocation -> {
+            InputStream body = invocation.getArgument(2);
+            assertArrayEquals("data".getBytes(), body.readAllBytes());
+            return session;
+        });
+
+        mockMvc.perform(put("/telegram/uploads/upload1")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("data".getBytes())
+                .param("offset", "0")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(4));
+
+        verify(telegramUploadService).writeChunk(eq("upload1"), eq(0L), any(), eq(ACCOUNT_ID));
     }
     
     @Test
@@ -273,6 +539,39 @@ class TelegramControllerTest {
         verify(telegramService).sendImageMessage(eq(CHAT_ID), any(), eq("Test message"), eq(ACCOUNT_ID));
     }
     
+    @Test
+    void sendAlbumMessage_WithSeveralFiles_ShouldPassAllFilesInOneCall() throws Exception {
+        doNothing().when(telegramService).sendAlbumMessage(anyLong(), any(), anyString(), anyString());
+
+        mockMvc.perform(multipart("/telegram/albums")
+                .file("files", "first".getBytes())
+                .file("files", "second".getBytes())
+                .param("chatId", CHAT_ID.toString())
+                .param("message", "Album")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk());
+
+        verify(telegramService).sendAlbumMessage(eq(CHAT_ID), argThat(files -> files.size() == 2), eq("Album"), eq(ACCOUNT_ID));
+    }
+
+    @Test
+    void forwardMessages_WithValidRequest_ShouldReturnResultPerTarget() throws Exception {
+        when(telegramForwardService.forwardMessages(any(TelegramForwardRequestDto.class), eq(ACCOUNT_ID))).thenReturn(List.of(
+            new TelegramForwardResultDto(1L, true, List.of(10L), null),
+            new TelegramForwardResultDto(2L, false, List.of(), "Chat not found")));
+
+        mockMvc.perform(post("/telegram/forwards")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromChatId\": 123456, \"messageIds\": [999], \"targetChatIds\": [1, 2]}")
+                .param("accountId", ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].error").value("Chat not found"));
+
+        verify(telegramForwardService).forwardMessages(argThat(request -> request.getFromChatId().equals(CHAT_ID)
+            && request.getMessageIds().equals(List.of(MESSAGE_ID)) && request.getTargetChatIds().equals(List.of(1L, 2L))), eq(ACCOUNT_ID));
+    }
+
     @Test
     void createEmptyChat_WithValidChatId_ShouldReturn200() throws Exception {
         doNothing().when(telegramService).createEmptyChat(anyLong(), anyString());
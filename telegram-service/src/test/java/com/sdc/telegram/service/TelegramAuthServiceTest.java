@@ -3,8 +3,12 @@ package com.sdc.telegram.service;
 import com.sdc.telegram.config.TelegramClientManager;
 import com.sdc.telegram.domain.dto.tdlib.auth.AuthorizationStateTdlib;
 import com.sdc.telegram.domain.mapper.auth.AuthorizationStateTdlibMapper;
+import com.sdc.telegram.utils.AuthorizationStateTracker;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +16,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.concurrent.ExecutionException;
 
@@ -38,6 +43,8 @@ class TelegramAuthServiceTest {
     @Captor
     private ArgumentCaptor<Client.ResultHandler> handlerCaptor;
     
+    private AuthorizationStateTracker stateTracker;
+    
     private TelegramAuthService telegramAuthService;
     
     private static final String ACCOUNT_ID = "testAccount123";
@@ -47,10 +54,17 @@ class TelegramAuthServiceTest {
     
     @BeforeEach
     void setUp() {
-        telegramAuthService = new TelegramAuthService(clientManager, authorizationStateTdlibMapper);
+        stateTracker = new AuthorizationStateTracker();
+        telegramAuthService = new TelegramAuthService(clientManager, authorizationStateTdlibMapper,
+                new TdlibMetrics(new SimpleMeterRegistry()), stateTracker);
         lenient().when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
     }
     
+    @AfterEach
+    void tearDown() {
+        telegramAuthService.shutdown();
+    }
+    
     @Test
     void sendPhoneNumber_WithValidAccountId_ShouldSendPhoneNumber() {
         doAnswer(invocation -> {
@@ -88,7 +102,7 @@ class TelegramAuthServiceTest {
             return null;
         }).when(client).send(any(TdApi.GetAuthorizationState.class), any());
         
-        assertThrows(UnsatisfiedLinkError.class,
+        assertThrows(RuntimeException.class,
             () -> telegramAuthService.sendPhoneNumber(PHONE, ACCOUNT_ID));
     }
     
@@ -116,7 +130,7 @@ class TelegramAuthServiceTest {
             return null;
         }).when(client).send(any(TdApi.GetAuthorizationState.class), any());
         
-        assertThrows(UnsatisfiedLinkError.class,
+        assertThrows(RuntimeException.class,
             () -> telegramAuthService.sendAuthCode(CODE, ACCOUNT_ID));
     }
     
@@ -144,7 +158,7 @@ class TelegramAuthServiceTest {
             return null;
         }).when(client).send(any(TdApi.GetAuthorizationState.class), any());
         
-        assertThrows(UnsatisfiedLinkError.class,
+        assertThrows(RuntimeException.class,
             () -> telegramAuthService.sendPassword(PASSWORD, ACCOUNT_ID));
     }
     
@@ -234,7 +248,53 @@ class TelegramAuthServiceTest {
             return null;
         }).when(client).send(any(TdApi.GetAuthorizationState.class), any());
         
-        assertThrows(UnsatisfiedLinkError.class,
+        assertThrows(ExecutionException.class,
             () -> telegramAuthService.getAuthorizationState(ACCOUNT_ID));
     }
+    
+    @Test
+    void getAuthorizationState_AfterStateUpdate_ShouldServeStateFromMemory() throws ExecutionException, InterruptedException {
+        TdApi.AuthorizationStateWaitCode waitCodeState = new TdApi.AuthorizationStateWaitCode(null);
+        AuthorizationStateTdlib expectedDto = mock(AuthorizationStateTdlib.class);
+        when(authorizationStateTdlibMapper.toDto(waitCodeState)).thenReturn(expectedDto);
+        
+        stateTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateAuthorizationState(waitCodeState));
+        AuthorizationStateTdlib result = telegramAuthService.getAuthorizationState(ACCOUNT_ID);
+        
+        assertEquals(expectedDto, result);
+        verify(client, never()).send(any(), any());
+    }
+    
+    @Test
+    void sendAuthCode_WithStateInMemory_ShouldSendCodeWithoutStateRequest() {
+        stateTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateAuthorizationState(new TdApi.AuthorizationStateWaitCode(null)));
+        
+        telegramAuthService.sendAuthCode(CODE, ACCOUNT_ID);
+        
+        verify(client).send(any(TdApi.CheckAuthenticationCode.class), any());
+        verify(client, never()).send(any(TdApi.GetAuthorizationState.class), any());
+    }
+    
+    @Test
+    void streamAuthorizationState_WithStateChanges_ShouldSendCurrentAndChangedStates() {
+        TdApi.AuthorizationStateWaitPhoneNumber waitPhoneState = new TdApi.AuthorizationStateWaitPhoneNumber();
+        TdApi.AuthorizationStateWaitCode waitCodeState = new TdApi.AuthorizationStateWaitCode(null);
+        stateTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateAuthorizationState(waitPhoneState));
+        
+        SseEmitter emitter = telegramAuthService.streamAuthorizationState(ACCOUNT_ID);
+        verify(authorizationStateTdlibMapper, timeout(2000)).toDto(waitPhoneState);
+        stateTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateAuthorizationState(waitCodeState));
+        
+        assertNotNull(emitter);
+        verify(authorizationStateTdlibMapper, timeout(2000)).toDto(waitCodeState);
+        verify(client, never()).send(any(), any());
+    }
+    
+    @Test
+    void streamAuthorizationState_WithInvalidAccountId_ShouldThrowException() {
+        when(clientManager.getClient("invalidId")).thenReturn(null);
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> telegramAuthService.streamAuthorizationState("invalidId"));
+    }
 }
@@ -0,0 +1,63 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.dto.TelegramChatChangesDto;
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import com.sdc.telegram.utils.ChatChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramChatSyncServiceTest {
+
+    @Mock
+    private ChatChangeTracker changeTracker;
+
+    @Mock
+    private TelegramService telegramService;
+
+    private TelegramChatSyncService chatSyncService;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final long SEQUENCE = 1000L;
+
+    @BeforeEach
+    void setUp() {
+        chatSyncService = new TelegramChatSyncService(changeTracker, telegramService);
+    }
+
+    @Test
+    void getChatChanges_WithChangedChats_ShouldReturnFetchedAndRemovedChats() throws Exception {
+        when(changeTracker.getChanges(ACCOUNT_ID, SEQUENCE))
+            .thenReturn(new ChatChangeTracker.ChatChanges(SEQUENCE + 3, false, List.of(1L, 2L), List.of(3L)));
+        ChatTdlibDto chat = new ChatTdlibDto();
+        chat.setId(1L);
+        when(telegramService.findChatsByIds(List.of(1L, 2L), 64, ACCOUNT_ID)).thenReturn(List.of(chat));
+
+        TelegramChatChangesDto changes = chatSyncService.getChatChanges(SEQUENCE, 64, ACCOUNT_ID);
+
+        assertEquals(SEQUENCE + 3, changes.getSequence());
+        assertFalse(changes.getResyncRequired());
+        assertEquals(List.of(chat), changes.getChanged());
+        assertEquals(List.of(3L, 2L), changes.getRemoved());
+    }
+
+    @Test
+    void getChatChanges_WhenResyncRequired_ShouldNotFetchChats() throws Exception {
+        when(changeTracker.getChanges(ACCOUNT_ID, 0L))
+            .thenReturn(new ChatChangeTracker.ChatChanges(SEQUENCE, true, List.of(), List.of()));
+
+        TelegramChatChangesDto changes = chatSyncService.getChatChanges(0L, null, ACCOUNT_ID);
+
+        assertTrue(changes.getResyncRequired());
+        assertEquals(SEQUENCE, changes.getSequence());
+        verifyNoInteractions(telegramService);
+    }
+}
@@ -0,0 +1,135 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramDownloadSchedulerTest {
+
+    @Mock
+    private Client client;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TelegramDownloadScheduler downloadScheduler;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SHORT_TIMEOUT = Duration.ofMillis(50);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        downloadScheduler = new TelegramDownloadScheduler(new TdlibMetrics(meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void download_WithCompletedDownload_ShouldSendPriorityOfClass() throws Exception {
+        TdApi.File downloaded = createFile(1, true);
+        AtomicReference<TdApi.DownloadFile> request = new AtomicReference<>();
+        doAnswer(invocation -> {
+            request.set(invocation.getArgument(0));
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(downloaded);
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+
+        TdApi.File result = downloadScheduler.download(client, ACCOUNT_ID, createFile(1, false), DownloadPriority.AVATAR, TIMEOUT);
+
+        assertSame(downloaded, result);
+        assertEquals(DownloadPriority.AVATAR.getTdlibPriority(), request.get().priority);
+        assertTrue(request.get().synchronous);
+    }
+
+    @Test
+    void download_WhenTimedOut_ShouldCancelDownload() {
+        assertThrows(TimeoutException.class,
+            () -> downloadScheduler.download(client, ACCOUNT_ID, createFile(2, false), DownloadPriority.INTERACTIVE, SHORT_TIMEOUT));
+
+        verify(client).send(argThat(function -> function instanceof TdApi.CancelDownloadFile cancel && cancel.fileId == 2), any());
+        assertEquals(1, meterRegistry.get(TelegramDownloadScheduler.ABANDONED_METRIC)
+            .tags("priority", DownloadPriority.INTERACTIVE.name(), "outcome", "canceled").counter().count());
+    }
+
+    @Test
+    void download_WithConcurrentRequests_ShouldShareDownloadAndPromotePriority() throws Exception {
+        AtomicReference<Client.ResultHandler> downloadHandler = new AtomicReference<>();
+        doAnswer(invocation -> {
+            TdApi.DownloadFile request = invocation.getArgument(0);
+            if (request.synchronous) {
+                downloadHandler.set(invocation.getArgument(1));
+            }
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+
+        CompletableFuture<TdApi.File> prefetch = CompletableFuture.supplyAsync(() -> download(3, DownloadPriority.PREFETCH));
+        verify(client, timeout(1000)).send(argThat(function -> function instanceof TdApi.DownloadFile request && request.synchronous), any());
+        CompletableFuture<TdApi.File> interactive = CompletableFuture.supplyAsync(() -> download(3, DownloadPriority.INTERACTIVE));
+        verify(client, timeout(1000)).send(argThat(function -> function instanceof TdApi.DownloadFile request && !request.synchronous
+            && request.priority == DownloadPriority.INTERACTIVE.getTdlibPriority()), any());
+
+        TdApi.File downloaded = createFile(3, true);
+        downloadHandler.get().onResult(downloaded);
+
+        assertSame(downloaded, prefetch.get(1, TimeUnit.SECONDS));
+        assertSame(downloaded, interactive.get(1, TimeUnit.SECONDS));
+        verify(client, times(1)).send(argThat(function -> function instanceof TdApi.DownloadFile request && request.synchronous), any());
+    }
+
+    @Test
+    void download_WhenClassSlotsAreBusy_ShouldTimeOutWithoutStartingDownload() throws Exception {
+        AtomicReference<Client.ResultHandler> downloadHandler = new AtomicReference<>();
+        doAnswer(invocation -> {
+            downloadHandler.set(invocation.getArgument(1));
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+
+        CompletableFuture<TdApi.File> first = CompletableFuture.supplyAsync(() -> download(4, DownloadPriority.PREFETCH));
+        verify(client, timeout(1000)).send(any(TdApi.DownloadFile.class), any());
+
+        assertThrows(TimeoutException.class,
+            () -> downloadScheduler.download(client, ACCOUNT_ID, createFile(5, false), DownloadPriority.PREFETCH, SHORT_TIMEOUT));
+        verify(client, never()).send(argThat(function -> function instanceof TdApi.DownloadFile request && request.fileId == 5), any());
+        assertEquals(1, meterRegistry.get(TelegramDownloadScheduler.ABANDONED_METRIC)
+            .tags("priority", DownloadPriority.PREFETCH.name(), "outcome", "timeout").counter().count());
+
+        downloadHandler.get().onResult(createFile(4, true));
+        assertNotNull(first.get(1, TimeUnit.SECONDS));
+    }
+
+    private TdApi.File download(final int fileId, final DownloadPriority priority) {
+        try {
+            return downloadScheduler.download(client, ACCOUNT_ID, createFile(fileId, false), priority, TIMEOUT);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private TdApi.File createFile(final int id, final boolean downloaded) {
+        TdApi.File file = new TdApi.File();
+        file.id = id;
+        file.local = new TdApi.LocalFile();
+        file.local.isDownloadingCompleted = downloaded;
+        file.local.path = downloaded ? "/tmp/file" + id : "";
+        return file;
+    }
+}
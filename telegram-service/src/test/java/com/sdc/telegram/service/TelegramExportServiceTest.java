@@ -0,0 +1,174 @@
+package com.sdc.telegram.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.domain.constants.TelegramExportStatus;
+import com.sdc.telegram.domain.dto.TelegramExportJobDto;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramExportServiceTest {
+
+    @Mock
+    private TelegramClientManager clientManager;
+
+    @Mock
+    private TelegramService telegramService;
+
+    @Mock
+    private TelegramFileService fileService;
+
+    @Mock
+    private Client client;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TelegramExportService exportService;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Long CHAT_ID = 123456L;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        exportService = new TelegramExportService(clientManager, telegramService, fileService,
+            new TdlibMetrics(meterRegistry), new ObjectMapper(), meterRegistry);
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        when(telegramService.fetchMessageBatch(eq(CHAT_ID), anyLong(), anyInt(), eq(client)))
+            .thenReturn(List.of(createMessage(3), createMessage(2)), List.of(createMessage(1)), List.of());
+        lenient().when(telegramService.toMessageDto(any())).thenAnswer(invocation -> {
+            TdApi.Message message = invocation.getArgument(0);
+            MessageTdlibDto dto = new MessageTdlibDto();
+            dto.setId(message.id);
+            if (message.id == 2) {
+                dto.setDocumentRemoteId("document");
+            }
+            return dto;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+    }
+
+    @Test
+    void streamExport_WithoutMedia_ShouldWriteGzipJsonLinePerMessage() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.streamExport(CHAT_ID, false, ACCOUNT_ID).writeTo(outputStream);
+
+        List<String> lines = readJsonLines(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(3, lines.size());
+        assertEquals(3L, new ObjectMapper().readTree(lines.get(0)).get("id").asLong());
+        assertEquals(1L, new ObjectMapper().readTree(lines.get(2)).get("id").asLong());
+        assertEquals(3, meterRegistry.get(TelegramExportService.MESSAGES_METRIC).counter().count());
+        verify(telegramService).fetchMessageBatch(CHAT_ID, 0L, 100, client);
+        verify(telegramService).fetchMessageBatch(CHAT_ID, 2L, 100, client);
+        verifyNoInteractions(fileService);
+    }
+
+    @Test
+    void streamExport_WithMedia_ShouldWriteMediaAndMessagesToZip() throws Exception {
+        Path document = Files.writeString(tempDir.resolve("report.pdf"), "pdf");
+        doAnswer(invocation -> {
+            TdApi.File file = new TdApi.File();
+            file.id = 7;
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(file);
+            return null;
+        }).when(client).send(any(TdApi.GetRemoteFile.class), any());
+        when(fileService.getFilePath(any(), eq(client), eq(DownloadPriority.DOCUMENT), any())).thenReturn(document);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.streamExport(CHAT_ID, true, ACCOUNT_ID).writeTo(outputStream);
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertArrayEquals("pdf".getBytes(), entries.get(TelegramExportService.MEDIA_DIRECTORY + "2-report.pdf"));
+        assertEquals(3, readJsonLines(new ByteArrayInputStream(entries.get(TelegramExportService.MESSAGES_ENTRY))).size());
+        verify(fileService).releaseFile(document);
+    }
+
+    @Test
+    void startExport_WhenCompleted_ShouldReportProgressAndServeSpoolFile() throws Exception {
+        TelegramExportJobDto started = exportService.startExport(CHAT_ID, false, ACCOUNT_ID);
+
+        TelegramExportJobDto job = awaitStatus(started.getJobId(), TelegramExportStatus.COMPLETED);
+        assertEquals(3L, job.getExportedMessages());
+        assertTrue(job.getWrittenBytes() > 0);
+        assertNotNull(job.getMessagesPerSecond());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.getExportFile(started.getJobId(), ACCOUNT_ID).writeTo(outputStream);
+        assertEquals(3, readJsonLines(new ByteArrayInputStream(outputStream.toByteArray())).size());
+        assertThrows(RuntimeException.class, () -> exportService.getExport(started.getJobId(), "otherAccount"));
+
+        exportService.cancelExport(started.getJobId(), ACCOUNT_ID);
+        assertThrows(RuntimeException.class, () -> exportService.getExport(started.getJobId(), ACCOUNT_ID));
+    }
+
+    private TelegramExportJobDto awaitStatus(final String jobId, final TelegramExportStatus status) {
+        long deadline = System.currentTimeMillis() + 2000;
+        TelegramExportJobDto job = exportService.getExport(jobId, ACCOUNT_ID);
+        while (job.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            job = exportService.getExport(jobId, ACCOUNT_ID);
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+
+    private List<String> readJsonLines(final InputStream inputStream) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(inputStream)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private TdApi.Message createMessage(final long id) {
+        TdApi.Message message = new TdApi.Message();
+        message.id = id;
+        message.chatId = CHAT_ID;
+        return message;
+    }
+}
@@ -1,6 +1,10 @@
 package com.sdc.telegram.service;
 
 import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.utils.TdlibMetrics;
+import com.sdc.telegram.utils.ThumbnailCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +15,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,11 +56,17 @@ class TelegramFileServiceTest {
     private static final String PROFILE_REMOTE_ID = "PROFILE_xyz789";
     private static final String VIDEO_REMOTE_ID = "video123";
     private static final String DOCUMENT_REMOTE_ID = "doc456";
+    private static final String AVATAR_REMOTE_ID = "plainavatar";
+    private static final String MISSING_AVATAR_REMOTE_ID = "profilemissing";
     
     @BeforeEach
     void setUp() {
-        telegramFileService = new TelegramFileService(clientManager);
-        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TdlibMetrics tdlibMetrics = new TdlibMetrics(meterRegistry);
+        TelegramDownloadScheduler downloadScheduler = new TelegramDownloadScheduler(tdlibMetrics, meterRegistry);
+        telegramFileService = new TelegramFileService(clientManager, tdlibMetrics, new ThumbnailCache(meterRegistry),
+            downloadScheduler, new TelegramPrefetchService(clientManager, tdlibMetrics, downloadScheduler, meterRegistry));
+        lenient().when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
     }
     
     @Test
@@ -181,4 +201,146 @@ class TelegramFileServiceTest {
         result.writeTo(outputStream);
         assertArrayEquals(testData, outputStream.toByteArray());
     }
+    
+    @Test
+    void getTelegramDocument_WithRemoteOnlyFile_ShouldDownloadWithDocumentPriority() throws Exception {
+        Path testFile = tempDir.resolve("remote.pdf");
+        byte[] testData = "remote document data".getBytes();
+        Files.write(testFile, testData);
+        
+        TdApi.File remoteFile = new TdApi.File();
+        remoteFile.id = 7;
+        remoteFile.local = new TdApi.LocalFile();
+        remoteFile.local.path = "";
+        
+        TdApi.File downloadedFile = new TdApi.File();
+        downloadedFile.id = 7;
+        downloadedFile.local = new TdApi.LocalFile();
+        downloadedFile.local.path = testFile.toString();
+        downloadedFile.local.isDownloadingCompleted = true;
+        
+        when(clientManager.getAccountIdForClient(client)).thenReturn(ACCOUNT_ID);
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(remoteFile);
+            return null;
+        }).when(client).send(any(TdApi.GetRemoteFile.class), any());
+        AtomicReference<TdApi.DownloadFile> downloadRequest = new AtomicReference<>();
+        doAnswer(invocation -> {
+            downloadRequest.set(invocation.getArgument(0));
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(downloadedFile);
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+        
+        StreamingResponseBody result = telegramFileService.getTelegramDocument(DOCUMENT_REMOTE_ID, ACCOUNT_ID);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.writeTo(outputStream);
+        
+        assertArrayEquals(testData, outputStream.toByteArray());
+        assertEquals(DownloadPriority.DOCUMENT.getTdlibPriority(), downloadRequest.get().priority);
+        assertTrue(downloadRequest.get().synchronous);
+        verify(client, never()).send(any(TdApi.GetFile.class), any());
+    }
+    
+    @Test
+    void releaseFile_WithSharedFile_ShouldDeleteAfterLastHolder() throws Exception {
+        Path testFile = tempDir.resolve("shared.jpg");
+        Files.write(testFile, "shared image data".getBytes());
+        
+        TdApi.File mockFile = new TdApi.File();
+        mockFile.id = 8;
+        mockFile.local = new TdApi.LocalFile();
+        mockFile.local.path = testFile.toString();
+        mockFile.local.isDownloadingCompleted = true;
+        
+        Path first = telegramFileService.getFilePath(mockFile, client, DownloadPriority.INTERACTIVE, Duration.ofSeconds(1));
+        Path second = telegramFileService.getFilePath(mockFile, client, DownloadPriority.AVATAR, Duration.ofSeconds(1));
+        
+        telegramFileService.releaseFile(first);
+        assertTrue(Files.exists(testFile));
+        
+        telegramFileService.releaseFile(second);
+        assertFalse(Files.exists(testFile));
+    }
+    
+    @Test
+    void getTelegramAvatars_WithMixedResults_ShouldStreamResizedAndMissingEntries() throws Exception {
+        Path imageFile = tempDir.resolve("avatar.png");
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", imageFile.toFile());
+        
+        TdApi.File mockFile = new TdApi.File();
+        mockFile.id = 5;
+        mockFile.local = new TdApi.LocalFile();
+        mockFile.local.path = imageFile.toString();
+        mockFile.local.isDownloadingCompleted = true;
+        
+        doAnswer(invocation -> {
+            TdApi.GetRemoteFile request = invocation.getArgument(0);
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult("avatar".equals(request.remoteFileId) ? mockFile : new TdApi.Error(404, "File not found"));
+            return null;
+        }).when(client).send(any(TdApi.GetRemoteFile.class), any());
+        
+        StreamingResponseBody result = telegramFileService.getTelegramAvatars(
+            List.of(AVATAR_REMOTE_ID, MISSING_AVATAR_REMOTE_ID, AVATAR_REMOTE_ID), 50, ACCOUNT_ID);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.writeTo(outputStream);
+        
+        Map<String, byte[]> avatars = new HashMap<>();
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        while (inputStream.available() > 0) {
+            String remoteId = inputStream.readUTF();
+            int length = inputStream.readInt();
+            avatars.put(remoteId, length < 0 ? null : inputStream.readNBytes(length));
+        }
+        
+        assertEquals(2, avatars.size());
+        assertNull(avatars.get(MISSING_AVATAR_REMOTE_ID));
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(avatars.get(AVATAR_REMOTE_ID)));
+        assertEquals(64, thumbnail.getWidth());
+        assertEquals(32, thumbnail.getHeight());
+    }
+    
+    @Test
+    void getTelegramAvatars_WithTooManyRemoteIds_ShouldThrowException() {
+        List<String> remoteIds = IntStream.rangeClosed(0, TelegramFileService.MAX_AVATAR_BATCH_SIZE)
+            .mapToObj(i -> AVATAR_REMOTE_ID + i)
+            .toList();
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> telegramFileService.getTelegramAvatars(remoteIds, 64, ACCOUNT_ID));
+        verifyNoInteractions(client);
+    }
+    
+    @Test
+    void getTelegramImage_WithSize_ShouldReturnCachedVariantOnSecondRequest() throws Exception {
+        Path imageFile = tempDir.resolve("image.png");
+        ImageIO.write(new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB), "png", imageFile.toFile());
+        
+        TdApi.File mockFile = new TdApi.File();
+        mockFile.id = 6;
+        mockFile.local = new TdApi.LocalFile();
+        mockFile.local.path = imageFile.toString();
+        mockFile.local.isDownloadingCompleted = true;
+        
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(mockFile);
+            return null;
+        }).when(client).send(any(TdApi.GetRemoteFile.class), any());
+        
+        byte[] first = telegramFileService.getTelegramImage(AVATAR_REMOTE_ID, 100, ACCOUNT_ID);
+        byte[] second = telegramFileService.getTelegramImage(AVATAR_REMOTE_ID, 128, ACCOUNT_ID);
+        
+        assertSame(first, second);
+        assertEquals(128, ImageIO.read(new ByteArrayInputStream(first)).getWidth());
+        verify(client, times(1)).send(any(TdApi.GetRemoteFile.class), any());
+    }
+    
+    @Test
+    void getTelegramImage_WithInvalidSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> telegramFileService.getTelegramImage(AVATAR_REMOTE_ID, 0, ACCOUNT_ID));
+    }
 }
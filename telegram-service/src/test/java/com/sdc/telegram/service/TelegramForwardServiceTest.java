@@ -0,0 +1,183 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.config.properties.TelegramForwardProperties;
+import com.sdc.telegram.domain.dto.TelegramForwardRequestDto;
+import com.sdc.telegram.domain.dto.TelegramForwardResultDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramForwardServiceTest {
+
+    @Mock
+    private TelegramClientManager clientManager;
+
+    @Mock
+    private Client client;
+
+    private TelegramForwardProperties properties;
+
+    private TelegramForwardService forwardService;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Long FROM_CHAT_ID = 123456L;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TelegramForwardProperties();
+        forwardService = new TelegramForwardService(clientManager, new TdlibMetrics(new SimpleMeterRegistry()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        forwardService.shutdown();
+    }
+
+    @Test
+    void forwardMessages_WithSeveralTargets_ShouldForwardOnceToEveryTargetInOrder() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        doAnswer(invocation -> {
+            TdApi.ForwardMessages forward = invocation.getArgument(0);
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(forward.chatId == 2L
+                ? new TdApi.Error(400, "Chat not found")
+                : new TdApi.Messages(2, new TdApi.Message[]{createMessage(forward.chatId * 10), createMessage(forward.chatId * 10 + 1)}));
+            return null;
+        }).when(client).send(any(TdApi.ForwardMessages.class), any());
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L, 6L), List.of(1L, 2L, 1L, 3L), true, false), ACCOUNT_ID);
+
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(TelegramForwardResultDto::getTargetChatId).toList());
+        assertEquals(List.of(10L, 11L), results.get(0).getForwardedMessageIds());
+        assertTrue(results.get(0).getSuccess());
+        assertFalse(results.get(1).getSuccess());
+        assertEquals("Chat not found", results.get(1).getError());
+        assertEquals(List.of(30L, 31L), results.get(2).getForwardedMessageIds());
+
+        ArgumentCaptor<TdApi.ForwardMessages> forwards = ArgumentCaptor.forClass(TdApi.ForwardMessages.class);
+        verify(client, times(3)).send(forwards.capture(), any());
+        assertEquals(FROM_CHAT_ID, forwards.getValue().fromChatId);
+        assertArrayEquals(new long[]{5L, 6L}, forwards.getValue().messageIds);
+        assertTrue(forwards.getValue().sendCopy);
+    }
+
+    @Test
+    void forwardMessages_WithFloodWait_ShouldRetryTarget() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(attempts.incrementAndGet() == 1
+                ? new TdApi.Error(429, "Too Many Requests: retry after 0")
+                : new TdApi.Messages(1, new TdApi.Message[]{createMessage(10)}));
+            return null;
+        }).when(client).send(any(TdApi.ForwardMessages.class), any());
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L), List.of(1L), false, false), ACCOUNT_ID);
+
+        assertTrue(results.get(0).getSuccess());
+        assertEquals(List.of(10L), results.get(0).getForwardedMessageIds());
+        verify(client, times(2)).send(any(TdApi.ForwardMessages.class), any());
+    }
+
+    @Test
+    void forwardMessages_WithFloodWaitOverMaximum_ShouldFailTargetAsRateLimited() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Error(429, "Too Many Requests: retry after 86400"));
+            return null;
+        }).when(client).send(any(TdApi.ForwardMessages.class), any());
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L), List.of(1L), false, false), ACCOUNT_ID);
+
+        assertFalse(results.get(0).getSuccess());
+        assertTrue(results.get(0).getError().startsWith("Rate limited"));
+        verify(client, times(1)).send(any(TdApi.ForwardMessages.class), any());
+    }
+
+    @Test
+    void forwardMessages_WhenTimedOut_ShouldFailPendingTargets() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        properties.setTimeout(Duration.ofMillis(100));
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L), List.of(1L, 2L), false, false), ACCOUNT_ID);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(TelegramForwardResultDto::getTargetChatId).toList());
+        assertTrue(results.stream().noneMatch(TelegramForwardResultDto::getSuccess));
+        assertEquals("Timed out", results.get(0).getError());
+    }
+
+    @Test
+    void forwardMessages_WithUnexpectedResponse_ShouldFailOnlyThatTarget() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        doAnswer(invocation -> {
+            TdApi.ForwardMessages forward = invocation.getArgument(0);
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(forward.chatId == 1L
+                ? new TdApi.Ok()
+                : new TdApi.Messages(1, new TdApi.Message[]{createMessage(forward.chatId * 10)}));
+            return null;
+        }).when(client).send(any(TdApi.ForwardMessages.class), any());
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L), List.of(1L, 2L), false, false), ACCOUNT_ID);
+
+        assertFalse(results.get(0).getSuccess());
+        assertEquals("Unexpected response", results.get(0).getError());
+        assertTrue(results.get(1).getSuccess());
+    }
+
+    @Test
+    void forwardMessages_WithMessagesThatCantBeForwarded_ShouldReportPartialResult() throws Exception {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Messages(2, new TdApi.Message[]{createMessage(10), null}));
+            return null;
+        }).when(client).send(any(TdApi.ForwardMessages.class), any());
+
+        List<TelegramForwardResultDto> results = forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L, 6L), List.of(1L), false, false), ACCOUNT_ID);
+
+        assertFalse(results.get(0).getSuccess());
+        assertEquals(List.of(10L), results.get(0).getForwardedMessageIds());
+        assertNotNull(results.get(0).getError());
+    }
+
+    @Test
+    void forwardMessages_WithInvalidAccount_ShouldThrowException() {
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> forwardService.forwardMessages(
+            new TelegramForwardRequestDto(FROM_CHAT_ID, List.of(5L), List.of(1L), false, false), ACCOUNT_ID));
+    }
+
+    private TdApi.Message createMessage(final long id) {
+        TdApi.Message message = new TdApi.Message();
+        message.id = id;
+        return message;
+    }
+}
@@ -0,0 +1,153 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.DownloadPriority;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramPrefetchServiceTest {
+
+    @Mock
+    private TelegramClientManager clientManager;
+
+    @Mock
+    private Client client;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TelegramPrefetchService prefetchService;
+
+    private static final String ACCOUNT_ID = "testAccount";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TdlibMetrics tdlibMetrics = new TdlibMetrics(meterRegistry);
+        prefetchService = new TelegramPrefetchService(clientManager, tdlibMetrics,
+            new TelegramDownloadScheduler(tdlibMetrics, meterRegistry), meterRegistry);
+        lenient().when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetchService.shutdown();
+    }
+
+    @Test
+    void prefetch_WithMediaMessages_ShouldDownloadMostRecentWithPrefetchPriority() {
+        Map<String, TdApi.File> files = Map.of("photo", createFile(1, 1024, false), "video", createFile(2, 1024, false),
+            "document", createFile(3, 1024, false));
+        stubRemoteFiles(files);
+        doAnswer(invocation -> {
+            TdApi.DownloadFile request = invocation.getArgument(0);
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(createFile(request.fileId, 1024, true));
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+
+        MessageTdlibDto photo = new MessageTdlibDto();
+        photo.setPhotoRemoteId("plainphoto");
+        MessageTdlibDto video = new MessageTdlibDto();
+        video.setVideoRemoteId("video");
+        MessageTdlibDto document = new MessageTdlibDto();
+        document.setDocumentRemoteId("document");
+
+        prefetchService.prefetch(List.of(photo, new MessageTdlibDto(), video, document), 2, ACCOUNT_ID);
+
+        verify(client, timeout(1000).times(2)).send(argThat(function -> function instanceof TdApi.DownloadFile request
+            && request.priority == DownloadPriority.PREFETCH.getTdlibPriority()), any());
+        verify(client, never()).send(argThat(function -> function instanceof TdApi.GetRemoteFile request
+            && "document".equals(request.remoteFileId)), any());
+    }
+
+    @Test
+    void recordAccess_WithPrefetchedFile_ShouldCountHit() {
+        stubRemoteFiles(Map.of("video", createFile(4, 1024, false)));
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(createFile(4, 1024, true));
+            return null;
+        }).when(client).send(any(TdApi.DownloadFile.class), any());
+
+        MessageTdlibDto video = new MessageTdlibDto();
+        video.setVideoRemoteId("video");
+        prefetchService.prefetch(List.of(video), 1, ACCOUNT_ID);
+        awaitCount("prefetched", 1);
+
+        prefetchService.recordAccess(ACCOUNT_ID, createFile(4, 1024, true));
+        prefetchService.recordAccess(ACCOUNT_ID, createFile(4, 1024, true));
+
+        assertEquals(1, meterRegistry.get(TelegramPrefetchService.FILES_METRIC).tags("outcome", "hit").counter().count());
+        assertEquals(1024, meterRegistry.get(TelegramPrefetchService.BYTES_METRIC).counter().count());
+    }
+
+    @Test
+    void prefetch_WhenBudgetExceeded_ShouldSkipFile() {
+        stubRemoteFiles(Map.of("document", createFile(5, 200L * 1024 * 1024, false)));
+
+        MessageTdlibDto document = new MessageTdlibDto();
+        document.setDocumentRemoteId("document");
+        prefetchService.prefetch(List.of(document), 1, ACCOUNT_ID);
+
+        awaitCount("skipped", 1);
+        verify(client, never()).send(any(TdApi.DownloadFile.class), any());
+    }
+
+    @Test
+    void prefetch_WithFileAlreadyQueued_ShouldNotQueueItAgain() {
+        MessageTdlibDto video = new MessageTdlibDto();
+        video.setVideoRemoteId("video");
+
+        prefetchService.prefetch(List.of(video), 1, ACCOUNT_ID);
+        prefetchService.prefetch(List.of(video), 1, ACCOUNT_ID);
+
+        assertEquals(1, meterRegistry.get(TelegramPrefetchService.FILES_METRIC).tags("outcome", "duplicate").counter().count());
+        verify(client, timeout(1000).times(1)).send(any(TdApi.GetRemoteFile.class), any());
+    }
+
+    private void stubRemoteFiles(final Map<String, TdApi.File> files) {
+        doAnswer(invocation -> {
+            TdApi.GetRemoteFile request = invocation.getArgument(0);
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(files.getOrDefault(request.remoteFileId, createFile(0, 0, true)));
+            return null;
+        }).when(client).send(any(TdApi.GetRemoteFile.class), any());
+    }
+
+    private void awaitCount(final String outcome, final double expected) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (meterRegistry.counter(TelegramPrefetchService.FILES_METRIC, "outcome", outcome).count() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, meterRegistry.counter(TelegramPrefetchService.FILES_METRIC, "outcome", outcome).count());
+    }
+
+    private TdApi.File createFile(final int id, final long size, final boolean downloaded) {
+        TdApi.File file = new TdApi.File();
+        file.id = id;
+        file.size = size;
+        file.local = new TdApi.LocalFile();
+        file.local.isDownloadingCompleted = downloaded;
+        file.local.path = downloaded ? "/tmp/file" + id : "";
+        return file;
+    }
+}
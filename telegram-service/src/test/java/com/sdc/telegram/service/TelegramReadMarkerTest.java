@@ -0,0 +1,150 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramReadMarkerTest {
+
+    @Mock
+    private Client client;
+
+    private TelegramReadMarker readMarker;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final long CHAT_ID = 123456L;
+
+    @BeforeEach
+    void setUp() {
+        readMarker = new TelegramReadMarker(new TdlibMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        readMarker.shutdown();
+    }
+
+    @Test
+    void markRead_WithSuccessiveLoads_ShouldViewOnlyUnreadIncomingMessagesOnce() {
+        stubLastReadInboxMessageId(5);
+
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(8, false), createMessage(7, true),
+            createMessage(6, false), createMessage(5, false), createMessage(4, false)));
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(9, false), createMessage(8, false)));
+
+        List<TdApi.ViewMessages> requests = captureViewMessages(1);
+        assertArrayEquals(new long[]{6, 8, 9}, requests.get(0).messageIds);
+        assertTrue(requests.get(0).forceRead);
+    }
+
+    @Test
+    void markRead_AfterSubmission_ShouldNotViewSubmittedMessagesAgain() {
+        stubLastReadInboxMessageId(0);
+        stubViewMessages(new TdApi.Ok());
+
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(2, false), createMessage(1, false)));
+        captureViewMessages(1);
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(3, false), createMessage(2, false)));
+
+        List<TdApi.ViewMessages> requests = captureViewMessages(2);
+        assertArrayEquals(new long[]{3}, requests.get(1).messageIds);
+    }
+
+    @Test
+    void markRead_AfterFailedSubmission_ShouldViewMessagesAgain() throws Exception {
+        stubLastReadInboxMessageId(0);
+        CountDownLatch answered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Error(500, "Internal error"));
+            answered.countDown();
+            return null;
+        }).when(client).send(any(TdApi.ViewMessages.class), any());
+
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(2, false), createMessage(1, false)));
+        assertTrue(answered.await(2, TimeUnit.SECONDS));
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(3, false), createMessage(2, false)));
+
+        List<TdApi.ViewMessages> requests = captureViewMessages(2);
+        assertArrayEquals(new long[]{2, 3}, requests.get(1).messageIds);
+    }
+
+    @Test
+    void markRead_WithManyUnreadMessages_ShouldSplitIntoBoundedAscendingBatches() {
+        stubLastReadInboxMessageId(0);
+        stubViewMessages(new TdApi.Ok());
+        List<TdApi.Message> messages = new ArrayList<>();
+        LongStream.rangeClosed(1, 250).map(id -> 251 - id).forEach(id -> messages.add(createMessage(id, false)));
+
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, messages);
+
+        List<TdApi.ViewMessages> requests = captureViewMessages(3);
+        assertEquals(TelegramReadMarker.MAX_VIEW_BATCH, requests.get(0).messageIds.length);
+        assertEquals(1, requests.get(0).messageIds[0]);
+        assertEquals(50, requests.get(2).messageIds.length);
+        assertEquals(250, requests.get(2).messageIds[49]);
+    }
+
+    @Test
+    void markRead_WithOnlyOutgoingMessages_ShouldNotCallTdlib() {
+        readMarker.markRead(client, ACCOUNT_ID, CHAT_ID, List.of(createMessage(1, true)));
+
+        verifyNoInteractions(client);
+    }
+
+    private void stubLastReadInboxMessageId(final long lastReadInboxMessageId) {
+        doAnswer(invocation -> {
+            TdApi.Chat chat = new TdApi.Chat();
+            chat.id = CHAT_ID;
+            chat.lastReadInboxMessageId = lastReadInboxMessageId;
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(chat);
+            return null;
+        }).when(client).send(any(TdApi.GetChat.class), any());
+    }
+
+    private void stubViewMessages(final TdApi.Object response) {
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(response);
+            return null;
+        }).when(client).send(any(TdApi.ViewMessages.class), any());
+    }
+
+    private List<TdApi.ViewMessages> captureViewMessages(final int count) {
+        verify(client, timeout(2000).times(count)).send(any(TdApi.ViewMessages.class), any());
+        ArgumentCaptor<TdApi.Function> captor = ArgumentCaptor.forClass(TdApi.Function.class);
+        verify(client, atLeastOnce()).send(captor.capture(), any());
+        return captor.getAllValues().stream()
+            .filter(TdApi.ViewMessages.class::isInstance)
+            .map(TdApi.ViewMessages.class::cast)
+            .toList();
+    }
+
+    private TdApi.Message createMessage(final long id, final boolean outgoing) {
+        TdApi.Message message = new TdApi.Message();
+        message.id = id;
+        message.chatId = CHAT_ID;
+        message.isOutgoing = outgoing;
+        return message;
+    }
+}
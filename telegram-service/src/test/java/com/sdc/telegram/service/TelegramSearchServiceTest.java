@@ -0,0 +1,202 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.domain.constants.TelegramContentType;
+import com.sdc.telegram.domain.dto.TelegramMessageSearchFilterDto;
+import com.sdc.telegram.domain.dto.TelegramMessagesPageDto;
+import com.sdc.telegram.domain.dto.tdlib.message.MessageTdlibDto;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramSearchServiceTest {
+
+    @Mock
+    private TelegramClientManager clientManager;
+
+    @Mock
+    private TelegramService telegramService;
+
+    @Mock
+    private Client client;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TelegramSearchService searchService;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Long CHAT_ID = 123456L;
+    private static final Long USER_ID = 789L;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchService = new TelegramSearchService(clientManager, telegramService, new TdlibMetrics(meterRegistry), meterRegistry);
+        when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
+    }
+
+    @Test
+    void searchChatMessages_WithFirstPage_ShouldReturnMessagesAndCursor() throws Exception {
+        TdApi.Message message = createMessage(1L, 1000, USER_ID);
+        MessageTdlibDto dto = new MessageTdlibDto();
+        when(telegramService.toMessageDto(message)).thenReturn(dto);
+
+        AtomicReference<TdApi.SearchChatMessages> captured = new AtomicReference<>();
+        doAnswer(invocation -> {
+            captured.set(invocation.getArgument(0));
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.FoundChatMessages(5, new TdApi.Message[]{message}, 1L));
+            return null;
+        }).when(client).send(any(TdApi.SearchChatMessages.class), any());
+
+        TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto("hello", USER_ID, null, null, TelegramContentType.IMAGE);
+        TelegramMessagesPageDto page = searchService.searchChatMessages(CHAT_ID, filter, null, 20, ACCOUNT_ID);
+
+        assertEquals(1, page.getMessages().size());
+        assertSame(dto, page.getMessages().get(0));
+        assertEquals(5, page.getTotalCount());
+        assertEquals("1", page.getNextCursor());
+
+        TdApi.SearchChatMessages request = captured.get();
+        assertEquals(CHAT_ID, request.chatId);
+        assertEquals("hello", request.query);
+        assertEquals(0L, request.fromMessageId);
+        assertEquals(20, request.limit);
+        assertInstanceOf(TdApi.SearchMessagesFilterPhoto.class, request.filter);
+        assertEquals(USER_ID, ((TdApi.MessageSenderUser) request.senderId).userId);
+        assertEquals(1, meterRegistry.get("telegram.search.latency").tags("scope", "chat").timer().count());
+        assertEquals(1, meterRegistry.get("telegram.search.results").tags("scope", "chat").counter().count());
+    }
+
+    @Test
+    void searchChatMessages_WithMessagesOlderThanMinDate_ShouldFilterAndStopPaging() throws Exception {
+        TdApi.Message recent = createMessage(2L, 2000, USER_ID);
+        TdApi.Message old = createMessage(1L, 500, USER_ID);
+        when(telegramService.toMessageDto(recent)).thenReturn(new MessageTdlibDto());
+
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.FoundChatMessages(2, new TdApi.Message[]{recent, old}, 1L));
+            return null;
+        }).when(client).send(any(TdApi.SearchChatMessages.class), any());
+
+        TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto(null, null, 1000, null, null);
+        TelegramMessagesPageDto page = searchService.searchChatMessages(CHAT_ID, filter, "10", 20, ACCOUNT_ID);
+
+        assertEquals(1, page.getMessages().size());
+        assertNull(page.getNextCursor());
+        verify(telegramService, never()).toMessageDto(old);
+    }
+
+    @Test
+    void searchChatMessages_WithMaxDate_ShouldSeekToMessageByDate() throws Exception {
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(createMessage(42L, 1500, USER_ID));
+            return null;
+        }).when(client).send(any(TdApi.GetChatMessageByDate.class), any());
+
+        AtomicReference<TdApi.SearchChatMessages> captured = new AtomicReference<>();
+        doAnswer(invocation -> {
+            captured.set(invocation.getArgument(0));
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.FoundChatMessages(0, new TdApi.Message[0], 0L));
+            return null;
+        }).when(client).send(any(TdApi.SearchChatMessages.class), any());
+
+        TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto(null, null, null, 1500, null);
+        TelegramMessagesPageDto page = searchService.searchChatMessages(CHAT_ID, filter, null, 20, ACCOUNT_ID);
+
+        assertTrue(page.getMessages().isEmpty());
+        assertNull(page.getNextCursor());
+        assertEquals(42L, captured.get().fromMessageId);
+    }
+
+    @Test
+    void searchChatMessages_WithInvalidCursor_ShouldThrowException() {
+        TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                searchService.searchChatMessages(CHAT_ID, filter, "abc", 20, ACCOUNT_ID));
+    }
+
+    @Test
+    void searchMessages_WithTextContentType_ShouldKeepOnlyTextMessages() throws Exception {
+        TdApi.Message text = createMessage(1L, 1000, USER_ID);
+        TdApi.Message photo = createMessage(2L, 1000, USER_ID);
+        photo.content = new TdApi.MessagePhoto();
+        when(telegramService.toMessageDto(text)).thenReturn(new MessageTdlibDto());
+
+        AtomicReference<TdApi.SearchMessages> captured = new AtomicReference<>();
+        doAnswer(invocation -> {
+            captured.set(invocation.getArgument(0));
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.FoundMessages(2, new TdApi.Message[]{text, photo}, "next"));
+            return null;
+        }).when(client).send(any(TdApi.SearchMessages.class), any());
+
+        TelegramMessageSearchFilterDto filter = new TelegramMessageSearchFilterDto("hello", null, 100, 2000, TelegramContentType.TEXT);
+        TelegramMessagesPageDto page = searchService.searchMessages(filter, "prev", 20, ACCOUNT_ID);
+
+        assertEquals(1, page.getMessages().size());
+        assertEquals("next", page.getNextCursor());
+
+        TdApi.SearchMessages request = captured.get();
+        assertInstanceOf(TdApi.ChatListMain.class, request.chatList);
+        assertEquals("prev", request.offset);
+        assertEquals(100, request.minDate);
+        assertEquals(2000, request.maxDate);
+        assertInstanceOf(TdApi.SearchMessagesFilterEmpty.class, request.filter);
+    }
+
+    @Test
+    void searchMessages_WithLastPage_ShouldReturnNullCursor() throws Exception {
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.FoundMessages(0, new TdApi.Message[0], ""));
+            return null;
+        }).when(client).send(any(TdApi.SearchMessages.class), any());
+
+        TelegramMessagesPageDto page = searchService.searchMessages(new TelegramMessageSearchFilterDto(), null, 20, ACCOUNT_ID);
+
+        assertNull(page.getNextCursor());
+        assertEquals(0, page.getTotalCount());
+    }
+
+    @Test
+    void searchMessages_WithError_ShouldThrowException() {
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Error(400, "Bad Request"));
+            return null;
+        }).when(client).send(any(TdApi.SearchMessages.class), any());
+
+        assertThrows(ExecutionException.class, () ->
+                searchService.searchMessages(new TelegramMessageSearchFilterDto(), null, 20, ACCOUNT_ID));
+        assertEquals(1, meterRegistry.get("telegram.search.latency").tags("scope", "global", "outcome", "error").timer().count());
+    }
+
+    private TdApi.Message createMessage(final long id, final int date, final long senderUserId) {
+        TdApi.Message message = new TdApi.Message();
+        message.id = id;
+        message.chatId = CHAT_ID;
+        message.date = date;
+        message.senderId = new TdApi.MessageSenderUser(senderUserId);
+        message.content = new TdApi.MessageText();
+        return message;
+    }
+}
@@ -6,23 +6,33 @@ import com.sdc.telegram.domain.dto.TelegramAccountDto;
 import com.sdc.telegram.domain.dto.TelegramNotificationDto;
 import com.sdc.telegram.domain.dto.tdlib.TelegramChatFolderDto;
 import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import com.sdc.telegram.domain.dto.tdlib.chat.type.ChatTypePrivateDto;
 import com.sdc.telegram.domain.dto.tdlib.user.UserTdlibDto;
 import com.sdc.telegram.domain.mapper.chat.ChatTdlibMapper;
 import com.sdc.telegram.domain.mapper.message.MessageTdlibMapper;
 import com.sdc.telegram.domain.mapper.user.UserTdlibMapper;
 import com.sdc.telegram.domain.model.TelegramCredentials;
 import com.sdc.telegram.repository.TelegramCredentialsRepository;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -51,6 +61,9 @@ class TelegramServiceTest {
     
     @Mock
     private Client client;
+
+    @Mock
+    private TelegramReadMarker readMarker;
     
     private TelegramService telegramService;
     
@@ -63,10 +76,16 @@ class TelegramServiceTest {
     @BeforeEach
     void setUp() {
         telegramService = new TelegramService(
-            clientManager, chatMapper, messageMapper, userMapper, currentUser, credentialsRepository
+            clientManager, chatMapper, messageMapper, userMapper, currentUser, credentialsRepository,
+            new TdlibMetrics(new SimpleMeterRegistry()), readMarker
         );
         when(clientManager.getClient(ACCOUNT_ID)).thenReturn(client);
     }
+
+    @AfterEach
+    void tearDown() {
+        telegramService.shutdown();
+    }
     
     @Test
     void findAllChats_WithValidLimit_ShouldReturnChats() throws Exception {
@@ -102,6 +121,41 @@ class TelegramServiceTest {
         verify(client, atLeastOnce()).send(any(TdApi.GetChats.class), any());
     }
     
+    @Test
+    void findAllChats_WithSmallPhotoSize_ShouldUseSmallProfilePhoto() throws Exception {
+        TdApi.Chats chats = new TdApi.Chats();
+        chats.chatIds = new long[]{};
+        
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(chats);
+            return null;
+        }).when(client).send(any(TdApi.GetChats.class), any());
+        
+        TdApi.User user = new TdApi.User();
+        user.profilePhoto = new TdApi.ProfilePhoto();
+        user.profilePhoto.small = new TdApi.File();
+        user.profilePhoto.small.remote = new TdApi.RemoteFile();
+        user.profilePhoto.small.remote.id = "small";
+        user.profilePhoto.big = new TdApi.File();
+        user.profilePhoto.big.remote = new TdApi.RemoteFile();
+        user.profilePhoto.big.remote.id = "big";
+        
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(user);
+            return null;
+        }).when(client).send(any(TdApi.GetUser.class), any());
+        
+        ChatTdlibDto chat = new ChatTdlibDto();
+        chat.setType(new ChatTypePrivateDto(USER_ID));
+        when(chatMapper.toDto(anyList())).thenReturn(List.of(chat));
+        
+        List<ChatTdlibDto> result = telegramService.findAllChats(10, new TdApi.ChatListMain(), 32, ACCOUNT_ID);
+        
+        assertEquals("profilesmall", result.get(0).getProfilePhotoUrl());
+    }
+    
     @Test
     void findUserChatIdByUsername_WithValidUsername_ShouldReturnChatId() throws Exception {
         TdApi.Chat chat = new TdApi.Chat();
@@ -411,4 +465,67 @@ class TelegramServiceTest {
         
         verify(client).send(any(TdApi.SetProfilePhoto.class), any());
     }
+
+    @Test
+    void sendAlbumMessage_WithPhotos_ShouldPreuploadEachPhotoAndSendOneAlbum() throws Exception {
+        AtomicInteger fileIds = new AtomicInteger();
+        doAnswer(invocation -> {
+            TdApi.File file = new TdApi.File();
+            file.id = fileIds.incrementAndGet();
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(file);
+            return null;
+        }).when(client).send(any(TdApi.PreliminaryUploadFile.class), any());
+
+        telegramService.sendAlbumMessage(CHAT_ID, List.of(createImage(10), createImage(20)), "caption", ACCOUNT_ID);
+
+        ArgumentCaptor<TdApi.Function> captor = ArgumentCaptor.forClass(TdApi.Function.class);
+        verify(client, times(3)).send(captor.capture(), any());
+        TdApi.SendMessageAlbum album = captor.getAllValues().stream()
+            .filter(TdApi.SendMessageAlbum.class::isInstance)
+            .map(TdApi.SendMessageAlbum.class::cast)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(CHAT_ID.longValue(), album.chatId);
+        TdApi.InputMessagePhoto first = (TdApi.InputMessagePhoto) album.inputMessageContents[0];
+        TdApi.InputMessagePhoto second = (TdApi.InputMessagePhoto) album.inputMessageContents[1];
+        assertEquals(10, first.width);
+        assertEquals("caption", first.caption.text);
+        assertEquals(20, second.width);
+        assertNull(second.caption);
+        assertNotEquals(((TdApi.InputFileId) first.photo).id, ((TdApi.InputFileId) second.photo).id);
+        captor.getAllValues().stream()
+            .filter(TdApi.PreliminaryUploadFile.class::isInstance)
+            .map(function -> new File(((TdApi.InputFileLocal) ((TdApi.PreliminaryUploadFile) function).file).path))
+            .forEach(File::delete);
+    }
+
+    @Test
+    void sendAlbumMessage_WithUnsupportedFile_ShouldCancelStartedUploadsAndNotSend() throws Exception {
+        doAnswer(invocation -> {
+            TdApi.File file = new TdApi.File();
+            file.id = 1;
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(file);
+            return null;
+        }).when(client).send(any(TdApi.PreliminaryUploadFile.class), any());
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Ok());
+            return null;
+        }).when(client).send(any(TdApi.CancelPreliminaryUploadFile.class), any());
+        MockMultipartFile text = new MockMultipartFile("files", "notes.txt", "text/plain", "notes".getBytes());
+
+        assertThrows(RuntimeException.class,
+            () -> telegramService.sendAlbumMessage(CHAT_ID, List.of(createImage(10), text), null, ACCOUNT_ID));
+
+        verify(client).send(any(TdApi.CancelPreliminaryUploadFile.class), any());
+        verify(client, never()).send(any(TdApi.SendMessageAlbum.class), any());
+    }
+
+    private MockMultipartFile createImage(final int width) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, 10, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return new MockMultipartFile("files", "photo" + width + ".png", "image/png", outputStream.toByteArray());
+    }
 }
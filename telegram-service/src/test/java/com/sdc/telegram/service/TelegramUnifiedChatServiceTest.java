@@ -0,0 +1,169 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.config.TelegramClientManager;
+import com.sdc.telegram.config.security.CurrentUser;
+import com.sdc.telegram.domain.dto.TelegramUnifiedChatsDto;
+import com.sdc.telegram.domain.dto.tdlib.chat.ChatTdlibDto;
+import com.sdc.telegram.domain.model.TelegramCredentials;
+import com.sdc.telegram.repository.TelegramCredentialsRepository;
+import com.sdc.telegram.utils.TdlibMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramUnifiedChatServiceTest {
+
+    @Mock
+    private TelegramClientManager clientManager;
+
+    @Mock
+    private TelegramService telegramService;
+
+    @Mock
+    private TelegramCredentialsRepository credentialsRepository;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private Client firstClient;
+
+    @Mock
+    private Client secondClient;
+
+    private TelegramUnifiedChatService unifiedChatService;
+
+    private static final Long USER_ID = 789L;
+    private static final String FIRST_ACCOUNT_ID = "first";
+    private static final String SECOND_ACCOUNT_ID = "second";
+
+    @BeforeEach
+    void setUp() {
+        unifiedChatService = new TelegramUnifiedChatService(clientManager, telegramService, credentialsRepository, currentUser,
+            new TdlibMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        unifiedChatService.shutdown();
+    }
+
+    @Test
+    void findUnifiedChats_WithSeveralAccounts_ShouldMergeByLastMessageDateAcrossPages() throws Exception {
+        stubAccounts();
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(FIRST_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(createChat(1, 30), createChat(2, 10))));
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(SECOND_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(createChat(4, 5), createChat(3, 20))));
+
+        TelegramUnifiedChatsDto firstPage = unifiedChatService.findUnifiedChats(3, null, null);
+
+        assertEquals(List.of(1L, 3L, 2L), firstPage.getChats().stream().map(ChatTdlibDto::getId).toList());
+        assertEquals(List.of(FIRST_ACCOUNT_ID, SECOND_ACCOUNT_ID, FIRST_ACCOUNT_ID),
+            firstPage.getChats().stream().map(ChatTdlibDto::getAccountId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertTrue(firstPage.getFailedAccountIds().isEmpty());
+
+        TelegramUnifiedChatsDto secondPage = unifiedChatService.findUnifiedChats(3, firstPage.getNextCursor(), null);
+
+        assertEquals(List.of(4L), secondPage.getChats().stream().map(ChatTdlibDto::getId).toList());
+        assertNull(secondPage.getNextCursor());
+        verify(telegramService).fetchChatsAsync(eq(4), any(TdApi.ChatListMain.class), eq(FIRST_ACCOUNT_ID));
+        verify(telegramService).fetchChatsAsync(eq(7), any(TdApi.ChatListMain.class), eq(SECOND_ACCOUNT_ID));
+    }
+
+    @Test
+    void findUnifiedChats_WhenAccountFails_ShouldReturnOtherAccountsAndReportFailure() throws Exception {
+        stubAccounts();
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(FIRST_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(createChat(1, 30))));
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(SECOND_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Error fetching chat IDs")));
+
+        TelegramUnifiedChatsDto page = unifiedChatService.findUnifiedChats(10, null, null);
+
+        assertEquals(List.of(1L), page.getChats().stream().map(ChatTdlibDto::getId).toList());
+        assertEquals(List.of(SECOND_ACCOUNT_ID), page.getFailedAccountIds());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findUnifiedChats_WhenMappingAccountChatsFails_ShouldLeaveThemOutAndReportFailure() throws Exception {
+        stubAccounts();
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(FIRST_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(createChat(1, 30))));
+        when(telegramService.fetchChatsAsync(anyInt(), any(), eq(SECOND_ACCOUNT_ID)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(createChat(2, 20))));
+        when(telegramService.toChatDtos(anyList(), any(), eq(SECOND_ACCOUNT_ID)))
+            .thenThrow(new ExecutionException(new RuntimeException("Error fetching profile photos")));
+
+        TelegramUnifiedChatsDto page = unifiedChatService.findUnifiedChats(10, null, null);
+
+        assertEquals(List.of(1L), page.getChats().stream().map(ChatTdlibDto::getId).toList());
+        assertEquals(List.of(SECOND_ACCOUNT_ID), page.getFailedAccountIds());
+    }
+
+    @Test
+    void findUnifiedChats_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> unifiedChatService.findUnifiedChats(10, "not a cursor", null));
+    }
+
+    private void stubAccounts() throws Exception {
+        when(currentUser.getId()).thenReturn(USER_ID);
+        when(credentialsRepository.findAllByUserId(USER_ID))
+            .thenReturn(List.of(createCredentials(FIRST_ACCOUNT_ID), createCredentials(SECOND_ACCOUNT_ID)));
+        when(clientManager.getClient(FIRST_ACCOUNT_ID)).thenReturn(firstClient);
+        when(clientManager.getClient(SECOND_ACCOUNT_ID)).thenReturn(secondClient);
+        stubAuthorized(firstClient);
+        stubAuthorized(secondClient);
+        lenient().when(telegramService.toChatDtos(anyList(), any(), any())).thenAnswer(invocation -> {
+            List<TdApi.Chat> chats = invocation.getArgument(0);
+            return chats.stream().map(chat -> {
+                ChatTdlibDto dto = new ChatTdlibDto();
+                dto.setId(chat.id);
+                return dto;
+            }).toList();
+        });
+    }
+
+    private void stubAuthorized(final Client client) {
+        lenient().doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.AuthorizationStateReady());
+            return null;
+        }).when(client).send(any(TdApi.GetAuthorizationState.class), any());
+    }
+
+    private TelegramCredentials createCredentials(final String accountId) {
+        TelegramCredentials credentials = new TelegramCredentials();
+        credentials.setAccountId(accountId);
+        return credentials;
+    }
+
+    private TdApi.Chat createChat(final long id, final int date) {
+        TdApi.Message lastMessage = new TdApi.Message();
+        lastMessage.date = date;
+        TdApi.Chat chat = new TdApi.Chat();
+        chat.id = id;
+        chat.lastMessage = lastMessage;
+        return chat;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sdc.telegram.service;
+
+import com.sdc.telegram.domain.constants.TelegramUploadType;
+import com.sdc.telegram.domain.dto.TelegramUploadSessionDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramUploadServiceTest {
+
+    @Mock
+    private TelegramService telegramService;
+
+    private TelegramUploadService uploadService;
+
+    private final List<String> uploadIds = new ArrayList<>();
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Long CHAT_ID = 123456L;
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new TelegramUploadService(telegramService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadIds.forEach(uploadId -> {
+            try {
+                uploadService.abortUpload(uploadId, ACCOUNT_ID);
+            } catch (RuntimeException e) {
+                // completed uploads are already removed
+            }
+        });
+    }
+
+    @Test
+    void writeChunk_WithChunksOutOfOrder_ShouldAssembleFileAndSendDocument() throws Exception {
+        String uploadId = createUpload("report.pdf", TelegramUploadType.DOCUMENT);
+
+        TelegramUploadSessionDto afterTail = uploadService.writeChunk(uploadId, 6, chunk(6, 10), ACCOUNT_ID);
+        assertEquals(0L, afterTail.getNextOffset());
+        assertEquals(4L, afterTail.getReceivedBytes());
+        TelegramUploadSessionDto afterHead = uploadService.writeChunk(uploadId, 0, chunk(0, 6), ACCOUNT_ID);
+        assertEquals(10L, afterHead.getNextOffset());
+        assertTrue(afterHead.getComplete());
+
+        uploadService.completeUpload(uploadId, CHAT_ID, "caption", ACCOUNT_ID);
+
+        ArgumentCaptor<File> file = ArgumentCaptor.forClass(File.class);
+        verify(telegramService).sendDocumentFile(eq(CHAT_ID), file.capture(), eq("caption"), eq(ACCOUNT_ID));
+        assertEquals("report.pdf", file.getValue().getName());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.getValue().toPath()));
+        Files.delete(file.getValue().toPath());
+        Files.delete(file.getValue().getParentFile().toPath());
+    }
+
+    @Test
+    void completeUpload_WithMissingBytes_ShouldRejectUntilResumed() throws Exception {
+        String uploadId = createUpload("../video.mp4", TelegramUploadType.VIDEO);
+        uploadService.writeChunk(uploadId, 0, chunk(0, 4), ACCOUNT_ID);
+        uploadService.writeChunk(uploadId, 8, chunk(8, 10), ACCOUNT_ID);
+
+        assertThrows(RuntimeException.class, () -> uploadService.completeUpload(uploadId, CHAT_ID, null, ACCOUNT_ID));
+        TelegramUploadSessionDto session = uploadService.getUpload(uploadId, ACCOUNT_ID);
+        assertEquals(4L, session.getNextOffset());
+        assertEquals(6L, session.getReceivedBytes());
+        assertFalse(session.getComplete());
+
+        uploadService.writeChunk(uploadId, 2, chunk(2, 8), ACCOUNT_ID);
+        uploadService.completeUpload(uploadId, CHAT_ID, null, ACCOUNT_ID);
+
+        ArgumentCaptor<File> file = ArgumentCaptor.forClass(File.class);
+        verify(telegramService).sendVideoFile(eq(CHAT_ID), file.capture(), any(), eq(ACCOUNT_ID));
+        assertEquals(".._video.mp4", file.getValue().getName());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.getValue().toPath()));
+        Files.delete(file.getValue().toPath());
+        Files.delete(file.getValue().getParentFile().toPath());
+    }
+
+    @Test
+    void writeChunk_BeyondTotalSize_ShouldRejectAndKeepBytesWithinSize() throws Exception {
+        String uploadId = createUpload("report.pdf", TelegramUploadType.DOCUMENT);
+
+        assertThrows(RuntimeException.class,
+            () -> uploadService.writeChunk(uploadId, 8, new ByteArrayInputStream("8901".getBytes()), ACCOUNT_ID));
+        assertThrows(RuntimeException.class,
+            () -> uploadService.writeChunk(uploadId, 10, chunk(0, 1), ACCOUNT_ID));
+        assertThrows(RuntimeException.class, () -> uploadService.getUpload(uploadId, "otherAccount"));
+
+        assertEquals(2L, uploadService.getUpload(uploadId, ACCOUNT_ID).getReceivedBytes());
+        verifyNoInteractions(telegramService);
+    }
+
+    private String createUpload(final String fileName, final TelegramUploadType type) throws Exception {
+        String uploadId = uploadService.createUpload(fileName, CONTENT.length, type, ACCOUNT_ID).getUploadId();
+        uploadIds.add(uploadId);
+        return uploadId;
+    }
+
+    private ByteArrayInputStream chunk(final int from, final int to) {
+        return new ByteArrayInputStream(CONTENT, from, to - from);
+    }
+}
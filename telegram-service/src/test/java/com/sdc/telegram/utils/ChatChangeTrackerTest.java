@@ -0,0 +1,86 @@
+package com.sdc.telegram.utils;
+
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatChangeTrackerTest {
+
+    private ChatChangeTracker changeTracker;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final Long CHAT_ID = 123456L;
+    private static final Long OTHER_CHAT_ID = 654321L;
+
+    @BeforeEach
+    void setUp() {
+        changeTracker = new ChatChangeTracker();
+    }
+
+    @Test
+    void getChanges_WithUnknownSequence_ShouldRequireResync() {
+        ChatChangeTracker.ChatChanges changes = changeTracker.getChanges(ACCOUNT_ID, 0);
+
+        assertTrue(changes.resyncRequired());
+        assertEquals(changeTracker.getSequence(ACCOUNT_ID), changes.sequence());
+        assertTrue(changeTracker.getChanges(ACCOUNT_ID, changes.sequence() + 1).resyncRequired());
+    }
+
+    @Test
+    void getChanges_AfterChatUpdates_ShouldReturnOnlyChatsChangedSinceSequence() {
+        long since = changeTracker.getChanges(ACCOUNT_ID, 0).sequence();
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateChatTitle(CHAT_ID, "title"));
+        long afterTitle = changeTracker.getSequence(ACCOUNT_ID);
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateChatReadInbox(OTHER_CHAT_ID, 10L, 0));
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateOption("version", new TdApi.OptionValueString("1.8.42")));
+
+        ChatChangeTracker.ChatChanges all = changeTracker.getChanges(ACCOUNT_ID, since);
+        ChatChangeTracker.ChatChanges latest = changeTracker.getChanges(ACCOUNT_ID, afterTitle);
+
+        assertFalse(all.resyncRequired());
+        assertEquals(since + 2, all.sequence());
+        assertEquals(2, all.changedChatIds().size());
+        assertEquals(List.of(OTHER_CHAT_ID), latest.changedChatIds());
+        assertTrue(changeTracker.getChanges(ACCOUNT_ID, all.sequence()).changedChatIds().isEmpty());
+    }
+
+    @Test
+    void getChanges_WhenChatLeftAllLists_ShouldReportRemoved() {
+        long since = changeTracker.getChanges(ACCOUNT_ID, 0).sequence();
+        TdApi.ChatPosition position = new TdApi.ChatPosition(new TdApi.ChatListMain(), 100L, false, null);
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateChatPosition(CHAT_ID, position));
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateChatPosition(CHAT_ID,
+            new TdApi.ChatPosition(new TdApi.ChatListMain(), 0L, false, null)));
+
+        ChatChangeTracker.ChatChanges changes = changeTracker.getChanges(ACCOUNT_ID, since);
+
+        assertEquals(List.of(CHAT_ID), changes.removedChatIds());
+        assertTrue(changes.changedChatIds().isEmpty());
+    }
+
+    @Test
+    void getChanges_WithTooManyChangedChats_ShouldRequireResync() {
+        long since = changeTracker.getChanges(ACCOUNT_ID, 0).sequence();
+        LongStream.rangeClosed(0, ChatChangeTracker.MAX_CHANGED_CHATS)
+            .forEach(chatId -> changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateChatTitle(chatId, "title")));
+
+        assertTrue(changeTracker.getChanges(ACCOUNT_ID, since).resyncRequired());
+    }
+
+    @Test
+    void getChatVersion_AfterMessageUpdate_ShouldBumpChatButNotChangeFeed() {
+        long since = changeTracker.getChanges(ACCOUNT_ID, 0).sequence();
+        long chatVersion = changeTracker.getChatVersion(ACCOUNT_ID, CHAT_ID);
+
+        changeTracker.onUpdate(ACCOUNT_ID, new TdApi.UpdateMessageContent(CHAT_ID, 1L, new TdApi.MessageText()));
+
+        assertTrue(changeTracker.getChatVersion(ACCOUNT_ID, CHAT_ID) > chatVersion);
+        assertEquals(chatVersion, changeTracker.getChatVersion(ACCOUNT_ID, OTHER_CHAT_ID));
+        assertTrue(changeTracker.getChanges(ACCOUNT_ID, since).changedChatIds().isEmpty());
+    }
+}
@@ -1,6 +1,7 @@
 package com.sdc.telegram.utils;
 
 import com.sdc.telegram.config.TelegramClientManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.drinkless.tdlib.Client;
 import org.drinkless.tdlib.TdApi;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,17 +23,20 @@ class ResultHandlerImplTest {
     @Mock
     private Client client;
     
+    @Mock
+    private TelegramUpdateListener updateListener;
+    
     private ResultHandlerImpl resultHandler;
     
     private static final String ACCOUNT_ID = "testAccount123";
     
     @BeforeEach
     void setUp() {
-        resultHandler = new ResultHandlerImpl();
+        resultHandler = new ResultHandlerImpl(new TdlibMetrics(new SimpleMeterRegistry()), List.of(updateListener));
         resultHandler.setClientManager(clientManager);
         resultHandler.setClient(client);
         
-        when(clientManager.getAccountIdForClient(client)).thenReturn(ACCOUNT_ID);
+        lenient().when(clientManager.getAccountIdForClient(client)).thenReturn(ACCOUNT_ID);
     }
     
     @Test
@@ -96,4 +102,26 @@ class ResultHandlerImplTest {
         
         verify(clientManager).getAccountIdForClient(client);
     }
+    
+    @Test
+    void forAccount_WithUpdate_ShouldPassAccountIdToListeners() {
+        TdApi.UpdateChatTitle update = new TdApi.UpdateChatTitle(1L, "title");
+        
+        resultHandler.forAccount(ACCOUNT_ID).onResult(update);
+        
+        verify(updateListener).onUpdate(ACCOUNT_ID, update);
+        verifyNoInteractions(clientManager);
+    }
+    
+    @Test
+    void forAccount_WithFailingListener_ShouldNotPropagateException() {
+        TelegramUpdateListener nextListener = mock(TelegramUpdateListener.class);
+        resultHandler = new ResultHandlerImpl(new TdlibMetrics(new SimpleMeterRegistry()), List.of(updateListener, nextListener));
+        TdApi.UpdateChatTitle update = new TdApi.UpdateChatTitle(1L, "title");
+        doThrow(new IllegalStateException("failed")).when(updateListener).onUpdate(ACCOUNT_ID, update);
+        
+        resultHandler.forAccount(ACCOUNT_ID).onResult(update);
+        
+        verify(nextListener).onUpdate(ACCOUNT_ID, update);
+    }
 }
@@ -0,0 +1,100 @@
+package com.sdc.telegram.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.drinkless.tdlib.Client;
+import org.drinkless.tdlib.TdApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TdlibMetricsTest {
+
+    @Mock
+    private Client client;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TdlibMetrics tdlibMetrics;
+
+    private static final String ACCOUNT_ID = "testAccount";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tdlibMetrics = new TdlibMetrics(meterRegistry);
+    }
+
+    @Test
+    void send_WithSuccessfulResult_ShouldRecordTimerAndDelegate() {
+        TdApi.Chat chat = new TdApi.Chat();
+        AtomicReference<TdApi.Object> received = new AtomicReference<>();
+
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(chat);
+            return null;
+        }).when(client).send(any(TdApi.GetChat.class), any());
+
+        tdlibMetrics.send(client, ACCOUNT_ID, new TdApi.GetChat(1L), received::set);
+
+        assertSame(chat, received.get());
+        assertEquals(1, meterRegistry.get(TdlibMetrics.REQUESTS_METRIC)
+                .tags("request", "GetChat", "account", ACCOUNT_ID, "outcome", "success")
+                .timer()
+                .count());
+        assertEquals(0, meterRegistry.get(TdlibMetrics.IN_FLIGHT_METRIC)
+                .tags("request", "GetChat", "account", ACCOUNT_ID)
+                .gauge()
+                .value());
+    }
+
+    @Test
+    void send_WithErrorResult_ShouldCountErrorByCode() {
+        doAnswer(invocation -> {
+            Client.ResultHandler handler = invocation.getArgument(1);
+            handler.onResult(new TdApi.Error(404, "Not Found"));
+            return null;
+        }).when(client).send(any(TdApi.GetUser.class), any());
+
+        tdlibMetrics.send(client, ACCOUNT_ID, new TdApi.GetUser(1L), null);
+
+        assertEquals(1, meterRegistry.get(TdlibMetrics.ERRORS_METRIC)
+                .tags("request", "GetUser", "account", ACCOUNT_ID, "code", "404")
+                .counter()
+                .count());
+        assertEquals(1, meterRegistry.get(TdlibMetrics.REQUESTS_METRIC)
+                .tags("outcome", "error")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void timed_WithPendingResult_ShouldReportInFlightRequest() {
+        tdlibMetrics.timed(new TdApi.GetChatHistory(), null, null);
+
+        assertEquals(1, meterRegistry.get(TdlibMetrics.IN_FLIGHT_METRIC)
+                .tags("request", "GetChatHistory", "account", "unknown")
+                .gauge()
+                .value());
+    }
+
+    @Test
+    void recordUpdate_ShouldCountUpdatesByType() {
+        tdlibMetrics.recordUpdate(new TdApi.UpdateAuthorizationState(new TdApi.AuthorizationStateReady()));
+        tdlibMetrics.recordUpdate(new TdApi.UpdateAuthorizationState(new TdApi.AuthorizationStateReady()));
+
+        assertEquals(2, meterRegistry.get(TdlibMetrics.UPDATES_METRIC)
+                .tags("type", "UpdateAuthorizationState")
+                .counter()
+                .count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.sdc.telegram.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ThumbnailCache thumbnailCache;
+
+    private static final String ACCOUNT_ID = "testAccount";
+    private static final String REMOTE_ID = "remoteId123";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        thumbnailCache = new ThumbnailCache(meterRegistry);
+    }
+
+    @Test
+    void toBucket_ShouldRoundUpToNearestBucket() {
+        assertEquals(32, ThumbnailCache.toBucket(1));
+        assertEquals(64, ThumbnailCache.toBucket(33));
+        assertEquals(128, ThumbnailCache.toBucket(128));
+        assertNull(ThumbnailCache.toBucket(2048));
+    }
+
+    @Test
+    void get_WithCachedVariant_ShouldReturnVariantAndCountHit() {
+        byte[] variant = "variant".getBytes();
+        thumbnailCache.put(ACCOUNT_ID, REMOTE_ID, 64, variant);
+
+        assertSame(variant, thumbnailCache.get(ACCOUNT_ID, REMOTE_ID, 64));
+        assertNull(thumbnailCache.get(ACCOUNT_ID, REMOTE_ID, 128));
+        assertNull(thumbnailCache.get("otherAccount", REMOTE_ID, 64));
+
+        assertEquals(1, meterRegistry.get(ThumbnailCache.CACHE_METRIC).tags("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get(ThumbnailCache.CACHE_METRIC).tags("result", "miss").counter().count());
+    }
+
+    @Test
+    void put_WhenByteBudgetExceeded_ShouldEvictLeastRecentlyUsed() {
+        byte[] large = new byte[15 * 1024 * 1024];
+        for (int account = 0; account < 5; account++) {
+            thumbnailCache.put(ACCOUNT_ID + account, "first", 1024, large);
+        }
+
+        assertNull(thumbnailCache.get(ACCOUNT_ID + 0, "first", 1024));
+        assertNotNull(thumbnailCache.get(ACCOUNT_ID + 4, "first", 1024));
+    }
+
+    @Test
+    void put_WhenAccountByteBudgetExceeded_ShouldEvictOnlyVariantsOfAccount() {
+        byte[] large = new byte[10 * 1024 * 1024];
+        thumbnailCache.put("otherAccount", "other", 1024, large);
+        thumbnailCache.put(ACCOUNT_ID, "first", 1024, large);
+        thumbnailCache.put(ACCOUNT_ID, "second", 1024, large);
+
+        assertNull(thumbnailCache.get(ACCOUNT_ID, "first", 1024));
+        assertNotNull(thumbnailCache.get(ACCOUNT_ID, "second", 1024));
+        assertNotNull(thumbnailCache.get("otherAccount", "other", 1024));
+    }
+
+    @Test
+    void put_WithEmptyVariantOfNewAccount_ShouldCacheVariant() {
+        byte[] empty = new byte[0];
+        thumbnailCache.put(ACCOUNT_ID, REMOTE_ID, 64, empty);
+
+        assertSame(empty, thumbnailCache.get(ACCOUNT_ID, REMOTE_ID, 64));
+    }
+}